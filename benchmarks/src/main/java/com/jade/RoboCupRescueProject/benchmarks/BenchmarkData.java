@@ -0,0 +1,49 @@
+package com.jade.RoboCupRescueProject.benchmarks;
+
+import java.util.Random;
+
+/**
+ * Generates the locations used by the benchmarks.
+ * Locations are the "(x,y)" labels used by the agents, on a square grid of cells;
+ * the map size is the number of cells.
+ */
+final class BenchmarkData {
+    // Side of a map cell, in meters
+    static final double CELL_SIZE = 100.0;
+
+    // Fixed seed, so that every run measures the same data
+    static final long SEED = 42;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Get the number of cells on a side of the map
+     * @param mapSize The number of cells of the map
+     * @return The side of the map, in cells
+     */
+    static int side(int mapSize) {
+        return Math.max(1, (int) Math.round(Math.sqrt(mapSize)));
+    }
+
+    /**
+     * Get the label of a cell
+     * @param x The column of the cell
+     * @param y The row of the cell
+     * @return The location label of the cell
+     */
+    static String location(int x, int y) {
+        return "(" + (int) (x * CELL_SIZE) + "," + (int) (y * CELL_SIZE) + ")";
+    }
+
+    /**
+     * Get the label of a random cell of the map
+     * @param random The random generator
+     * @param mapSize The number of cells of the map
+     * @return The location label
+     */
+    static String randomLocation(Random random, int mapSize) {
+        int side = side(mapSize);
+        return location(random.nextInt(side), random.nextInt(side));
+    }
+}
@@ -0,0 +1,53 @@
+package com.jade.RoboCupRescueProject.benchmarks;
+
+import com.jade.RoboCupRescueProject.utils.ConsoleColors;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Table formatting of ConsoleColors.createTable, used by the status displays.
+ *
+ * One operation formats the status table of one cycle, with a row for each of the messageRate
+ * unit statuses received; the locations in the rows are cells of a mapSize-cell map, so the map
+ * size sets the width of the location column.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsoleTableBenchmark {
+    private static final String[] HEADERS = {"Unit", "Type", "Location", "Status", "Resources"};
+    private static final String[] STATUSES = {"AVAILABLE", "BUSY", "RETURNING"};
+
+    @Param({"100", "1000", "10000"})
+    public int mapSize;
+
+    @Param({"10", "100", "1000"})
+    public int messageRate;
+
+    private String[][] rows;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(BenchmarkData.SEED);
+        rows = new String[messageRate][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new String[] {
+                    "Unit" + i,
+                    i % 2 == 0 ? "pompier" : "ambulancier",
+                    BenchmarkData.randomLocation(random, mapSize),
+                    STATUSES[random.nextInt(STATUSES.length)],
+                    random.nextInt(101) + "%"
+            };
+        }
+    }
+
+    @Benchmark
+    public String createTable() {
+        return ConsoleColors.createTable(HEADERS, rows, ConsoleColors.CYAN_BOLD, ConsoleColors.BLUE);
+    }
+}
@@ -0,0 +1,74 @@
+package com.jade.RoboCupRescueProject.benchmarks;
+
+import com.jade.RoboCupRescueProject.assignment.AssignmentEngine;
+import com.jade.RoboCupRescueProject.assignment.Task;
+import com.jade.RoboCupRescueProject.assignment.Unit;
+import com.jade.RoboCupRescueProject.spatial.Point;
+import jade.core.AID;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit selection of DispatcherMissionsBehaviour.
+ *
+ * One operation assigns the pending missions of one dispatch cycle to the free units, with the
+ * assignment engine the dispatcher uses. The fleet grows with the map (one unit per
+ * {@value #CELLS_PER_UNIT} cells of a mapSize-cell map), and messageRate missions are pending,
+ * spread over the three unit types.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+    private static final int CELLS_PER_UNIT = 10;
+    private static final String[] UNIT_TYPES = {"pompier", "ambulancier", "police"};
+
+    @Param({"100", "1000"})
+    public int mapSize;
+
+    @Param({"10", "100"})
+    public int messageRate;
+
+    @Param({"GREEDY", "HUNGARIAN", "MIN_COST_FLOW"})
+    public AssignmentEngine.Strategy strategy;
+
+    private AssignmentEngine engine;
+    private List<Unit> units;
+    private List<Task> tasks;
+
+    @Setup
+    public void setup() {
+        engine = new AssignmentEngine(strategy);
+
+        Random random = new Random(BenchmarkData.SEED);
+        int unitCount = Math.max(UNIT_TYPES.length, mapSize / CELLS_PER_UNIT);
+        units = new ArrayList<>(unitCount);
+        for (int i = 0; i < unitCount; i++) {
+            // Full names: local names need a running platform
+            units.add(new Unit(new AID("Unit" + i + "@Benchmark", AID.ISGUID), UNIT_TYPES[i % UNIT_TYPES.length],
+                    randomPoint(random), 0.2 + 0.8 * random.nextDouble()));
+        }
+        tasks = new ArrayList<>(messageRate);
+        for (int i = 0; i < messageRate; i++) {
+            tasks.add(new Task("Mission" + i, UNIT_TYPES[i % UNIT_TYPES.length], randomPoint(random), 1 + random.nextInt(4)));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Unit> selectUnits() {
+        return engine.assign(units, tasks);
+    }
+
+    private Point randomPoint(Random random) {
+        double extent = BenchmarkData.side(mapSize) * BenchmarkData.CELL_SIZE;
+        return new Point(random.nextDouble() * extent, random.nextDouble() * extent);
+    }
+}
@@ -0,0 +1,156 @@
+package com.jade.RoboCupRescueProject.benchmarks;
+
+import com.jade.RoboCupRescueProject.behaviours.centrecommande.CollecterInfosBehaviour;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.*;
+import jade.core.AID;
+import jade.lang.acl.ACLMessage;
+import jade.wrapper.AgentContainer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message processing of CollecterInfosBehaviour.
+ *
+ * One operation handles the messages received by the command center in one cycle: messageRate
+ * messages mixing reports, heartbeats and team summaries, on a map of mapSize cells. Each message
+ * goes through the agent's message router into the behaviour's inbox, is decoded and applied to
+ * the world state, and the reports are then planned once, as the agent does in one scheduler round.
+ * The envelope variant receives the same messages in batches sent through an outbox, which the
+ * router opens; decode only measures the content parsing, as a baseline.
+ *
+ * The command center is never started, see {@link OfflineCommandCenter}; an empty platform runs
+ * during the trial so that the units named in the team summaries resolve.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageParsingBenchmark {
+    // Units and incidents listed in each team summary
+    private static final int SUMMARY_ENTRIES = 8;
+
+    @Param({"100", "1000", "10000"})
+    public int mapSize;
+
+    @Param({"10", "100", "1000"})
+    public int messageRate;
+
+    private List<ACLMessage> messages;
+    // Batches no larger than an inbox, as an outbox would send them
+    private List<ACLMessage> envelopes;
+    private List<Integer> envelopeSizes;
+
+    private AgentContainer platform;
+    private OfflineCommandCenter agent;
+    private CollecterInfosBehaviour collector;
+
+    @Setup
+    public void setup() {
+        platform = OfflineCommandCenter.startPlatform();
+        Random random = new Random(BenchmarkData.SEED);
+        messages = new ArrayList<>(messageRate);
+        for (int i = 0; i < messageRate; i++) {
+            ACLMessage msg = MessageCodec.create(ACLMessage.INFORM, report(random, i));
+            msg.setSender(new AID("Unit" + i % SUMMARY_ENTRIES + "@Benchmark", AID.ISGUID));
+            messages.add(msg);
+        }
+
+        envelopes = new ArrayList<>();
+        envelopeSizes = new ArrayList<>();
+        for (int from = 0; from < messages.size(); from += MessageRouter.DEFAULT_INBOX_CAPACITY) {
+            List<ACLMessage> batch = messages.subList(from,
+                    Math.min(messages.size(), from + MessageRouter.DEFAULT_INBOX_CAPACITY));
+            ACLMessage envelope = MessageCodec.createEnvelope(batch);
+            envelope.setSender(new AID("FireTeamLeader@Benchmark", AID.ISGUID));
+            envelopes.add(envelope);
+            envelopeSizes.add(batch.size());
+        }
+
+        agent = new OfflineCommandCenter();
+        collector = new CollecterInfosBehaviour(agent);
+        collector.onStart();
+    }
+
+    @TearDown
+    public void tearDown() {
+        OfflineCommandCenter.stopPlatform(platform);
+    }
+
+    @Benchmark
+    public int collect() {
+        for (ACLMessage message : messages) {
+            agent.postMessage(message);
+            agent.getRouter().action();
+            collector.action();
+        }
+        agent.getPlanner().action();
+        return agent.getMissionQueue().size();
+    }
+
+    @Benchmark
+    public int collectEnvelopes() {
+        for (int i = 0; i < envelopes.size(); i++) {
+            agent.postMessage(envelopes.get(i));
+            agent.getRouter().action();
+            for (int j = envelopeSizes.get(i); j > 0; j--) {
+                collector.action();
+            }
+        }
+        agent.getPlanner().action();
+        return agent.getMissionQueue().size();
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        for (ACLMessage message : messages) {
+            blackhole.consume(MessageCodec.read(message));
+        }
+    }
+
+    /**
+     * Build the i-th report of the mix received by the command center
+     * @param random The random generator
+     * @param i The index of the report
+     * @return The report
+     */
+    private TypedMessage report(Random random, int i) {
+        String location = BenchmarkData.randomLocation(random, mapSize);
+        switch (i % 6) {
+            case 0:
+                return new FireReport(location, String.valueOf(50 + random.nextInt(400)));
+            case 1:
+                return new VictimReport(location, random.nextBoolean() ? "URGENT" : "LEGER");
+            case 2:
+                return new FirefighterStatus("Firefighter" + i, random.nextDouble() * 1000, location, random.nextBoolean());
+            case 3:
+                return new RoadStatusChange("Road" + random.nextInt(mapSize), random.nextBoolean() ? "OPEN" : "CLOSED");
+            case 4:
+                return new SituationReport(random.nextInt(10), random.nextInt(100), random.nextInt(10),
+                        random.nextInt(10), random.nextInt(5));
+            default:
+                return teamSummary(random, i);
+        }
+    }
+
+    private TeamSummary teamSummary(Random random, int window) {
+        List<UnitState> units = new ArrayList<>(SUMMARY_ENTRIES);
+        List<Incident> incidents = new ArrayList<>(SUMMARY_ENTRIES);
+        for (int j = 0; j < SUMMARY_ENTRIES; j++) {
+            units.add(new UnitState("Firefighter" + j, BenchmarkData.randomLocation(random, mapSize),
+                    random.nextBoolean(), random.nextDouble()));
+            incidents.add(new Incident(BenchmarkData.randomLocation(random, mapSize), "FIRE", random.nextDouble() * 400));
+        }
+        return new TeamSummary("FireTeamLeader", window, false, 3 * SUMMARY_ENTRIES, SUMMARY_ENTRIES,
+                SUMMARY_ENTRIES / 2, 400, units, incidents, List.of(BenchmarkData.randomLocation(random, mapSize)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.jade.RoboCupRescueProject.benchmarks;
+
+import com.jade.RoboCupRescueProject.agents.AgentCentreCommande;
+import com.jade.RoboCupRescueProject.behaviours.centrecommande.PlanifierInterventionBehaviour;
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import jade.core.Profile;
+import jade.core.ProfileImpl;
+import jade.core.Runtime;
+import jade.wrapper.AgentContainer;
+import jade.wrapper.ControllerException;
+
+/**
+ * Command center used by the benchmarks, whose behaviours run without the agent being started.
+ *
+ * setup() is never called, since it registers the agent with the DF and needs a running
+ * container: the message router and the planner it would create are created here instead, and
+ * the behaviours under test are created on this agent and driven by calling action(). Messages
+ * are delivered with postMessage; the ones the agent sends (acknowledgements) are dropped, as
+ * an agent outside a container has no platform to send them to.
+ *
+ * Agent names given by local name (AID.ISLOCALNAME) only resolve once a platform runs in the
+ * JVM: benchmarks whose messages name agents that way start one with {@link #startPlatform()}.
+ */
+final class OfflineCommandCenter extends AgentCentreCommande {
+    private final MessageRouter router = new MessageRouter(this);
+    private final PlanifierInterventionBehaviour planner = new PlanifierInterventionBehaviour(this);
+
+    @Override
+    public MessageRouter getRouter() {
+        return router;
+    }
+
+    @Override
+    public PlanifierInterventionBehaviour getPlanner() {
+        return planner;
+    }
+
+    /**
+     * Start an empty main container, without GUI nor MTP, so that local names resolve
+     * @return The main container, to stop with {@link #stopPlatform(AgentContainer)}
+     */
+    static AgentContainer startPlatform() {
+        Profile profile = new ProfileImpl();
+        profile.setParameter(Profile.GUI, "false");
+        profile.setParameter(Profile.NO_MTP, "true");
+        return Runtime.instance().createMainContainer(profile);
+    }
+
+    /**
+     * Stop the main container started by {@link #startPlatform()}
+     * @param container The main container
+     */
+    static void stopPlatform(AgentContainer container) {
+        try {
+            container.getPlatformController().kill();
+        } catch (ControllerException e) {
+            // Already stopped
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.jade.RoboCupRescueProject.benchmarks;
+
+import com.jade.RoboCupRescueProject.behaviours.centrecommande.PlanifierInterventionBehaviour;
+import com.jade.RoboCupRescueProject.behaviours.police.GererCirculationBehaviour;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Planning cycles of PlanifierInterventionBehaviour.
+ *
+ * One operation submits the messageRate reports received in one cycle and runs the planner once,
+ * which applies them to the mission queue of the command center. Reports are drawn on a map of
+ * mapSize cells, so the mission queue settles around a few missions per cell.
+ *
+ * The command center is never started (see {@link OfflineCommandCenter}): the planner is the one
+ * of an agent whose setup() did not run, and only uses the agent's mission queue.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlanningBenchmark {
+    // Number of distinct reports replayed in a loop
+    private static final int REPORT_POOL_SIZE = 4096;
+
+    @Param({"100", "1000", "10000"})
+    public int mapSize;
+
+    @Param({"10", "100", "1000"})
+    public int messageRate;
+
+    private OfflineCommandCenter agent;
+    private PlanifierInterventionBehaviour planner;
+    private TypedMessage[] reports;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(BenchmarkData.SEED);
+        reports = new TypedMessage[REPORT_POOL_SIZE];
+        for (int i = 0; i < reports.length; i++) {
+            reports[i] = report(random, i);
+        }
+
+        agent = new OfflineCommandCenter();
+        planner = agent.getPlanner();
+
+        // Fill the mission queue before measuring
+        for (int i = 0; i < reports.length; i++) {
+            planner.submit(reports[i], "Reporter");
+        }
+        planner.action();
+        next = 0;
+    }
+
+    @Benchmark
+    public int planningCycle() {
+        for (int i = 0; i < messageRate; i++) {
+            planner.submit(reports[next], "Reporter");
+            next = (next + 1) % reports.length;
+        }
+        planner.action();
+        return agent.getMissionQueue().size();
+    }
+
+    /**
+     * Build the i-th report: mostly fires and victims, with transports and road changes
+     * removing missions again
+     * @param random The random generator
+     * @param i The index of the report
+     * @return The report
+     */
+    private TypedMessage report(Random random, int i) {
+        String location = BenchmarkData.randomLocation(random, mapSize);
+        switch (i % 5) {
+            case 0:
+            case 1:
+                return new FireReport(location, String.valueOf(50 + random.nextInt(400)));
+            case 2:
+                return new VictimReport(location, random.nextBoolean() ? "URGENT" : "CRITIQUE");
+            case 3:
+                return new TransportReport(location, "Hospital", "URGENT");
+            default:
+                return new RoadStatusChange("Road" + random.nextInt(mapSize), random.nextBoolean()
+                        ? GererCirculationBehaviour.ROAD_OPEN : GererCirculationBehaviour.ROAD_CLOSED);
+        }
+    }
+}
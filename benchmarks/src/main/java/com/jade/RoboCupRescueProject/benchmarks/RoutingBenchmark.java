@@ -0,0 +1,99 @@
+package com.jade.RoboCupRescueProject.benchmarks;
+
+import com.jade.RoboCupRescueProject.routing.RoadGraph;
+import com.jade.RoboCupRescueProject.routing.Route;
+import com.jade.RoboCupRescueProject.routing.RoutePlanner;
+import com.jade.RoboCupRescueProject.routing.VehicleClass;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Route computation of FournirItineraireBehaviour.calculateRoute.
+ *
+ * The map is a grid of mapSize intersections linked by two-way roads. One operation answers the
+ * messageRate route requests received in one cycle, between random intersections, the way
+ * calculateRoute does: both locations are checked, then the planner searches the route.
+ * The route cache is disabled so that every request is searched.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingBenchmark {
+    // Number of distinct requests replayed in a loop
+    private static final int REQUEST_POOL_SIZE = 1024;
+
+    @Param({"100", "1000", "10000"})
+    public int mapSize;
+
+    @Param({"10", "100"})
+    public int messageRate;
+
+    @Param({"DIJKSTRA", "ASTAR", "BIDIRECTIONAL", "CONTRACTION_HIERARCHY"})
+    public RoutePlanner.Algorithm algorithm;
+
+    private RoutePlanner planner;
+    private String[] origins;
+    private String[] destinations;
+    private int next;
+
+    @Setup
+    public void setup() {
+        planner = new RoutePlanner(gridGraph(BenchmarkData.side(mapSize)), algorithm, 0);
+
+        Random random = new Random(BenchmarkData.SEED);
+        origins = new String[REQUEST_POOL_SIZE];
+        destinations = new String[REQUEST_POOL_SIZE];
+        for (int i = 0; i < REQUEST_POOL_SIZE; i++) {
+            origins[i] = BenchmarkData.randomLocation(random, mapSize);
+            destinations[i] = BenchmarkData.randomLocation(random, mapSize);
+        }
+
+        // Build the contraction hierarchy before measuring
+        planner.route(origins[0], destinations[0], VehicleClass.EMERGENCY);
+        next = 0;
+    }
+
+    @Benchmark
+    public void calculateRoutes(Blackhole blackhole) {
+        for (int i = 0; i < messageRate; i++) {
+            String from = origins[next];
+            String to = destinations[next];
+            next = (next + 1) % REQUEST_POOL_SIZE;
+            if (planner.isKnownLocation(from) && planner.isKnownLocation(to)) {
+                Route route = planner.route(from, to, VehicleClass.EMERGENCY);
+                blackhole.consume(route.roads());
+            }
+        }
+    }
+
+    /**
+     * Build a square grid of intersections, each linked to its right and lower neighbours
+     * @param side The number of intersections on a side
+     * @return The road graph
+     */
+    private static RoadGraph gridGraph(int side) {
+        RoadGraph.Builder builder = RoadGraph.builder();
+        for (int x = 0; x < side; x++) {
+            for (int y = 0; y < side; y++) {
+                builder.addLocation(BenchmarkData.location(x, y), x * BenchmarkData.CELL_SIZE, y * BenchmarkData.CELL_SIZE);
+            }
+        }
+        for (int x = 0; x < side; x++) {
+            for (int y = 0; y < side; y++) {
+                if (x + 1 < side) {
+                    builder.addRoad("Road_" + x + "_" + y + "_E", BenchmarkData.location(x, y), BenchmarkData.location(x + 1, y));
+                }
+                if (y + 1 < side) {
+                    builder.addRoad("Road_" + x + "_" + y + "_S", BenchmarkData.location(x, y), BenchmarkData.location(x, y + 1));
+                }
+            }
+        }
+        return builder.build();
+    }
+}
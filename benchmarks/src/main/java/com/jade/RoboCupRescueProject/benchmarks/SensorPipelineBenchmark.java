@@ -0,0 +1,68 @@
+package com.jade.RoboCupRescueProject.benchmarks;
+
+import com.jade.RoboCupRescueProject.sensing.Detector;
+import com.jade.RoboCupRescueProject.sensing.EwmaFilter;
+import com.jade.RoboCupRescueProject.sensing.KalmanFilter;
+import com.jade.RoboCupRescueProject.sensing.SensorPipeline;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frame processing of the robot sensor pipeline.
+ *
+ * One operation samples, filters and runs one frame of every channel through the detectors.
+ * The pipeline has channels sensor channels of points scan points, alternating EWMA and Kalman
+ * filters, and one detector per pair of channels; the cost of a frame should stay linear in
+ * channels x points, with no allocation (gc.alloc.rate.norm close to 0).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SensorPipelineBenchmark {
+    @Param({"2", "8", "32"})
+    public int channels;
+
+    @Param({"5", "50"})
+    public int points;
+
+    private SensorPipeline pipeline;
+    private long time;
+    // Sum of the emitted scores, returned so that the sinks are not optimized away
+    private double scores;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(BenchmarkData.SEED);
+        SensorPipeline.Builder builder = SensorPipeline.builder(points);
+        for (int c = 0; c < channels; c++) {
+            builder.channel("channel" + c, frame -> {
+                for (int i = 0; i < frame.length; i++) {
+                    frame[i] = random.nextDouble();
+                }
+            }, c % 2 == 0 ? new EwmaFilter(points, 0.5) : new KalmanFilter(points, 0.05, 0.1));
+        }
+        pipeline = builder.build();
+
+        for (int c = 0; c + 1 < channels; c += 2) {
+            pipeline.addDetector(Detector.named("detector" + c)
+                    .evidence("channel" + c, 0.5, 0.5, 1.0)
+                    .evidence("channel" + (c + 1), 0.5, 0.5, 1.0)
+                    .reportChange("channel" + c, 0.1),
+                    (point, score, values, isNew) -> scores += score);
+        }
+        time = 0;
+    }
+
+    @Benchmark
+    public double processFrame() {
+        time += 500;
+        pipeline.sample(time);
+        pipeline.process();
+        return scores;
+    }
+}
@@ -1,13 +1,17 @@
 package com.jade.RoboCupRescueProject;
 
+import com.jade.RoboCupRescueProject.fleet.ContainerPlacement;
+import com.jade.RoboCupRescueProject.fleet.FleetLauncher;
+import com.jade.RoboCupRescueProject.fleet.FleetSpec;
 import com.jade.RoboCupRescueProject.scenarios.GestionnaireScenarios;
+import com.jade.RoboCupRescueProject.utils.AgentThreads;
 import com.jade.RoboCupRescueProject.utils.ConsoleColors;
 import com.jade.RoboCupRescueProject.utils.ContainerManager;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 import jade.core.Profile;
 import jade.core.ProfileImpl;
 import jade.core.Runtime;
 import jade.wrapper.AgentContainer;
-import jade.wrapper.AgentController;
 
 import java.util.List;
 import java.util.Scanner;
@@ -18,6 +22,10 @@ public class MainContainer {
         try {
             System.out.println(ConsoleColors.formatTitle("INITIALISATION DU SYSTÈME ROBOCUP RESCUE", ConsoleColors.BLUE_BOLD));
 
+            // Install the simulation clock before any agent reads the time
+            SimulationClock.install(SimulationClock.fromSystemProperties());
+            System.out.println(ConsoleColors.formatInfo("Horloge de simulation: " + SimulationClock.get().getMode()));
+
             // Create the JADE runtime
             Runtime rt = Runtime.instance();
 
@@ -27,6 +35,9 @@ public class MainContainer {
             profile.setParameter(Profile.GUI, "false"); // Disable JADE GUI for console-only visualization
             // Disable JADE logging
             profile.setParameter("jade_core_messaging_MessageManager_deliverytimethreshold", "-1");
+            // Run the agents on virtual threads if requested
+            AgentThreads.configure(profile);
+            System.out.println(ConsoleColors.formatInfo("Threads des agents: " + AgentThreads.getMode()));
 
             // Create the main container
             AgentContainer mainContainer = rt.createMainContainer(profile);
@@ -34,15 +45,14 @@ public class MainContainer {
             // Store the main container in the ContainerManager
             ContainerManager.getInstance().setMainContainer(mainContainer);
 
-            // Create and start all agents
+            // Start the gateway used by non-agent threads to send messages
+            ContainerManager.getInstance().getGateway();
+
+            // Create and start all agents, and wait until they are ready
             System.out.println(ConsoleColors.formatInfo("Création et démarrage des agents..."));
-            createAndStartAgents(mainContainer);
+            boolean allAgentsReady = launchFleet(profile, mainContainer);
 
             System.out.println("\n" + ConsoleColors.formatTitle("SYSTÈME ROBOCUP RESCUE INITIALISÉ", ConsoleColors.GREEN_BOLD));
-            System.out.println(ConsoleColors.formatInfo("Vérification de la communication entre les agents..."));
-
-            // Verify that all agents are properly initialized and can communicate
-            boolean allAgentsReady = verifyAgentsReady(mainContainer);
 
             if (allAgentsReady) {
                 System.out.println("\n" + ConsoleColors.formatTitle("SYSTÈME PRÊT", ConsoleColors.GREEN_BOLD));
@@ -77,7 +87,7 @@ public class MainContainer {
         final int[] scenarioIdEnCours = {0};
 
         // Créer un scanner dans un thread séparé pour éviter les blocages
-        Thread inputThread = new Thread(() -> {
+        Thread inputThread = AgentThreads.start("console-input", () -> {
             Scanner scanner = new Scanner(System.in);
             List<String> listeScenarios = GestionnaireScenarios.getListeScenarios();
 
@@ -253,7 +263,7 @@ public class MainContainer {
                                 scenarioIdEnCours[0] = scenarioId;
                                 scenarioEnCours.set(true);
 
-                                Thread scenarioThread = new Thread(() -> {
+                                AgentThreads.start("scenario-" + scenarioId, () -> {
                                     boolean success = GestionnaireScenarios.executerScenario(scenarioId);
 
                                     if (success) {
@@ -271,9 +281,6 @@ public class MainContainer {
                                     scenarioIdEnCours[0] = 0;
                                 });
 
-                                scenarioThread.setDaemon(true); // Le thread se terminera quand le thread principal se termine
-                                scenarioThread.start();
-
                                 // Afficher les commandes disponibles pendant l'exécution du scénario
                                 System.out.println(ConsoleColors.formatInfo("Scénario en cours d'exécution. Commandes disponibles:"));
                                 System.out.println(ConsoleColors.formatMenuOption("p ou ESPACE", "Mettre en pause / Reprendre le scénario"));
@@ -308,10 +315,6 @@ public class MainContainer {
             }
         });
 
-        // Démarrer le thread d'entrée utilisateur
-        inputThread.setDaemon(false); // Le thread ne se terminera pas quand le thread principal se termine
-        inputThread.start();
-
         // Attendre que le thread d'entrée utilisateur se termine (ce qui n'arrivera jamais sauf si l'utilisateur quitte)
         try {
             inputThread.join();
@@ -401,132 +404,39 @@ public class MainContainer {
         System.out.println("\n" + ConsoleColors.createBox("CONSEILS", tipsContent, ConsoleColors.PURPLE_BOLD, ConsoleColors.PURPLE));
     }
 
-    private static void createAndStartAgents(AgentContainer container) {
-        try {
-            // Create Control Center Agent
-            startAgent(container, "ControlCenter",
-                    "com.jade.RoboCupRescueProject.agents.AgentCentreControle");
-
-            // Create Command Center Agent
-            startAgent(container, "CommandCenter",
-                    "com.jade.RoboCupRescueProject.agents.AgentCentreCommande");
-
-            // Create Fire Team Leader
-            startAgent(container, "FireTeamLeader",
-                    "com.jade.RoboCupRescueProject.agents.AgentChefEquipePompier");
-
-            // Create Ambulance Agent
-            startAgent(container, "Ambulance-1",
-                    "com.jade.RoboCupRescueProject.agents.AgentAmbulancier");
-
-            // Create Logistics Agent
-            startAgent(container, "Logistics-1",
-                    "com.jade.RoboCupRescueProject.agents.AgentLogistique");
-
-            // Create Police Agent
-            startAgent(container, "Police-1",
-                    "com.jade.RoboCupRescueProject.agents.AgentPolice");
-
-            // Create Firefighter Agent
-            startAgent(container, "Firefighter-1",
-                    "com.jade.RoboCupRescueProject.agents.AgentPompier");
-
-            // Create Robot Agent
-            startAgent(container, "Robot-1",
-                    "com.jade.RoboCupRescueProject.agents.AgentRobot");
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-    }
-
-    private static void startAgent(AgentContainer container, String name, String className) {
-        try {
-            AgentController agent = container.createNewAgent(name, className, null);
-            agent.start();
-
-            // Register the agent controller in the ContainerManager
-            ContainerManager.getInstance().registerAgent(name, agent);
-
-            // Simplified logging - just a dot to indicate progress without cluttering the console
-            System.out.print(ConsoleColors.GREEN_BOLD + "." + ConsoleColors.RESET);
-        } catch (Exception e) {
-            System.out.println("\n" + ConsoleColors.formatError("Échec du démarrage de l'agent: " + name));
-            System.out.println(ConsoleColors.formatError("Cause: " + e.getMessage()));
-            e.printStackTrace();
-        }
-    }
-
     /**
-     * Verify that all agents are properly initialized and can communicate.
-     * This method checks if all expected agents are running by verifying their controllers.
-     * 
-     * @param container The agent container
+     * Start the agents of the fleet spec in their containers and wait until they are set up.
+     * The agents of each stage are started in parallel and signal their readiness through a latch.
+     *
+     * @param profile The profile of the main container
+     * @param container The main container
      * @return true if all agents are ready, false otherwise
      */
-    private static boolean verifyAgentsReady(AgentContainer container) {
-        // Define the expected agent names
-        String[] expectedAgents = {
-            "Firefighter-1",    // Firefighter
-            "Ambulance-1",      // Ambulance
-            "Police-1",         // Police
-            "CommandCenter",    // Command Center
-            "ControlCenter",    // Control Center
-            "FireTeamLeader",   // Fire Team Leader
-            "Logistics-1",      // Logistics
-            "Robot-1"           // Robot
-        };
+    private static boolean launchFleet(Profile profile, AgentContainer container) {
+        FleetSpec fleet = FleetSpec.fromSystemProperties();
+        ContainerPlacement placement = new ContainerPlacement(ContainerPlacement.Mode.fromSystemProperties(), profile, container);
+        System.out.println(ConsoleColors.formatInfo("Flotte: " + fleet.size() + " agents, "
+                + fleet.getGroups().size() + " groupes, conteneurs: " + placement.getMode().name().toLowerCase()));
 
-        // Wait for agents to initialize
+        // Stop the peripheral JVMs together with this one
+        java.lang.Runtime.getRuntime().addShutdownHook(new Thread(placement::shutdown, "container-shutdown"));
+
+        FleetLauncher.Report report;
         try {
-            System.out.print(ConsoleColors.BLUE + "Attente de l'initialisation des agents" + ConsoleColors.RESET);
-            for (int i = 0; i < 3; i++) {
-                Thread.sleep(1000);
-                System.out.print(ConsoleColors.BLUE + "." + ConsoleColors.RESET);
-            }
-            System.out.println();
+            report = placement.launch(fleet);
         } catch (InterruptedException e) {
             System.out.println(ConsoleColors.formatError("Interruption pendant l'attente de l'initialisation des agents: " + e.getMessage()));
             return false;
         }
 
-        // Check if all expected agents are running
-        boolean allAgentsReady = true;
-        int agentsRunning = 0;
-
-        for (String agentName : expectedAgents) {
-            try {
-                AgentController agent = container.getAgent(agentName);
-                if (agent != null) {
-                    agentsRunning++;
-                } else {
-                    allAgentsReady = false;
-                }
-            } catch (Exception e) {
-                allAgentsReady = false;
-            }
+        for (String name : report.failed()) {
+            System.out.println(ConsoleColors.formatError("Échec du démarrage de l'agent: " + name));
         }
-
-        if (agentsRunning == expectedAgents.length) {
-            System.out.println(ConsoleColors.formatSuccess("Agents actifs: " + agentsRunning + "/" + expectedAgents.length));
+        if (report.allReady()) {
+            System.out.println(ConsoleColors.formatSuccess("Agents actifs: " + report.ready() + "/" + report.expected()));
         } else {
-            System.out.println(ConsoleColors.formatWarning("Agents actifs: " + agentsRunning + "/" + expectedAgents.length));
+            System.out.println(ConsoleColors.formatWarning("Agents actifs: " + report.ready() + "/" + report.expected()));
         }
-
-        // If all agents are running, wait a bit more to ensure they've registered with the DF
-        if (allAgentsReady) {
-            try {
-                System.out.print(ConsoleColors.BLUE + "Finalisation de l'initialisation" + ConsoleColors.RESET);
-                for (int i = 0; i < 3; i++) {
-                    Thread.sleep(1000);
-                    System.out.print(ConsoleColors.BLUE + "." + ConsoleColors.RESET);
-                }
-                System.out.println();
-            } catch (InterruptedException e) {
-                // Ignore interruption
-            }
-        }
-
-        return allAgentsReady;
+        return report.allReady();
     }
 }
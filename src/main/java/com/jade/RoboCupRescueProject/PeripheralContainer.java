@@ -0,0 +1,81 @@
+package com.jade.RoboCupRescueProject;
+
+import com.jade.RoboCupRescueProject.fleet.ContainerPlacement;
+import com.jade.RoboCupRescueProject.fleet.FleetLauncher;
+import com.jade.RoboCupRescueProject.fleet.FleetSpec;
+import com.jade.RoboCupRescueProject.utils.AgentThreads;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
+import jade.core.Profile;
+import jade.core.ProfileImpl;
+import jade.core.Runtime;
+import jade.wrapper.AgentContainer;
+
+import java.io.IOException;
+
+/**
+ * Entry point of a peripheral container joining the platform of a running MainContainer.
+ *
+ * The container starts the groups of the fleet spec placed in it and prints a readiness line.
+ * MainContainer starts one such JVM per container in jvm mode; on other hosts it can be run by hand:
+ * java -Dsimulation.fleet=fleet.properties com.jade.RoboCupRescueProject.PeripheralContainer district-1 main-host 1099
+ */
+public class PeripheralContainer {
+    // Option given by MainContainer: stop when the parent JVM closes our standard input
+    public static final String ATTACHED_OPTION = "--attached";
+
+    public static void main(String[] args) {
+        int first = args.length > 0 && args[0].equals(ATTACHED_OPTION) ? 1 : 0;
+        if (args.length <= first) {
+            System.err.println("Usage: PeripheralContainer [" + ATTACHED_OPTION + "] <container> [main host] [main port]");
+            System.exit(2);
+        }
+        String name = args[first];
+        String host = args.length > first + 1 ? args[first + 1] : "localhost";
+        int port = args.length > first + 2 ? Integer.parseInt(args[first + 2]) : 1099;
+
+        if (first == 1) {
+            exitWithParent();
+        }
+
+        SimulationClock.install(SimulationClock.fromSystemProperties());
+
+        Profile profile = new ProfileImpl(host, port, null, false);
+        profile.setParameter(Profile.CONTAINER_NAME, name);
+        AgentThreads.configure(profile);
+        AgentContainer container = Runtime.instance().createAgentContainer(profile);
+        if (container == null) {
+            System.err.println("Cannot join the platform at " + host + ":" + port);
+            System.exit(1);
+        }
+
+        FleetSpec fleet = FleetSpec.fromSystemProperties().forContainer(name);
+        try {
+            FleetLauncher.Report report = FleetLauncher.fromSystemProperties(container).launch(fleet);
+            for (String failed : report.failed()) {
+                System.err.println("Failed to start agent " + failed);
+            }
+            System.out.println(ContainerPlacement.READY_MARKER + " " + report.ready() + " " + report.expected());
+        } catch (InterruptedException e) {
+            System.err.println("Interrupted while starting the agents of " + name);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Exit once the parent JVM is gone, which closes our standard input
+     */
+    private static void exitWithParent() {
+        Thread watcher = new Thread(() -> {
+            try {
+                while (System.in.read() >= 0) {
+                    // The parent never writes; keep reading until end of stream
+                }
+            } catch (IOException e) {
+                // Treated as the parent being gone
+            }
+            System.exit(0);
+        }, "parent-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+}
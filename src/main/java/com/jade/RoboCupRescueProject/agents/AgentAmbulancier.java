@@ -1,11 +1,19 @@
 package com.jade.RoboCupRescueProject.agents;
 
+import com.jade.RoboCupRescueProject.fleet.LaunchProfile;
+import jade.core.AID;
 import jade.core.Agent;
 import jade.domain.DFService;
 import jade.domain.FIPAException;
 import jade.domain.FIPAAgentManagement.DFAgentDescription;
 import jade.domain.FIPAAgentManagement.ServiceDescription;
-import jade.core.behaviours.TickerBehaviour;
+import com.jade.RoboCupRescueProject.messages.DeltaReporter;
+import com.jade.RoboCupRescueProject.messages.EnvelopeUnpacker;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import jade.lang.acl.ACLMessage;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
+import com.jade.RoboCupRescueProject.behaviours.ambulancier.ExecuterMissionsBehaviour;
 import com.jade.RoboCupRescueProject.behaviours.ambulancier.LocaliserVictimesBehaviour;
 import com.jade.RoboCupRescueProject.behaviours.ambulancier.SoinsPremiersBehaviour;
 import com.jade.RoboCupRescueProject.behaviours.ambulancier.TransporterVictimesBehaviour;
@@ -19,11 +27,12 @@ import com.jade.RoboCupRescueProject.behaviours.ambulancier.InformerCentreBehavi
  * 2. Provide first aid and stabilize the condition of the injured
  * 3. Coordinate the evacuation of victims to hospitals or medical triage points
  * 
- * This agent uses four behaviors to fulfill its responsibilities:
+ * This agent uses five behaviors to fulfill its responsibilities:
  * - LocaliserVictimesBehaviour: Searches for victims in the disaster area
  * - SoinsPremiersBehaviour: Provides first aid and performs triage
  * - TransporterVictimesBehaviour: Transports victims to medical facilities
  * - InformerCentreBehaviour: Reports information to the command center
+ * - ExecuterMissionsBehaviour: Answers the missions dispatched by the command center
  */
 public class AgentAmbulancier extends Agent {
     // Agent state
@@ -31,21 +40,44 @@ public class AgentAmbulancier extends Agent {
     private int victimsTransported = 0;
     private String currentStatus = "READY";
 
+    // Mission state, sent to the command center in the heartbeats
+    private boolean available = true;
+    private String currentLocation = "BASE";
+    // Heartbeats are only sent when the status changed, or for a snapshot
+    private DeltaReporter statusDelta;
+    private static final String STATUS_RECEIVER = "CommandCenter";
+    private static final long STATUS_PERIOD = 5000; // 5 seconds
+
     @Override
     protected void setup() {
         System.out.println("Agent Ambulancier " + getLocalName() + " starting...");
+        LaunchProfile profile = LaunchProfile.of(this);
+        currentLocation = profile.positionOr(currentLocation);
+        statusDelta = DeltaReporter.fromSystemProperties();
 
         // Register the agent in the yellow pages (DF)
         registerService("ambulancier");
 
+        // Open batched envelopes first so that the other behaviours see the carried messages
+        addBehaviour(new EnvelopeUnpacker(this));
+
         // Add the agent's behaviors
         addBehaviour(new LocaliserVictimesBehaviour(this));
         addBehaviour(new SoinsPremiersBehaviour(this));
         addBehaviour(new TransporterVictimesBehaviour(this));
         addBehaviour(new InformerCentreBehaviour(this));
+        addBehaviour(new ExecuterMissionsBehaviour(this));
+
+        // Heartbeat for the command center's availability registry
+        addBehaviour(new ClockTickerBehaviour(this, STATUS_PERIOD) {
+            @Override
+            protected void onTick() {
+                reportStatus();
+            }
+        });
 
         // Add a status update behavior
-        addBehaviour(new TickerBehaviour(this, 10000) { // Every 10 seconds
+        addBehaviour(new ClockTickerBehaviour(this, 10000) { // Every 10 seconds
             @Override
             protected void onTick() {
                 System.out.println("Agent Ambulancier " + myAgent.getLocalName() + 
@@ -56,6 +88,7 @@ public class AgentAmbulancier extends Agent {
         });
 
         System.out.println("Agent Ambulancier " + getLocalName() + " ready.");
+        profile.ready();
     }
 
     /**
@@ -79,6 +112,56 @@ public class AgentAmbulancier extends Agent {
         }
     }
 
+    /**
+     * Send a heartbeat to the command center's availability registry, when the status changed
+     * and for periodic snapshots
+     */
+    private void reportStatus() {
+        DeltaReporter.Round round = statusDelta.begin(STATUS_RECEIVER);
+        round.offer(getLocalName(), "location", currentLocation);
+        round.offer(getLocalName(), "available", String.valueOf(available));
+        if (!round.hasChanges()) {
+            return;
+        }
+
+        ACLMessage status = MessageCodec.create(ACLMessage.INFORM,
+                new TypedMessage.UnitStatus(getLocalName(), currentLocation, available, 1.0));
+        status.addReceiver(new AID(STATUS_RECEIVER, AID.ISLOCALNAME));
+        send(status);
+    }
+
+    /**
+     * Check whether the unit can take a mission
+     * @return true if the unit is free
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Set whether the unit can take a mission; the change is sent with the next heartbeat
+     * @param available true if the unit is free
+     */
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    /**
+     * Get the current location of the unit
+     * @return The location
+     */
+    public String getCurrentLocation() {
+        return currentLocation;
+    }
+
+    /**
+     * Set the current location of the unit
+     * @param location The new location
+     */
+    public void setCurrentLocation(String location) {
+        this.currentLocation = location;
+    }
+
     /**
      * Update the agent's status
      * @param status The new status
@@ -103,6 +186,8 @@ public class AgentAmbulancier extends Agent {
 
     @Override
     protected void takeDown() {
+        LaunchProfile.of(this).terminated();
+
         // Deregister from the DF
         try {
             DFService.deregister(this);
@@ -1,17 +1,25 @@
 package com.jade.RoboCupRescueProject.agents;
 
+import com.jade.RoboCupRescueProject.assignment.AvailabilityRegistry;
 import com.jade.RoboCupRescueProject.behaviours.centrecommande.*;
+import com.jade.RoboCupRescueProject.fleet.LaunchProfile;
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import com.jade.RoboCupRescueProject.messages.RoutedAgent;
+import com.jade.RoboCupRescueProject.missions.Mission;
+import com.jade.RoboCupRescueProject.missions.MissionQueue;
+import com.jade.RoboCupRescueProject.spatial.Point;
+import com.jade.RoboCupRescueProject.spatial.SpatialIndex;
 import com.jade.RoboCupRescueProject.utils.AgentConsoleLogger;
+import com.jade.RoboCupRescueProject.world.WorldState;
+import jade.core.AID;
 import jade.core.Agent;
 import jade.domain.DFService;
 import jade.domain.FIPAException;
 import jade.domain.FIPAAgentManagement.DFAgentDescription;
 import jade.domain.FIPAAgentManagement.ServiceDescription;
-import jade.core.behaviours.TickerBehaviour;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
 
-import java.util.HashMap;
 import java.util.Map;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -28,28 +36,23 @@ import java.util.List;
  * - DispatcherMissionsBehaviour: Assign tasks to different agents
  * - GererRessourcesGlobalesBehaviour: Manage global resources
  */
-public class AgentCentreCommande extends Agent {
+public class AgentCentreCommande extends Agent implements RoutedAgent {
     // Agent state
-    private String currentStatus = "READY";
+    private volatile String currentStatus = "READY";
 
-    // Information collected from other agents
-    private Map<String, String> fireReports = new HashMap<>(); // Map of fire location to status
-    private Map<String, String> victimReports = new HashMap<>(); // Map of victim location to status
-    private Map<String, String> roadReports = new HashMap<>(); // Map of road ID to status
-    private Map<String, String> securityZoneReports = new HashMap<>(); // Map of zone ID to status
+    // Single reader of the message queue, feeding the inboxes of the behaviours
+    private MessageRouter router;
 
-    // Mission planning
-    private List<String> priorityMissions = new ArrayList<>(); // List of priority missions
-    private Map<String, String> assignedMissions = new HashMap<>(); // Map of mission ID to assigned agent
+    // Information collected from other agents, resources and statistics, readable from any thread
+    private final WorldState world = new WorldState();
 
-    // Resource management
-    private Map<String, Integer> availableResources = new HashMap<>(); // Map of resource type to quantity
+    // Positions of the rescue units, used to weigh assignments by distance
+    private final SpatialIndex<AID> unitIndex = SpatialIndex.fromSystemProperties(); // Last known unit positions
+    private final AvailabilityRegistry availabilityRegistry = new AvailabilityRegistry(); // Units by type, availability and resources
 
-    // Statistics
-    private int totalFiresReported = 0;
-    private int totalVictimsReported = 0;
-    private int totalRoadIssuesReported = 0;
-    private int totalMissionsDispatched = 0;
+    // Mission planning
+    private final MissionQueue missionQueue = new MissionQueue(); // Missions by priority, indexed by mission ID
+    private PlanifierInterventionBehaviour planner; // Keeps the mission queue up to date with the reports
 
     @Override
     protected void setup() {
@@ -62,32 +65,36 @@ public class AgentCentreCommande extends Agent {
         // Register the agent in the yellow pages (DF)
         registerService("centre-commande");
 
+        // Add the message router first so that behaviours can register their inboxes
+        router = new MessageRouter(this);
+        addBehaviour(router);
+
         // Add the agent's behaviors
+        addBehaviour(new SuivreDisponibiliteUnitesBehaviour(this));
         addBehaviour(new CollecterInfosBehaviour(this));
-        addBehaviour(new PlanifierInterventionBehaviour(this));
+        planner = new PlanifierInterventionBehaviour(this);
+        addBehaviour(planner);
         addBehaviour(new DispatcherMissionsBehaviour(this));
         addBehaviour(new GererRessourcesGlobalesBehaviour(this));
-        addBehaviour(new ComportementSuiviExtinction());
-        addBehaviour(new FireAlertHandlerBehaviour());
+        addBehaviour(new ComportementSuiviExtinction(this));
+        addBehaviour(new FireAlertHandlerBehaviour(this));
 
         // Log agent status
         AgentConsoleLogger.logAgentStatus(this, "READY", "Centre de commande prêt à coordonner les opérations");
+        LaunchProfile.of(this).ready();
 
         // Add a status update behavior with reduced frequency and only during active scenarios
-        addBehaviour(new TickerBehaviour(this, 30000) { // Every 30 seconds instead of 10
+        addBehaviour(new ClockTickerBehaviour(this, 30000) { // Every 30 seconds instead of 10
             @Override
             protected void onTick() {
                 // Only log status if there's activity to report
-                if (totalFiresReported > 0 || totalVictimsReported > 0 || 
-                    totalRoadIssuesReported > 0 || totalMissionsDispatched > 0) {
+                int fires = getTotalFiresReported();
+                int victims = getTotalVictimsReported();
+                int roadIssues = getTotalRoadIssuesReported();
+                int missions = getTotalMissionsDispatched();
+                if (fires > 0 || victims > 0 || roadIssues > 0 || missions > 0) {
                     // Log command center report with detailed information
-                    AgentConsoleLogger.logCommandCenterReport(
-                        myAgent, 
-                        totalFiresReported, 
-                        totalVictimsReported, 
-                        totalRoadIssuesReported, 
-                        totalMissionsDispatched
-                    );
+                    AgentConsoleLogger.logCommandCenterReport(myAgent, fires, victims, roadIssues, missions);
                 }
             }
         });
@@ -97,12 +104,12 @@ public class AgentCentreCommande extends Agent {
      * Initialize the available resources
      */
     private void initializeResources() {
-        availableResources.put("fire_trucks", 10);
-        availableResources.put("ambulances", 8);
-        availableResources.put("police_cars", 12);
-        availableResources.put("water_supply", 5000); // liters
-        availableResources.put("medical_kits", 50);
-        availableResources.put("barricades", 30);
+        world.setResource("fire_trucks", 10);
+        world.setResource("ambulances", 8);
+        world.setResource("police_cars", 12);
+        world.setResource("water_supply", 5000); // liters
+        world.setResource("medical_kits", 50);
+        world.setResource("barricades", 30);
     }
 
     /**
@@ -138,8 +145,7 @@ public class AgentCentreCommande extends Agent {
      * @param status The status of the fire
      */
     public void addFireReport(String location, String status) {
-        fireReports.put(location, status);
-        totalFiresReported++;
+        world.reportFire(location, status);
     }
 
     /**
@@ -148,8 +154,79 @@ public class AgentCentreCommande extends Agent {
      * @param status The status of the victim
      */
     public void addVictimReport(String location, String status) {
-        victimReports.put(location, status);
-        totalVictimsReported++;
+        world.reportVictim(location, status);
+    }
+
+    /**
+     * Update the last known position of a rescue unit
+     * @param unit The unit
+     * @param location The location of the unit; units at a location without coordinates (e.g. BASE) are not indexed
+     * @param available Whether the unit can take a new mission
+     */
+    public void updateUnitPosition(AID unit, String location, boolean available) {
+        Point point = Point.parse(location);
+        if (point != null) {
+            unitIndex.put(unit, point);
+        } else {
+            unitIndex.remove(unit);
+        }
+        availabilityRegistry.setAvailable(unit, available);
+    }
+
+    /**
+     * Update the last known position and resources of a rescue unit
+     * @param unit The unit
+     * @param location The location of the unit
+     * @param available Whether the unit can take a new mission
+     * @param resourceLevel The fraction of water or battery left, from 0 to 1
+     */
+    public void updateUnitPosition(AID unit, String location, boolean available, double resourceLevel) {
+        updateUnitPosition(unit, location, available);
+        availabilityRegistry.heartbeat(unit, available, resourceLevel);
+    }
+
+    /**
+     * Mark a rescue unit as available or not until its next status report
+     * @param unit The unit
+     * @param available Whether the unit can take a new mission
+     */
+    public void setUnitAvailable(AID unit, boolean available) {
+        availabilityRegistry.setAvailable(unit, available);
+    }
+
+    /**
+     * Check whether a rescue unit can take a new mission
+     * @param unit The unit
+     * @return The last reported availability; units that never reported are assumed available
+     */
+    public boolean isUnitAvailable(AID unit) {
+        return availabilityRegistry.isAvailable(unit);
+    }
+
+    /**
+     * Get the last known position of a rescue unit
+     * @param unit The unit
+     * @return The position, or null if unknown
+     */
+    public Point getUnitPosition(AID unit) {
+        return unitIndex.locationOf(unit);
+    }
+
+    /**
+     * Get the resources left to a rescue unit
+     * @param unit The unit
+     * @return The fraction of water or battery left, 1 if never reported
+     */
+    public double getUnitResourceLevel(AID unit) {
+        return availabilityRegistry.getResourceLevel(unit);
+    }
+
+    /**
+     * Get the registry of rescue units, kept up to date from the DF and from status heartbeats
+     * @return The availability registry
+     */
+    public AvailabilityRegistry getAvailabilityRegistry() {
+        return availabilityRegistry;
     }
 
     /**
@@ -158,8 +235,7 @@ public class AgentCentreCommande extends Agent {
      * @param status The status of the road
      */
     public void addRoadReport(String roadId, String status) {
-        roadReports.put(roadId, status);
-        totalRoadIssuesReported++;
+        world.reportRoad(roadId, status);
     }
 
     /**
@@ -168,15 +244,7 @@ public class AgentCentreCommande extends Agent {
      * @param status The status of the zone
      */
     public void addSecurityZoneReport(String zoneId, String status) {
-        securityZoneReports.put(zoneId, status);
-    }
-
-    /**
-     * Add a priority mission
-     * @param mission The mission description
-     */
-    public void addPriorityMission(String mission) {
-        priorityMissions.add(mission);
+        world.reportSecurityZone(zoneId, status);
     }
 
     /**
@@ -185,8 +253,7 @@ public class AgentCentreCommande extends Agent {
      * @param agentId The ID of the agent
      */
     public void assignMission(String missionId, String agentId) {
-        assignedMissions.put(missionId, agentId);
-        totalMissionsDispatched++;
+        world.assignMission(missionId, agentId);
     }
 
     /**
@@ -195,7 +262,7 @@ public class AgentCentreCommande extends Agent {
      * @param quantity The new quantity
      */
     public void updateResource(String resourceType, int quantity) {
-        availableResources.put(resourceType, quantity);
+        world.setResource(resourceType, quantity);
     }
 
     /**
@@ -204,7 +271,7 @@ public class AgentCentreCommande extends Agent {
      * @return The quantity of the resource
      */
     public int getResourceQuantity(String resourceType) {
-        return availableResources.getOrDefault(resourceType, 0);
+        return (int)world.getResource(resourceType);
     }
 
     /**
@@ -213,7 +280,7 @@ public class AgentCentreCommande extends Agent {
      * @return The status of the fire
      */
     public String getFireStatus(String location) {
-        return fireReports.get(location);
+        return world.fires().get(location);
     }
 
     /**
@@ -222,7 +289,7 @@ public class AgentCentreCommande extends Agent {
      * @return The status of the victim
      */
     public String getVictimStatus(String location) {
-        return victimReports.get(location);
+        return world.victims().get(location);
     }
 
     /**
@@ -231,7 +298,7 @@ public class AgentCentreCommande extends Agent {
      * @return The status of the road
      */
     public String getRoadStatus(String roadId) {
-        return roadReports.get(roadId);
+        return world.roads().get(roadId);
     }
 
     /**
@@ -240,23 +307,47 @@ public class AgentCentreCommande extends Agent {
      * @return The status of the zone
      */
     public String getSecurityZoneStatus(String zoneId) {
-        return securityZoneReports.get(zoneId);
+        return world.securityZones().get(zoneId);
     }
 
     /**
      * Get the list of priority missions
-     * @return The list of priority missions
+     * @return The missions, from the most to the least urgent
      */
-    public List<String> getPriorityMissions() {
-        return new ArrayList<>(priorityMissions);
+    public List<Mission> getPriorityMissions() {
+        return missionQueue.toSortedList();
+    }
+
+    /**
+     * Get the mission queue, updated in place by the planner
+     * @return The mission queue
+     */
+    public MissionQueue getMissionQueue() {
+        return missionQueue;
+    }
+
+    /**
+     * Get the behaviour planning missions from the reports
+     * @return The planner
+     */
+    public PlanifierInterventionBehaviour getPlanner() {
+        return planner;
     }
 
     /**
      * Get the map of assigned missions
-     * @return The map of assigned missions
+     * @return A live read-only view of the assigned missions
      */
     public Map<String, String> getAssignedMissions() {
-        return new HashMap<>(assignedMissions);
+        return world.assignedMissions();
+    }
+
+    /**
+     * Get the world state collected by this agent, safe to read from other threads
+     * @return The world state
+     */
+    public WorldState getWorldState() {
+        return world;
     }
 
     /**
@@ -264,7 +355,7 @@ public class AgentCentreCommande extends Agent {
      * @return The total number of fires reported
      */
     public int getTotalFiresReported() {
-        return totalFiresReported;
+        return (int)world.getFiresReported();
     }
 
     /**
@@ -272,7 +363,7 @@ public class AgentCentreCommande extends Agent {
      * @return The total number of victims reported
      */
     public int getTotalVictimsReported() {
-        return totalVictimsReported;
+        return (int)world.getVictimsReported();
     }
 
     /**
@@ -280,7 +371,16 @@ public class AgentCentreCommande extends Agent {
      * @return The total number of road issues reported
      */
     public int getTotalRoadIssuesReported() {
-        return totalRoadIssuesReported;
+        return (int)world.getRoadIssuesReported();
+    }
+
+    /**
+     * Get the message router of this agent
+     * @return The message router
+     */
+    @Override
+    public MessageRouter getRouter() {
+        return router;
     }
 
     /**
@@ -288,11 +388,13 @@ public class AgentCentreCommande extends Agent {
      * @return The total number of missions dispatched
      */
     public int getTotalMissionsDispatched() {
-        return totalMissionsDispatched;
+        return (int)world.getMissionsDispatched();
     }
 
     @Override
     protected void takeDown() {
+        LaunchProfile.of(this).terminated();
+
         // Deregister from the DF
         try {
             DFService.deregister(this);
@@ -1,32 +1,44 @@
 package com.jade.RoboCupRescueProject.agents;
 
 import com.jade.RoboCupRescueProject.behaviours.centrecommande.ComportementSuiviExtinction;
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import com.jade.RoboCupRescueProject.messages.RoutedAgent;
 import com.jade.RoboCupRescueProject.utils.AgentConsoleLogger;
 import jade.core.AID;
+import com.jade.RoboCupRescueProject.fleet.LaunchProfile;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
-import jade.core.behaviours.TickerBehaviour;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
 import jade.domain.DFService;
 import jade.domain.FIPAException;
 import jade.domain.FIPAAgentManagement.DFAgentDescription;
 import jade.domain.FIPAAgentManagement.ServiceDescription;
 import jade.lang.acl.ACLMessage;
-import jade.lang.acl.MessageTemplate;
 
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.PriorityQueue;
 
-public class AgentCentreControle extends Agent {
+public class AgentCentreControle extends Agent implements RoutedAgent {
     // Track all fire team leaders
     private List<AID> fireTeamLeaders = new ArrayList<>();
 
     // Track emergency situations
     private Map<String, EmergencySituation> activeSituations = new HashMap<>();
 
-    // Track team assignments
+    // Track team assignments, in both directions
     private Map<AID, String> teamAssignments = new HashMap<>();
+    private Map<String, AID> assignedTeams = new HashMap<>(); // Map of location to assigned team leader
+
+    // Situations waiting for a team, most severe first; outdated entries are skipped when polled
+    private PriorityQueue<EmergencySituation> unassignedSituations =
+            new PriorityQueue<>(Comparator.comparingInt(EmergencySituation::getSeverity).reversed());
+
+    // Single reader of the message queue, feeding the inboxes of the behaviours
+    private MessageRouter router;
 
     @Override
     protected void setup() {
@@ -35,13 +47,36 @@ public class AgentCentreControle extends Agent {
         // Register the command center service
         registerService();
 
+        // Add the message router first so that behaviours can register their inboxes
+        router = new MessageRouter(this);
+        addBehaviour(router);
+
         // Add behaviors
         addBehaviour(new EmergencyMonitorBehaviour(this, 5000));  // Check every 5 seconds
         addBehaviour(new HandleTeamReportsBehaviour());
         addBehaviour(new AssignMissionsBehaviour());
-        addBehaviour(new ComportementSuiviExtinction());
+        addBehaviour(new ComportementSuiviExtinction(this));
 
         AgentConsoleLogger.logAgentStatus(this, "READY", "Centre de contrôle prêt à coordonner les opérations");
+        LaunchProfile.of(this).ready();
+    }
+
+    @Override
+    public MessageRouter getRouter() {
+        return router;
+    }
+
+    /**
+     * Add or update an emergency situation
+     * @param location The location of the situation
+     * @param severity The severity, higher being more serious
+     */
+    public void reportSituation(String location, int severity) {
+        EmergencySituation situation = new EmergencySituation(location, severity);
+        activeSituations.put(location, situation);
+        if (!assignedTeams.containsKey(location)) {
+            unassignedSituations.add(situation);
+        }
     }
 
     private void registerService() {
@@ -60,7 +95,7 @@ public class AgentCentreControle extends Agent {
     }
 
     // Monitor emergency situations
-    private class EmergencyMonitorBehaviour extends TickerBehaviour {
+    private class EmergencyMonitorBehaviour extends ClockTickerBehaviour {
         public EmergencyMonitorBehaviour(Agent a, long period) {
             super(a, period);
         }
@@ -81,11 +116,11 @@ public class AgentCentreControle extends Agent {
             msg.setContent("UPDATE:" + situation.getLocation() + ":" + situation.getSeverity());
 
             // Send to assigned team leader
-            for (AID teamLeader : fireTeamLeaders) {
-                if (teamAssignments.get(teamLeader).equals(situation.getLocation())) {
-                    msg.addReceiver(teamLeader);
-                }
+            AID teamLeader = assignedTeams.get(situation.getLocation());
+            if (teamLeader == null) {
+                return;
             }
+            msg.addReceiver(teamLeader);
 
             myAgent.send(msg);
         }
@@ -93,15 +128,25 @@ public class AgentCentreControle extends Agent {
 
     // Handle incoming reports from teams
     private class HandleTeamReportsBehaviour extends CyclicBehaviour {
+        private final MessageRouter.Inbox inbox = router.createInbox();
+
+        public HandleTeamReportsBehaviour() {
+            router.routePrefixes(inbox, "REPORT");
+        }
+
+        @Override
+        public void onStart() {
+            inbox.attach(this);
+        }
+
         @Override
         public void action() {
-            MessageTemplate mt = MessageTemplate.MatchPerformative(ACLMessage.INFORM);
-            ACLMessage msg = myAgent.receive(mt);
+            ACLMessage msg = inbox.poll();
 
             if (msg != null) {
                 // Process report
                 String content = msg.getContent();
-                if (content.startsWith("REPORT:")) {
+                if (msg.getPerformative() == ACLMessage.INFORM && content.startsWith("REPORT:")) {
                     processTeamReport(msg.getSender(), content.substring(7));
                 }
             } else {
@@ -123,6 +168,7 @@ public class AgentCentreControle extends Agent {
                 if (situation.isResolved()) {
                     activeSituations.remove(location);
                     teamAssignments.remove(sender);
+                    assignedTeams.remove(location);
                 }
             }
         }
@@ -130,13 +176,23 @@ public class AgentCentreControle extends Agent {
 
     // Assign missions to teams
     private class AssignMissionsBehaviour extends CyclicBehaviour {
+        private final MessageRouter.Inbox inbox = router.createInbox();
+
+        public AssignMissionsBehaviour() {
+            router.routePrefixes(inbox, "NEED_ASSIGNMENT");
+        }
+
+        @Override
+        public void onStart() {
+            inbox.attach(this);
+        }
+
         @Override
         public void action() {
-            MessageTemplate mt = MessageTemplate.MatchPerformative(ACLMessage.REQUEST);
-            ACLMessage msg = myAgent.receive(mt);
+            ACLMessage msg = inbox.poll();
 
             if (msg != null) {
-                if (msg.getContent().startsWith("NEED_ASSIGNMENT")) {
+                if (msg.getPerformative() == ACLMessage.REQUEST && msg.getContent().startsWith("NEED_ASSIGNMENT")) {
                     assignTeam(msg.getSender());
                 }
             } else {
@@ -149,8 +205,16 @@ public class AgentCentreControle extends Agent {
             EmergencySituation highestPriority = findHighestPrioritySituation();
 
             if (highestPriority != null) {
-                // Assign team to situation
-                teamAssignments.put(teamLeader, highestPriority.getLocation());
+                // Assign team to situation; its previous situation, if any, waits for another team
+                String previous = teamAssignments.put(teamLeader, highestPriority.getLocation());
+                assignedTeams.put(highestPriority.getLocation(), teamLeader);
+                if (previous != null && teamLeader.equals(assignedTeams.get(previous))) {
+                    assignedTeams.remove(previous);
+                    EmergencySituation situation = activeSituations.get(previous);
+                    if (situation != null && situation.isActive()) {
+                        unassignedSituations.add(situation);
+                    }
+                }
 
                 // Send assignment
                 ACLMessage assignment = new ACLMessage(ACLMessage.REQUEST);
@@ -162,17 +226,12 @@ public class AgentCentreControle extends Agent {
         }
 
         private EmergencySituation findHighestPrioritySituation() {
-            EmergencySituation highest = null;
-            int highestPriority = -1;
-
-            for (EmergencySituation situation : activeSituations.values()) {
-                if (!teamAssignments.containsValue(situation.getLocation()) &&
-                        situation.getSeverity() > highestPriority) {
-                    highest = situation;
-                    highestPriority = situation.getSeverity();
-                }
+            // Skip entries of situations resolved, replaced or assigned since they were queued
+            EmergencySituation highest = unassignedSituations.poll();
+            while (highest != null && (activeSituations.get(highest.getLocation()) != highest
+                    || !highest.isActive() || assignedTeams.containsKey(highest.getLocation()))) {
+                highest = unassignedSituations.poll();
             }
-
             return highest;
         }
     }
@@ -206,6 +265,8 @@ public class AgentCentreControle extends Agent {
 
     @Override
     protected void takeDown() {
+        LaunchProfile.of(this).terminated();
+
         // Deregister from the DF
         try {
             DFService.deregister(this);
@@ -1,5 +1,8 @@
 package com.jade.RoboCupRescueProject.agents;
 
+import com.jade.RoboCupRescueProject.aggregation.SummaryTickerBehaviour;
+import com.jade.RoboCupRescueProject.aggregation.TeamAggregator;
+import com.jade.RoboCupRescueProject.fleet.LaunchProfile;
 import jade.core.Agent;
 import jade.domain.DFService;
 import jade.domain.FIPAException;
@@ -12,7 +15,10 @@ public class AgentChefEquipePompier extends Agent {
     private RecevoirOrdresCentreBehaviour recevoirOrdresBehaviour;
     private AssignerTachesPompiersBehaviour assignerTachesBehaviour;
     private RecupererRapportsPompierBehaviour recupererRapportsBehaviour;
-    private FaireSyntheseAuCentreBehaviour faireSyntheseBehaviour;
+    private SummaryTickerBehaviour faireSyntheseBehaviour;
+
+    // Latest state of the team, sent to the command center once per window
+    private TeamAggregator aggregator;
 
     @Override
     protected void setup() {
@@ -26,6 +32,7 @@ public class AgentChefEquipePompier extends Agent {
             initializeBehaviors();
 
             System.out.println("Agent Chef Equipe Pompier " + getLocalName() + " ready.");
+            LaunchProfile.of(this).ready();
         } catch (Exception e) {
             System.err.println("Error during initialization: " + e.getMessage());
             e.printStackTrace();
@@ -51,10 +58,11 @@ public class AgentChefEquipePompier extends Agent {
 
     private void initializeBehaviors() {
         // Create behaviors in the correct order due to dependencies
-        recupererRapportsBehaviour = new RecupererRapportsPompierBehaviour(this);
+        aggregator = new TeamAggregator(getLocalName());
+        recupererRapportsBehaviour = new RecupererRapportsPompierBehaviour(this, aggregator);
         assignerTachesBehaviour = new AssignerTachesPompiersBehaviour(this);
         recevoirOrdresBehaviour = new RecevoirOrdresCentreBehaviour(this);
-        faireSyntheseBehaviour = new FaireSyntheseAuCentreBehaviour(this, recupererRapportsBehaviour);
+        faireSyntheseBehaviour = new SummaryTickerBehaviour(this, aggregator, "CommandCenter");
 
         // Add behaviors to the agent
         addBehaviour(recevoirOrdresBehaviour);
@@ -65,6 +73,8 @@ public class AgentChefEquipePompier extends Agent {
 
     @Override
     protected void takeDown() {
+        LaunchProfile.of(this).terminated();
+
         // Deregister from the DF
         try {
             DFService.deregister(this);
@@ -76,4 +86,12 @@ public class AgentChefEquipePompier extends Agent {
         System.out.println("Agent Chef Equipe Pompier " + getLocalName() + " terminating.");
     }
 
+    /**
+     * Get the aggregator of the team reports
+     * @return The team aggregator
+     */
+    public TeamAggregator getAggregator() {
+        return aggregator;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.jade.RoboCupRescueProject.agents;
+
+import com.jade.RoboCupRescueProject.aggregation.SummaryTickerBehaviour;
+import com.jade.RoboCupRescueProject.aggregation.TeamAggregator;
+import com.jade.RoboCupRescueProject.behaviours.chefessaimrobots.AttribuerFrontieresBehaviour;
+import com.jade.RoboCupRescueProject.behaviours.chefessaimrobots.RecupererDonneesRobotsBehaviour;
+import com.jade.RoboCupRescueProject.behaviours.robot.ExplorerZoneBehaviour;
+import com.jade.RoboCupRescueProject.exploration.FrontierPlanner;
+import com.jade.RoboCupRescueProject.fleet.LaunchProfile;
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import com.jade.RoboCupRescueProject.messages.RoutedAgent;
+import com.jade.RoboCupRescueProject.spatial.OccupancyGrid;
+import jade.core.Agent;
+import jade.domain.DFService;
+import jade.domain.FIPAException;
+import jade.domain.FIPAAgentManagement.DFAgentDescription;
+import jade.domain.FIPAAgentManagement.ServiceDescription;
+
+/**
+ * Leader of a swarm of rescue robots.
+ * Robots send their scans and hotspots to their leader, which merges them and sends a summary
+ * of the swarm to the command center once per window.
+ * It also keeps the coverage map of the swarm and auctions its frontier among the robots.
+ */
+public class AgentChefEssaimRobots extends Agent implements RoutedAgent {
+    // Single reader of the message queue; it also opens the envelopes of the robots' outboxes
+    private MessageRouter router;
+
+    // Latest state of the swarm, sent to the command center once per window
+    private TeamAggregator aggregator;
+
+    // Shared coverage map and frontier auctions of the swarm
+    private FrontierPlanner planner;
+
+    @Override
+    protected void setup() {
+        System.out.println("Agent Chef Essaim Robots " + getLocalName() + " starting...");
+
+        try {
+            // Register the agent in the yellow pages (DF)
+            registerService();
+
+            // Add the message router first so that behaviours can register their inboxes
+            router = new MessageRouter(this);
+            addBehaviour(router);
+
+            aggregator = new TeamAggregator(getLocalName());
+            planner = new FrontierPlanner(OccupancyGrid.fromSystemProperties(), ExplorerZoneBehaviour.SCAN_RADIUS);
+            addBehaviour(new RecupererDonneesRobotsBehaviour(this, aggregator, planner));
+            addBehaviour(new SummaryTickerBehaviour(this, aggregator, "CommandCenter"));
+            addBehaviour(new AttribuerFrontieresBehaviour(this, planner));
+
+            System.out.println("Agent Chef Essaim Robots " + getLocalName() + " ready.");
+            LaunchProfile.of(this).ready();
+        } catch (Exception e) {
+            System.err.println("Error during initialization: " + e.getMessage());
+            e.printStackTrace();
+            doDelete();
+        }
+    }
+
+    private void registerService() {
+        DFAgentDescription dfd = new DFAgentDescription();
+        dfd.setName(getAID());
+        ServiceDescription sd = new ServiceDescription();
+        sd.setType("chef-essaim-robots");
+        sd.setName(getLocalName());
+        dfd.addServices(sd);
+
+        try {
+            DFService.register(this, dfd);
+            System.out.println(getLocalName() + ": Registered with Directory Facilitator");
+        } catch (FIPAException fe) {
+            throw new RuntimeException("Failed to register with DF: " + fe.getMessage());
+        }
+    }
+
+    @Override
+    public MessageRouter getRouter() {
+        return router;
+    }
+
+    /**
+     * Get the aggregator of the swarm reports
+     * @return The swarm aggregator
+     */
+    public TeamAggregator getAggregator() {
+        return aggregator;
+    }
+
+    /**
+     * Get the coverage map and frontier auctions of the swarm
+     * @return The swarm frontier planner
+     */
+    public FrontierPlanner getPlanner() {
+        return planner;
+    }
+
+    @Override
+    protected void takeDown() {
+        LaunchProfile.of(this).terminated();
+
+        // Deregister from the DF
+        try {
+            DFService.deregister(this);
+            System.out.println(getLocalName() + ": Deregistered from Directory Facilitator");
+        } catch (FIPAException fe) {
+            fe.printStackTrace();
+        }
+
+        System.out.println("Agent Chef Essaim Robots " + getLocalName() + " terminating.");
+    }
+}
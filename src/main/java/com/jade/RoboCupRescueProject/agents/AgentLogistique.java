@@ -1,5 +1,6 @@
 package com.jade.RoboCupRescueProject.agents;
 
+import com.jade.RoboCupRescueProject.fleet.LaunchProfile;
 import jade.core.Agent;
 import jade.domain.DFService;
 import jade.domain.FIPAAgentManagement.DFAgentDescription;
@@ -15,6 +16,12 @@ public class AgentLogistique extends Agent {
         addBehaviour(new RecevoirDemandesRessourcesBehaviour(this));
         addBehaviour(new AcheminerApprovisionnementBehaviour(this));
         addBehaviour(new FournirRapportStockBehaviour(this));
+        LaunchProfile.of(this).ready();
+    }
+
+    @Override
+    protected void takeDown() {
+        LaunchProfile.of(this).terminated();
     }
 
     private void registerService(String type) {
@@ -1,15 +1,27 @@
 package com.jade.RoboCupRescueProject.agents;
 
+import com.jade.RoboCupRescueProject.fleet.LaunchProfile;
+import jade.core.AID;
 import jade.core.Agent;
 import jade.domain.DFService;
 import jade.domain.FIPAException;
 import jade.domain.FIPAAgentManagement.DFAgentDescription;
 import jade.domain.FIPAAgentManagement.ServiceDescription;
-import jade.core.behaviours.TickerBehaviour;
+import com.jade.RoboCupRescueProject.messages.DeltaReporter;
+import com.jade.RoboCupRescueProject.messages.EnvelopeUnpacker;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import jade.lang.acl.ACLMessage;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
+import com.jade.RoboCupRescueProject.behaviours.police.ExecuterMissionsBehaviour;
 import com.jade.RoboCupRescueProject.behaviours.police.GererCirculationBehaviour;
 import com.jade.RoboCupRescueProject.behaviours.police.FournirItineraireBehaviour;
 import com.jade.RoboCupRescueProject.behaviours.police.BloquerZoneDangerBehaviour;
 import com.jade.RoboCupRescueProject.behaviours.police.SignalerChangementsBehaviour;
+import com.jade.RoboCupRescueProject.routing.RoadGraph;
+import com.jade.RoboCupRescueProject.routing.RoutePlanner;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -21,15 +33,24 @@ import java.util.Map;
  * 2. Establish security perimeters around dangerous areas (fire, collapse, explosion)
  * 3. Maintain public order: manage the influx of people, prevent intrusions into disaster areas
  * 
- * This agent uses four behaviors to fulfill its responsibilities:
+ * This agent uses five behaviors to fulfill its responsibilities:
  * - GererCirculationBehaviour: Manages traffic and secures transport routes
  * - BloquerZoneDangerBehaviour: Establishes security perimeters around dangerous areas
  * - FournirItineraireBehaviour: Provides route assistance to emergency vehicles
  * - SignalerChangementsBehaviour: Alerts other agents about obstacles or imminent risks
+ * - ExecuterMissionsBehaviour: Answers the missions dispatched by the command center
  */
 public class AgentPolice extends Agent {
     // Agent state
     private String currentStatus = "READY";
+
+    // Mission state, sent to the command center in the heartbeats
+    private boolean available = true;
+    private String currentLocation = "BASE";
+    // Heartbeats are only sent when the status changed, or for a snapshot
+    private DeltaReporter statusDelta;
+    private static final String STATUS_RECEIVER = "CommandCenter";
+    private static final long STATUS_PERIOD = 5000; // 5 seconds
     private int securityPerimetersEstablished = 0;
     private int routeAssistanceProvided = 0;
     private int alertsSent = 0;
@@ -40,32 +61,56 @@ public class AgentPolice extends Agent {
     // Security zones map (zone ID -> status)
     private Map<String, String> securityZones = new HashMap<>();
 
+    // Road network and routing engine, kept in sync with the road statuses
+    private RoutePlanner routePlanner;
+
     @Override
     protected void setup() {
         System.out.println("Agent Police " + getLocalName() + " starting...");
+        LaunchProfile profile = LaunchProfile.of(this);
+        currentLocation = profile.positionOr(currentLocation);
+        statusDelta = DeltaReporter.fromSystemProperties();
 
         // Register the agent in the yellow pages (DF)
         registerService("police");
 
+        // Load the road network before the behaviours start updating road statuses
+        routePlanner = new RoutePlanner(createRoadGraph(), RoutePlanner.Algorithm.fromSystemProperties());
+
+        // Open batched envelopes first so that the other behaviours see the carried messages
+        addBehaviour(new EnvelopeUnpacker(this));
+
         // Add the agent's behaviors
         addBehaviour(new GererCirculationBehaviour(this));
         addBehaviour(new FournirItineraireBehaviour(this));
         addBehaviour(new BloquerZoneDangerBehaviour(this));
         addBehaviour(new SignalerChangementsBehaviour(this));
+        addBehaviour(new ExecuterMissionsBehaviour(this));
+
+        // Heartbeat for the command center's availability registry
+        addBehaviour(new ClockTickerBehaviour(this, STATUS_PERIOD) {
+            @Override
+            protected void onTick() {
+                reportStatus();
+            }
+        });
 
         // Add a status update behavior
-        addBehaviour(new TickerBehaviour(this, 10000) { // Every 10 seconds
+        addBehaviour(new ClockTickerBehaviour(this, 10000) { // Every 10 seconds
             @Override
             protected void onTick() {
                 System.out.println("Agent Police " + myAgent.getLocalName() + 
                                    " status: " + currentStatus + 
                                    ", Security perimeters: " + securityPerimetersEstablished + 
                                    ", Route assistance: " + routeAssistanceProvided +
-                                   ", Alerts sent: " + alertsSent);
+                                   ", Alerts sent: " + alertsSent +
+                                   ", Route cache hits/misses: " + routePlanner.getCacheHitCount() +
+                                   "/" + routePlanner.getCacheMissCount());
             }
         });
 
         System.out.println("Agent Police " + getLocalName() + " ready.");
+        profile.ready();
     }
 
     /**
@@ -89,6 +134,91 @@ public class AgentPolice extends Agent {
         }
     }
 
+    /**
+     * Create the road network, from the file set by the simulation.road.network system property
+     * or else the built-in city map
+     * @return The road graph
+     */
+    private RoadGraph createRoadGraph() {
+        String file = System.getProperty("simulation.road.network");
+        if (file != null) {
+            try {
+                RoadGraph graph = RoadGraph.load(Paths.get(file));
+                System.out.println("Agent Police " + getLocalName() + " loaded road network " + file + ": " +
+                                   graph.nodeCount() + " locations, " + graph.roadCount() + " roads");
+                return graph;
+            } catch (IOException e) {
+                System.err.println("Error loading road network " + file + ": " + e.getMessage());
+            }
+        }
+
+        return RoadGraph.builder()
+            .addLocation("Hospital", 100, 200)
+            .addLocation("FireStation", 300, 150)
+            .addLocation("PoliceStation", 250, 300)
+            .addLocation("DisasterZone1", 400, 400)
+            .addLocation("DisasterZone2", 150, 450)
+            .addLocation("CityCenter", 250, 250)
+            .addRoad("ROAD_1", "Hospital", "CityCenter")
+            .addRoad("ROAD_2", "FireStation", "CityCenter")
+            .addRoad("ROAD_3", "PoliceStation", "CityCenter")
+            .addRoad("ROAD_4", "CityCenter", "DisasterZone1")
+            .addRoad("ROAD_5", "CityCenter", "DisasterZone2")
+            .addRoad("ROAD_6", "Hospital", "DisasterZone1")
+            .addRoad("ROAD_7", "FireStation", "DisasterZone2")
+            .build();
+    }
+
+    /**
+     * Send a heartbeat to the command center's availability registry, when the status changed
+     * and for periodic snapshots
+     */
+    private void reportStatus() {
+        DeltaReporter.Round round = statusDelta.begin(STATUS_RECEIVER);
+        round.offer(getLocalName(), "location", currentLocation);
+        round.offer(getLocalName(), "available", String.valueOf(available));
+        if (!round.hasChanges()) {
+            return;
+        }
+
+        ACLMessage status = MessageCodec.create(ACLMessage.INFORM,
+                new TypedMessage.UnitStatus(getLocalName(), currentLocation, available, 1.0));
+        status.addReceiver(new AID(STATUS_RECEIVER, AID.ISLOCALNAME));
+        send(status);
+    }
+
+    /**
+     * Check whether the unit can take a mission
+     * @return true if the unit is free
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Set whether the unit can take a mission; the change is sent with the next heartbeat
+     * @param available true if the unit is free
+     */
+    public void setAvailable(boolean available) {
+        this.available = available;
+    }
+
+    /**
+     * Get the current location of the unit
+     * @return The location
+     */
+    public String getCurrentLocation() {
+        return currentLocation;
+    }
+
+    /**
+     * Set the current location of the unit
+     * @param location The new location
+     */
+    public void setCurrentLocation(String location) {
+        this.currentLocation = location;
+    }
+
     /**
      * Update the agent's status
      * @param status The new status
@@ -104,6 +234,15 @@ public class AgentPolice extends Agent {
      */
     public void updateRoadStatus(String roadId, String status) {
         roadStatus.put(roadId, status);
+        routePlanner.setRoadStatus(roadId, status);
+    }
+
+    /**
+     * Get the routing engine of the agent
+     * @return The route planner
+     */
+    public RoutePlanner getRoutePlanner() {
+        return routePlanner;
     }
 
     /**
@@ -174,6 +313,8 @@ public class AgentPolice extends Agent {
 
     @Override
     protected void takeDown() {
+        LaunchProfile.of(this).terminated();
+
         // Deregister from the DF
         try {
             DFService.deregister(this);
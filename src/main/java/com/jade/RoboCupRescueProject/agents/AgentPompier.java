@@ -1,9 +1,15 @@
 package com.jade.RoboCupRescueProject.agents;
 
 import com.jade.RoboCupRescueProject.behaviours.pompier.ComportementExtinctionFeu;
+import com.jade.RoboCupRescueProject.messages.DeltaReporter;
+import com.jade.RoboCupRescueProject.messages.EnvelopeUnpacker;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
 import com.jade.RoboCupRescueProject.behaviours.pompier.FireAlertResponseBehaviour;
 import com.jade.RoboCupRescueProject.scenarios.ScenarioAlerteIncendie;
 import com.jade.RoboCupRescueProject.utils.AgentConsoleLogger;
+import com.jade.RoboCupRescueProject.fleet.LaunchProfile;
+import jade.core.AID;
 import jade.core.Agent;
 import jade.domain.DFService;
 import jade.domain.FIPAAgentManagement.DFAgentDescription;
@@ -11,17 +17,34 @@ import jade.domain.FIPAAgentManagement.ServiceDescription;
 import jade.domain.FIPAException;
 import jade.lang.acl.ACLMessage;
 import jade.core.behaviours.*;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
 
 public class AgentPompier extends Agent {
-    private double waterLevel = 1000.0;
+    // Default water tank capacity, in liters
+    private static final double DEFAULT_WATER_CAPACITY = 1000.0;
+
+    private double waterCapacity = DEFAULT_WATER_CAPACITY;
+    private double waterLevel = DEFAULT_WATER_CAPACITY;
     private String currentLocation = "BASE";
     private boolean isAvailable = true;
+    // Team leader receiving the status heartbeats, the command center when the unit has no team
+    private String statusReceiver = "CommandCenter";
+    // Gates the heartbeats: a full status is sent only when it changed, 5% of the tank at least, or for a snapshot
+    private DeltaReporter statusDelta;
 
     @Override
     protected void setup() {
         // Log agent starting
         AgentConsoleLogger.logAgentStarting(this);
 
+        // Apply the start location and tank capacity given by the fleet launcher
+        LaunchProfile profile = LaunchProfile.of(this);
+        waterCapacity = profile.capacityOr(DEFAULT_WATER_CAPACITY);
+        waterLevel = waterCapacity;
+        currentLocation = profile.positionOr(currentLocation);
+        statusReceiver = profile.teamOr(statusReceiver);
+        statusDelta = DeltaReporter.fromSystemProperties().withThreshold("water", 0.05 * waterCapacity);
+
         // Register with Directory Facilitator
         registerWithDF();
 
@@ -33,6 +56,7 @@ public class AgentPompier extends Agent {
 
         // Log agent status
         AgentConsoleLogger.logFirefighterStatus(this, currentLocation, waterLevel, isAvailable);
+        profile.ready();
     }
 
     // Méthode pour démarrer le scénario d'incendie
@@ -73,12 +97,21 @@ public class AgentPompier extends Agent {
             public void action() {
                 ACLMessage msg = myAgent.receive();
                 if (msg != null) {
+                    if (EnvelopeUnpacker.unpack(myAgent, msg)) {
+                        // Batched missions are put back in the queue and handled one by one
+                        return;
+                    }
                     if (msg.getPerformative() == ACLMessage.REQUEST) {
+                        TypedMessage payload = MessageCodec.read(msg);
                         // Vérifier si c'est une demande de démarrage de scénario
-                        if (msg.getContent().startsWith("START_SCENARIO:FIRE_ALERT:")) {
+                        if (payload instanceof TypedMessage.FireScenarioStart scenario) {
+                            handleScenarioRequest(scenario);
+                        } else if (payload instanceof TypedMessage.Mission mission) {
+                            handleMissionRequest(msg, mission);
+                        } else if (payload == null && msg.getContent() != null
+                                && msg.getContent().startsWith("START_SCENARIO:FIRE_ALERT:")) {
+                            // Format texte conservé pour les messages envoyés à la main depuis la GUI JADE
                             handleScenarioRequest(msg);
-                        } else {
-                            handleMissionRequest(msg);
                         }
                     }
                 } else {
@@ -88,7 +121,7 @@ public class AgentPompier extends Agent {
         });
 
         // Add behavior to report status periodically
-        addBehaviour(new TickerBehaviour(this, 5000) {
+        addBehaviour(new ClockTickerBehaviour(this, 5000) {
             @Override
             protected void onTick() {
                 reportStatus();
@@ -97,7 +130,17 @@ public class AgentPompier extends Agent {
     }
 
     /**
-     * Gère une demande de démarrage de scénario
+     * Gère une demande de démarrage de scénario typée
+     * @param scenario Les paramètres du scénario
+     */
+    private void handleScenarioRequest(TypedMessage.FireScenarioStart scenario) {
+        AgentConsoleLogger.logAgentAction(this, "Réception demande", "Demande de démarrage du scénario d'incendie reçue");
+        demarrerScenarioIncendie(scenario.idBatiment(), scenario.intensiteFeu(), scenario.nombreVictimes(),
+                                scenario.matieresDangereuses(), scenario.accessibilite(), scenario.etage());
+    }
+
+    /**
+     * Gère une demande de démarrage de scénario au format texte
      * @param msg Le message contenant la demande
      */
     private void handleScenarioRequest(ACLMessage msg) {
@@ -125,8 +168,8 @@ public class AgentPompier extends Agent {
         }
     }
 
-    private void handleMissionRequest(ACLMessage msg) {
-        if (msg.getContent().startsWith("MISSION:FIRE_FIGHTING")) {
+    private void handleMissionRequest(ACLMessage msg, TypedMessage.Mission mission) {
+        if ("FIRE_FIGHTING".equals(mission.type())) {
             if (isAvailable && waterLevel > 100) {
                 // Accept mission
                 ACLMessage reply = msg.createReply();
@@ -136,7 +179,7 @@ public class AgentPompier extends Agent {
                 isAvailable = false;
 
                 // Start mission execution
-                executeMission(msg.getContent());
+                executeMission(mission);
             } else {
                 // Reject mission
                 ACLMessage reply = msg.createReply();
@@ -147,10 +190,9 @@ public class AgentPompier extends Agent {
         }
     }
 
-    private void executeMission(String missionDetails) {
-        String[] parts = missionDetails.split(":");
-        if (parts.length >= 4) {
-            String location = parts[2];
+    private void executeMission(TypedMessage.Mission mission) {
+        if (mission.location() != null) {
+            String location = mission.location();
             addBehaviour(new OneShotBehaviour(this) {
                 @Override
                 public void action() {
@@ -176,29 +218,43 @@ public class AgentPompier extends Agent {
     }
 
     private void reportStatus() {
-        // Only send status updates during scenario execution to reduce console noise
+        // Only log status updates during scenario execution to reduce console noise
         if (!currentLocation.equals("BASE") || !isAvailable) {
             // Log status to console for user
             AgentConsoleLogger.logFirefighterStatus(this, currentLocation, waterLevel, isAvailable);
+        }
 
-            // Send status message to other agents
-            ACLMessage status = new ACLMessage(ACLMessage.INFORM);
-            status.setContent(String.format("STATUS:FIREFIGHTER:%s:water=%.1f:location=%s:available=%b",
-                    getLocalName(), waterLevel, currentLocation, isAvailable));
-            // Add command center as receiver
-            send(status);
+        // Heartbeat for the command center's availability registry, sent when the status changed
+        // and for periodic snapshots, even when idle at the base.
+        // Units of a team report to their leader, which forwards the changes in its summaries.
+        // The delta reporter only decides whether to send: the status is a handful of fields that
+        // receivers replace as a whole, so a changed status is sent in full
+        DeltaReporter.Round round = statusDelta.begin(statusReceiver);
+        round.offer(getLocalName(), "water", waterLevel);
+        round.offer(getLocalName(), "location", currentLocation);
+        round.offer(getLocalName(), "available", String.valueOf(isAvailable));
+        if (!round.hasChanges()) {
+            return;
         }
+
+        ACLMessage status = MessageCodec.create(ACLMessage.INFORM,
+                new TypedMessage.FirefighterStatus(getLocalName(), waterLevel, currentLocation, isAvailable));
+        status.addReceiver(new AID(statusReceiver, AID.ISLOCALNAME));
+        send(status);
     }
 
     private void reportMissionComplete(String location) {
-        ACLMessage report = new ACLMessage(ACLMessage.INFORM);
-        report.setContent("MISSION_COMPLETE:FIRE_FIGHTING:" + location);
+        ACLMessage report = MessageCodec.create(ACLMessage.INFORM,
+                new TypedMessage.MissionComplete("FIRE_FIGHTING", location));
         // Add command center as receiver
+        report.addReceiver(new AID("CommandCenter", AID.ISLOCALNAME));
         send(report);
     }
 
     @Override
     protected void takeDown() {
+        LaunchProfile.of(this).terminated();
+
         // Deregister from the DF
         try {
             DFService.deregister(this);
@@ -216,7 +272,11 @@ public class AgentPompier extends Agent {
     }
 
     public void resupplyWater(double amount) {
-        this.waterLevel = Math.min(1000, waterLevel + amount);
+        this.waterLevel = Math.min(waterCapacity, waterLevel + amount);
+    }
+
+    public double getWaterCapacity() {
+        return waterCapacity;
     }
 
     public boolean isAvailable() {
@@ -1,15 +1,46 @@
 package com.jade.RoboCupRescueProject.agents;
 
 import com.jade.RoboCupRescueProject.behaviours.robot.*;
+import com.jade.RoboCupRescueProject.exploration.ExplorationMetrics;
+import com.jade.RoboCupRescueProject.fleet.LaunchProfile;
+import com.jade.RoboCupRescueProject.messages.Outbox;
+import com.jade.RoboCupRescueProject.sensing.DutyCycle;
+import com.jade.RoboCupRescueProject.sensing.EwmaFilter;
+import com.jade.RoboCupRescueProject.sensing.KalmanFilter;
+import com.jade.RoboCupRescueProject.sensing.SensorPipeline;
+import com.jade.RoboCupRescueProject.spatial.OccupancyGrid;
+import com.jade.RoboCupRescueProject.spatial.Point;
 import jade.core.Agent;
 import jade.domain.DFService;
 import jade.domain.FIPAAgentManagement.DFAgentDescription;
 import jade.domain.FIPAAgentManagement.ServiceDescription;
 import jade.domain.FIPAException;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
 
 public class AgentRobot extends Agent {
     // Constants for behavior timing
     private static final long EXPLORATION_PERIOD = 2000; // 2 seconds
+    private static final long SENSOR_PERIOD = 500; // 0.5 seconds, while the sensors detect something
+    private static final long STATUS_PERIOD = 5000; // 5 seconds
+    // Battery drained by the platform at every status update, in percent; sensing is drained on top
+    private static final double PLATFORM_DRAIN = 0.04;
+    // Outbox shared by the hotspot reports and the victim guidance: batched over two victim scans
+    private static final long OUTBOX_WINDOW = 2000;
+    private static final int OUTBOX_CAPACITY = 128;
+
+    // Sensor channels, each sampled at every scan point
+    public static final int SCAN_POINTS = 5;
+    public static final String CHANNEL_TEMPERATURE = "temperature";
+    public static final String CHANNEL_INFRARED = "infrared";
+    public static final String CHANNEL_HEARTBEAT = "heartbeat";
+    public static final String CHANNEL_MOVEMENT = "movement";
+    public static final String CHANNEL_BODY_TEMPERATURE = "body-temperature";
+    // Distance from the robot to its scan points, spread evenly around it
+    private static final double SCAN_POINT_DISTANCE = ExplorerZoneBehaviour.SCAN_RADIUS / 2;
+
+    // Sensor pipeline shared by the detection behaviours, and its duty cycle
+    private SensorPipeline sensors;
+    private DutyCycle dutyCycle;
 
     // Behaviors
     private ExplorerZoneBehaviour explorerBehaviour;
@@ -19,12 +50,16 @@ public class AgentRobot extends Agent {
     // Status tracking
     private boolean isOperational;
     private double batteryLevel;
+    // Swarm leader receiving the scans and hotspots, or null when the robot has no team
+    private String teamLeader;
 
     @Override
     protected void setup() {
         // Initialize agent status
         isOperational = true;
-        batteryLevel = 100.0;
+        LaunchProfile profile = LaunchProfile.of(this);
+        batteryLevel = profile.capacityOr(100.0);
+        teamLeader = profile.team();
 
         // Register the robot agent in the yellow pages
         registerRobotService();
@@ -38,6 +73,8 @@ public class AgentRobot extends Agent {
             // Start system status monitoring
             startStatusMonitoring();
 
+            profile.ready();
+
         } catch (Exception e) {
             System.err.println("Error during Robot Agent initialization: " + e.getMessage());
             e.printStackTrace();
@@ -46,10 +83,23 @@ public class AgentRobot extends Agent {
     }
 
     private void initializeBehaviors() {
+        // Create the outbox with the robot's settings before the behaviours use it
+        Outbox.of(this, OUTBOX_WINDOW, OUTBOX_CAPACITY);
+
+        // Create the sensors first: the detection behaviours register their detectors on them
+        sensors = createSensors();
+        dutyCycle = DutyCycle.fromSystemProperties(sensors, SENSOR_PERIOD);
+        addBehaviour(new AcquerirCapteursBehaviour(this, sensors, dutyCycle, SENSOR_PERIOD));
+
         // Create and add explorer behavior
         explorerBehaviour = new ExplorerZoneBehaviour(this, EXPLORATION_PERIOD);
         addBehaviour(explorerBehaviour);
 
+        // Bid on the frontier regions auctioned by the swarm leader
+        if (teamLeader != null) {
+            addBehaviour(new EncherirFrontieresBehaviour(this, explorerBehaviour));
+        }
+
         // Create and add fire detection behavior
         detecterFoyersBehaviour = new DetecterFoyersIncendieBehaviour(this);
         addBehaviour(detecterFoyersBehaviour);
@@ -61,6 +111,33 @@ public class AgentRobot extends Agent {
         System.out.println(getLocalName() + ": All behaviors initialized successfully");
     }
 
+    private SensorPipeline createSensors() {
+        // Simulated sensors; the filters smooth their noise before detection
+        return SensorPipeline.builder(SCAN_POINTS)
+                .channel(CHANNEL_TEMPERATURE, uniform(25.0, 100.0), new EwmaFilter(SCAN_POINTS, 0.5)) // 25-125°C
+                .channel(CHANNEL_INFRARED, uniform(0.0, 200.0), new EwmaFilter(SCAN_POINTS, 0.5)) // arbitrary units
+                .channel(CHANNEL_HEARTBEAT, frame -> {
+                    for (int i = 0; i < frame.length; i++) {
+                        frame[i] = Math.random() + Math.random() * 0.2;
+                    }
+                }, new KalmanFilter(SCAN_POINTS, 0.05, 0.1))
+                .channel(CHANNEL_MOVEMENT, frame -> {
+                    for (int i = 0; i < frame.length; i++) {
+                        frame[i] = Math.random() + Math.random() * 0.15;
+                    }
+                }, new KalmanFilter(SCAN_POINTS, 0.05, 0.1))
+                .channel(CHANNEL_BODY_TEMPERATURE, uniform(36.5, 2.0), new EwmaFilter(SCAN_POINTS, 0.3)) // around 37°C
+                .build();
+    }
+
+    private static SensorPipeline.Sampler uniform(double min, double range) {
+        return frame -> {
+            for (int i = 0; i < frame.length; i++) {
+                frame[i] = min + Math.random() * range;
+            }
+        };
+    }
+
     private void registerRobotService() {
         DFAgentDescription dfd = new DFAgentDescription();
         dfd.setName(getAID());
@@ -81,7 +158,7 @@ public class AgentRobot extends Agent {
 
     private void startStatusMonitoring() {
         // Add a behavior to monitor robot status (battery, sensors, etc.)
-        addBehaviour(new jade.core.behaviours.TickerBehaviour(this, 5000) {
+        addBehaviour(new ClockTickerBehaviour(this, STATUS_PERIOD) {
             protected void onTick() {
                 updateStatus();
             }
@@ -89,8 +166,8 @@ public class AgentRobot extends Agent {
     }
 
     private void updateStatus() {
-        // Simulate battery drain
-        batteryLevel = Math.max(0, batteryLevel - 0.1);
+        // Simulate battery drain: the platform, plus the sensor samples taken since the last update
+        batteryLevel = Math.max(0, batteryLevel - PLATFORM_DRAIN - dutyCycle.drainEnergy());
 
         // Check if battery is critically low
         if (batteryLevel < 10.0) {
@@ -109,6 +186,8 @@ public class AgentRobot extends Agent {
 
     @Override
     protected void takeDown() {
+        LaunchProfile.of(this).terminated();
+
         // Deregister from the Directory Facilitator
         try {
             DFService.deregister(this);
@@ -145,6 +224,42 @@ public class AgentRobot extends Agent {
         return batteryLevel;
     }
 
+    public String getTeamLeader() {
+        return teamLeader;
+    }
+
+    public OccupancyGrid getExplorationGrid() {
+        return explorerBehaviour.getGrid();
+    }
+
+    public ExplorationMetrics getExplorationMetrics() {
+        return explorerBehaviour.getMetrics();
+    }
+
+    public SensorPipeline getSensors() {
+        return sensors;
+    }
+
+    public DutyCycle getDutyCycle() {
+        return dutyCycle;
+    }
+
+    public Point getPosition() {
+        return explorerBehaviour.getPosition();
+    }
+
+    /**
+     * Get the position of a scan point of the sensors
+     * @param point The scan point, between 0 and {@value #SCAN_POINTS} - 1
+     * @return The position of the scan point around the current position of the robot
+     */
+    public Point getScanPointPosition(int point) {
+        Point position = getPosition();
+        double angle = 2 * Math.PI * point / SCAN_POINTS;
+        return new Point(position.x() + SCAN_POINT_DISTANCE * Math.cos(angle),
+                position.y() + SCAN_POINT_DISTANCE * Math.sin(angle));
+    }
+
     public void reportError(String errorMessage) {
         System.err.println(getLocalName() + " Error: " + errorMessage);
         jade.lang.acl.ACLMessage msg = new jade.lang.acl.ACLMessage(jade.lang.acl.ACLMessage.FAILURE);
@@ -0,0 +1,62 @@
+package com.jade.RoboCupRescueProject.aggregation;
+
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.TeamSummary;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
+import jade.core.AID;
+import jade.core.Agent;
+import jade.lang.acl.ACLMessage;
+
+/**
+ * Closes the window of a team aggregator periodically and sends the summary to the command center.
+ *
+ * The window is set with the system property {@value #WINDOW_PROPERTY}, in simulated milliseconds.
+ * Nothing is sent for a window without changes, so a quiet team costs no message at all.
+ */
+public class SummaryTickerBehaviour extends ClockTickerBehaviour {
+    public static final String WINDOW_PROPERTY = "simulation.aggregation.window";
+
+    // Default summary window, in milliseconds
+    private static final long DEFAULT_WINDOW = 5000;
+
+    private final TeamAggregator aggregator;
+    private final AID receiver;
+
+    public SummaryTickerBehaviour(Agent a, TeamAggregator aggregator, String receiver) {
+        super(a, getWindow());
+        this.aggregator = aggregator;
+        this.receiver = new AID(receiver, AID.ISLOCALNAME);
+    }
+
+    @Override
+    protected void onTick() {
+        TeamSummary summary = aggregator.flush();
+        if (summary == null) {
+            return;
+        }
+
+        ACLMessage msg = MessageCodec.create(ACLMessage.INFORM, summary);
+        msg.addReceiver(receiver);
+        myAgent.send(msg);
+    }
+
+    /**
+     * Get the summary window set by the simulation.aggregation.window system property
+     * @return The window in milliseconds
+     */
+    public static long getWindow() {
+        String value = System.getProperty(WINDOW_PROPERTY);
+        if (value != null) {
+            try {
+                long window = Long.parseLong(value.trim());
+                if (window > 0) {
+                    return window;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            System.err.println("Invalid aggregation window '" + value + "', using " + DEFAULT_WINDOW + " ms");
+        }
+        return DEFAULT_WINDOW;
+    }
+}
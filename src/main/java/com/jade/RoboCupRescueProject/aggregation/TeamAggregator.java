@@ -0,0 +1,243 @@
+package com.jade.RoboCupRescueProject.aggregation;
+
+import com.jade.RoboCupRescueProject.messages.TypedMessage.Incident;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.TeamSummary;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.UnitState;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Merges the reports of a team into windowed summaries.
+ *
+ * The aggregator keeps the latest state of each unit and of each incident (fire, hotspot,
+ * dangerous area) seen by the team, keyed by unit name and incident key, so repeated reports
+ * overwrite each other. At the end of a window, {@link #flush()} lists only the units and
+ * incidents that changed since the previous summary: a new location or availability, or a
+ * resource level or intensity that moved by more than a threshold. Incidents nobody reported
+ * for a few windows are cleared. Every few windows the summary is a snapshot of the whole team,
+ * so that a command center that missed a summary catches up.
+ *
+ * Not thread-safe: the aggregator belongs to one team leader and is used from its thread.
+ */
+public class TeamAggregator {
+    // Defaults: 5% of water or battery, 5 degrees, a snapshot every 6 windows, incidents kept 3 windows
+    public static final double DEFAULT_LEVEL_THRESHOLD = 0.05;
+    public static final double DEFAULT_INTENSITY_THRESHOLD = 5.0;
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 6;
+    public static final int DEFAULT_INCIDENT_LIFETIME = 3;
+
+    private final String team;
+    private final double levelThreshold;
+    private final double intensityThreshold;
+    private final int snapshotInterval;
+    private final int incidentLifetime;
+
+    private final Map<String, UnitEntry> units = new LinkedHashMap<>();
+    private final Map<String, IncidentEntry> incidents = new LinkedHashMap<>();
+    private final List<String> cleared = new ArrayList<>();
+
+    private int window = 0;
+    private int reportsMerged = 0;
+
+    // Statistics
+    private long totalReports = 0;
+    private long summariesSent = 0;
+
+    /**
+     * Latest and last sent state of a unit
+     */
+    private static final class UnitEntry {
+        String location;
+        boolean available;
+        double level;
+
+        String sentLocation;
+        boolean sentAvailable;
+        double sentLevel = Double.NaN;
+        boolean changed = true;
+    }
+
+    /**
+     * Latest and last sent state of an incident
+     */
+    private static final class IncidentEntry {
+        String type;
+        double intensity;
+        int lastSeenWindow;
+
+        double sentIntensity = Double.NaN;
+        boolean sent = false;
+        boolean changed = true;
+    }
+
+    public TeamAggregator(String team, double levelThreshold, double intensityThreshold,
+                          int snapshotInterval, int incidentLifetime) {
+        this.team = team;
+        this.levelThreshold = levelThreshold;
+        this.intensityThreshold = intensityThreshold;
+        this.snapshotInterval = snapshotInterval;
+        this.incidentLifetime = incidentLifetime;
+    }
+
+    public TeamAggregator(String team) {
+        this(team, DEFAULT_LEVEL_THRESHOLD, DEFAULT_INTENSITY_THRESHOLD, DEFAULT_SNAPSHOT_INTERVAL,
+                DEFAULT_INCIDENT_LIFETIME);
+    }
+
+    /**
+     * Merge the state reported by a unit
+     * @param name The unit name
+     * @param location The unit location
+     * @param available Whether the unit can take a new mission
+     * @param level The fraction of water or battery left, from 0 to 1
+     */
+    public void recordUnit(String name, String location, boolean available, double level) {
+        countReport();
+        UnitEntry unit = units.computeIfAbsent(name, n -> new UnitEntry());
+        unit.location = location;
+        unit.available = available;
+        unit.level = level;
+
+        // A change seen during the window is sent even if the unit is back to its previous state
+        unit.changed |= available != unit.sentAvailable || !Objects.equals(location, unit.sentLocation)
+                || !(Math.abs(level - unit.sentLevel) < levelThreshold);
+    }
+
+    /**
+     * Merge an incident reported by a unit
+     * @param key The incident key, usually its location
+     * @param type The incident type (FIRE, HOTSPOT, DANGER)
+     * @param intensity The incident intensity, or NaN to keep the last known one
+     */
+    public void recordIncident(String key, String type, double intensity) {
+        countReport();
+        IncidentEntry incident = incidents.get(key);
+        if (incident == null) {
+            incident = new IncidentEntry();
+            incident.intensity = Double.isNaN(intensity) ? 0.0 : intensity;
+            incidents.put(key, incident);
+            cleared.remove(key);
+        } else if (!Double.isNaN(intensity)) {
+            incident.intensity = intensity;
+        }
+        incident.type = type;
+        incident.lastSeenWindow = window;
+        incident.changed |= !(Math.abs(incident.intensity - incident.sentIntensity) < intensityThreshold);
+    }
+
+    /**
+     * Forget an incident, e.g. an extinguished fire
+     * @param key The incident key
+     */
+    public void clearIncident(String key) {
+        countReport();
+        IncidentEntry incident = incidents.remove(key);
+        if (incident != null && incident.sent && !cleared.contains(key)) {
+            cleared.add(key);
+        }
+    }
+
+    /**
+     * Close the current window
+     * @return The summary of the window, or null if nothing changed and no snapshot is due
+     */
+    public TeamSummary flush() {
+        window++;
+        boolean snapshot = snapshotInterval > 0 && window % snapshotInterval == 0;
+
+        // Incidents nobody reported recently are over
+        Iterator<Map.Entry<String, IncidentEntry>> it = incidents.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, IncidentEntry> entry = it.next();
+            if (window - entry.getValue().lastSeenWindow > incidentLifetime) {
+                it.remove();
+                if (entry.getValue().sent && !cleared.contains(entry.getKey())) {
+                    cleared.add(entry.getKey());
+                }
+            }
+        }
+
+        // Listed units and incidents are known by the receiver from now on
+        List<UnitState> changedUnits = new ArrayList<>();
+        int availableCount = 0;
+        for (Map.Entry<String, UnitEntry> entry : units.entrySet()) {
+            UnitEntry unit = entry.getValue();
+            if (unit.available) {
+                availableCount++;
+            }
+            if (snapshot || unit.changed) {
+                changedUnits.add(new UnitState(entry.getKey(), unit.location, unit.available, unit.level));
+                unit.sentLocation = unit.location;
+                unit.sentAvailable = unit.available;
+                unit.sentLevel = unit.level;
+                unit.changed = false;
+            }
+        }
+
+        List<Incident> changedIncidents = new ArrayList<>();
+        double maxIntensity = 0.0;
+        for (Map.Entry<String, IncidentEntry> entry : incidents.entrySet()) {
+            IncidentEntry incident = entry.getValue();
+            maxIntensity = Math.max(maxIntensity, incident.intensity);
+            if (snapshot || incident.changed) {
+                changedIncidents.add(new Incident(entry.getKey(), incident.type, incident.intensity));
+                incident.sentIntensity = incident.intensity;
+                incident.sent = true;
+                incident.changed = false;
+            }
+        }
+
+        if (!snapshot && changedUnits.isEmpty() && changedIncidents.isEmpty() && cleared.isEmpty()) {
+            return null;
+        }
+
+        TeamSummary summary = new TeamSummary(team, window, snapshot, reportsMerged, units.size(), availableCount,
+                maxIntensity, changedUnits, changedIncidents, new ArrayList<>(cleared));
+        cleared.clear();
+        reportsMerged = 0;
+        summariesSent++;
+        return summary;
+    }
+
+    /**
+     * Get the number of units known to the team
+     * @return The unit count
+     */
+    public int getUnitCount() {
+        return units.size();
+    }
+
+    /**
+     * Get the number of incidents known to the team
+     * @return The incident count
+     */
+    public int getIncidentCount() {
+        return incidents.size();
+    }
+
+    /**
+     * Get the number of reports merged since the aggregator started
+     * @return The report count
+     */
+    public long getTotalReports() {
+        return totalReports;
+    }
+
+    /**
+     * Get the number of summaries produced since the aggregator started
+     * @return The summary count
+     */
+    public long getSummariesSent() {
+        return summariesSent;
+    }
+
+    private void countReport() {
+        reportsMerged++;
+        totalReports++;
+    }
+}
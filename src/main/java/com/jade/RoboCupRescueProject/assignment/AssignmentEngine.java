@@ -0,0 +1,176 @@
+package com.jade.RoboCupRescueProject.assignment;
+
+import com.jade.RoboCupRescueProject.missions.Mission;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches pending missions to free units so as to minimize the priority-weighted response time.
+ *
+ * The cost of sending a unit is its travel time to the mission, longer for units low on water
+ * or battery, times a weight doubling with each priority level. Leaving a mission unassigned
+ * costs a fixed delay times the same weight, so when units are short the most urgent missions
+ * are served first. Units of different types never compete for the same missions, so each
+ * type is solved as a separate, smaller problem.
+ */
+public class AssignmentEngine {
+    public static final String STRATEGY_PROPERTY = "simulation.dispatch.strategy";
+
+    // Average travel speed of a unit, in meters per second
+    private static final double UNIT_SPEED = 10.0;
+    // Distance assumed when the unit or mission position is unknown, in meters
+    private static final double UNKNOWN_DISTANCE = 1000.0;
+    // Units below this resource level cannot take missions (a firefighter refuses below 100 l)
+    private static final double MIN_RESOURCE_LEVEL = 0.1;
+    // Extra travel time factor of a unit with no resource left
+    private static final double RESOURCE_PENALTY = 1.0;
+    // Cost of leaving a mission unassigned, in seconds of weighted response time
+    private static final double UNASSIGNED_DELAY = 3600.0;
+
+    /**
+     * Available assignment algorithms
+     */
+    public enum Strategy {
+        GREEDY(AssignmentStrategy.GREEDY),
+        HUNGARIAN(AssignmentStrategy.HUNGARIAN),
+        MIN_COST_FLOW(AssignmentStrategy.MIN_COST_FLOW);
+
+        private final AssignmentStrategy algorithm;
+
+        Strategy(AssignmentStrategy algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        /**
+         * Get the strategy set by the simulation.dispatch.strategy system property
+         * @return The configured strategy, Hungarian by default
+         */
+        public static Strategy fromSystemProperties() {
+            String name = System.getProperty(STRATEGY_PROPERTY, "hungarian").trim().toUpperCase().replace('-', '_');
+            try {
+                return valueOf(name);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown assignment strategy '" + name + "', using HUNGARIAN");
+                return HUNGARIAN;
+            }
+        }
+    }
+
+    private final Strategy strategy;
+
+    public AssignmentEngine(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Assign free units to pending tasks
+     * @param units The free units
+     * @param tasks The pending tasks
+     * @return The unit chosen for each assigned task, by mission ID, in task order
+     */
+    public Map<String, Unit> assign(List<Unit> units, List<Task> tasks) {
+        Map<String, List<Unit>> unitsByType = new HashMap<>();
+        for (Unit unit : units) {
+            unitsByType.computeIfAbsent(unit.type(), t -> new ArrayList<>()).add(unit);
+        }
+        Map<String, List<Task>> tasksByType = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            tasksByType.computeIfAbsent(task.unitType(), t -> new ArrayList<>()).add(task);
+        }
+
+        Map<String, Unit> chosen = new HashMap<>();
+        for (Map.Entry<String, List<Task>> entry : tasksByType.entrySet()) {
+            List<Unit> candidates = unitsByType.get(entry.getKey());
+            if (candidates != null) {
+                solve(candidates, entry.getValue(), chosen);
+            }
+        }
+
+        Map<String, Unit> assignments = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            Unit unit = chosen.get(task.missionId());
+            if (unit != null) {
+                assignments.put(task.missionId(), unit);
+            }
+        }
+        return assignments;
+    }
+
+    /**
+     * Choose the task for a single unit that just became free.
+     * With one unit, the optimal choice is the task whose assignment saves the most compared
+     * to leaving it pending, so no full solve is needed.
+     * @param unit The free unit
+     * @param tasks The pending tasks
+     * @return The best task, or null if the unit cannot take any
+     */
+    public Task bestTaskFor(Unit unit, List<Task> tasks) {
+        Task best = null;
+        double bestGain = 0;
+        for (Task task : tasks) {
+            double gain = unassignedCost(task) - cost(unit, task);
+            if (gain > bestGain) {
+                best = task;
+                bestGain = gain;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Get the cost of sending a unit to a task
+     * @param unit The unit
+     * @param task The task
+     * @return The weighted response time, or infinity if the unit cannot take the task
+     */
+    public double cost(Unit unit, Task task) {
+        if (!unit.type().equals(task.unitType()) || unit.resourceLevel() < MIN_RESOURCE_LEVEL) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double distance = unit.position() == null || task.position() == null
+                ? UNKNOWN_DISTANCE : unit.position().distance(task.position());
+        double travelTime = distance / UNIT_SPEED * (1 + RESOURCE_PENALTY * (1 - Math.min(1, unit.resourceLevel())));
+        return travelTime * weight(task);
+    }
+
+    /**
+     * Get the cost of leaving a task without a unit
+     * @param task The task
+     * @return The weighted delay
+     */
+    public double unassignedCost(Task task) {
+        return UNASSIGNED_DELAY * weight(task);
+    }
+
+    private void solve(List<Unit> units, List<Task> tasks, Map<String, Unit> chosen) {
+        double[][] costs = new double[tasks.size()][units.size()];
+        double[] unassignedCosts = new double[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            unassignedCosts[i] = unassignedCost(tasks.get(i));
+            for (int j = 0; j < units.size(); j++) {
+                costs[i][j] = cost(units.get(j), tasks.get(i));
+            }
+        }
+
+        int[] assignment = strategy.algorithm.solve(costs, unassignedCosts, units.size());
+        for (int i = 0; i < assignment.length; i++) {
+            if (assignment[i] >= 0) {
+                chosen.put(tasks.get(i).missionId(), units.get(assignment[i]));
+            }
+        }
+    }
+
+    // Weight doubling with each priority level, 1 for the lowest priority
+    private static double weight(Task task) {
+        int priority = Math.max(Mission.PRIORITY_CRITICAL, Math.min(Mission.PRIORITY_LOW, task.priority()));
+        return 1 << (Mission.PRIORITY_LOW - priority);
+    }
+}
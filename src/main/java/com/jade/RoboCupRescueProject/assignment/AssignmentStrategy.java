@@ -0,0 +1,37 @@
+package com.jade.RoboCupRescueProject.assignment;
+
+/**
+ * Algorithm matching tasks to units at minimum total cost.
+ *
+ * A problem is given as a cost matrix, with one row per task and one column per unit, where
+ * an infinite cost forbids the pair, and the cost of leaving each task unassigned. Each unit
+ * takes at most one task and each task at most one unit.
+ */
+public interface AssignmentStrategy {
+
+    /**
+     * Solve an assignment problem
+     * @param costs The cost of each (task, unit) pair, infinite if the unit cannot take the task
+     * @param unassignedCosts The cost of leaving each task without a unit
+     * @param units The number of units (columns)
+     * @return The unit of each task, or -1 for unassigned tasks
+     */
+    int[] solve(double[][] costs, double[] unassignedCosts, int units);
+
+    /**
+     * Greedy matching: tasks are served from the most to the least costly to leave
+     * unassigned, each taking its cheapest free unit. Fast, but not optimal.
+     */
+    AssignmentStrategy GREEDY = new GreedyAssignment();
+
+    /**
+     * Hungarian algorithm on the dense matrix: optimal, O(n^2 (n + m))
+     */
+    AssignmentStrategy HUNGARIAN = new HungarianAssignment();
+
+    /**
+     * Successive shortest paths on the task/unit network: optimal, and only visits the
+     * allowed pairs, so it suits sparse problems where most units cannot take most tasks
+     */
+    AssignmentStrategy MIN_COST_FLOW = new MinCostFlowAssignment();
+}
@@ -0,0 +1,217 @@
+package com.jade.RoboCupRescueProject.assignment;
+
+import jade.core.AID;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory registry of rescue units and of their availability.
+ *
+ * Units are added and removed from directory (DF) notifications and their availability and
+ * resources are updated by status heartbeats, so nobody has to search the DF on a timer. Each
+ * unit gets a dense slot number, and each service type keeps a bitset of its units and of its
+ * idle units with a running count: checking for and listing idle units of a type does not
+ * scan the other types, and counting them is O(1).
+ *
+ * Not thread-safe: the registry belongs to one agent and is used from its thread.
+ */
+public class AvailabilityRegistry {
+    private final Map<AID, Integer> slots = new HashMap<>();
+    private final List<AID> units = new ArrayList<>();
+    private final List<String> unitTypes = new ArrayList<>();
+    private final BitSet available = new BitSet();
+    private double[] resourceLevels = new double[16];
+    // Slots of deregistered units, reused by the next units
+    private final BitSet freeSlots = new BitSet();
+
+    private final Map<String, TypeSlots> types = new HashMap<>();
+
+    /**
+     * Units and idle units of one service type
+     */
+    private static final class TypeSlots {
+        final BitSet members = new BitSet();
+        final BitSet idle = new BitSet();
+        int idleCount = 0;
+    }
+
+    /**
+     * Add a unit offering a service, or change its type. New units are assumed available.
+     * @param unit The unit
+     * @param type The service type (pompier, ambulancier, police, etc.)
+     */
+    public void register(AID unit, String type) {
+        int slot = slotOf(unit);
+        String previous = unitTypes.get(slot);
+        if (type.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            leaveType(slot, previous);
+        }
+        unitTypes.set(slot, type);
+        TypeSlots typeSlots = types.computeIfAbsent(type, t -> new TypeSlots());
+        typeSlots.members.set(slot);
+        if (available.get(slot)) {
+            typeSlots.idle.set(slot);
+            typeSlots.idleCount++;
+        }
+    }
+
+    /**
+     * Remove a unit that left the directory
+     * @param unit The unit
+     */
+    public void deregister(AID unit) {
+        Integer slot = slots.remove(unit);
+        if (slot == null) {
+            return;
+        }
+        String type = unitTypes.get(slot);
+        if (type != null) {
+            leaveType(slot, type);
+        }
+        units.set(slot, null);
+        unitTypes.set(slot, null);
+        available.clear(slot);
+        freeSlots.set(slot);
+    }
+
+    /**
+     * Record a status heartbeat of a unit
+     * @param unit The unit
+     * @param isAvailable Whether the unit can take a new mission
+     * @param resourceLevel The fraction of water or battery left, from 0 to 1
+     */
+    public void heartbeat(AID unit, boolean isAvailable, double resourceLevel) {
+        int slot = slotOf(unit);
+        resourceLevels[slot] = resourceLevel;
+        setAvailable(slot, isAvailable);
+    }
+
+    /**
+     * Mark a unit as available or not until its next heartbeat
+     * @param unit The unit
+     * @param isAvailable Whether the unit can take a new mission
+     */
+    public void setAvailable(AID unit, boolean isAvailable) {
+        setAvailable(slotOf(unit), isAvailable);
+    }
+
+    /**
+     * Check whether a unit can take a new mission
+     * @param unit The unit
+     * @return The last known availability; unknown units are assumed available
+     */
+    public boolean isAvailable(AID unit) {
+        Integer slot = slots.get(unit);
+        return slot == null || available.get(slot);
+    }
+
+    /**
+     * Get the resources left to a unit
+     * @param unit The unit
+     * @return The fraction of water or battery left, 1 if never reported
+     */
+    public double getResourceLevel(AID unit) {
+        Integer slot = slots.get(unit);
+        return slot == null ? 1.0 : resourceLevels[slot];
+    }
+
+    /**
+     * Get the service type of a unit
+     * @param unit The unit
+     * @return The type, or null if the unit is not in the directory
+     */
+    public String getType(AID unit) {
+        Integer slot = slots.get(unit);
+        return slot == null ? null : unitTypes.get(slot);
+    }
+
+    /**
+     * Count the registered units of a type
+     * @param type The service type
+     * @return The number of units
+     */
+    public int count(String type) {
+        TypeSlots typeSlots = types.get(type);
+        return typeSlots == null ? 0 : typeSlots.members.cardinality();
+    }
+
+    /**
+     * Count the idle units of a type
+     * @param type The service type
+     * @return The number of available units, in O(1)
+     */
+    public int idleCount(String type) {
+        TypeSlots typeSlots = types.get(type);
+        return typeSlots == null ? 0 : typeSlots.idleCount;
+    }
+
+    /**
+     * List the idle units of a type
+     * @param type The service type
+     * @return The available units
+     */
+    public List<AID> idleUnits(String type) {
+        TypeSlots typeSlots = types.get(type);
+        List<AID> idle = new ArrayList<>(typeSlots == null ? 0 : typeSlots.idleCount);
+        if (typeSlots != null) {
+            for (int slot = typeSlots.idle.nextSetBit(0); slot >= 0; slot = typeSlots.idle.nextSetBit(slot + 1)) {
+                idle.add(units.get(slot));
+            }
+        }
+        return idle;
+    }
+
+    private int slotOf(AID unit) {
+        Integer slot = slots.get(unit);
+        if (slot != null) {
+            return slot;
+        }
+
+        int newSlot = freeSlots.nextSetBit(0);
+        if (newSlot >= 0) {
+            freeSlots.clear(newSlot);
+            units.set(newSlot, unit);
+        } else {
+            newSlot = units.size();
+            units.add(unit);
+            unitTypes.add(null);
+            if (newSlot == resourceLevels.length) {
+                resourceLevels = Arrays.copyOf(resourceLevels, newSlot * 2);
+            }
+        }
+        slots.put(unit, newSlot);
+        available.set(newSlot);
+        resourceLevels[newSlot] = 1.0;
+        return newSlot;
+    }
+
+    private void setAvailable(int slot, boolean isAvailable) {
+        if (available.get(slot) == isAvailable) {
+            return;
+        }
+        available.set(slot, isAvailable);
+        String type = unitTypes.get(slot);
+        if (type != null) {
+            TypeSlots typeSlots = types.get(type);
+            typeSlots.idle.set(slot, isAvailable);
+            typeSlots.idleCount += isAvailable ? 1 : -1;
+        }
+    }
+
+    private void leaveType(int slot, String type) {
+        TypeSlots typeSlots = types.get(type);
+        typeSlots.members.clear(slot);
+        if (typeSlots.idle.get(slot)) {
+            typeSlots.idle.clear(slot);
+            typeSlots.idleCount--;
+        }
+    }
+}
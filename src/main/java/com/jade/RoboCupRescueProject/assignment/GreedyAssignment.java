@@ -0,0 +1,38 @@
+package com.jade.RoboCupRescueProject.assignment;
+
+import java.util.Arrays;
+
+/**
+ * Greedy matching, serving the most urgent tasks first
+ */
+final class GreedyAssignment implements AssignmentStrategy {
+
+    @Override
+    public int[] solve(double[][] costs, double[] unassignedCosts, int units) {
+        int tasks = costs.length;
+        Integer[] order = new Integer[tasks];
+        for (int i = 0; i < tasks; i++) {
+            order[i] = i;
+        }
+        // Most costly to leave unassigned first; the sort is stable, so ties keep their order
+        Arrays.sort(order, (a, b) -> Double.compare(unassignedCosts[b], unassignedCosts[a]));
+
+        int[] assignment = new int[tasks];
+        Arrays.fill(assignment, -1);
+        boolean[] taken = new boolean[units];
+        for (int task : order) {
+            int best = -1;
+            for (int unit = 0; unit < units; unit++) {
+                if (!taken[unit] && costs[task][unit] < unassignedCosts[task]
+                        && (best < 0 || costs[task][unit] < costs[task][best])) {
+                    best = unit;
+                }
+            }
+            if (best >= 0) {
+                assignment[task] = best;
+                taken[best] = true;
+            }
+        }
+        return assignment;
+    }
+}
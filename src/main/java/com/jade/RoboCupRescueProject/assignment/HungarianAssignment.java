@@ -0,0 +1,91 @@
+package com.jade.RoboCupRescueProject.assignment;
+
+import java.util.Arrays;
+
+/**
+ * Hungarian algorithm (shortest augmenting paths with potentials).
+ *
+ * The matrix is extended with one "unassigned" column per task, costing the task's unassigned
+ * cost, so that every task can be matched and the problem is square enough for the algorithm.
+ * A forbidden pair is priced just above leaving its task unassigned: with a free unassigned
+ * column always left for the task, an optimal solution never uses it.
+ */
+final class HungarianAssignment implements AssignmentStrategy {
+
+    @Override
+    public int[] solve(double[][] costs, double[] unassignedCosts, int units) {
+        int tasks = costs.length;
+        int columns = units + tasks;
+
+        // 1-based arrays; column 0 is the virtual start of each augmenting path
+        double[] rowPotential = new double[tasks + 1];
+        double[] columnPotential = new double[columns + 1];
+        int[] columnRow = new int[columns + 1];
+        int[] previousColumn = new int[columns + 1];
+        double[] slack = new double[columns + 1];
+        boolean[] visited = new boolean[columns + 1];
+
+        for (int row = 1; row <= tasks; row++) {
+            columnRow[0] = row;
+            int column = 0;
+            Arrays.fill(slack, Double.POSITIVE_INFINITY);
+            Arrays.fill(visited, false);
+
+            do {
+                visited[column] = true;
+                int task = columnRow[column] - 1;
+                double delta = Double.POSITIVE_INFINITY;
+                int next = -1;
+                for (int j = 1; j <= columns; j++) {
+                    if (visited[j]) {
+                        continue;
+                    }
+                    double reduced = cost(costs, unassignedCosts, units, task, j - 1)
+                            - rowPotential[task + 1] - columnPotential[j];
+                    if (reduced < slack[j]) {
+                        slack[j] = reduced;
+                        previousColumn[j] = column;
+                    }
+                    if (slack[j] < delta) {
+                        delta = slack[j];
+                        next = j;
+                    }
+                }
+                for (int j = 0; j <= columns; j++) {
+                    if (visited[j]) {
+                        rowPotential[columnRow[j]] += delta;
+                        columnPotential[j] -= delta;
+                    } else {
+                        slack[j] -= delta;
+                    }
+                }
+                column = next;
+            } while (columnRow[column] != 0);
+
+            // Flip the augmenting path
+            do {
+                int previous = previousColumn[column];
+                columnRow[column] = columnRow[previous];
+                column = previous;
+            } while (column != 0);
+        }
+
+        int[] assignment = new int[tasks];
+        Arrays.fill(assignment, -1);
+        for (int j = 1; j <= units; j++) {
+            int task = columnRow[j] - 1;
+            if (task >= 0 && costs[task][j - 1] < Double.POSITIVE_INFINITY) {
+                assignment[task] = j - 1;
+            }
+        }
+        return assignment;
+    }
+
+    private static double cost(double[][] costs, double[] unassignedCosts, int units, int task, int column) {
+        if (column >= units) {
+            return unassignedCosts[task];
+        }
+        double cost = costs[task][column];
+        return cost < Double.POSITIVE_INFINITY ? cost : unassignedCosts[task] + 1;
+    }
+}
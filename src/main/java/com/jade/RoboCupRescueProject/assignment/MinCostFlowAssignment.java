@@ -0,0 +1,147 @@
+package com.jade.RoboCupRescueProject.assignment;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+/**
+ * Assignment as a minimum-cost flow, solved by successive shortest paths.
+ *
+ * The network is source -> task -> unit -> sink, with a direct task -> sink arc costing the
+ * unassigned cost, and one unit of flow is sent per task. Only allowed pairs cheaper than
+ * leaving the task unassigned get an arc, so the work depends on the number of useful pairs
+ * rather than on the size of the matrix. Dijkstra runs on reduced costs, with potentials
+ * keeping them non-negative after each augmentation.
+ */
+final class MinCostFlowAssignment implements AssignmentStrategy {
+
+    @Override
+    public int[] solve(double[][] costs, double[] unassignedCosts, int units) {
+        int tasks = costs.length;
+        int source = tasks + units;
+        int sink = source + 1;
+        Network network = new Network(sink + 1);
+
+        for (int task = 0; task < tasks; task++) {
+            network.addArc(source, task, 0);
+            network.addArc(task, sink, unassignedCosts[task]);
+            for (int unit = 0; unit < units; unit++) {
+                // A pair costing more than leaving the task unassigned is never worth using
+                if (costs[task][unit] < unassignedCosts[task]) {
+                    network.addArc(task, tasks + unit, costs[task][unit]);
+                }
+            }
+        }
+        for (int unit = 0; unit < units; unit++) {
+            network.addArc(tasks + unit, sink, 0);
+        }
+
+        for (int i = 0; i < tasks; i++) {
+            if (!network.augment(source, sink)) {
+                break;
+            }
+        }
+
+        int[] assignment = new int[tasks];
+        Arrays.fill(assignment, -1);
+        for (int task = 0; task < tasks; task++) {
+            for (int arc = network.head[task]; arc >= 0; arc = network.next[arc]) {
+                int target = network.target[arc];
+                if (target >= tasks && target < source && network.capacity[arc] == 0) {
+                    assignment[task] = target - tasks;
+                }
+            }
+        }
+        return assignment;
+    }
+
+    /**
+     * Residual network with unit capacities; arc i and arc i ^ 1 are reverse of each other
+     */
+    private static final class Network {
+        private final int[] head;
+        private int[] target = new int[64];
+        private int[] next = new int[64];
+        private int[] capacity = new int[64];
+        private double[] cost = new double[64];
+        private int arcs = 0;
+
+        private final double[] potential;
+        private final double[] distance;
+        private final int[] parentArc;
+
+        Network(int nodes) {
+            head = new int[nodes];
+            Arrays.fill(head, -1);
+            potential = new double[nodes];
+            distance = new double[nodes];
+            parentArc = new int[nodes];
+        }
+
+        void addArc(int from, int to, double arcCost) {
+            addHalf(from, to, 1, arcCost);
+            addHalf(to, from, 0, -arcCost);
+        }
+
+        private void addHalf(int from, int to, int arcCapacity, double arcCost) {
+            if (arcs == target.length) {
+                target = Arrays.copyOf(target, arcs * 2);
+                next = Arrays.copyOf(next, arcs * 2);
+                capacity = Arrays.copyOf(capacity, arcs * 2);
+                cost = Arrays.copyOf(cost, arcs * 2);
+            }
+            target[arcs] = to;
+            capacity[arcs] = arcCapacity;
+            cost[arcs] = arcCost;
+            next[arcs] = head[from];
+            head[from] = arcs++;
+        }
+
+        /**
+         * Send one unit of flow along a shortest residual path
+         * @param source The source node
+         * @param sink The sink node
+         * @return false if the sink cannot be reached
+         */
+        boolean augment(int source, int sink) {
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+            distance[source] = 0;
+            parentArc[source] = -1;
+            PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+            queue.add(new double[]{0, source});
+
+            while (!queue.isEmpty()) {
+                double[] top = queue.poll();
+                int node = (int) top[1];
+                if (top[0] > distance[node]) {
+                    continue;
+                }
+                for (int arc = head[node]; arc >= 0; arc = next[arc]) {
+                    if (capacity[arc] == 0) {
+                        continue;
+                    }
+                    int to = target[arc];
+                    // Reduced costs are non-negative; clamp rounding errors
+                    double reduced = Math.max(0, cost[arc] + potential[node] - potential[to]);
+                    if (distance[node] + reduced < distance[to]) {
+                        distance[to] = distance[node] + reduced;
+                        parentArc[to] = arc;
+                        queue.add(new double[]{distance[to], to});
+                    }
+                }
+            }
+            if (distance[sink] == Double.POSITIVE_INFINITY) {
+                return false;
+            }
+
+            // Capping at the sink distance keeps reduced costs non-negative for unreached nodes too
+            for (int node = 0; node < potential.length; node++) {
+                potential[node] += Math.min(distance[node], distance[sink]);
+            }
+            for (int node = sink; node != source; node = target[parentArc[node] ^ 1]) {
+                capacity[parentArc[node]]--;
+                capacity[parentArc[node] ^ 1]++;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.jade.RoboCupRescueProject.assignment;
+
+import com.jade.RoboCupRescueProject.spatial.Point;
+
+/**
+ * Mission waiting for a unit.
+ * @param missionId The mission ID
+ * @param unitType The service type of the units able to take it
+ * @param position The mission position, or null if the location has no coordinates
+ * @param priority The mission priority, 1 being the most urgent
+ */
+public record Task(String missionId, String unitType, Point position, int priority) {
+}
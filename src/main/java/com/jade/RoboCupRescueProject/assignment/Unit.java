@@ -0,0 +1,14 @@
+package com.jade.RoboCupRescueProject.assignment;
+
+import com.jade.RoboCupRescueProject.spatial.Point;
+import jade.core.AID;
+
+/**
+ * Rescue unit that can take a task.
+ * @param id The agent of the unit
+ * @param type The service type of the unit (pompier, ambulancier, police)
+ * @param position The last known position, or null if unknown
+ * @param resourceLevel The fraction of water or battery left, from 0 to 1
+ */
+public record Unit(AID id, String type, Point position, double resourceLevel) {
+}
@@ -0,0 +1,88 @@
+package com.jade.RoboCupRescueProject.behaviours.ambulancier;
+
+import com.jade.RoboCupRescueProject.agents.AgentAmbulancier;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageKind;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.missions.Mission;
+import jade.core.AID;
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.core.behaviours.OneShotBehaviour;
+import jade.lang.acl.ACLMessage;
+import jade.lang.acl.MessageTemplate;
+
+/**
+ * Behavior answering the missions dispatched by the command center.
+ * A free ambulance agrees to a victim rescue, carries it out and reports its completion, which
+ * frees it for the next mission; a busy one refuses, so that the dispatcher retries the mission.
+ */
+public class ExecuterMissionsBehaviour extends CyclicBehaviour {
+    private static final MessageTemplate MISSION_TEMPLATE = MessageTemplate.and(
+            MessageTemplate.MatchPerformative(ACLMessage.REQUEST),
+            MessageCodec.matchKind(MessageKind.MISSION));
+
+    public ExecuterMissionsBehaviour(Agent a) {
+        super(a);
+    }
+
+    @Override
+    public void action() {
+        ACLMessage msg = myAgent.receive(MISSION_TEMPLATE);
+        if (msg == null) {
+            block();
+            return;
+        }
+
+        if (MessageCodec.read(msg) instanceof TypedMessage.Mission mission) {
+            handleMission(msg, mission);
+        }
+    }
+
+    /**
+     * Agree to or refuse a mission
+     * @param msg The mission request
+     * @param mission The mission
+     */
+    private void handleMission(ACLMessage msg, TypedMessage.Mission mission) {
+        AgentAmbulancier agent = (AgentAmbulancier) myAgent;
+        ACLMessage reply = msg.createReply();
+        if (!Mission.VICTIM_RESCUE.equals(mission.type())) {
+            reply.setPerformative(ACLMessage.REFUSE);
+            reply.setContent("UNSUPPORTED:" + mission.type());
+            myAgent.send(reply);
+            return;
+        }
+        if (!agent.isAvailable()) {
+            reply.setPerformative(ACLMessage.REFUSE);
+            reply.setContent("UNAVAILABLE:BUSY");
+            myAgent.send(reply);
+            return;
+        }
+
+        reply.setPerformative(ACLMessage.AGREE);
+        reply.setContent("MISSION_ACCEPTED");
+        myAgent.send(reply);
+        agent.setAvailable(false);
+        agent.updateStatus("RESCUING:" + mission.location());
+
+        String location = mission.location();
+        myAgent.addBehaviour(new OneShotBehaviour(myAgent) {
+            @Override
+            public void action() {
+                System.out.println(myAgent.getLocalName() + ": Rescuing victim at " + location);
+                agent.setCurrentLocation(location);
+                agent.incrementVictimsFound();
+
+                // Report mission completion
+                ACLMessage report = MessageCodec.create(ACLMessage.INFORM,
+                        new TypedMessage.MissionComplete(Mission.VICTIM_RESCUE, location));
+                report.addReceiver(new AID("CommandCenter", AID.ISLOCALNAME));
+                myAgent.send(report);
+
+                agent.setAvailable(true);
+                agent.updateStatus("READY");
+            }
+        });
+    }
+}
@@ -10,6 +10,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import com.jade.RoboCupRescueProject.agents.AgentAmbulancier;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageKind;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
 
 /**
  * Behavior responsible for reporting information about victims to the command center.
@@ -44,11 +47,12 @@ public class InformerCentreBehaviour extends CyclicBehaviour {
         if (msg != null) {
             // Process request to inform command center
             String content = msg.getContent();
-            String[] parts = content.substring("INFORM_CENTRE:".length()).split(",");
+            String details = content.substring("INFORM_CENTRE:".length());
+            int separator = details.lastIndexOf(','); // The location itself may contain commas
 
-            if (parts.length >= 2) {
-                String locationStr = parts[0];
-                String triageCategory = parts[1];
+            if (separator > 0) {
+                String locationStr = details.substring(0, separator);
+                String triageCategory = details.substring(separator + 1);
 
                 // Update victim reports
                 victimReports.put(locationStr, triageCategory);
@@ -64,19 +68,18 @@ public class InformerCentreBehaviour extends CyclicBehaviour {
             // Check for other types of messages
             MessageTemplate transportMt = MessageTemplate.and(
                 MessageTemplate.MatchPerformative(ACLMessage.INFORM),
-                MessageTemplate.MatchContent("VICTIM_TRANSPORTED:.*")
+                MessageCodec.matchKind(MessageKind.TRANSPORT_REPORT)
             );
             ACLMessage transportMsg = myAgent.receive(transportMt);
 
             if (transportMsg != null) {
                 // Process transport completion message
-                String content = transportMsg.getContent();
-                String[] parts = content.substring("VICTIM_TRANSPORTED:".length()).split(",");
+                TypedMessage payload = MessageCodec.read(transportMsg);
 
-                if (parts.length >= 3) {
-                    String locationStr = parts[0];
-                    String facility = parts[1];
-                    String triageCategory = parts[2];
+                if (payload instanceof TypedMessage.TransportReport report) {
+                    String locationStr = report.location();
+                    String facility = report.facility();
+                    String triageCategory = report.triageCategory();
 
                     // Update transported victims list
                     transportedVictims.add(locationStr);
@@ -121,9 +124,9 @@ public class InformerCentreBehaviour extends CyclicBehaviour {
         // Update agent status
         ((AgentAmbulancier)myAgent).updateStatus("REPORTING_VICTIM:" + triageCategory);
 
-        ACLMessage inform = new ACLMessage(ACLMessage.INFORM);
+        ACLMessage inform = MessageCodec.create(ACLMessage.INFORM,
+                new TypedMessage.VictimReport(locationStr, triageCategory));
         inform.addReceiver(new AID("CentreCommande", AID.ISLOCALNAME));
-        inform.setContent("VICTIM_REPORT:" + locationStr + "," + triageCategory);
         myAgent.send(inform);
 
         System.out.println(myAgent.getLocalName() + ": Victim report sent to command center");
@@ -141,9 +144,9 @@ public class InformerCentreBehaviour extends CyclicBehaviour {
         // Update agent status
         ((AgentAmbulancier)myAgent).updateStatus("REPORTING_TRANSPORT:" + triageCategory);
 
-        ACLMessage inform = new ACLMessage(ACLMessage.INFORM);
+        ACLMessage inform = MessageCodec.create(ACLMessage.INFORM,
+                new TypedMessage.TransportReport(locationStr, facility, triageCategory));
         inform.addReceiver(new AID("CentreCommande", AID.ISLOCALNAME));
-        inform.setContent("TRANSPORT_REPORT:" + locationStr + "," + facility + "," + triageCategory);
         myAgent.send(inform);
 
         System.out.println(myAgent.getLocalName() + ": Transport report sent to command center");
@@ -159,17 +162,12 @@ public class InformerCentreBehaviour extends CyclicBehaviour {
         ((AgentAmbulancier)myAgent).updateStatus("SENDING_SUMMARY_REPORT");
 
         // Create summary message
-        StringBuilder summary = new StringBuilder("SUMMARY_REPORT:");
-        summary.append("total_found=").append(totalVictimsFound).append(",");
-        summary.append("total_transported=").append(totalVictimsTransported).append(",");
-        summary.append("leger=").append(countLeger).append(",");
-        summary.append("urgent=").append(countUrgent).append(",");
-        summary.append("critique=").append(countCritique);
+        TypedMessage.SummaryReport summary = new TypedMessage.SummaryReport(
+                totalVictimsFound, totalVictimsTransported, countLeger, countUrgent, countCritique);
 
         // Send summary to command center
-        ACLMessage inform = new ACLMessage(ACLMessage.INFORM);
+        ACLMessage inform = MessageCodec.create(ACLMessage.INFORM, summary);
         inform.addReceiver(new AID("CentreCommande", AID.ISLOCALNAME));
-        inform.setContent(summary.toString());
         myAgent.send(inform);
 
         System.out.println(myAgent.getLocalName() + ": Summary report sent to command center");
@@ -1,13 +1,19 @@
 package com.jade.RoboCupRescueProject.behaviours.ambulancier;
 
 import jade.core.Agent;
-import jade.core.behaviours.CyclicBehaviour;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
 import jade.lang.acl.ACLMessage;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-
-public class LocaliserVictimesBehaviour extends CyclicBehaviour {
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
+
+/**
+ * Behavior responsible for searching the disaster area for victims.
+ * The search advances one grid cell per tick, so the agent thread is never put to sleep
+ * and the other behaviours of the ambulance keep running between moves.
+ */
+public class LocaliserVictimesBehaviour extends ClockTickerBehaviour {
     private final ConcurrentHashMap<String, VictimInfo> detectedVictims;
     private final AtomicBoolean isRunning;
     private Position currentPosition;
@@ -16,7 +22,7 @@ public class LocaliserVictimesBehaviour extends CyclicBehaviour {
     private static final long SCAN_INTERVAL = 1000; // 1 second between movements
 
     public LocaliserVictimesBehaviour(Agent a) {
-        super(a);
+        super(a, SCAN_INTERVAL);
         this.detectedVictims = new ConcurrentHashMap<>();
         this.isRunning = new AtomicBoolean(true);
         this.currentPosition = new Position(0, 0);
@@ -25,7 +31,7 @@ public class LocaliserVictimesBehaviour extends CyclicBehaviour {
     }
 
     @Override
-    public void action() {
+    protected void onTick() {
         try {
             if (!isRunning.get()) {
                 return;
@@ -37,16 +43,6 @@ public class LocaliserVictimesBehaviour extends CyclicBehaviour {
             // Scan for victims
             scanForVictims();
 
-            // Controlled delay with interrupt handling
-            try {
-                Thread.sleep(SCAN_INTERVAL);
-            } catch (InterruptedException e) {
-                System.out.println(myAgent.getLocalName() + ": Search behavior interrupted, cleaning up...");
-                isRunning.set(false);
-                Thread.currentThread().interrupt();
-                return;
-            }
-
         } catch (Exception e) {
             System.err.println(myAgent.getLocalName() + ": Error in victim search: " + e.getMessage());
             e.printStackTrace();
@@ -96,7 +92,7 @@ public class LocaliserVictimesBehaviour extends CyclicBehaviour {
 
     private void handleNewVictim(Position position) {
         // Create victim info
-        VictimInfo victim = new VictimInfo(position, System.currentTimeMillis());
+        VictimInfo victim = new VictimInfo(position, SimulationClock.get().now());
         detectedVictims.put(position.toString(), victim);
 
         // Inform other agents
@@ -112,6 +108,7 @@ public class LocaliserVictimesBehaviour extends CyclicBehaviour {
 
     @Override
     public void onStart() {
+        super.onStart();
         isRunning.set(true);
     }
 
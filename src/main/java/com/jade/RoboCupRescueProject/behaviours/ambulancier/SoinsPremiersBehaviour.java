@@ -4,15 +4,23 @@ import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
 import jade.lang.acl.MessageTemplate;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Random;
 import com.jade.RoboCupRescueProject.agents.AgentAmbulancier;
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 /**
  * Behavior responsible for providing first aid to victims and performing triage.
  * This behavior is triggered when a victim is found and evaluates their condition
  * to determine the appropriate level of care needed.
+ *
+ * Treatments are timed without blocking the agent thread: each victim gets a completion
+ * deadline and the behaviour blocks only until the earliest deadline or the next message,
+ * so several victims can be treated at the same time.
  */
 public class SoinsPremiersBehaviour extends CyclicBehaviour {
     // Triage categories
@@ -23,8 +31,16 @@ public class SoinsPremiersBehaviour extends CyclicBehaviour {
     private Random random = new Random();
     private Map<String, String> victimStatus = new HashMap<>(); // Map of victim location to triage status
 
+    // Treatments in progress, ordered by completion time
+    private final PriorityQueue<Treatment> activeTreatments =
+        new PriorityQueue<>(Comparator.comparingLong((Treatment t) -> t.completionTime));
+
+    // Shared timer of the agent, used instead of per-behaviour timeouts
+    private final DeadlineScheduler scheduler;
+
     public SoinsPremiersBehaviour(Agent a) { 
         super(a); 
+        scheduler = DeadlineScheduler.of(a);
         System.out.println(a.getLocalName() + ": Starting first aid behavior");
     }
 
@@ -37,31 +53,32 @@ public class SoinsPremiersBehaviour extends CyclicBehaviour {
         );
         ACLMessage msg = myAgent.receive(mt);
 
-        if (msg != null) {
+        while (msg != null) {
             // Process message about found victim
             String content = msg.getContent();
             String locationStr = content.substring("VICTIM_FOUND:".length());
 
-            // Perform triage and provide first aid
+            // Perform triage and start first aid
             String triageResult = performTriage(locationStr);
             provideFirstAid(locationStr, triageResult);
 
             // Store the victim status for later reference
             victimStatus.put(locationStr, triageResult);
 
-            // Notify the transport behavior about the victim
-            ACLMessage transportMsg = new ACLMessage(ACLMessage.REQUEST);
-            transportMsg.addReceiver(myAgent.getAID());
-            transportMsg.setContent("TRANSPORT_VICTIM:" + locationStr + "," + triageResult);
-            myAgent.send(transportMsg);
-
-            // Notify the inform center behavior about the victim
-            ACLMessage informMsg = new ACLMessage(ACLMessage.REQUEST);
-            informMsg.addReceiver(myAgent.getAID());
-            informMsg.setContent("INFORM_CENTRE:" + locationStr + "," + triageResult);
-            myAgent.send(informMsg);
-        } else {
+            msg = myAgent.receive(mt);
+        }
+
+        // Complete the treatments whose time has elapsed
+        long now = SimulationClock.get().now();
+        while (!activeTreatments.isEmpty() && activeTreatments.peek().completionTime <= now) {
+            completeFirstAid(activeTreatments.poll());
+        }
+
+        if (activeTreatments.isEmpty()) {
+            scheduler.cancel(this);
             block(); // Block until a message is received
+        } else {
+            scheduler.sleepUntil(this, activeTreatments.peek().completionTime); // Wake up for the next treatment or a message
         }
     }
 
@@ -117,20 +134,49 @@ public class SoinsPremiersBehaviour extends CyclicBehaviour {
         }
 
         // Simulate time taken to provide first aid
-        try {
-            int treatmentTime = 0;
-            if (triageCategory.equals(TRIAGE_LEGER)) {
-                treatmentTime = 1000; // 1 second for minor injuries
-            } else if (triageCategory.equals(TRIAGE_URGENT)) {
-                treatmentTime = 2000; // 2 seconds for urgent cases
-            } else if (triageCategory.equals(TRIAGE_CRITIQUE)) {
-                treatmentTime = 3000; // 3 seconds for critical cases
-            }
-
-            Thread.sleep(treatmentTime);
-            System.out.println(myAgent.getLocalName() + ": First aid completed for victim at " + locationStr);
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+        int treatmentTime = 0;
+        if (triageCategory.equals(TRIAGE_LEGER)) {
+            treatmentTime = 1000; // 1 second for minor injuries
+        } else if (triageCategory.equals(TRIAGE_URGENT)) {
+            treatmentTime = 2000; // 2 seconds for urgent cases
+        } else if (triageCategory.equals(TRIAGE_CRITIQUE)) {
+            treatmentTime = 3000; // 3 seconds for critical cases
+        }
+
+        activeTreatments.add(new Treatment(locationStr, triageCategory,
+                                           SimulationClock.get().now() + treatmentTime));
+    }
+
+    /**
+     * Finish a treatment and hand the victim over to the transport and reporting behaviors
+     * @param treatment The completed treatment
+     */
+    private void completeFirstAid(Treatment treatment) {
+        System.out.println(myAgent.getLocalName() + ": First aid completed for victim at " + treatment.location);
+
+        // Notify the transport behavior about the victim
+        ACLMessage transportMsg = new ACLMessage(ACLMessage.REQUEST);
+        transportMsg.addReceiver(myAgent.getAID());
+        transportMsg.setContent("TRANSPORT_VICTIM:" + treatment.location + "," + treatment.triageCategory);
+        myAgent.send(transportMsg);
+
+        // Notify the inform center behavior about the victim
+        ACLMessage informMsg = new ACLMessage(ACLMessage.REQUEST);
+        informMsg.addReceiver(myAgent.getAID());
+        informMsg.setContent("INFORM_CENTRE:" + treatment.location + "," + treatment.triageCategory);
+        myAgent.send(informMsg);
+    }
+
+    // Inner class to represent a first aid treatment in progress
+    private static class Treatment {
+        final String location;
+        final String triageCategory;
+        final long completionTime;
+
+        Treatment(String location, String triageCategory, long completionTime) {
+            this.location = location;
+            this.triageCategory = triageCategory;
+            this.completionTime = completionTime;
         }
     }
 }
@@ -5,20 +5,44 @@ import jade.core.behaviours.CyclicBehaviour;
 import jade.core.AID;
 import jade.lang.acl.ACLMessage;
 import jade.lang.acl.MessageTemplate;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Random;
 import com.jade.RoboCupRescueProject.agents.AgentAmbulancier;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 /**
  * Behavior responsible for transporting victims to medical facilities.
  * This behavior is triggered after first aid has been provided and coordinates
  * the evacuation of victims to hospitals or medical triage points.
+ *
+ * Each transport is a small timed state machine (waiting for a route, then driving).
+ * The behaviour never sleeps: it blocks until the earliest transport deadline or the next
+ * message, so several victims can be transported at the same time.
  */
 public class TransporterVictimesBehaviour extends CyclicBehaviour {
+    // Time to wait for a route from the police before leaving anyway
+    private static final long ROUTE_ASSISTANCE_TIMEOUT = 500; // 0.5 second
+
     private Random random = new Random();
     private Map<String, String> transportQueue = new HashMap<>(); // Map of victim location to triage status
 
+    // Transports in progress, ordered by their next deadline
+    private final PriorityQueue<Transport> activeTransports =
+        new PriorityQueue<>(Comparator.comparingLong((Transport t) -> t.wakeupTime));
+
+    // Transports waiting for a route, keyed by the conversation ID of the route request
+    private final Map<String, Transport> awaitingRoutes = new HashMap<>();
+    private int routeRequestCounter = 0;
+
+    // Shared timer of the agent, used instead of per-behaviour timeouts
+    private final DeadlineScheduler scheduler;
+
     // Medical facility locations (simulated)
     private final String[] MEDICAL_FACILITIES = {
         "Hospital_Central:100,200",
@@ -29,6 +53,7 @@ public class TransporterVictimesBehaviour extends CyclicBehaviour {
 
     public TransporterVictimesBehaviour(Agent a) { 
         super(a); 
+        scheduler = DeadlineScheduler.of(a);
         System.out.println(a.getLocalName() + ": Starting victim transport behavior");
     }
 
@@ -41,51 +66,65 @@ public class TransporterVictimesBehaviour extends CyclicBehaviour {
         );
         ACLMessage msg = myAgent.receive(mt);
 
-        if (msg != null) {
+        while (msg != null) {
             // Process transport request
-            String content = msg.getContent();
-            String[] parts = content.substring("TRANSPORT_VICTIM:".length()).split(",");
+            String details = msg.getContent().substring("TRANSPORT_VICTIM:".length());
+            int separator = details.lastIndexOf(','); // The location itself may contain commas
 
-            if (parts.length >= 2) {
-                String locationStr = parts[0];
-                String triageCategory = parts[1];
+            if (separator > 0) {
+                String locationStr = details.substring(0, separator);
+                String triageCategory = details.substring(separator + 1);
 
                 // Add to transport queue
                 transportQueue.put(locationStr, triageCategory);
                 System.out.println(myAgent.getLocalName() + ": Added victim at " + locationStr + 
                                    " with triage category " + triageCategory + " to transport queue");
-
-                // Process the transport queue
-                processTransportQueue();
             }
-        } else {
+            msg = myAgent.receive(mt);
+        }
+
+        // Start a transport for every queued victim
+        processTransportQueue();
+
+        // Handle route responses from the police
+        processRouteResponses();
+
+        // Advance the transports whose deadline has elapsed
+        long now = SimulationClock.get().now();
+        while (!activeTransports.isEmpty() && activeTransports.peek().wakeupTime <= now) {
+            advanceTransport(activeTransports.poll(), now);
+        }
+
+        if (activeTransports.isEmpty()) {
+            scheduler.cancel(this);
             block(); // Block until a message is received
+        } else {
+            scheduler.sleepUntil(this, activeTransports.peek().wakeupTime); // Wake up for the next deadline or a message
         }
     }
 
     /**
-     * Process the transport queue and evacuate victims
+     * Start a transport for each victim in the transport queue
      */
     private void processTransportQueue() {
-        if (transportQueue.isEmpty()) {
-            return;
-        }
+        long now = SimulationClock.get().now();
 
-        // In a real implementation, we would optimize the transport order based on triage category
-        // and distance to medical facilities. For simplicity, we'll just process one victim at a time.
-        String locationStr = transportQueue.keySet().iterator().next();
-        String triageCategory = transportQueue.remove(locationStr);
+        for (Map.Entry<String, String> entry : transportQueue.entrySet()) {
+            String locationStr = entry.getKey();
+            String triageCategory = entry.getValue();
 
-        // Select appropriate medical facility based on triage category
-        String facility = selectMedicalFacility(triageCategory);
+            // Select appropriate medical facility based on triage category
+            String facility = selectMedicalFacility(triageCategory);
+            Transport transport = new Transport(locationStr, facility, triageCategory);
 
-        // Request route from police if needed
-        if (random.nextDouble() < 0.3) { // 30% chance of needing route assistance
-            requestRouteAssistance(locationStr, facility);
+            // Request route from police if needed
+            if (random.nextDouble() < 0.3) { // 30% chance of needing route assistance
+                requestRouteAssistance(transport, now);
+            } else {
+                startDriving(transport, now);
+            }
         }
-
-        // Transport the victim
-        transportVictim(locationStr, facility, triageCategory);
+        transportQueue.clear();
     }
 
     /**
@@ -109,64 +148,131 @@ public class TransporterVictimesBehaviour extends CyclicBehaviour {
     }
 
     /**
-     * Request route assistance from police agents
-     * @param fromLocation The starting location
-     * @param toFacility The destination facility
+     * Request route assistance from police agents and wait for the answer without blocking
+     * @param transport The transport needing a route
+     * @param now The current time
      */
-    private void requestRouteAssistance(String fromLocation, String toFacility) {
+    private void requestRouteAssistance(Transport transport, long now) {
         System.out.println(myAgent.getLocalName() + ": Requesting route assistance from police");
 
+        String conversationId = "route-" + myAgent.getLocalName() + "-" + (++routeRequestCounter);
+
         ACLMessage request = new ACLMessage(ACLMessage.REQUEST);
         request.addReceiver(new AID("Police", AID.ISLOCALNAME));
-        request.setContent("ROUTE_REQUEST:" + fromLocation + "," + toFacility);
+        request.setConversationId(conversationId);
+        request.setContent("ROUTE_REQUEST:" + transport.location + "," + transport.facility);
         myAgent.send(request);
 
-        // In a real implementation, we would wait for a response
-        // For simplicity, we'll just simulate a delay
-        try {
-            Thread.sleep(500); // 0.5 second
-            System.out.println(myAgent.getLocalName() + ": Received route from police");
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+        // Leave without the route if the police does not answer in time
+        transport.step = TransportStep.AWAITING_ROUTE;
+        transport.conversationId = conversationId;
+        transport.wakeupTime = now + ROUTE_ASSISTANCE_TIMEOUT;
+        awaitingRoutes.put(conversationId, transport);
+        activeTransports.add(transport);
+    }
+
+    /**
+     * Start driving the transports whose route has been received
+     */
+    private void processRouteResponses() {
+        if (awaitingRoutes.isEmpty()) {
+            return;
+        }
+
+        MessageTemplate mt = MessageTemplate.and(
+            MessageTemplate.MatchPerformative(ACLMessage.INFORM),
+            MessageTemplate.MatchContent("ROUTE_RESPONSE:.*")
+        );
+        ACLMessage msg = myAgent.receive(mt);
+
+        while (msg != null) {
+            Transport transport = awaitingRoutes.remove(msg.getConversationId());
+            if (transport != null) {
+                System.out.println(myAgent.getLocalName() + ": Received route from police");
+                activeTransports.remove(transport);
+                startDriving(transport, SimulationClock.get().now());
+            }
+            msg = myAgent.receive(mt);
         }
     }
 
     /**
-     * Transport a victim to a medical facility
-     * @param locationStr The location of the victim
-     * @param facility The destination medical facility
-     * @param triageCategory The triage category of the victim
+     * Move a transport to its next step once its deadline has elapsed
+     * @param transport The transport
+     * @param now The current time
+     */
+    private void advanceTransport(Transport transport, long now) {
+        switch (transport.step) {
+            case AWAITING_ROUTE:
+                // No answer from the police, leave with the known roads
+                awaitingRoutes.remove(transport.conversationId);
+                System.out.println(myAgent.getLocalName() + ": No route received from police, leaving anyway");
+                startDriving(transport, now);
+                break;
+            case DRIVING:
+                completeTransport(transport);
+                break;
+        }
+    }
+
+    /**
+     * Start transporting a victim to a medical facility
+     * @param transport The transport
+     * @param now The current time
      */
-    private void transportVictim(String locationStr, String facility, String triageCategory) {
-        System.out.println(myAgent.getLocalName() + ": Transporting victim from " + locationStr + 
-                           " to " + facility + " (Category: " + triageCategory + ")");
+    private void startDriving(Transport transport, long now) {
+        System.out.println(myAgent.getLocalName() + ": Transporting victim from " + transport.location + 
+                           " to " + transport.facility + " (Category: " + transport.triageCategory + ")");
 
         // Simulate transport time based on triage category
-        try {
-            int transportTime = 0;
-            if (triageCategory.equals(SoinsPremiersBehaviour.TRIAGE_CRITIQUE)) {
-                transportTime = 2000; // 2 seconds for critical cases (emergency transport)
-            } else if (triageCategory.equals(SoinsPremiersBehaviour.TRIAGE_URGENT)) {
-                transportTime = 3000; // 3 seconds for urgent cases
-            } else {
-                transportTime = 4000; // 4 seconds for minor injuries
-            }
+        int transportTime = 0;
+        if (transport.triageCategory.equals(SoinsPremiersBehaviour.TRIAGE_CRITIQUE)) {
+            transportTime = 2000; // 2 seconds for critical cases (emergency transport)
+        } else if (transport.triageCategory.equals(SoinsPremiersBehaviour.TRIAGE_URGENT)) {
+            transportTime = 3000; // 3 seconds for urgent cases
+        } else {
+            transportTime = 4000; // 4 seconds for minor injuries
+        }
+
+        transport.step = TransportStep.DRIVING;
+        transport.wakeupTime = now + transportTime;
+        activeTransports.add(transport);
+    }
+
+    /**
+     * Finish the transport of a victim to a medical facility
+     * @param transport The completed transport
+     */
+    private void completeTransport(Transport transport) {
+        System.out.println(myAgent.getLocalName() + ": Victim successfully transported to " + transport.facility);
+
+        // Update agent status and increment transported victims counter
+        ((AgentAmbulancier)myAgent).updateStatus("TRANSPORT_COMPLETED");
+        ((AgentAmbulancier)myAgent).incrementVictimsTransported();
 
-            Thread.sleep(transportTime);
-            System.out.println(myAgent.getLocalName() + ": Victim successfully transported to " + facility);
+        // Notify the command center about the completed transport
+        ACLMessage inform = MessageCodec.create(ACLMessage.INFORM,
+                new TypedMessage.TransportReport(transport.location, transport.facility, transport.triageCategory));
+        inform.addReceiver(new AID("CentreCommande", AID.ISLOCALNAME));
+        myAgent.send(inform);
+    }
 
-            // Update agent status and increment transported victims counter
-            ((AgentAmbulancier)myAgent).updateStatus("TRANSPORT_COMPLETED");
-            ((AgentAmbulancier)myAgent).incrementVictimsTransported();
+    // Steps of a transport
+    private enum TransportStep { AWAITING_ROUTE, DRIVING }
 
-            // Notify the command center about the completed transport
-            ACLMessage inform = new ACLMessage(ACLMessage.INFORM);
-            inform.addReceiver(new AID("CentreCommande", AID.ISLOCALNAME));
-            inform.setContent("VICTIM_TRANSPORTED:" + locationStr + "," + facility + "," + triageCategory);
-            myAgent.send(inform);
+    // Inner class to represent a victim transport in progress
+    private static class Transport {
+        final String location;
+        final String facility;
+        final String triageCategory;
+        TransportStep step;
+        String conversationId;
+        long wakeupTime;
 
-        } catch (InterruptedException e) {
-            e.printStackTrace();
+        Transport(String location, String facility, String triageCategory) {
+            this.location = location;
+            this.facility = facility;
+            this.triageCategory = triageCategory;
         }
     }
 }
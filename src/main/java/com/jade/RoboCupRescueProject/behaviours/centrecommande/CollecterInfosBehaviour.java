@@ -3,218 +3,233 @@ package com.jade.RoboCupRescueProject.behaviours.centrecommande;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
-import jade.lang.acl.MessageTemplate;
 import com.jade.RoboCupRescueProject.agents.AgentCentreCommande;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageKind;
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import com.jade.RoboCupRescueProject.messages.RoutedAgent;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.*;
 
 /**
  * Behavior responsible for collecting and aggregating data from different agents.
  * This behavior receives information from Firefighters, Ambulance, and Police agents,
  * processes this information, and updates the command center's knowledge base.
+ * Units that belong to a team are not heard directly: their leader sends a summary of the
+ * team's changes once per window.
  */
 public class CollecterInfosBehaviour extends CyclicBehaviour {
-    // Message types
-    private static final String FIRE_REPORT = "FIRE_REPORT";
-    private static final String VICTIM_REPORT = "VICTIM_REPORT";
-    private static final String ROAD_STATUS_CHANGE = "ROAD_STATUS_CHANGE";
-    private static final String SECURITY_PERIMETER = "SECURITY_PERIMETER";
-    private static final String SUMMARY_REPORT = "SUMMARY_REPORT";
-    private static final String SITUATION_REPORT = "SITUATION_REPORT";
-    private static final String VICTIM_TRANSPORTED = "VICTIM_TRANSPORTED";
-    private static final String TRANSPORT_REPORT = "TRANSPORT_REPORT";
+    // Water capacity of a fire truck, in liters
+    private static final double FULL_WATER_LEVEL = 1000.0;
+
+    // Reports routed to this behaviour by the agent's message router
+    private final MessageRouter.Inbox inbox;
 
     public CollecterInfosBehaviour(Agent a) { 
         super(a); 
+        MessageRouter router = ((RoutedAgent)a).getRouter();
+        inbox = router.createInbox();
+        router.routeKinds(inbox,
+            MessageKind.FIRE_REPORT,
+            MessageKind.VICTIM_REPORT,
+            MessageKind.ROAD_STATUS_CHANGE,
+            MessageKind.SECURITY_PERIMETER,
+            MessageKind.SUMMARY_REPORT,
+            MessageKind.SITUATION_REPORT,
+            MessageKind.TRANSPORT_REPORT,
+            MessageKind.FIREFIGHTER_STATUS,
+            MessageKind.UNIT_STATUS,
+            MessageKind.TEAM_SUMMARY
+        );
+    }
+
+    @Override
+    public void onStart() {
+        inbox.attach(this);
     }
 
     @Override
     public void action() {
-        // Create a template to receive INFORM messages
-        MessageTemplate mt = MessageTemplate.MatchPerformative(ACLMessage.INFORM);
-        ACLMessage msg = myAgent.receive(mt);
+        ACLMessage msg = inbox.poll();
 
-        if (msg != null) {
-            // Process the message
-            String content = msg.getContent();
+        if (msg != null && msg.getPerformative() == ACLMessage.INFORM) {
+            // Decode the typed payload
+            TypedMessage payload = MessageCodec.read(msg);
             String sender = msg.getSender().getLocalName();
 
             // Update agent status
             ((AgentCentreCommande)myAgent).updateStatus("PROCESSING_INFO:" + sender);
 
             // Process different types of information
-            if (content.startsWith(FIRE_REPORT)) {
-                processFireReport(content, sender);
-            } else if (content.startsWith(VICTIM_REPORT)) {
-                processVictimReport(content, sender);
-            } else if (content.startsWith(ROAD_STATUS_CHANGE)) {
-                processRoadStatusChange(content, sender);
-            } else if (content.startsWith(SECURITY_PERIMETER)) {
-                processSecurityPerimeter(content, sender);
-            } else if (content.startsWith(SUMMARY_REPORT)) {
-                processSummaryReport(content, sender);
-            } else if (content.startsWith(SITUATION_REPORT)) {
-                processSituationReport(content, sender);
-            } else if (content.startsWith(VICTIM_TRANSPORTED) || content.startsWith(TRANSPORT_REPORT)) {
-                processTransportReport(content, sender);
+            if (payload instanceof FireReport report) {
+                processFireReport(report);
+            } else if (payload instanceof VictimReport report) {
+                processVictimReport(report);
+            } else if (payload instanceof RoadStatusChange change) {
+                processRoadStatusChange(change);
+            } else if (payload instanceof SecurityPerimeter perimeter) {
+                processSecurityPerimeter(perimeter);
+            } else if (payload instanceof SummaryReport report) {
+                processSummaryReport(report, sender);
+            } else if (payload instanceof SituationReport report) {
+                processSituationReport(report, sender);
+            } else if (payload instanceof TransportReport report) {
+                processTransportReport(report);
+            } else if (payload instanceof FirefighterStatus status) {
+                // Periodic status: no acknowledgement
+                processFirefighterStatus(status, msg.getSender());
+                return;
+            } else if (payload instanceof UnitStatus status) {
+                // Periodic status: no acknowledgement
+                processUnitStatus(status, msg.getSender());
+                return;
+            } else if (payload instanceof TeamSummary summary) {
+                // Periodic summary: no acknowledgement
+                processTeamSummary(summary, sender);
+                return;
             }
 
+            // Let the planner update the missions affected by the report
+            ((AgentCentreCommande)myAgent).getPlanner().submit(payload, sender);
+
             // Send acknowledgement
-            sendAcknowledgement(msg.getSender(), content);
-        } else {
-            block(); // Block until a message is received
+            sendAcknowledgement(msg.getSender());
+        } else if (msg == null) {
+            block(); // Block until a message is routed to this behaviour
         }
     }
 
     /**
      * Process a fire report
-     * @param content The message content
-     * @param sender The sender of the message
+     * @param report The fire report
      */
-    private void processFireReport(String content, String sender) {
-        // Extract fire information
-        String[] parts = content.substring(FIRE_REPORT.length() + 1).split(",");
-        if (parts.length >= 2) {
-            String location = parts[0];
-            String status = parts[1];
-
-            // Update the command center's knowledge base
-            ((AgentCentreCommande)myAgent).addFireReport(location, status);
-        }
+    private void processFireReport(FireReport report) {
+        // Update the command center's knowledge base
+        ((AgentCentreCommande)myAgent).addFireReport(report.location(), report.status());
     }
 
     /**
      * Process a victim report
-     * @param content The message content
-     * @param sender The sender of the message
+     * @param report The victim report
      */
-    private void processVictimReport(String content, String sender) {
-        // Extract victim information
-        String[] parts = content.substring(VICTIM_REPORT.length() + 1).split(",");
-        if (parts.length >= 2) {
-            String location = parts[0];
-            String status = parts[1];
-
-            // Update the command center's knowledge base
-            ((AgentCentreCommande)myAgent).addVictimReport(location, status);
-        }
+    private void processVictimReport(VictimReport report) {
+        // Update the command center's knowledge base
+        ((AgentCentreCommande)myAgent).addVictimReport(report.location(), report.status());
     }
 
     /**
      * Process a road status change
-     * @param content The message content
-     * @param sender The sender of the message
+     * @param change The road status change
      */
-    private void processRoadStatusChange(String content, String sender) {
-        // Extract road information
-        String[] parts = content.substring(ROAD_STATUS_CHANGE.length() + 1).split(",");
-        if (parts.length >= 2) {
-            String roadId = parts[0];
-            String status = parts[1];
-
-            // Update the command center's knowledge base
-            ((AgentCentreCommande)myAgent).addRoadReport(roadId, status);
-        }
+    private void processRoadStatusChange(RoadStatusChange change) {
+        // Update the command center's knowledge base
+        ((AgentCentreCommande)myAgent).addRoadReport(change.roadId(), change.status());
     }
 
     /**
      * Process a security perimeter report
-     * @param content The message content
-     * @param sender The sender of the message
+     * @param perimeter The security perimeter report
      */
-    private void processSecurityPerimeter(String content, String sender) {
-        // Extract security zone information
-        String[] parts = content.substring(SECURITY_PERIMETER.length() + 1).split(",");
-        if (parts.length >= 3) {
-            String zoneId = parts[0];
-            String zoneType = parts[1];
-            String status = parts[2];
-
-            // Update the command center's knowledge base
-            ((AgentCentreCommande)myAgent).addSecurityZoneReport(zoneId, status);
-        }
+    private void processSecurityPerimeter(SecurityPerimeter perimeter) {
+        // Update the command center's knowledge base
+        ((AgentCentreCommande)myAgent).addSecurityZoneReport(perimeter.zoneId(), perimeter.status());
     }
 
     /**
      * Process a summary report
-     * @param content The message content
+     * @param report The summary report
      * @param sender The sender of the message
      */
-    private void processSummaryReport(String content, String sender) {
-        // Extract summary information
-        String[] parts = content.substring(SUMMARY_REPORT.length() + 1).split(",");
-
-        // Process each key-value pair
-        for (String part : parts) {
-            String[] keyValue = part.split("=");
-            if (keyValue.length == 2) {
-                String key = keyValue[0];
-                String value = keyValue[1];
-
-                // Add to priority missions if needed
-                if (key.equals("critique") && Integer.parseInt(value) > 0) {
-                    ((AgentCentreCommande)myAgent).addPriorityMission("RESCUE_CRITICAL_VICTIMS:" + sender);
-                }
-            }
-        }
+    private void processSummaryReport(SummaryReport report, String sender) {
+        // Critical victims are planned as missions by PlanifierInterventionBehaviour
     }
 
     /**
      * Process a situation report
-     * @param content The message content
+     * @param report The situation report
      * @param sender The sender of the message
      */
-    private void processSituationReport(String content, String sender) {
-        // Extract situation information
-        String[] parts = content.substring(SITUATION_REPORT.length() + 1).split(",");
-
-        // Process each key-value pair
-        for (String part : parts) {
-            String[] keyValue = part.split("=");
-            if (keyValue.length == 2) {
-                String key = keyValue[0];
-                String value = keyValue[1];
-
-                // Add to priority missions if needed
-                if (key.equals("closed_roads") && Integer.parseInt(value) > 0) {
-                    ((AgentCentreCommande)myAgent).addPriorityMission("CLEAR_ROADS:" + sender);
-                }
-
-                if (key.equals("security_zones") && Integer.parseInt(value) > 0) {
-                    ((AgentCentreCommande)myAgent).addPriorityMission("MONITOR_SECURITY_ZONES:" + sender);
-                }
-            }
-        }
+    private void processSituationReport(SituationReport report, String sender) {
+        // Closed roads and security zones are planned as missions by PlanifierInterventionBehaviour
     }
 
     /**
      * Process a transport report
-     * @param content The message content
-     * @param sender The sender of the message
+     * @param report The transport report
+     */
+    private void processTransportReport(TransportReport report) {
+        // Update victim status to transported
+        ((AgentCentreCommande)myAgent).addVictimReport(report.location(), "TRANSPORTED:" + report.facility());
+    }
+
+    /**
+     * Process a firefighter status
+     * @param status The firefighter status
+     * @param sender The firefighter
+     */
+    private void processFirefighterStatus(FirefighterStatus status, jade.core.AID sender) {
+        // Keep the unit index up to date for the dispatcher
+        ((AgentCentreCommande)myAgent).updateUnitPosition(sender, status.location(), status.available(),
+                Math.min(1.0, status.waterLevel() / FULL_WATER_LEVEL));
+    }
+
+    /**
+     * Process the status of an ambulance or police unit
+     * @param status The unit status
+     * @param sender The unit
      */
-    private void processTransportReport(String content, String sender) {
-        // Extract transport information
-        String messageType = content.startsWith(VICTIM_TRANSPORTED) ? VICTIM_TRANSPORTED : TRANSPORT_REPORT;
-        String[] parts = content.substring(messageType.length() + 1).split(",");
-
-        if (parts.length >= 3) {
-            String location = parts[0];
-            String facility = parts[1];
-            String status = parts[2];
-
-            // Update victim status to transported
-            ((AgentCentreCommande)myAgent).addVictimReport(location, "TRANSPORTED:" + facility);
+    private void processUnitStatus(UnitStatus status, jade.core.AID sender) {
+        // Keep the unit index up to date for the dispatcher
+        ((AgentCentreCommande)myAgent).updateUnitPosition(sender, status.location(), status.available(),
+                status.resourceLevel());
+    }
+
+    /**
+     * Process the summary of a team: apply the changes of its units and incidents
+     * @param summary The team summary
+     * @param sender The local name of the team leader
+     */
+    private void processTeamSummary(TeamSummary summary, String sender) {
+        AgentCentreCommande center = (AgentCentreCommande)myAgent;
+        for (UnitState unit : summary.changedUnits()) {
+            center.updateUnitPosition(new jade.core.AID(unit.name(), jade.core.AID.ISLOCALNAME), unit.location(),
+                    unit.available(), unit.resourceLevel());
+        }
+        for (Incident incident : summary.changedIncidents()) {
+            if (incident.type().equals("DANGER")) {
+                center.addSecurityZoneReport(incident.key(), "DANGEROUS_AREA");
+            } else {
+                planFire(new FireReport(incident.key(), String.valueOf(incident.intensity())), sender);
+            }
+        }
+        for (String key : summary.clearedIncidents()) {
+            if (center.getWorldState().securityZones().containsKey(key)) {
+                center.addSecurityZoneReport(key, "CLEARED");
+            } else {
+                planFire(new FireReport(key, PlanifierInterventionBehaviour.FIRE_EXTINGUISHED), sender);
+            }
         }
     }
 
+    /**
+     * Record a fire from a team summary and let the planner add, update or remove its mission
+     * @param report The fire, as a single fire report would carry it
+     * @param sender The local name of the team leader
+     */
+    private void planFire(FireReport report, String sender) {
+        processFireReport(report);
+        ((AgentCentreCommande)myAgent).getPlanner().submit(report, sender);
+    }
+
     /**
      * Send an acknowledgement message
      * @param receiver The receiver of the acknowledgement
-     * @param originalContent The original message content
      */
-    private void sendAcknowledgement(jade.core.AID receiver, String originalContent) {
+    private void sendAcknowledgement(jade.core.AID receiver) {
         ACLMessage ack = new ACLMessage(ACLMessage.INFORM);
         ack.addReceiver(receiver);
 
-        // Create an acknowledgement ID based on the original content
+        // Create an acknowledgement ID
         String ackId = "ACK_" + System.currentTimeMillis();
 
         ack.setContent("ACKNOWLEDGEMENT:" + ackId);
@@ -1,8 +1,10 @@
 package com.jade.RoboCupRescueProject.behaviours.centrecommande;
 
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import com.jade.RoboCupRescueProject.messages.RoutedAgent;
+import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
-import jade.lang.acl.MessageTemplate;
 
 /**
  * Comportement pour suivre l'évolution de l'extinction d'un incendie.
@@ -14,14 +16,25 @@ public class ComportementSuiviExtinction extends CyclicBehaviour {
     // Compteur pour suivre les mises à jour de progression
     private int compteurMisesAJour = 0;
 
+    // Messages de suivi transmis par le routeur de messages de l'agent
+    private final MessageRouter.Inbox inbox;
+
+    public ComportementSuiviExtinction(Agent a) {
+        super(a);
+        MessageRouter router = ((RoutedAgent)a).getRouter();
+        inbox = router.createInbox();
+        router.routePrefixes(inbox, "PROGRESSION", "SUCCES");
+        router.routePerformatives(inbox, ACLMessage.CONFIRM);
+    }
+
     @Override
-    public void action() {
-        // Créer un template pour les messages INFORM et CONFIRM
-        MessageTemplate mtInform = MessageTemplate.MatchPerformative(ACLMessage.INFORM);
-        MessageTemplate mtConfirm = MessageTemplate.MatchPerformative(ACLMessage.CONFIRM);
-        MessageTemplate mt = MessageTemplate.or(mtInform, mtConfirm);
+    public void onStart() {
+        inbox.attach(this);
+    }
 
-        ACLMessage msg = myAgent.receive(mt);
+    @Override
+    public void action() {
+        ACLMessage msg = inbox.poll();
 
         if (msg != null) {
             String contenu = msg.getContent();
@@ -3,16 +3,34 @@ package com.jade.RoboCupRescueProject.behaviours.centrecommande;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.core.AID;
-import jade.domain.DFService;
-import jade.domain.FIPAException;
-import jade.domain.FIPAAgentManagement.DFAgentDescription;
-import jade.domain.FIPAAgentManagement.ServiceDescription;
 import jade.lang.acl.ACLMessage;
 import jade.lang.acl.MessageTemplate;
+import com.jade.RoboCupRescueProject.agents.AgentCentreCommande;
+import com.jade.RoboCupRescueProject.assignment.AssignmentEngine;
+import com.jade.RoboCupRescueProject.assignment.AvailabilityRegistry;
+import com.jade.RoboCupRescueProject.assignment.Task;
+import com.jade.RoboCupRescueProject.assignment.Unit;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageKind;
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import com.jade.RoboCupRescueProject.messages.Outbox;
+import com.jade.RoboCupRescueProject.messages.RoutedAgent;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.missions.Mission;
+import com.jade.RoboCupRescueProject.spatial.Point;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
+
+/**
+ * Behavior responsible for sending the planned missions to rescue units.
+ * Each dispatch round matches the pending missions of the command center's mission queue
+ * with the free units through an {@link AssignmentEngine}. Units and their availability come
+ * from the command center's {@link AvailabilityRegistry}, so no DF search is made here. When a unit completes a mission,
+ * it is given its best pending mission right away instead of waiting for the next round.
+ */
 public class DispatcherMissionsBehaviour extends CyclicBehaviour {
     // Agent types
     private static final String AGENT_TYPE_POMPIER = "pompier";
@@ -32,166 +50,250 @@ public class DispatcherMissionsBehaviour extends CyclicBehaviour {
     private static final String STATUS_FAILED = "FAILED";
 
     // Cache and timing management
-    private final ConcurrentHashMap<String, List<AID>> availableAgents;
     private final ConcurrentHashMap<String, String> missionStatus;
     private final ConcurrentHashMap<String, Long> agentLastResponse;
-    private long lastDispatchTime = 0;
-    private long lastAgentLookupTime = 0;
+    private final Map<String, AID> missionUnits = new HashMap<>(); // Map of mission ID to its unit
+    private final Map<AID, String> unitMissions = new HashMap<>(); // Map of busy unit to its mission
+    private final Set<String> unknownMissionTypes = new HashSet<>(); // Mission types already reported as unknown
+    private final Map<AID, Integer> unitTimeouts = new HashMap<>(); // Consecutive timeouts of each unit
+    private final Map<AID, Long> unitRetryTimes = new HashMap<>(); // Time at which a timed-out unit is tried again
+
+    // Mission replies routed to this behaviour by the agent's message router
+    private final MessageRouter router;
+    private final MessageRouter.Inbox inbox;
+
+    // Shared timer of the agent, used instead of polling
+    private final DeadlineScheduler scheduler;
+
+    // Batching outbox: missions for the same agent within a window travel in one envelope
+    private final Outbox outbox;
+
+    // Matches pending missions with free units
+    private final AssignmentEngine engine;
 
     // Configuration constants
     private static final long DISPATCH_INTERVAL = 5000; // 5 seconds
-    private static final long AGENT_LOOKUP_INTERVAL = 30000; // 30 seconds
     private static final long AGENT_RESPONSE_TIMEOUT = 10000; // 10 seconds
     private static final int MAX_RETRY_ATTEMPTS = 3;
 
     public DispatcherMissionsBehaviour(Agent a) {
         super(a);
-        this.availableAgents = new ConcurrentHashMap<>();
         this.missionStatus = new ConcurrentHashMap<>();
         this.agentLastResponse = new ConcurrentHashMap<>();
 
-        // Initialize agent cache
-        initializeAgentCache();
+        // Replies are routed by mission conversation ID; AGREE/REFUSE without one still reach us
+        this.router = ((RoutedAgent)a).getRouter();
+        this.inbox = router.createInbox();
+        router.routePerformatives(inbox, ACLMessage.AGREE, ACLMessage.REFUSE);
+        router.routeKinds(inbox, MessageKind.MISSION_COMPLETE);
+        // Losing a reply would leave its unit busy, so replies are never dropped from a full inbox
+        inbox.protect(MessageTemplate.or(
+                MessageTemplate.or(MessageTemplate.MatchPerformative(ACLMessage.AGREE),
+                        MessageTemplate.MatchPerformative(ACLMessage.REFUSE)),
+                MessageCodec.matchKind(MessageKind.MISSION_COMPLETE)));
+        this.scheduler = DeadlineScheduler.of(a);
+        this.outbox = Outbox.of(a);
+        this.engine = new AssignmentEngine(AssignmentEngine.Strategy.fromSystemProperties());
         // Removed startup logging to reduce console clutter
     }
 
-    private void initializeAgentCache() {
-        availableAgents.put(AGENT_TYPE_POMPIER, new ArrayList<>());
-        availableAgents.put(AGENT_TYPE_AMBULANCIER, new ArrayList<>());
-        availableAgents.put(AGENT_TYPE_POLICE, new ArrayList<>());
-        updateAvailableAgents();
+    @Override
+    public void onStart() {
+        inbox.attach(this);
     }
 
     @Override
     public void action() {
         try {
-            long currentTime = System.currentTimeMillis();
-
-            // Update agent cache if needed
-            if (currentTime - lastAgentLookupTime > AGENT_LOOKUP_INTERVAL) {
-                updateAvailableAgents();
-                lastAgentLookupTime = currentTime;
-            }
-
             // Process responses from agents
             processAgentResponses();
 
-            // Check if it's time to dispatch new missions
-            if (currentTime - lastDispatchTime > DISPATCH_INTERVAL) {
+            // Periodic work only runs when our deadline has elapsed, not on every message
+            if (scheduler.isDue(this)) {
+                long currentTime = SimulationClock.get().now();
+
+                // The deadline is the dispatch interval: a wake-up exactly on time must dispatch
                 dispatchPendingMissions();
-                lastDispatchTime = currentTime;
-            }
 
-            // Check for timed-out missions
-            checkMissionTimeouts(currentTime);
+                // Check for timed-out missions, and give timed-out units another chance
+                checkMissionTimeouts(currentTime);
+                releaseTimedOutUnits(currentTime);
+
+                scheduler.schedule(this, currentTime + DISPATCH_INTERVAL);
+            }
 
-            block(100); // Small delay to prevent CPU overuse
+            block(); // Sleep until the next deadline or a routed reply
         } catch (Exception e) {
             System.err.println(myAgent.getLocalName() + ": Error in dispatch behavior: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    private void updateAvailableAgents() {
-        // Removed updating available agents logging to reduce console clutter
-
-        for (String agentType : new String[]{AGENT_TYPE_POMPIER, AGENT_TYPE_AMBULANCIER, AGENT_TYPE_POLICE}) {
-            try {
-                DFAgentDescription template = new DFAgentDescription();
-                ServiceDescription sd = new ServiceDescription();
-                sd.setType(agentType);
-                template.addServices(sd);
-
-                DFAgentDescription[] result = DFService.search(myAgent, template);
-                List<AID> agents = new ArrayList<>();
-                for (DFAgentDescription agent : result) {
-                    agents.add(agent.getName());
-                }
-                availableAgents.put(agentType, agents);
-
-                // Removed found agents of type logging to reduce console clutter
-            } catch (FIPAException e) {
-                System.err.println(myAgent.getLocalName() + ": Error searching for " +
-                        agentType + " agents: " + e.getMessage());
-            }
-        }
-    }
-
     private void dispatchPendingMissions() {
         // Get pending missions from the command center
         List<Mission> pendingMissions = getPendingMissions();
+        if (pendingMissions.isEmpty()) {
+            return;
+        }
 
+        AvailabilityRegistry registry = ((AgentCentreCommande)myAgent).getAvailabilityRegistry();
+        List<Task> tasks = new ArrayList<>();
+        Map<String, Mission> missionsById = new HashMap<>();
+        Set<String> neededTypes = new HashSet<>();
         for (Mission mission : pendingMissions) {
-            String agentType = determineAgentType(mission.getType());
-            List<AID> agents = availableAgents.get(agentType);
-
-            if (agents != null && !agents.isEmpty()) {
-                // Try to find the most suitable agent
-                AID selectedAgent = selectSuitableAgent(agents, mission);
-                if (selectedAgent != null) {
-                    dispatchMissionToAgent(selectedAgent, mission);
-                } else {
-                    handleNoAvailableAgent(mission);
-                }
-            } else {
-                System.out.println(myAgent.getLocalName() + ": No " + agentType +
-                        " agents available for mission: " + mission.getDescription());
+            String agentType = determineAgentType(mission.type());
+            if (agentType == null) {
+                continue;
+            }
+            if (registry.idleCount(agentType) == 0) {
                 handleNoAvailableAgent(mission);
+                continue;
+            }
+            tasks.add(toTask(mission));
+            missionsById.put(mission.id(), mission);
+            neededTypes.add(agentType);
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        // Missions are matched all at once, so the first listed unit no longer takes everything
+        Map<String, Unit> assignments = engine.assign(getFreeUnits(neededTypes), tasks);
+        for (Task task : tasks) {
+            Unit unit = assignments.get(task.missionId());
+            if (unit == null) {
+                handleNoAvailableAgent(missionsById.get(task.missionId()));
+                continue;
+            }
+            // Back-pressure: missions left over stay pending until the next dispatch round
+            if (!outbox.hasCapacity()) {
+                break;
             }
+            dispatchMissionToAgent(unit.id(), missionsById.get(task.missionId()));
         }
     }
 
     private void dispatchMissionToAgent(AID agent, Mission mission) {
-        ACLMessage request = new ACLMessage(ACLMessage.REQUEST);
+        ACLMessage request = MessageCodec.create(ACLMessage.REQUEST, toTypedMission(mission));
         request.addReceiver(agent);
-        request.setConversationId(mission.getId());
-        request.setContent(formatMissionMessage(mission));
-
-        myAgent.send(request);
-        missionStatus.put(mission.getId(), STATUS_ASSIGNED);
-        agentLastResponse.put(agent.getLocalName(), System.currentTimeMillis());
+        request.setConversationId(mission.id());
+        if (!outbox.offer(request)) {
+            return;
+        }
+        router.routeConversation(mission.id(), inbox);
+        missionStatus.put(mission.id(), STATUS_ASSIGNED);
+        missionUnits.put(mission.id(), agent);
+        unitMissions.put(agent, mission.id());
+        // Busy until it completes the mission or refuses it
+        ((AgentCentreCommande)myAgent).setUnitAvailable(agent, false);
+        agentLastResponse.put(agent.getLocalName(), SimulationClock.get().now());
 
         // Removed dispatched mission logging to reduce console clutter
     }
 
     private void processAgentResponses() {
-        MessageTemplate mt = MessageTemplate.or(
-                MessageTemplate.MatchPerformative(ACLMessage.AGREE),
-                MessageTemplate.MatchPerformative(ACLMessage.REFUSE)
-        );
-
-        ACLMessage msg = myAgent.receive(mt);
+        ACLMessage msg = inbox.poll();
         while (msg != null) {
             String missionId = msg.getConversationId();
             if (msg.getPerformative() == ACLMessage.AGREE) {
+                router.unrouteConversation(missionId);
                 handleMissionAccepted(missionId, msg.getSender());
-            } else {
+            } else if (msg.getPerformative() == ACLMessage.REFUSE) {
+                router.unrouteConversation(missionId);
                 handleMissionRefused(missionId, msg.getSender(), msg.getContent());
+            } else if (MessageCodec.read(msg) instanceof TypedMessage.MissionComplete complete) {
+                handleMissionCompleted(Mission.idOf(complete.type(), complete.location()), msg.getSender());
             }
-            msg = myAgent.receive(mt);
+            msg = inbox.poll();
         }
     }
 
     private void handleMissionAccepted(String missionId, AID agent) {
         missionStatus.put(missionId, STATUS_ASSIGNED);
-        agentLastResponse.put(agent.getLocalName(), System.currentTimeMillis());
+        // The unit answered: it is no longer waited for
+        agentLastResponse.remove(agent.getLocalName());
+        clearTimeouts(agent);
         // Removed mission accepted logging to reduce console clutter
     }
 
     private void handleMissionRefused(String missionId, AID agent, String reason) {
         // Removed mission refused logging to reduce console clutter
+        agentLastResponse.remove(agent.getLocalName());
+        clearTimeouts(agent);
+        // A refusing unit is busy or out of water until its next status report
+        ((AgentCentreCommande)myAgent).setUnitAvailable(agent, false);
         missionStatus.put(missionId, STATUS_PENDING);
         retryMission(missionId);
     }
 
+    private void handleMissionCompleted(String missionId, AID agent) {
+        missionStatus.put(missionId, STATUS_COMPLETED);
+        clearTimeouts(agent);
+        ((AgentCentreCommande)myAgent).getMissionQueue().remove(missionId);
+        String current = unitMissions.get(agent);
+        if (current != null && current.equals(missionId)) {
+            unitMissions.remove(agent);
+            missionUnits.remove(missionId);
+            ((AgentCentreCommande)myAgent).setUnitAvailable(agent, true);
+        }
+
+        // Incremental assignment: only the freed unit has to be placed
+        if (!unitMissions.containsKey(agent) && outbox.hasCapacity()) {
+            Unit unit = toUnit(agent);
+            if (unit != null) {
+                List<Task> tasks = new ArrayList<>();
+                Map<String, Mission> missionsById = new HashMap<>();
+                for (Mission mission : getPendingMissions()) {
+                    Task task = toTask(mission);
+                    if (task != null) {
+                        tasks.add(task);
+                        missionsById.put(mission.id(), mission);
+                    }
+                }
+                Task task = engine.bestTaskFor(unit, tasks);
+                if (task != null) {
+                    dispatchMissionToAgent(agent, missionsById.get(task.missionId()));
+                }
+            }
+        }
+    }
+
     private void checkMissionTimeouts(long currentTime) {
         for (Map.Entry<String, Long> entry : new HashMap<>(agentLastResponse).entrySet()) {
-            if (currentTime - entry.getValue() > AGENT_RESPONSE_TIMEOUT) {
+            if (currentTime - entry.getValue() >= AGENT_RESPONSE_TIMEOUT) {
                 handleAgentTimeout(entry.getKey());
             }
         }
     }
 
+    /**
+     * Make the units whose retry time has come available again.
+     * A unit that did not answer may have lost the request or be slow rather than gone, and its
+     * heartbeats may not say otherwise, so it is never left out for good.
+     * @param currentTime The current simulated time
+     */
+    private void releaseTimedOutUnits(long currentTime) {
+        Iterator<Map.Entry<AID, Long>> it = unitRetryTimes.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<AID, Long> entry = it.next();
+            if (entry.getValue() <= currentTime) {
+                it.remove();
+                if (!unitMissions.containsKey(entry.getKey())) {
+                    ((AgentCentreCommande)myAgent).setUnitAvailable(entry.getKey(), true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget the timeouts of a unit that answered
+     * @param agent The unit
+     */
+    private void clearTimeouts(AID agent) {
+        unitTimeouts.remove(agent);
+        unitRetryTimes.remove(agent);
+    }
+
     private void handleAgentTimeout(String agentName) {
         // Removed agent timeout logging to reduce console clutter
         agentLastResponse.remove(agentName);
@@ -199,8 +301,13 @@ public class DispatcherMissionsBehaviour extends CyclicBehaviour {
         updateAgentAvailability(agentName);
     }
 
+    /**
+     * Get the type of the units able to take a mission
+     * @param missionType The mission type
+     * @return The agent type, or null if no unit handles the mission type
+     */
     private String determineAgentType(String missionType) {
-        switch (missionType) {
+        switch (missionType == null ? "" : missionType) {
             case MISSION_FIRE_FIGHTING:
                 return AGENT_TYPE_POMPIER;
             case MISSION_VICTIM_RESCUE:
@@ -209,21 +316,66 @@ public class DispatcherMissionsBehaviour extends CyclicBehaviour {
             case MISSION_SECURITY_ZONE:
                 return AGENT_TYPE_POLICE;
             default:
-                throw new IllegalArgumentException("Unknown mission type: " + missionType);
+                // The mission is skipped rather than aborting the whole round; reported once per type
+                if (unknownMissionTypes.add(String.valueOf(missionType))) {
+                    System.err.println(myAgent.getLocalName() + ": No unit handles missions of type "
+                            + missionType + ", skipping them");
+                }
+                return null;
         }
     }
 
     // Helper methods
     private List<Mission> getPendingMissions() {
-        // Implementation depends on how missions are stored in the command center
-        // This should return a list of missions that need to be assigned
-        return new ArrayList<>(); // Placeholder
+        // Missions of the command center's queue that no unit is working on, most urgent first
+        List<Mission> pending = new ArrayList<>();
+        for (Mission mission : ((AgentCentreCommande)myAgent).getPriorityMissions()) {
+            if (!missionUnits.containsKey(mission.id())) {
+                pending.add(mission);
+            }
+        }
+        return pending;
+    }
+
+    private List<Unit> getFreeUnits(Set<String> types) {
+        AvailabilityRegistry registry = ((AgentCentreCommande)myAgent).getAvailabilityRegistry();
+        List<Unit> units = new ArrayList<>();
+        for (String type : types) {
+            for (AID agent : registry.idleUnits(type)) {
+                Unit unit = toUnit(agent);
+                if (unit != null) {
+                    units.add(unit);
+                }
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Describe a unit for the assignment engine
+     * @param agent The unit
+     * @return The unit, or null if it is busy or unavailable
+     */
+    private Unit toUnit(AID agent) {
+        AgentCentreCommande center = (AgentCentreCommande)myAgent;
+        String type = center.getAvailabilityRegistry().getType(agent);
+        if (type == null || unitMissions.containsKey(agent) || !center.isUnitAvailable(agent)) {
+            return null;
+        }
+        return new Unit(agent, type, center.getUnitPosition(agent), center.getUnitResourceLevel(agent));
     }
 
-    private AID selectSuitableAgent(List<AID> agents, Mission mission) {
-        // Implement agent selection logic based on various criteria
-        // For now, return the first available agent
-        return agents.isEmpty() ? null : agents.get(0);
+    /**
+     * Describe a mission for the assignment engine
+     * @param mission The mission
+     * @return The task, or null if no unit handles the mission type
+     */
+    private Task toTask(Mission mission) {
+        String agentType = determineAgentType(mission.type());
+        if (agentType == null) {
+            return null;
+        }
+        return new Task(mission.id(), agentType, Point.parse(mission.location()), mission.priority());
     }
 
     private void handleNoAvailableAgent(Mission mission) {
@@ -231,44 +383,38 @@ public class DispatcherMissionsBehaviour extends CyclicBehaviour {
         // Removed no suitable agent found logging to reduce console clutter
     }
 
-    private String formatMissionMessage(Mission mission) {
-        return String.format("MISSION:%s:%s:%d:%s",
-                mission.getType(),
-                mission.getLocation(),
-                mission.getPriority(),
-                mission.getDescription()
+    private TypedMessage.Mission toTypedMission(Mission mission) {
+        return new TypedMessage.Mission(
+                mission.id(),
+                mission.type(),
+                mission.location(),
+                mission.priority(),
+                mission.description()
         );
     }
 
     private void retryMission(String missionId) {
-        // Implement mission retry logic
+        // The mission goes back to the pending missions of the next dispatch round
+        AID agent = missionUnits.remove(missionId);
+        if (agent != null) {
+            unitMissions.remove(agent);
+        }
     }
 
     private void updateAgentAvailability(String agentName) {
-        // Update agent availability status
-    }
-
-    // Inner class to represent a Mission
-    private static class Mission {
-        private final String id;
-        private final String type;
-        private final String location;
-        private final int priority;
-        private final String description;
-
-        public Mission(String id, String type, String location, int priority, String description) {
-            this.id = id;
-            this.type = type;
-            this.location = location;
-            this.priority = priority;
-            this.description = description;
+        // A unit that did not answer is left out for a backoff doubling with each consecutive
+        // timeout, up to MAX_RETRY_ATTEMPTS doublings, and its mission is retried
+        for (Map.Entry<AID, String> entry : new ArrayList<>(unitMissions.entrySet())) {
+            if (entry.getKey().getLocalName().equals(agentName)
+                    && STATUS_ASSIGNED.equals(missionStatus.get(entry.getValue()))) {
+                router.unrouteConversation(entry.getValue());
+                ((AgentCentreCommande)myAgent).setUnitAvailable(entry.getKey(), false);
+                int timeouts = unitTimeouts.merge(entry.getKey(), 1, Integer::sum);
+                long backoff = AGENT_RESPONSE_TIMEOUT << Math.min(timeouts - 1, MAX_RETRY_ATTEMPTS);
+                unitRetryTimes.put(entry.getKey(), SimulationClock.get().now() + backoff);
+                missionStatus.put(entry.getValue(), STATUS_PENDING);
+                retryMission(entry.getValue());
+            }
         }
-
-        // Getters
-        public String getId() { return id; }
-        public String getType() { return type; }
-        public String getLocation() { return location; }
-        public int getPriority() { return priority; }
-        public String getDescription() { return description; }
     }
 }
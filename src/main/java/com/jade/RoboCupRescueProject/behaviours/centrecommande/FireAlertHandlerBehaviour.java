@@ -1,8 +1,11 @@
 package com.jade.RoboCupRescueProject.behaviours.centrecommande;
 
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import com.jade.RoboCupRescueProject.messages.RoutedAgent;
+import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
-import jade.lang.acl.MessageTemplate;
+import com.jade.RoboCupRescueProject.utils.ClockWakerBehaviour;
 
 /**
  * Comportement pour gérer les alertes incendie reçues des pompiers.
@@ -26,16 +29,30 @@ public class FireAlertHandlerBehaviour extends CyclicBehaviour {
     private String accessibilite = "";
     private int etage = 0;
 
+    // Alertes transmises par le routeur de messages de l'agent
+    private final MessageRouter.Inbox inbox;
+
+    public FireAlertHandlerBehaviour(Agent a) {
+        super(a);
+        MessageRouter router = ((RoutedAgent)a).getRouter();
+        inbox = router.createInbox();
+        router.routePrefixes(inbox, "Incendie");
+    }
+
+    @Override
+    public void onStart() {
+        inbox.attach(this);
+    }
+
     @Override
     public void action() {
         switch (etapeActuelle) {
             case ATTENTE_ALERTE:
                 // Écouter les messages d'alerte incendie
-                MessageTemplate tm = MessageTemplate.MatchPerformative(ACLMessage.INFORM);
-                ACLMessage msg = myAgent.receive(tm);
+                ACLMessage msg = inbox.poll();
 
                 if (msg != null) {
-                    if (msg.getContent().startsWith("Incendie détecté")) {
+                    if (msg.getPerformative() == ACLMessage.INFORM && msg.getContent().startsWith("Incendie détecté")) {
                         // Sauvegarder le message pour traitement ultérieur
                         alerteEnTraitement = msg;
 
@@ -55,8 +72,8 @@ public class FireAlertHandlerBehaviour extends CyclicBehaviour {
                             // Passer à l'étape de traitement
                             etapeActuelle = Etape.TRAITEMENT_ALERTE;
 
-                            // Utiliser un WakerBehaviour pour envoyer la réponse après un délai
-                            myAgent.addBehaviour(new jade.core.behaviours.WakerBehaviour(myAgent, DELAI_TRAITEMENT_ALERTE) {
+                            // Utiliser un ClockWakerBehaviour pour envoyer la réponse après un délai
+                            myAgent.addBehaviour(new ClockWakerBehaviour(myAgent, DELAI_TRAITEMENT_ALERTE) {
                                 @Override
                                 protected void onWake() {
                                     // Créer le message de réponse
@@ -113,12 +130,12 @@ public class FireAlertHandlerBehaviour extends CyclicBehaviour {
                 break;
 
             case TRAITEMENT_ALERTE:
-                // Attendre que le WakerBehaviour termine
+                // Attendre que le ClockWakerBehaviour termine
                 block();
                 break;
 
             case ENVOI_REPONSE:
-                // Cette étape est gérée par le WakerBehaviour
+                // Cette étape est gérée par le ClockWakerBehaviour
                 block();
                 break;
         }
@@ -4,11 +4,18 @@ import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.core.AID;
 import jade.lang.acl.ACLMessage;
-import jade.lang.acl.MessageTemplate;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.Random;
 import com.jade.RoboCupRescueProject.agents.AgentCentreCommande;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageKind;
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import com.jade.RoboCupRescueProject.messages.RoutedAgent;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
+import com.jade.RoboCupRescueProject.world.WorldState;
 
 /**
  * Behavior responsible for managing global resources.
@@ -43,10 +50,21 @@ public class GererRessourcesGlobalesBehaviour extends CyclicBehaviour {
     // Pending resource requests
     private Map<String, Integer> pendingRequests = new HashMap<>();
 
+    // Resource messages routed to this behaviour by the agent's message router
+    private final MessageRouter.Inbox inbox;
+
+    // Shared timer of the agent, used instead of polling
+    private final DeadlineScheduler scheduler;
+
     public GererRessourcesGlobalesBehaviour(Agent a) { 
         super(a); 
         // Removed startup logging to reduce console clutter
 
+        MessageRouter router = ((RoutedAgent)a).getRouter();
+        inbox = router.createInbox();
+        router.routeKinds(inbox, MessageKind.RESOURCE_REQUEST, MessageKind.RESOURCE_ALLOCATION);
+        scheduler = DeadlineScheduler.of(a);
+
         // Initialize consumption rates
         CONSUMPTION_RATES.put(RESOURCE_FIRE_TRUCKS, 0);
         CONSUMPTION_RATES.put(RESOURCE_AMBULANCES, 0);
@@ -56,39 +74,34 @@ public class GererRessourcesGlobalesBehaviour extends CyclicBehaviour {
         CONSUMPTION_RATES.put(RESOURCE_BARRICADES, 1); // 1 barricade per minute
     }
 
+    @Override
+    public void onStart() {
+        inbox.attach(this);
+    }
+
     @Override
     public void action() {
-        // Check for resource request messages
-        MessageTemplate mt = MessageTemplate.and(
-            MessageTemplate.MatchPerformative(ACLMessage.REQUEST),
-            MessageTemplate.MatchContent("RESOURCE_REQUEST:.*")
-        );
-        ACLMessage msg = myAgent.receive(mt);
+        ACLMessage msg = inbox.poll();
 
         if (msg != null) {
-            // Process resource request
-            processResourceRequest(msg);
-        } else {
-            // Check for resource allocation messages
-            MessageTemplate mtAlloc = MessageTemplate.and(
-                MessageTemplate.MatchPerformative(ACLMessage.INFORM),
-                MessageTemplate.MatchContent("RESOURCE_ALLOCATION:.*")
-            );
-            ACLMessage allocMsg = myAgent.receive(mtAlloc);
-
-            if (allocMsg != null) {
+            MessageKind kind = MessageCodec.kindOf(msg);
+            if (kind == MessageKind.RESOURCE_REQUEST && msg.getPerformative() == ACLMessage.REQUEST) {
+                // Process resource request
+                processResourceRequest(msg);
+            } else if (kind == MessageKind.RESOURCE_ALLOCATION && msg.getPerformative() == ACLMessage.INFORM) {
                 // Process resource allocation
-                processResourceAllocation(allocMsg);
-            } else {
-                // Periodically check and update resources
-                long currentTime = System.currentTimeMillis();
-                if (currentTime - lastResourceCheckTime > RESOURCE_CHECK_INTERVAL) {
-                    checkAndUpdateResources();
-                    lastResourceCheckTime = currentTime;
-                }
-
-                block(1000); // Block for 1 second
+                processResourceAllocation(msg);
             }
+        } else {
+            // Periodically check and update resources
+            if (scheduler.isDue(this)) {
+                long currentTime = SimulationClock.get().now();
+                checkAndUpdateResources();
+                lastResourceCheckTime = currentTime;
+                scheduler.schedule(this, currentTime + RESOURCE_CHECK_INTERVAL);
+            }
+
+            block(); // Sleep until the next check or a routed message
         }
     }
 
@@ -97,28 +110,23 @@ public class GererRessourcesGlobalesBehaviour extends CyclicBehaviour {
      * @param msg The message containing the resource request
      */
     private void processResourceRequest(ACLMessage msg) {
-        String content = msg.getContent();
+        TypedMessage payload = MessageCodec.read(msg);
         String sender = msg.getSender().getLocalName();
 
-        System.out.println(myAgent.getLocalName() + ": Processing resource request from " + sender + ": " + content);
+        System.out.println(myAgent.getLocalName() + ": Processing resource request from " + sender + ": " + payload);
 
         // Update agent status
         ((AgentCentreCommande)myAgent).updateStatus("PROCESSING_RESOURCE_REQUEST");
 
         // Extract resource information
-        String[] parts = content.substring("RESOURCE_REQUEST:".length()).split(",");
-        if (parts.length >= 2) {
-            String resourceType = parts[0];
-            int quantity = Integer.parseInt(parts[1]);
+        if (payload instanceof TypedMessage.ResourceRequest request) {
+            String resourceType = request.resourceType();
+            int quantity = request.quantity();
 
-            // Check if we have enough resources
-            AgentCentreCommande agent = (AgentCentreCommande)myAgent;
-            int available = agent.getResourceQuantity(resourceType);
-
-            if (available >= quantity) {
-                // We have enough resources, allocate them
-                agent.updateResource(resourceType, available - quantity);
+            // Take the resources if enough are left, in a single atomic step
+            WorldState world = ((AgentCentreCommande)myAgent).getWorldState();
 
+            if (world.reserve(resourceType, quantity)) {
                 // Send confirmation
                 sendResourceConfirmation(msg.getSender(), resourceType, quantity);
 
@@ -126,7 +134,7 @@ public class GererRessourcesGlobalesBehaviour extends CyclicBehaviour {
                                    resourceType + " to " + sender);
             } else {
                 // Not enough resources, request more from logistics
-                int shortfall = quantity - available;
+                long shortfall = Math.max(1, quantity - world.getResource(resourceType));
                 requestAdditionalResources(resourceType, shortfall);
 
                 // Add to pending requests
@@ -146,22 +154,19 @@ public class GererRessourcesGlobalesBehaviour extends CyclicBehaviour {
      * @param msg The message containing the resource allocation
      */
     private void processResourceAllocation(ACLMessage msg) {
-        String content = msg.getContent();
+        TypedMessage payload = MessageCodec.read(msg);
         String sender = msg.getSender().getLocalName();
 
         System.out.println(myAgent.getLocalName() + ": Processing resource allocation from " + 
-                           sender + ": " + content);
+                           sender + ": " + payload);
 
         // Extract resource information
-        String[] parts = content.substring("RESOURCE_ALLOCATION:".length()).split(",");
-        if (parts.length >= 2) {
-            String resourceType = parts[0];
-            int quantity = Integer.parseInt(parts[1]);
+        if (payload instanceof TypedMessage.ResourceAllocation allocation) {
+            String resourceType = allocation.resourceType();
+            int quantity = allocation.quantity();
 
             // Update our resources
-            AgentCentreCommande agent = (AgentCentreCommande)myAgent;
-            int current = agent.getResourceQuantity(resourceType);
-            agent.updateResource(resourceType, current + quantity);
+            ((AgentCentreCommande)myAgent).getWorldState().release(resourceType, quantity);
 
             System.out.println(myAgent.getLocalName() + ": Received " + quantity + " " + 
                                resourceType + " from " + sender);
@@ -176,21 +181,17 @@ public class GererRessourcesGlobalesBehaviour extends CyclicBehaviour {
      * @param resourceType The type of resource that was received
      */
     private void checkPendingRequests(String resourceType) {
-        AgentCentreCommande agent = (AgentCentreCommande)myAgent;
-        int available = agent.getResourceQuantity(resourceType);
+        WorldState world = ((AgentCentreCommande)myAgent).getWorldState();
 
         // Check each pending request
         for (Map.Entry<String, Integer> entry : new HashMap<>(pendingRequests).entrySet()) {
             String key = entry.getKey();
             int quantity = entry.getValue();
 
-            if (key.endsWith(":" + resourceType) && available >= quantity) {
-                // We can fulfill this request
+            // Allocate the resources if we can fulfill this request
+            if (key.endsWith(":" + resourceType) && world.reserve(resourceType, quantity)) {
                 String requesterName = key.substring(0, key.lastIndexOf(":"));
 
-                // Allocate the resources
-                agent.updateResource(resourceType, available - quantity);
-
                 // Send confirmation
                 AID requester = new AID(requesterName, AID.ISLOCALNAME);
                 sendResourceConfirmation(requester, resourceType, quantity);
@@ -200,9 +201,6 @@ public class GererRessourcesGlobalesBehaviour extends CyclicBehaviour {
 
                 System.out.println(myAgent.getLocalName() + ": Fulfilled pending request for " + 
                                    quantity + " " + resourceType + " to " + requesterName);
-
-                // Update available resources
-                available -= quantity;
             }
         }
     }
@@ -227,7 +225,7 @@ public class GererRessourcesGlobalesBehaviour extends CyclicBehaviour {
      * Simulate resource consumption
      */
     private void simulateResourceConsumption() {
-        AgentCentreCommande agent = (AgentCentreCommande)myAgent;
+        WorldState world = ((AgentCentreCommande)myAgent).getWorldState();
 
         // Calculate consumption since last check
         double minutesSinceLastCheck = RESOURCE_CHECK_INTERVAL / 60000.0; // Convert to minutes
@@ -240,13 +238,9 @@ public class GererRessourcesGlobalesBehaviour extends CyclicBehaviour {
             // Calculate consumption
             int consumption = (int)(ratePerMinute * minutesSinceLastCheck);
 
-            // Only consume if there's active consumption
+            // Only consume if there's active consumption, stopping at zero
             if (consumption > 0) {
-                int current = agent.getResourceQuantity(resourceType);
-                int newAmount = Math.max(0, current - consumption);
-
-                // Update the resource
-                agent.updateResource(resourceType, newAmount);
+                world.consume(resourceType, consumption);
 
                 // Removed consumed resources logging to reduce console clutter
             }
@@ -291,11 +285,11 @@ public class GererRessourcesGlobalesBehaviour extends CyclicBehaviour {
      * @param resourceType The type of resource to request
      * @param quantity The quantity to request
      */
-    private void requestAdditionalResources(String resourceType, int quantity) {
-        ACLMessage request = new ACLMessage(ACLMessage.REQUEST);
+    private void requestAdditionalResources(String resourceType, long quantity) {
+        ACLMessage request = MessageCodec.create(ACLMessage.REQUEST,
+                new TypedMessage.ResourceRequest(resourceType, (int)quantity, ""));
         request.addReceiver(new AID("Logistique", AID.ISLOCALNAME));
 
-        request.setContent("RESOURCE_REQUEST:" + resourceType + "," + quantity);
         myAgent.send(request);
     }
 
@@ -306,10 +300,10 @@ public class GererRessourcesGlobalesBehaviour extends CyclicBehaviour {
      * @param quantity The quantity of resource
      */
     private void sendResourceConfirmation(AID receiver, String resourceType, int quantity) {
-        ACLMessage confirm = new ACLMessage(ACLMessage.INFORM);
+        ACLMessage confirm = MessageCodec.create(ACLMessage.INFORM,
+                new TypedMessage.ResourceConfirmation(resourceType, quantity));
         confirm.addReceiver(receiver);
 
-        confirm.setContent("RESOURCE_CONFIRMATION:" + resourceType + "," + quantity);
         myAgent.send(confirm);
     }
 
@@ -320,10 +314,10 @@ public class GererRessourcesGlobalesBehaviour extends CyclicBehaviour {
      * @param quantity The quantity of resource
      */
     private void sendResourcePending(AID receiver, String resourceType, int quantity) {
-        ACLMessage pending = new ACLMessage(ACLMessage.INFORM);
+        ACLMessage pending = MessageCodec.create(ACLMessage.INFORM,
+                new TypedMessage.ResourcePending(resourceType, quantity));
         pending.addReceiver(receiver);
 
-        pending.setContent("RESOURCE_PENDING:" + resourceType + "," + quantity);
         myAgent.send(pending);
     }
 }
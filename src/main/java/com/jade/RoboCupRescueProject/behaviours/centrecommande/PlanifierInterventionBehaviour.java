@@ -2,249 +2,166 @@ package com.jade.RoboCupRescueProject.behaviours.centrecommande;
 
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
-import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Random;
+import java.util.ArrayDeque;
 import com.jade.RoboCupRescueProject.agents.AgentCentreCommande;
+import com.jade.RoboCupRescueProject.behaviours.ambulancier.SoinsPremiersBehaviour;
+import com.jade.RoboCupRescueProject.behaviours.police.GererCirculationBehaviour;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.*;
+import com.jade.RoboCupRescueProject.missions.Mission;
+import com.jade.RoboCupRescueProject.missions.MissionQueue;
 
 /**
  * Behavior responsible for defining priorities for operations.
  * This behavior analyzes the collected data, determines the order of priority
  * (extinguishing a larger fire, rescuing a large group of injured people, etc.),
  * and updates the command center's mission priorities.
+ *
+ * Reports are submitted by CollecterInfosBehaviour as they arrive, and each one adds,
+ * reprioritizes or removes a single mission in the agent's mission queue, so the cost of
+ * planning depends on the number of reports rather than on the number of known missions.
  */
 public class PlanifierInterventionBehaviour extends CyclicBehaviour {
-    // Mission priority levels
-    private static final int PRIORITY_CRITICAL = 1;
-    private static final int PRIORITY_HIGH = 2;
-    private static final int PRIORITY_MEDIUM = 3;
-    private static final int PRIORITY_LOW = 4;
+    // Status of a fire report for a fire that is out
+    public static final String FIRE_EXTINGUISHED = "EXTINGUISHED";
 
-    // Mission types
-    private static final String MISSION_FIRE_FIGHTING = "FIRE_FIGHTING";
-    private static final String MISSION_VICTIM_RESCUE = "VICTIM_RESCUE";
-    private static final String MISSION_ROAD_CLEARING = "ROAD_CLEARING";
-    private static final String MISSION_SECURITY_ZONE = "SECURITY_ZONE";
+    // Heat levels above which a fire becomes a high or critical priority
+    private static final double HEAT_HIGH = 150.0;
+    private static final double HEAT_CRITICAL = 300.0;
 
-    private Random random = new Random();
-    private long lastPlanningTime = 0;
-    private static final long PLANNING_INTERVAL = 5000; // 5 seconds
+    // Reports waiting to be applied to the mission queue
+    private final ArrayDeque<PendingReport> pendingReports = new ArrayDeque<>();
 
-    public PlanifierInterventionBehaviour(Agent a) { 
-        super(a); 
+    public PlanifierInterventionBehaviour(Agent a) {
+        super(a);
         // Removed startup logging to reduce console clutter
     }
 
+    /**
+     * Submit a report for planning
+     * @param report The report
+     * @param sender The local name of the reporting agent
+     */
+    public void submit(TypedMessage report, String sender) {
+        pendingReports.add(new PendingReport(report, sender));
+        restart();
+    }
+
     @Override
     public void action() {
-        // Only plan at regular intervals
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastPlanningTime < PLANNING_INTERVAL) {
-            block(PLANNING_INTERVAL - (currentTime - lastPlanningTime));
+        if (pendingReports.isEmpty()) {
+            block();
             return;
         }
 
-        lastPlanningTime = currentTime;
-
         // Update agent status
-        ((AgentCentreCommande)myAgent).updateStatus("PLANNING");
-
-        // Removed planning intervention priorities logging to reduce console clutter
-
-        // Get the current state of the disaster area
         AgentCentreCommande agent = (AgentCentreCommande)myAgent;
+        agent.updateStatus("PLANNING");
 
-        // Create a list of potential missions
-        List<Mission> missions = new ArrayList<>();
-
-        // Add fire fighting missions
-        addFireFightingMissions(missions, agent);
-
-        // Add victim rescue missions
-        addVictimRescueMissions(missions, agent);
-
-        // Add road clearing missions
-        addRoadClearingMissions(missions, agent);
-
-        // Add security zone missions
-        addSecurityZoneMissions(missions, agent);
-
-        // Sort missions by priority
-        missions.sort(Comparator.comparingInt(Mission::getPriority));
-
-        // Update the agent's priority missions
-        updatePriorityMissions(missions, agent);
+        MissionQueue missions = agent.getMissionQueue();
+        PendingReport pending;
+        while ((pending = pendingReports.poll()) != null) {
+            plan(pending.report(), pending.sender(), missions);
+        }
 
         // Removed planning completed logging to reduce console clutter
-
-        // Wait before next planning cycle
-        block(PLANNING_INTERVAL);
     }
 
     /**
-     * Add fire fighting missions to the list
-     * @param missions The list of missions
-     * @param agent The command center agent
+     * Update the missions affected by a report
+     * @param report The report
+     * @param sender The local name of the reporting agent
+     * @param missions The mission queue
      */
-    private void addFireFightingMissions(List<Mission> missions, AgentCentreCommande agent) {
-        // In a real implementation, this would analyze the fire reports
-        // For simplicity, we'll just create some simulated missions
-
-        // Check if there are any priority missions related to fires
-        List<String> priorityMissions = agent.getPriorityMissions();
-        for (String mission : priorityMissions) {
-            if (mission.startsWith("EXTINGUISH_FIRE:")) {
-                String location = mission.substring("EXTINGUISH_FIRE:".length());
-                missions.add(new Mission(MISSION_FIRE_FIGHTING, location, PRIORITY_HIGH, 
-                                        "Extinguish fire at " + location));
+    private void plan(TypedMessage report, String sender, MissionQueue missions) {
+        if (report instanceof FireReport fire) {
+            if (FIRE_EXTINGUISHED.equals(fire.status())) {
+                missions.remove(Mission.idOf(Mission.FIRE_FIGHTING, fire.location()));
+                return;
             }
-        }
-
-        // Add some random fire fighting missions
-        if (random.nextDouble() < 0.3) { // 30% chance
-            String location = "Building_" + (random.nextInt(10) + 1);
-            int priority = random.nextInt(3) + 2; // PRIORITY_HIGH to PRIORITY_LOW
-            missions.add(new Mission(MISSION_FIRE_FIGHTING, location, priority, 
-                                    "Extinguish fire at " + location));
-        }
-    }
-
-    /**
-     * Add victim rescue missions to the list
-     * @param missions The list of missions
-     * @param agent The command center agent
-     */
-    private void addVictimRescueMissions(List<Mission> missions, AgentCentreCommande agent) {
-        // Check if there are any priority missions related to victims
-        List<String> priorityMissions = agent.getPriorityMissions();
-        for (String mission : priorityMissions) {
-            if (mission.startsWith("RESCUE_CRITICAL_VICTIMS:")) {
-                String location = mission.substring("RESCUE_CRITICAL_VICTIMS:".length());
-                missions.add(new Mission(MISSION_VICTIM_RESCUE, location, PRIORITY_CRITICAL, 
-                                        "Rescue critical victims reported by " + location));
+            missions.offer(new Mission(Mission.FIRE_FIGHTING, fire.location(), firePriority(fire.status()),
+                    "Extinguish fire at " + fire.location()));
+        } else if (report instanceof VictimReport victim) {
+            missions.offer(new Mission(Mission.VICTIM_RESCUE, victim.location(), victimPriority(victim.status()),
+                    "Rescue victim at " + victim.location()));
+        } else if (report instanceof TransportReport transport) {
+            missions.remove(Mission.idOf(Mission.VICTIM_RESCUE, transport.location()));
+        } else if (report instanceof RoadStatusChange road) {
+            if (GererCirculationBehaviour.ROAD_OPEN.equals(road.status())) {
+                missions.remove(Mission.idOf(Mission.ROAD_CLEARING, road.roadId()));
+            } else {
+                int priority = GererCirculationBehaviour.ROAD_RESTRICTED.equals(road.status())
+                        ? Mission.PRIORITY_LOW : Mission.PRIORITY_MEDIUM;
+                missions.offer(new Mission(Mission.ROAD_CLEARING, road.roadId(), priority,
+                        "Clear debris from " + road.roadId()));
             }
-        }
-
-        // Add some random victim rescue missions
-        if (random.nextDouble() < 0.4) { // 40% chance
-            String location = "Area_" + (random.nextInt(10) + 1);
-            int priority = random.nextInt(3) + 1; // PRIORITY_CRITICAL to PRIORITY_MEDIUM
-            missions.add(new Mission(MISSION_VICTIM_RESCUE, location, priority, 
-                                    "Search and rescue at " + location));
+        } else if (report instanceof SummaryReport summary) {
+            updateReportedMission(missions, summary.critique() > 0, new Mission(Mission.VICTIM_RESCUE, sender,
+                    Mission.PRIORITY_CRITICAL, "Rescue critical victims reported by " + sender));
+        } else if (report instanceof SituationReport situation) {
+            updateReportedMission(missions, situation.closedRoads() > 0, new Mission(Mission.ROAD_CLEARING, sender,
+                    Mission.PRIORITY_MEDIUM, "Clear roads reported by " + sender));
+            updateReportedMission(missions, situation.securityZones() > 0, new Mission(Mission.SECURITY_ZONE, sender,
+                    Mission.PRIORITY_MEDIUM, "Monitor security zones reported by " + sender));
         }
     }
 
     /**
-     * Add road clearing missions to the list
-     * @param missions The list of missions
-     * @param agent The command center agent
+     * Keep a mission derived from a periodic report while the reported condition lasts
+     * @param missions The mission queue
+     * @param active Whether the condition is still reported
+     * @param mission The mission for the condition
      */
-    private void addRoadClearingMissions(List<Mission> missions, AgentCentreCommande agent) {
-        // Check if there are any priority missions related to roads
-        List<String> priorityMissions = agent.getPriorityMissions();
-        for (String mission : priorityMissions) {
-            if (mission.startsWith("CLEAR_ROADS:")) {
-                String location = mission.substring("CLEAR_ROADS:".length());
-                missions.add(new Mission(MISSION_ROAD_CLEARING, location, PRIORITY_MEDIUM, 
-                                        "Clear roads reported by " + location));
-            }
-        }
-
-        // Add some random road clearing missions
-        if (random.nextDouble() < 0.2) { // 20% chance
-            String roadId = "ROAD_" + (random.nextInt(5) + 1);
-            int priority = random.nextInt(2) + 3; // PRIORITY_MEDIUM to PRIORITY_LOW
-            missions.add(new Mission(MISSION_ROAD_CLEARING, roadId, priority, 
-                                    "Clear debris from " + roadId));
+    private void updateReportedMission(MissionQueue missions, boolean active, Mission mission) {
+        if (active) {
+            missions.offer(mission);
+        } else {
+            missions.remove(mission.id());
         }
     }
 
     /**
-     * Add security zone missions to the list
-     * @param missions The list of missions
-     * @param agent The command center agent
+     * Get the priority of a fire from its reported heat level
+     * @param status The reported status, possibly null
+     * @return The priority, high if the heat level is unknown
      */
-    private void addSecurityZoneMissions(List<Mission> missions, AgentCentreCommande agent) {
-        // Check if there are any priority missions related to security zones
-        List<String> priorityMissions = agent.getPriorityMissions();
-        for (String mission : priorityMissions) {
-            if (mission.startsWith("MONITOR_SECURITY_ZONES:")) {
-                String location = mission.substring("MONITOR_SECURITY_ZONES:".length());
-                missions.add(new Mission(MISSION_SECURITY_ZONE, location, PRIORITY_MEDIUM, 
-                                        "Monitor security zones reported by " + location));
+    private static int firePriority(String status) {
+        if (status == null) {
+            return Mission.PRIORITY_HIGH;
+        }
+        try {
+            double heatLevel = Double.parseDouble(status);
+            if (heatLevel >= HEAT_CRITICAL) {
+                return Mission.PRIORITY_CRITICAL;
             }
-        }
-
-        // Add some random security zone missions
-        if (random.nextDouble() < 0.15) { // 15% chance
-            String zoneId = "ZONE_" + (random.nextInt(3) + 1);
-            int priority = random.nextInt(2) + 2; // PRIORITY_HIGH to PRIORITY_MEDIUM
-            missions.add(new Mission(MISSION_SECURITY_ZONE, zoneId, priority, 
-                                    "Establish security perimeter at " + zoneId));
+            return heatLevel >= HEAT_HIGH ? Mission.PRIORITY_HIGH : Mission.PRIORITY_MEDIUM;
+        } catch (NumberFormatException e) {
+            return Mission.PRIORITY_HIGH;
         }
     }
 
     /**
-     * Update the agent's priority missions
-     * @param missions The list of missions
-     * @param agent The command center agent
+     * Get the priority of a victim from its triage category
+     * @param triageCategory The triage category, possibly null
+     * @return The priority, medium if the category is unknown
      */
-    private void updatePriorityMissions(List<Mission> missions, AgentCentreCommande agent) {
-        // Clear existing priority missions
-        List<String> currentMissions = agent.getPriorityMissions();
-        for (String mission : currentMissions) {
-            // Keep only missions that were added by other behaviors
-            if (!mission.startsWith("MISSION:")) {
-                continue;
-            }
-
-            // Remove this mission
-            agent.getPriorityMissions().remove(mission);
-        }
-
-        // Add new priority missions
-        for (Mission mission : missions) {
-            String missionStr = "MISSION:" + mission.getType() + ":" + mission.getLocation() + 
-                               ":" + mission.getPriority() + ":" + mission.getDescription();
-            agent.addPriorityMission(missionStr);
-
-            // Removed added priority mission logging to reduce console clutter
+    private static int victimPriority(String triageCategory) {
+        if (triageCategory == null) {
+            return Mission.PRIORITY_MEDIUM;
+        }
+        switch (triageCategory) {
+            case SoinsPremiersBehaviour.TRIAGE_CRITIQUE:
+                return Mission.PRIORITY_CRITICAL;
+            case SoinsPremiersBehaviour.TRIAGE_URGENT:
+                return Mission.PRIORITY_HIGH;
+            default:
+                return Mission.PRIORITY_MEDIUM;
         }
     }
 
     /**
-     * Inner class representing a mission
+     * Report waiting to be planned, with its sender
      */
-    private static class Mission {
-        private String type;
-        private String location;
-        private int priority;
-        private String description;
-
-        public Mission(String type, String location, int priority, String description) {
-            this.type = type;
-            this.location = location;
-            this.priority = priority;
-            this.description = description;
-        }
-
-        public String getType() {
-            return type;
-        }
-
-        public String getLocation() {
-            return location;
-        }
-
-        public int getPriority() {
-            return priority;
-        }
-
-        public String getDescription() {
-            return description;
-        }
+    private record PendingReport(TypedMessage report, String sender) {
     }
 }
@@ -0,0 +1,91 @@
+package com.jade.RoboCupRescueProject.behaviours.centrecommande;
+
+import com.jade.RoboCupRescueProject.agents.AgentCentreCommande;
+import com.jade.RoboCupRescueProject.assignment.AvailabilityRegistry;
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import com.jade.RoboCupRescueProject.messages.RoutedAgent;
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.domain.DFService;
+import jade.domain.FIPAException;
+import jade.domain.FIPAAgentManagement.DFAgentDescription;
+import jade.domain.FIPAAgentManagement.ServiceDescription;
+import jade.lang.acl.ACLMessage;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Behavior keeping the command center's availability registry in line with the DF.
+ * It subscribes once to the DF for each unit type; the DF then notifies every registration
+ * and deregistration, which replaces the periodic blocking DF searches.
+ */
+public class SuivreDisponibiliteUnitesBehaviour extends CyclicBehaviour {
+    // Service types of the units followed by the command center
+    public static final String[] UNIT_TYPES = {"pompier", "ambulancier", "police"};
+
+    private static final String CONVERSATION_PREFIX = "unit-directory-";
+
+    // DF notifications routed to this behaviour by the agent's message router
+    private final MessageRouter.Inbox inbox;
+
+    // Unit type of each subscription, by conversation ID
+    private final Map<String, String> subscriptions = new HashMap<>();
+
+    public SuivreDisponibiliteUnitesBehaviour(Agent a) {
+        super(a);
+        MessageRouter router = ((RoutedAgent)a).getRouter();
+        inbox = router.createInbox();
+
+        for (String type : UNIT_TYPES) {
+            DFAgentDescription template = new DFAgentDescription();
+            ServiceDescription sd = new ServiceDescription();
+            sd.setType(type);
+            template.addServices(sd);
+
+            String conversationId = CONVERSATION_PREFIX + type;
+            ACLMessage subscription = DFService.createSubscriptionMessage(a, a.getDefaultDF(), template, null);
+            subscription.setConversationId(conversationId);
+            subscriptions.put(conversationId, type);
+            router.routeConversation(conversationId, inbox);
+            a.send(subscription);
+        }
+    }
+
+    @Override
+    public void onStart() {
+        inbox.attach(this);
+    }
+
+    @Override
+    public void action() {
+        ACLMessage msg = inbox.poll();
+        if (msg == null) {
+            block();
+            return;
+        }
+
+        String type = subscriptions.get(msg.getConversationId());
+        if (msg.getPerformative() != ACLMessage.INFORM) {
+            if (msg.getPerformative() != ACLMessage.AGREE) {
+                System.err.println(myAgent.getLocalName() + ": DF subscription for " + type + " units failed: "
+                        + ACLMessage.getPerformative(msg.getPerformative()));
+            }
+            return;
+        }
+
+        try {
+            AvailabilityRegistry registry = ((AgentCentreCommande)myAgent).getAvailabilityRegistry();
+            for (DFAgentDescription dfd : DFService.decodeNotification(msg.getContent())) {
+                // A description without services means the agent left the DF
+                if (dfd.getAllServices().hasNext()) {
+                    registry.register(dfd.getName(), type);
+                } else {
+                    registry.deregister(dfd.getName());
+                }
+            }
+        } catch (FIPAException e) {
+            System.err.println(myAgent.getLocalName() + ": Invalid DF notification: " + e.getMessage());
+        }
+    }
+}
@@ -1,75 +1,82 @@
 package com.jade.RoboCupRescueProject.behaviours.chefequipepompier;
 
+import com.jade.RoboCupRescueProject.aggregation.TeamAggregator;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageKind;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.*;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
 import jade.lang.acl.MessageTemplate;
 
-import java.util.ArrayList;
-import java.util.List;
-
+/**
+ * Merges the reports of the firefighters of the team into the team aggregator.
+ * Status heartbeats update the units; fire reports and extinguishing progress update the fires.
+ * The command center only receives the windowed summaries of the team.
+ */
 public class RecupererRapportsPompierBehaviour extends CyclicBehaviour {
-    private List<String> pendingReports = new ArrayList<>();
+    // Water capacity of a fire truck, in liters
+    private static final double FULL_WATER_LEVEL = 1000.0;
+
+    private static final MessageTemplate REPORT_TEMPLATE = MessageTemplate.and(
+            MessageTemplate.MatchPerformative(ACLMessage.INFORM),
+            MessageCodec.matchKind(MessageKind.FIREFIGHTER_STATUS, MessageKind.FIRE_REPORT,
+                    MessageKind.EXTINGUISHING_PROGRESS));
+
+    private final TeamAggregator aggregator;
 
-    public RecupererRapportsPompierBehaviour(Agent a) {
+    public RecupererRapportsPompierBehaviour(Agent a, TeamAggregator aggregator) {
         super(a);
+        this.aggregator = aggregator;
         System.out.println(a.getLocalName() + ": Starting to collect firefighter reports");
     }
+
     @Override
     public void action() {
-        // TODO: collect INFORM messages from pompiers
-        MessageTemplate mt = MessageTemplate.and(
-                MessageTemplate.MatchPerformative(ACLMessage.INFORM),
-                MessageTemplate.MatchContent("REPORT:.*")
-        );
-
-        ACLMessage msg = myAgent.receive(mt);
-
-        if (msg != null) {
-            String content = msg.getContent();
-            String report = content.substring("REPORT:".length());
-
-            // Store the report
-            processReport(report, msg.getSender().getLocalName());
-
-            // Acknowledge receipt
-            ACLMessage reply = msg.createReply();
-            reply.setPerformative(ACLMessage.INFORM);
-            reply.setContent("REPORT_RECEIVED");
-            myAgent.send(reply);
-
-            // Trigger synthesis if we have enough reports
-            if (shouldTriggerSynthesis()) {
-                triggerSynthesis();
-            }
-        } else {
+        ACLMessage msg = myAgent.receive(REPORT_TEMPLATE);
+        if (msg == null) {
             block();
+            return;
         }
-    }
 
-    private void processReport(String report, String firefighterId) {
-        String formattedReport = String.format("[%s] %s", firefighterId, report);
-        pendingReports.add(formattedReport);
-        System.out.println(myAgent.getLocalName() + ": Received report from " + firefighterId);
+        // Merge everything already queued in one activation
+        while (msg != null) {
+            processReport(MessageCodec.read(msg), msg.getSender().getLocalName());
+            msg = myAgent.receive(REPORT_TEMPLATE);
+        }
     }
 
-    private boolean shouldTriggerSynthesis() {
-        // Trigger synthesis when we have 3 or more reports
-        return pendingReports.size() >= 3;
+    private void processReport(TypedMessage report, String firefighterId) {
+        if (report instanceof FirefighterStatus status) {
+            aggregator.recordUnit(firefighterId, status.location(), status.available(), waterFraction(status.waterLevel()));
+        } else if (report instanceof ExtinguishingProgress progress) {
+            // The unit is busy at the fire until its next heartbeat
+            aggregator.recordUnit(firefighterId, progress.location(), false, waterFraction(progress.waterLevel()));
+            aggregator.recordIncident(progress.location(), "FIRE", Double.NaN);
+        } else if (report instanceof FireReport fire) {
+            if ("EXTINGUISHED".equals(fire.status())) {
+                aggregator.clearIncident(fire.location());
+            } else {
+                aggregator.recordIncident(fire.location(), "FIRE", heatLevel(fire.status()));
+            }
+        }
     }
 
-    private void triggerSynthesis() {
-        // Send message to FaireSyntheseAuCentreBehaviour
-        ACLMessage synthesisMsg = new ACLMessage(ACLMessage.REQUEST);
-        synthesisMsg.setContent("SYNTHESIZE_REPORTS");
-        myAgent.send(synthesisMsg);
-
-        // Clear pending reports after triggering synthesis
-        pendingReports.clear();
+    private static double waterFraction(double waterLevel) {
+        return Math.min(1.0, waterLevel / FULL_WATER_LEVEL);
     }
 
-    public List<String> getPendingReports() {
-        return new ArrayList<>(pendingReports);
+    /**
+     * Get the heat level of a fire from its reported status
+     * @param status The reported status
+     * @return The heat level, or NaN if the status is not a number
+     */
+    private static double heatLevel(String status) {
+        try {
+            return Double.parseDouble(status);
+        } catch (NumberFormatException | NullPointerException e) {
+            return Double.NaN;
+        }
     }
-
-}
\ No newline at end of file
+}
@@ -0,0 +1,118 @@
+package com.jade.RoboCupRescueProject.behaviours.chefessaimrobots;
+
+import com.jade.RoboCupRescueProject.exploration.FrontierPlanner;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageKind;
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import com.jade.RoboCupRescueProject.messages.RoutedAgent;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.*;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
+import jade.core.AID;
+import jade.core.Agent;
+import jade.lang.acl.ACLMessage;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the frontier auctions of the swarm.
+ *
+ * At every tick the bids of the previous round are closed and the winners receive their region,
+ * then the regions of the current frontier are offered to the operational robots. The period is
+ * set with the system property {@value #AUCTION_PERIOD_PROPERTY}, in simulated milliseconds.
+ */
+public class AttribuerFrontieresBehaviour extends ClockTickerBehaviour {
+    public static final String AUCTION_PERIOD_PROPERTY = "simulation.exploration.auction";
+
+    // Default time between two auctions, in milliseconds
+    private static final long DEFAULT_AUCTION_PERIOD = 4000;
+    // Regions offered per robot, so that every robot has alternatives to its neighbours' choices
+    private static final int REGIONS_PER_ROBOT = 3;
+    // Rounds between two coverage reports in the logs
+    private static final int REPORT_ROUNDS = 15;
+
+    private final MessageRouter.Inbox inbox;
+    private final FrontierPlanner planner;
+    private boolean completionReported = false;
+
+    public AttribuerFrontieresBehaviour(Agent a, FrontierPlanner planner) {
+        super(a, getAuctionPeriod());
+        this.planner = planner;
+        MessageRouter router = ((RoutedAgent) a).getRouter();
+        inbox = router.createInbox();
+        router.routeKinds(inbox, MessageKind.FRONTIER_BID);
+    }
+
+    @Override
+    public void onStart() {
+        super.onStart();
+        inbox.attach(this);
+    }
+
+    @Override
+    protected void onTick() {
+        // Close the previous round
+        Map<String, FrontierBid> bids = new HashMap<>();
+        ACLMessage msg;
+        while ((msg = inbox.poll()) != null) {
+            TypedMessage payload = MessageCodec.read(msg);
+            if (payload instanceof FrontierBid bid) {
+                bids.put(msg.getSender().getLocalName(), bid);
+            }
+        }
+        for (Map.Entry<String, FrontierRegion> award : planner.award(bids).entrySet()) {
+            FrontierRegion region = award.getValue();
+            ACLMessage reply = MessageCodec.create(ACLMessage.ACCEPT_PROPOSAL,
+                    new FrontierAward(planner.getRound(), region.id(), region.x(), region.y()));
+            reply.addReceiver(new AID(award.getKey(), AID.ISLOCALNAME));
+            myAgent.send(reply);
+        }
+
+        // Offer the current frontier
+        List<String> robots = planner.getOperationalRobots();
+        FrontierCall call = planner.openRound(Math.max(1, robots.size() * REGIONS_PER_ROBOT));
+        if (!call.regions().isEmpty() && !robots.isEmpty()) {
+            ACLMessage cfp = MessageCodec.create(ACLMessage.CFP, call);
+            for (String robot : robots) {
+                cfp.addReceiver(new AID(robot, AID.ISLOCALNAME));
+            }
+            myAgent.send(cfp);
+        }
+
+        reportCoverage();
+    }
+
+    private void reportCoverage() {
+        boolean complete = planner.getMetrics().getTimeToFullCoverage() >= 0;
+        if (complete && !completionReported) {
+            completionReported = true;
+            System.out.println(myAgent.getLocalName() + ": Area fully explored: " + planner.getMetrics());
+        } else if (!complete && planner.getRound() % REPORT_ROUNDS == 0) {
+            System.out.println(myAgent.getLocalName() + String.format(": Swarm coverage %.1f%%: ",
+                    planner.getGrid().coverage() * 100) + planner.getMetrics()
+                    + String.format(", sensing energy/detection=%.5f%%", planner.getEnergyPerDetection()));
+        }
+    }
+
+    /**
+     * Get the auction period set by the simulation.exploration.auction system property
+     * @return The period in milliseconds
+     */
+    public static long getAuctionPeriod() {
+        String value = System.getProperty(AUCTION_PERIOD_PROPERTY);
+        if (value != null) {
+            try {
+                long period = Long.parseLong(value.trim());
+                if (period > 0) {
+                    return period;
+                }
+            } catch (NumberFormatException e) {
+                // Reported below
+            }
+            System.err.println("Invalid auction period '" + value + "', using " + DEFAULT_AUCTION_PERIOD + " ms");
+        }
+        return DEFAULT_AUCTION_PERIOD;
+    }
+}
@@ -0,0 +1,92 @@
+package com.jade.RoboCupRescueProject.behaviours.chefessaimrobots;
+
+import com.jade.RoboCupRescueProject.aggregation.TeamAggregator;
+import com.jade.RoboCupRescueProject.exploration.FrontierPlanner;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageKind;
+import com.jade.RoboCupRescueProject.messages.MessageRouter;
+import com.jade.RoboCupRescueProject.messages.RoutedAgent;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.*;
+import com.jade.RoboCupRescueProject.spatial.Point;
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.lang.acl.ACLMessage;
+
+/**
+ * Merges the scans and hotspots of the robots of the swarm into the swarm aggregator.
+ * Scans update the robots and mark dangerous areas; hotspots are merged by location,
+ * so the same hotspot seen by several robots is reported once.
+ * Scans are also merged into the shared coverage map of the frontier auctions.
+ */
+public class RecupererDonneesRobotsBehaviour extends CyclicBehaviour {
+    // Terrain difficulty above which an area is reported as dangerous
+    private static final double DANGER_THRESHOLD = 0.8;
+    // Side of the cells dangerous areas are merged in, in meters
+    private static final double DANGER_CELL_SIZE = 10.0;
+    // Full robot battery, in percent
+    private static final double FULL_BATTERY = 100.0;
+
+    private final MessageRouter.Inbox inbox;
+    private final TeamAggregator aggregator;
+    private final FrontierPlanner planner;
+
+    public RecupererDonneesRobotsBehaviour(Agent a, TeamAggregator aggregator, FrontierPlanner planner) {
+        super(a);
+        this.aggregator = aggregator;
+        this.planner = planner;
+        MessageRouter router = ((RoutedAgent) a).getRouter();
+        inbox = router.createInbox();
+        router.routeKinds(inbox, MessageKind.ENVIRONMENT_DATA, MessageKind.HOTSPOT_REPORT);
+        System.out.println(a.getLocalName() + ": Starting to collect robot data");
+    }
+
+    @Override
+    public void onStart() {
+        inbox.attach(this);
+    }
+
+    @Override
+    public void action() {
+        ACLMessage msg = inbox.poll();
+        if (msg == null) {
+            block();
+            return;
+        }
+
+        // Merge everything already routed in one activation
+        while (msg != null) {
+            processReport(MessageCodec.read(msg), msg.getSender().getLocalName());
+            msg = inbox.poll();
+        }
+    }
+
+    private void processReport(TypedMessage report, String robotId) {
+        if (report instanceof EnvironmentData data) {
+            aggregator.recordUnit(robotId, data.position(), data.operational(),
+                    Math.min(1.0, data.batteryLevel() / FULL_BATTERY));
+            planner.recordScan(robotId, Point.parse(data.position()), data.difficulty(), data.batteryLevel(),
+                    data.operational(), data.energyPerDetection());
+            if (data.difficulty() > DANGER_THRESHOLD) {
+                aggregator.recordIncident(dangerCell(data.position()), "DANGER", data.difficulty());
+            }
+        } else if (report instanceof HotspotReport hotspot) {
+            aggregator.recordIncident(hotspot.location(), "HOTSPOT", hotspot.temperature());
+        }
+    }
+
+    /**
+     * Get the key of the cell containing a position, so that nearby dangerous readings are merged
+     * @param position The position label
+     * @return The cell key, or the label itself if it has no coordinates
+     */
+    private static String dangerCell(String position) {
+        Point point = Point.parse(position);
+        if (point == null) {
+            return position;
+        }
+        long x = (long) Math.floor(point.x() / DANGER_CELL_SIZE) * (long) DANGER_CELL_SIZE;
+        long y = (long) Math.floor(point.y() / DANGER_CELL_SIZE) * (long) DANGER_CELL_SIZE;
+        return "(" + x + "," + y + ")";
+    }
+}
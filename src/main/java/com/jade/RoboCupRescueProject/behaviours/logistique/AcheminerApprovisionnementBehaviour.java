@@ -6,14 +6,20 @@ import jade.lang.acl.ACLMessage;
 import jade.lang.acl.MessageTemplate;
 
 import java.util.*;
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 public class AcheminerApprovisionnementBehaviour extends CyclicBehaviour {
     private Map<String, DeliveryStatus> activeDeliveries;
     private static final int DELIVERY_TIME = 2000; // milliseconds
 
+    // Shared timer of the agent, used instead of polling
+    private final DeadlineScheduler scheduler;
+
     public AcheminerApprovisionnementBehaviour(Agent a) {
         super(a);
         this.activeDeliveries = new HashMap<>();
+        this.scheduler = DeadlineScheduler.of(a);
         System.out.println(a.getLocalName() + ": Starting supply delivery behavior");
     }
 
@@ -22,14 +28,29 @@ public class AcheminerApprovisionnementBehaviour extends CyclicBehaviour {
         MessageTemplate mt = MessageTemplate.MatchContent("INITIATE_DELIVERY:.*");
         ACLMessage msg = myAgent.receive(mt);
 
-        if (msg != null) {
+        while (msg != null) {
             processDeliveryRequest(msg);
+            msg = myAgent.receive(mt);
         }
 
         // Check and update ongoing deliveries
         updateActiveDeliveries();
 
-        block(100); // Small delay between checks
+        // Sleep until the next delivery completes or a message arrives
+        if (activeDeliveries.isEmpty()) {
+            scheduler.cancel(this);
+            block();
+        } else {
+            scheduler.sleepUntil(this, nextCompletionTime());
+        }
+    }
+
+    private long nextCompletionTime() {
+        long next = Long.MAX_VALUE;
+        for (DeliveryStatus status : activeDeliveries.values()) {
+            next = Math.min(next, status.startTime + DELIVERY_TIME);
+        }
+        return next;
     }
 
     private void processDeliveryRequest(ACLMessage msg) {
@@ -42,7 +63,7 @@ public class AcheminerApprovisionnementBehaviour extends CyclicBehaviour {
         // Create new delivery
         String deliveryId = generateDeliveryId();
         DeliveryStatus status = new DeliveryStatus(resource, quantity, location,
-                System.currentTimeMillis());
+                SimulationClock.get().now());
         activeDeliveries.put(deliveryId, status);
 
         System.out.println(myAgent.getLocalName() + ": Starting delivery " + deliveryId +
@@ -56,7 +77,7 @@ public class AcheminerApprovisionnementBehaviour extends CyclicBehaviour {
             Map.Entry<String, DeliveryStatus> entry = it.next();
             DeliveryStatus status = entry.getValue();
 
-            if (System.currentTimeMillis() - status.startTime >= DELIVERY_TIME) {
+            if (SimulationClock.get().now() - status.startTime >= DELIVERY_TIME) {
                 // Delivery completed
                 completeDelivery(entry.getKey(), status);
                 it.remove();
@@ -1,16 +1,23 @@
 package com.jade.RoboCupRescueProject.behaviours.logistique;
 
 import jade.core.Agent;
-import jade.core.behaviours.TickerBehaviour;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
 import jade.lang.acl.ACLMessage;
 import jade.lang.acl.MessageTemplate;
 
 import java.util.*;
+import com.jade.RoboCupRescueProject.messages.DeltaReporter;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
-public class FournirRapportStockBehaviour extends TickerBehaviour {
+public class FournirRapportStockBehaviour extends ClockTickerBehaviour {
     private Map<String, ResourceStatus> resourceStatus;
     private static final long REPORT_INTERVAL = 5000; // 5 seconds
 
+    // Recipient of the reports in the delta reporter
+    private static final String COMMAND_CENTER = "command-center";
+    // Only resources whose quantity changed are reported, except in periodic snapshots
+    private final DeltaReporter reportDelta = DeltaReporter.fromSystemProperties();
+
     public FournirRapportStockBehaviour(Agent a) {
         super(a, REPORT_INTERVAL);
         initializeResourceStatus();
@@ -47,16 +54,21 @@ public class FournirRapportStockBehaviour extends TickerBehaviour {
             ResourceStatus status = resourceStatus.get(resource);
             if (status != null) {
                 status.quantity = quantity;
-                status.lastUpdate = System.currentTimeMillis();
+                status.lastUpdate = SimulationClock.get().now();
             }
         }
     }
 
     private void generateStockReport() {
-        StringBuilder report = new StringBuilder("STOCK_REPORT:\n");
+        // Full table for snapshots, changed resources only otherwise
+        DeltaReporter.Round round = reportDelta.begin(COMMAND_CENTER);
+        StringBuilder report = new StringBuilder(round.isSnapshot() ? "STOCK_REPORT:\n" : "STOCK_REPORT_UPDATE:\n");
 
         for (Map.Entry<String, ResourceStatus> entry : resourceStatus.entrySet()) {
             ResourceStatus status = entry.getValue();
+            if (!round.offer(entry.getKey(), "quantity", status.quantity)) {
+                continue;
+            }
             report.append(String.format("- %s: %d units at %s (Updated: %s)\n",
                     entry.getKey(),
                     status.quantity,
@@ -65,6 +77,10 @@ public class FournirRapportStockBehaviour extends TickerBehaviour {
             ));
         }
 
+        if (!round.hasChanges()) {
+            return;
+        }
+
         // Send report to command center
         ACLMessage reportMsg = new ACLMessage(ACLMessage.INFORM);
         reportMsg.setContent(report.toString());
@@ -81,7 +97,7 @@ public class FournirRapportStockBehaviour extends TickerBehaviour {
         ResourceStatus(int quantity, String location) {
             this.quantity = quantity;
             this.location = location;
-            this.lastUpdate = System.currentTimeMillis();
+            this.lastUpdate = SimulationClock.get().now();
         }
     }
 }
\ No newline at end of file
@@ -4,11 +4,15 @@ import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
 import jade.lang.acl.MessageTemplate;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageKind;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 public class RecevoirDemandesRessourcesBehaviour extends CyclicBehaviour {
     private Map<String, Integer> resourceStock;
@@ -35,39 +39,34 @@ public class RecevoirDemandesRessourcesBehaviour extends CyclicBehaviour {
     @Override
     public void action() {
         // TODO: listen for resource REQUESTs
-        MessageTemplate mt = MessageTemplate.or(
-                MessageTemplate.MatchContent("RESOURCE_REQUEST:.*"),
-                MessageTemplate.MatchContent("STOCK_UPDATE:.*")
-        );
+        MessageTemplate mt = MessageCodec.matchKind(MessageKind.RESOURCE_REQUEST, MessageKind.STOCK_UPDATE);
 
         ACLMessage msg = myAgent.receive(mt);
 
         if (msg != null) {
-            String content = msg.getContent();
+            TypedMessage payload = MessageCodec.read(msg);
 
-            if (content.startsWith("RESOURCE_REQUEST:")) {
-                handleResourceRequest(msg);
-            } else if (content.startsWith("STOCK_UPDATE:")) {
-                updateStockLevels(content);
+            if (payload instanceof TypedMessage.ResourceRequest request) {
+                handleResourceRequest(msg, request);
+            } else if (payload instanceof TypedMessage.StockUpdate update) {
+                updateStockLevels(update);
             }
         } else {
             block();
         }
     }
 
-    private void handleResourceRequest(ACLMessage msg) {
-        String content = msg.getContent().substring("RESOURCE_REQUEST:".length());
-        String[] parts = content.split(",");
-        String resource = parts[0];
-        int quantity = Integer.parseInt(parts[1]);
-        String location = parts[2];
+    private void handleResourceRequest(ACLMessage msg, TypedMessage.ResourceRequest payload) {
+        String resource = payload.resourceType();
+        int quantity = payload.quantity();
+        String location = payload.location() != null ? payload.location() : "";
 
         ResourceRequest request = new ResourceRequest(
                 msg.getSender(),
                 resource,
                 quantity,
                 location,
-                System.currentTimeMillis()
+                SimulationClock.get().now()
         );
 
         // Add to pending requests
@@ -113,11 +112,8 @@ public class RecevoirDemandesRessourcesBehaviour extends CyclicBehaviour {
         }
     }
 
-    private void updateStockLevels(String content) {
-        String[] parts = content.substring("STOCK_UPDATE:".length()).split(",");
-        String resource = parts[0];
-        int newQuantity = Integer.parseInt(parts[1]);
-        resourceStock.put(resource, newQuantity);
+    private void updateStockLevels(TypedMessage.StockUpdate update) {
+        resourceStock.put(update.resource(), update.quantity());
     }
 
     private int getMaxStock(String resource) {
@@ -9,6 +9,11 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 import com.jade.RoboCupRescueProject.agents.AgentPolice;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.utils.ClockWakerBehaviour;
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 /**
  * Behavior responsible for establishing security perimeters around dangerous areas.
@@ -23,10 +28,16 @@ public class BloquerZoneDangerBehaviour extends CyclicBehaviour {
     public static final String ZONE_SECURED = "SECURED";
 
     private Random random = new Random();
+
+    // Periodic monitoring runs once per interval on the agent's shared timer
+    private static final long MONITOR_INTERVAL = 1000; // 1 second
+    private static final long PERIMETER_SETUP_TIME = 500; // Time taken to set up a perimeter
+    private final DeadlineScheduler scheduler;
     private Map<String, String> zoneTypes = new HashMap<>(); // Map of zone ID to zone type (FIRE, COLLAPSE, etc.)
 
     public BloquerZoneDangerBehaviour(Agent a) { 
         super(a); 
+        scheduler = DeadlineScheduler.of(a);
         System.out.println(a.getLocalName() + ": Starting security perimeter behavior");
     }
 
@@ -70,11 +81,14 @@ public class BloquerZoneDangerBehaviour extends CyclicBehaviour {
             }
         } else {
             // Periodically check security zones
-            if (random.nextDouble() < 0.05) { // 5% chance each cycle
-                checkSecurityZones();
+            if (scheduler.isDue(this)) {
+                if (random.nextDouble() < 0.05) { // 5% chance each cycle
+                    checkSecurityZones();
+                }
+                scheduler.schedule(this, SimulationClock.get().now() + MONITOR_INTERVAL);
             }
 
-            block(1000); // Block for 1 second
+            block(); // Sleep until the next cycle or a message
         }
     }
 
@@ -123,14 +137,13 @@ public class BloquerZoneDangerBehaviour extends CyclicBehaviour {
         // Add the security zone to the agent's map
         ((AgentPolice)myAgent).addSecurityZone(zoneId, securityStatus);
 
-        // Simulate setting up physical barriers, redirecting traffic, etc.
-        try {
-            Thread.sleep(500); // Simulate time taken to set up perimeter
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-
-        System.out.println(myAgent.getLocalName() + ": Security perimeter established around zone " + zoneId);
+        // Simulate setting up physical barriers, redirecting traffic, etc. without holding the agent thread
+        myAgent.addBehaviour(new ClockWakerBehaviour(myAgent, PERIMETER_SETUP_TIME) {
+            @Override
+            protected void onWake() {
+                System.out.println(myAgent.getLocalName() + ": Security perimeter established around zone " + zoneId);
+            }
+        });
     }
 
     /**
@@ -230,14 +243,14 @@ public class BloquerZoneDangerBehaviour extends CyclicBehaviour {
      * @param securityStatus The security status
      */
     private void informAgentsAboutPerimeter(String zoneId, String zoneType, String securityStatus) {
-        ACLMessage inform = new ACLMessage(ACLMessage.INFORM);
+        ACLMessage inform = MessageCodec.create(ACLMessage.INFORM,
+                new TypedMessage.SecurityPerimeter(zoneId, zoneType, securityStatus));
 
         // Add receivers (other agents that might be interested in security perimeters)
         inform.addReceiver(new AID("CentreCommande", AID.ISLOCALNAME));
         inform.addReceiver(new AID("Pompier", AID.ISLOCALNAME));
         inform.addReceiver(new AID("Ambulancier", AID.ISLOCALNAME));
 
-        inform.setContent("SECURITY_PERIMETER:" + zoneId + "," + zoneType + "," + securityStatus);
         myAgent.send(inform);
 
         // Increment the alerts sent counter
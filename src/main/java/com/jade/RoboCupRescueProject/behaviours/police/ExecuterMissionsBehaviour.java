@@ -0,0 +1,97 @@
+package com.jade.RoboCupRescueProject.behaviours.police;
+
+import com.jade.RoboCupRescueProject.agents.AgentPolice;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageKind;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.missions.Mission;
+import jade.core.AID;
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.core.behaviours.OneShotBehaviour;
+import jade.lang.acl.ACLMessage;
+import jade.lang.acl.MessageTemplate;
+
+/**
+ * Behavior answering the missions dispatched by the command center.
+ * A free police unit agrees to a road clearing or a security zone, carries it out and reports
+ * its completion, which frees it for the next mission; a busy one refuses, so that the
+ * dispatcher retries the mission.
+ */
+public class ExecuterMissionsBehaviour extends CyclicBehaviour {
+    private static final MessageTemplate MISSION_TEMPLATE = MessageTemplate.and(
+            MessageTemplate.MatchPerformative(ACLMessage.REQUEST),
+            MessageCodec.matchKind(MessageKind.MISSION));
+
+    public ExecuterMissionsBehaviour(Agent a) {
+        super(a);
+    }
+
+    @Override
+    public void action() {
+        ACLMessage msg = myAgent.receive(MISSION_TEMPLATE);
+        if (msg == null) {
+            block();
+            return;
+        }
+
+        if (MessageCodec.read(msg) instanceof TypedMessage.Mission mission) {
+            handleMission(msg, mission);
+        }
+    }
+
+    /**
+     * Agree to or refuse a mission
+     * @param msg The mission request
+     * @param mission The mission
+     */
+    private void handleMission(ACLMessage msg, TypedMessage.Mission mission) {
+        AgentPolice agent = (AgentPolice) myAgent;
+        ACLMessage reply = msg.createReply();
+        if (!Mission.ROAD_CLEARING.equals(mission.type()) && !Mission.SECURITY_ZONE.equals(mission.type())) {
+            reply.setPerformative(ACLMessage.REFUSE);
+            reply.setContent("UNSUPPORTED:" + mission.type());
+            myAgent.send(reply);
+            return;
+        }
+        if (!agent.isAvailable()) {
+            reply.setPerformative(ACLMessage.REFUSE);
+            reply.setContent("UNAVAILABLE:BUSY");
+            myAgent.send(reply);
+            return;
+        }
+
+        reply.setPerformative(ACLMessage.AGREE);
+        reply.setContent("MISSION_ACCEPTED");
+        myAgent.send(reply);
+        agent.setAvailable(false);
+        agent.updateStatus(mission.type() + ":" + mission.location());
+
+        String type = mission.type();
+        String location = mission.location();
+        myAgent.addBehaviour(new OneShotBehaviour(myAgent) {
+            @Override
+            public void action() {
+                if (Mission.ROAD_CLEARING.equals(type)) {
+                    System.out.println(myAgent.getLocalName() + ": Clearing " + location);
+                    // Missions planned from a situation report name the reporting agent, not a road
+                    if (agent.getRoadStatus(location) != null) {
+                        agent.updateRoadStatus(location, GererCirculationBehaviour.ROAD_OPEN);
+                    }
+                } else {
+                    System.out.println(myAgent.getLocalName() + ": Securing zone " + location);
+                    agent.addSecurityZone(location, "SECURED");
+                }
+
+                // Report mission completion
+                ACLMessage report = MessageCodec.create(ACLMessage.INFORM,
+                        new TypedMessage.MissionComplete(type, location));
+                report.addReceiver(new AID("CommandCenter", AID.ISLOCALNAME));
+                myAgent.send(report);
+
+                agent.setAvailable(true);
+                agent.updateStatus("READY");
+            }
+        });
+    }
+}
@@ -9,6 +9,13 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 import com.jade.RoboCupRescueProject.agents.AgentPolice;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageKind;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.routing.Route;
+import com.jade.RoboCupRescueProject.routing.VehicleClass;
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 /**
  * Behavior responsible for managing traffic and securing transport routes.
@@ -23,6 +30,10 @@ public class GererCirculationBehaviour extends CyclicBehaviour {
     public static final String ROAD_DAMAGED = "DAMAGED";
 
     private Random random = new Random();
+
+    // Periodic monitoring runs once per interval on the agent's shared timer
+    private static final long MONITOR_INTERVAL = 1000; // 1 second
+    private final DeadlineScheduler scheduler;
     private Map<String, String> roadMap = new HashMap<>(); // Map of road ID to road name
 
     // Simulated roads
@@ -36,6 +47,7 @@ public class GererCirculationBehaviour extends CyclicBehaviour {
 
     public GererCirculationBehaviour(Agent a) { 
         super(a); 
+        scheduler = DeadlineScheduler.of(a);
         System.out.println(a.getLocalName() + ": Starting traffic management behavior");
 
         // Initialize road map
@@ -50,10 +62,13 @@ public class GererCirculationBehaviour extends CyclicBehaviour {
 
     @Override
     public void action() {
-        // Check for messages about road status
-        MessageTemplate mt = MessageTemplate.or(
-            MessageTemplate.MatchPerformative(ACLMessage.REQUEST),
-            MessageTemplate.MatchPerformative(ACLMessage.INFORM)
+        // Check for messages about road status; missions are left to ExecuterMissionsBehaviour
+        MessageTemplate mt = MessageTemplate.and(
+            MessageTemplate.or(
+                MessageTemplate.MatchPerformative(ACLMessage.REQUEST),
+                MessageTemplate.MatchPerformative(ACLMessage.INFORM)
+            ),
+            MessageTemplate.not(MessageCodec.matchKind(MessageKind.MISSION))
         );
         ACLMessage msg = myAgent.receive(mt);
 
@@ -85,11 +100,14 @@ public class GererCirculationBehaviour extends CyclicBehaviour {
             }
         } else {
             // Periodically monitor road conditions
-            if (random.nextDouble() < 0.05) { // 5% chance each cycle
-                monitorRoadConditions();
+            if (scheduler.isDue(this)) {
+                if (random.nextDouble() < 0.05) { // 5% chance each cycle
+                    monitorRoadConditions();
+                }
+                scheduler.schedule(this, SimulationClock.get().now() + MONITOR_INTERVAL);
             }
 
-            block(1000); // Block for 1 second
+            block(); // Sleep until the next cycle or a message
         }
     }
 
@@ -158,7 +176,7 @@ public class GererCirculationBehaviour extends CyclicBehaviour {
         // Update road status to give priority to emergency vehicles
         for (String roadId : roadsToClear) {
             String currentStatus = ((AgentPolice)myAgent).getRoadStatus(roadId);
-            if (!currentStatus.equals(ROAD_CLOSED)) {
+            if (!ROAD_CLOSED.equals(currentStatus)) {
                 ((AgentPolice)myAgent).updateRoadStatus(roadId, ROAD_RESTRICTED);
                 System.out.println(myAgent.getLocalName() + ": Restricted " + roadId + " for emergency vehicle passage");
             }
@@ -188,9 +206,9 @@ public class GererCirculationBehaviour extends CyclicBehaviour {
      * @return An array of road IDs that need to be cleared
      */
     private String[] determineRoadsToClear(String fromLocation, String toLocation) {
-        // In a real implementation, this would use a pathfinding algorithm
-        // For simplicity, we'll just return a predefined route
-        return new String[]{"ROAD_1", "ROAD_3", "ROAD_4"};
+        // The roads of the shortest route open to emergency vehicles
+        Route route = ((AgentPolice)myAgent).getRoutePlanner().route(fromLocation, toLocation, VehicleClass.EMERGENCY);
+        return route.roads().toArray(new String[0]);
     }
 
     /**
@@ -225,9 +243,9 @@ public class GererCirculationBehaviour extends CyclicBehaviour {
      * @param status The new status of the road
      */
     private void informCommandCenter(String roadId, String status) {
-        ACLMessage inform = new ACLMessage(ACLMessage.INFORM);
+        ACLMessage inform = MessageCodec.create(ACLMessage.INFORM,
+                new TypedMessage.RoadStatusChange(roadId, status));
         inform.addReceiver(new AID("CentreCommande", AID.ISLOCALNAME));
-        inform.setContent("ROAD_STATUS_CHANGE:" + roadId + "," + status);
         myAgent.send(inform);
 
         System.out.println(myAgent.getLocalName() + ": Informed command center about status change of " + roadId);
@@ -11,6 +11,10 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import com.jade.RoboCupRescueProject.agents.AgentPolice;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 /**
  * Behavior responsible for alerting other agents about obstacles or imminent risks.
@@ -27,6 +31,10 @@ public class SignalerChangementsBehaviour extends CyclicBehaviour {
     public static final String ALERT_BRIDGE_DAMAGE = "BRIDGE_DAMAGE";
 
     private Random random = new Random();
+
+    // Periodic monitoring runs once per interval on the agent's shared timer
+    private static final long MONITOR_INTERVAL = 1000; // 1 second
+    private final DeadlineScheduler scheduler;
     private Map<String, Long> lastAlertTimes = new HashMap<>(); // Map of alert ID to last alert time
     private List<String> activeAlerts = new ArrayList<>(); // List of active alerts
 
@@ -41,6 +49,7 @@ public class SignalerChangementsBehaviour extends CyclicBehaviour {
 
     public SignalerChangementsBehaviour(Agent a) { 
         super(a); 
+        scheduler = DeadlineScheduler.of(a);
         System.out.println(a.getLocalName() + ": Starting alert behavior");
     }
 
@@ -75,17 +84,21 @@ public class SignalerChangementsBehaviour extends CyclicBehaviour {
                 handleAlertAcknowledgement(alertId, msg.getSender());
             }
         } else {
-            // Periodically monitor the environment for changes
-            if (random.nextDouble() < 0.05) { // 5% chance each cycle
-                monitorEnvironment();
-            }
+            if (scheduler.isDue(this)) {
+                // Periodically monitor the environment for changes
+                if (random.nextDouble() < 0.05) { // 5% chance each cycle
+                    monitorEnvironment();
+                }
 
-            // Periodically update the command center on the overall situation
-            if (random.nextDouble() < 0.02) { // 2% chance each cycle
-                updateCommandCenter();
+                // Periodically update the command center on the overall situation
+                if (random.nextDouble() < 0.02) { // 2% chance each cycle
+                    updateCommandCenter();
+                }
+
+                scheduler.schedule(this, SimulationClock.get().now() + MONITOR_INTERVAL);
             }
 
-            block(1000); // Block for 1 second
+            block(); // Sleep until the next cycle or a message
         }
     }
 
@@ -144,7 +157,7 @@ public class SignalerChangementsBehaviour extends CyclicBehaviour {
                            alertId + " from " + sender.getLocalName());
 
         // Record the acknowledgement time
-        lastAlertTimes.put(alertId, System.currentTimeMillis());
+        lastAlertTimes.put(alertId, SimulationClock.get().now());
     }
 
     /**
@@ -228,12 +241,6 @@ public class SignalerChangementsBehaviour extends CyclicBehaviour {
     private void updateCommandCenter() {
         System.out.println(myAgent.getLocalName() + ": Updating command center on overall situation");
 
-        // Create a situation report
-        StringBuilder report = new StringBuilder("SITUATION_REPORT:");
-
-        // Add active alerts
-        report.append("active_alerts=").append(activeAlerts.size()).append(",");
-
         // Add road status information
         int openRoads = 0;
         int closedRoads = 0;
@@ -252,18 +259,16 @@ public class SignalerChangementsBehaviour extends CyclicBehaviour {
             }
         }
 
-        report.append("open_roads=").append(openRoads).append(",");
-        report.append("closed_roads=").append(closedRoads).append(",");
-        report.append("restricted_roads=").append(restrictedRoads).append(",");
-
         // Add security zone information
         int securityZones = ((AgentPolice)myAgent).getSecurityPerimetersCount();
-        report.append("security_zones=").append(securityZones);
+
+        // Create a situation report
+        TypedMessage.SituationReport report = new TypedMessage.SituationReport(
+                activeAlerts.size(), openRoads, closedRoads, restrictedRoads, securityZones);
 
         // Send the report to the command center
-        ACLMessage inform = new ACLMessage(ACLMessage.INFORM);
+        ACLMessage inform = MessageCodec.create(ACLMessage.INFORM, report);
         inform.addReceiver(new AID("CentreCommande", AID.ISLOCALNAME));
-        inform.setContent(report.toString());
         myAgent.send(inform);
 
         System.out.println(myAgent.getLocalName() + ": Situation report sent to command center");
@@ -3,6 +3,9 @@ package com.jade.RoboCupRescueProject.behaviours.pompier;
 import jade.core.AID;
 import jade.core.behaviours.SimpleBehaviour;
 import jade.lang.acl.ACLMessage;
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.ClockWakerBehaviour;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 public class ComportementExtinctionFeu extends SimpleBehaviour {
     private boolean estEteint = false;
@@ -61,9 +64,10 @@ public class ComportementExtinctionFeu extends SimpleBehaviour {
     @Override
     public void action() {
         // Vérifier si c'est le moment d'exécuter la prochaine étape
-        long tempsActuel = System.currentTimeMillis();
+        long tempsActuel = SimulationClock.get().now();
         if (tempsActuel < tempsProchainEvenement) {
-            block(tempsProchainEvenement - tempsActuel); // Bloquer jusqu'au prochain événement
+            // Bloquer jusqu'au prochain événement sur le minuteur partagé de l'agent
+            DeadlineScheduler.of(myAgent).sleepUntil(this, tempsProchainEvenement);
             return;
         }
 
@@ -79,10 +83,10 @@ public class ComportementExtinctionFeu extends SimpleBehaviour {
                     etapeActuelle = Etape.EXTINCTION;
                 }
 
-                tempsProchainEvenement = System.currentTimeMillis() + DELAI_DEPLACEMENT;
+                tempsProchainEvenement = SimulationClock.get().now() + DELAI_DEPLACEMENT;
 
                 // Comportement silencieux pour le début de l'opération
-                myAgent.addBehaviour(new jade.core.behaviours.WakerBehaviour(myAgent, DELAI_DEPLACEMENT) {
+                myAgent.addBehaviour(new ClockWakerBehaviour(myAgent, DELAI_DEPLACEMENT) {
                     @Override
                     protected void onWake() {
                         // Logs supprimés pour réduire le bruit dans la console
@@ -108,12 +112,12 @@ public class ComportementExtinctionFeu extends SimpleBehaviour {
                     }
 
                     // Définir le temps pour la prochaine étape
-                    tempsProchainEvenement = System.currentTimeMillis() + delaiSauvetage;
+                    tempsProchainEvenement = SimulationClock.get().now() + delaiSauvetage;
                 } else {
                     // Pas de victimes à secourir, passer à l'extinction
                     victimesSecourues = true;
                     etapeActuelle = Etape.EXTINCTION;
-                    tempsProchainEvenement = System.currentTimeMillis();
+                    tempsProchainEvenement = SimulationClock.get().now();
                 }
                 break;
 
@@ -132,10 +136,10 @@ public class ComportementExtinctionFeu extends SimpleBehaviour {
                     etapeActuelle = Etape.FINALISATION;
                     // Log supprimé pour réduire le bruit dans la console
                     rapporterSucces();
-                    tempsProchainEvenement = System.currentTimeMillis() + 1000; // Attendre 1 seconde avant de terminer
+                    tempsProchainEvenement = SimulationClock.get().now() + 1000; // Attendre 1 seconde avant de terminer
                 } else {
                     // Continuer l'extinction
-                    tempsProchainEvenement = System.currentTimeMillis() + DELAI_EXTINCTION;
+                    tempsProchainEvenement = SimulationClock.get().now() + DELAI_EXTINCTION;
                 }
                 break;
 
@@ -143,6 +147,7 @@ public class ComportementExtinctionFeu extends SimpleBehaviour {
                 // Terminer le comportement
                 etapeActuelle = Etape.TERMINE;
                 estEteint = true;
+                DeadlineScheduler.of(myAgent).cancel(this);
                 break;
 
             case TERMINE:
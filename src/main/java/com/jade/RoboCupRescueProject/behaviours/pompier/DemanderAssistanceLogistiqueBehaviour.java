@@ -3,33 +3,46 @@ package com.jade.RoboCupRescueProject.behaviours.pompier;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 public class DemanderAssistanceLogistiqueBehaviour extends CyclicBehaviour {
     private final EteindreIncendieBehaviour extinguishBehaviour;
     private static final double WATER_THRESHOLD = 200.0; // Request when below 200L
     private long lastRequestTime = 0;
     private static final long REQUEST_COOLDOWN = 5000; // 5 seconds between requests
+    private static final long CHECK_INTERVAL = 1000; // 1 second between checks
+
+    // Shared timer of the agent, used instead of polling
+    private final DeadlineScheduler scheduler;
 
     public DemanderAssistanceLogistiqueBehaviour(Agent a, EteindreIncendieBehaviour extinguishBehaviour) {
         super(a);
         this.extinguishBehaviour = extinguishBehaviour;
+        this.scheduler = DeadlineScheduler.of(a);
         System.out.println(a.getLocalName() + ": Starting logistics assistance behavior");
     }
 
     @Override
     public void action() {
+        // Ignore wake-ups caused by incoming messages
+        if (!scheduler.isDue(this)) {
+            block();
+            return;
+        }
+
         checkResources();
-        block(1000); // Check every second
+        scheduler.sleepUntil(this, SimulationClock.get().now() + CHECK_INTERVAL); // Check every second
     }
 
     private void checkResources() {
         double currentWaterLevel = extinguishBehaviour.getWaterLevel();
 
         if (currentWaterLevel < WATER_THRESHOLD &&
-                System.currentTimeMillis() - lastRequestTime > REQUEST_COOLDOWN) {
+                SimulationClock.get().now() - lastRequestTime > REQUEST_COOLDOWN) {
 
             requestLogisticalSupport(currentWaterLevel);
-            lastRequestTime = System.currentTimeMillis();
+            lastRequestTime = SimulationClock.get().now();
         }
     }
 
@@ -1,12 +1,17 @@
 package com.jade.RoboCupRescueProject.behaviours.pompier;
 
+import jade.core.AID;
 import jade.core.Agent;
-import jade.core.behaviours.TickerBehaviour;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
 import jade.lang.acl.ACLMessage;
 
 import java.util.*;
+import com.jade.RoboCupRescueProject.fleet.LaunchProfile;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
-public class DetecterIncendieBehaviour extends TickerBehaviour {
+public class DetecterIncendieBehaviour extends ClockTickerBehaviour {
     private Map<String, FireInfo> detectedFires;
     private final double DETECTION_RADIUS = 100.0; // meters
     private double currentX = 0.0;
@@ -65,9 +70,13 @@ public class DetecterIncendieBehaviour extends TickerBehaviour {
         myAgent.send(msg);
 
         // Also notify team leader
-        ACLMessage leaderMsg = new ACLMessage(ACLMessage.INFORM);
-        leaderMsg.setContent("FIRE_REPORT:" + fireInfo.location + "," + fireInfo.heatLevel);
-        myAgent.send(leaderMsg);
+        String teamLeader = LaunchProfile.of(myAgent).team();
+        if (teamLeader != null) {
+            ACLMessage leaderMsg = MessageCodec.create(ACLMessage.INFORM,
+                    new TypedMessage.FireReport(fireInfo.location, String.valueOf(fireInfo.heatLevel)));
+            leaderMsg.addReceiver(new AID(teamLeader, AID.ISLOCALNAME));
+            myAgent.send(leaderMsg);
+        }
     }
 
     private void notifyFireChange(FireInfo fireInfo) {
@@ -78,8 +87,8 @@ public class DetecterIncendieBehaviour extends TickerBehaviour {
 
     private void updatePosition() {
         // Simulate movement pattern for patrolling
-        currentX += 10 * Math.cos(System.currentTimeMillis() / 1000.0);
-        currentY += 10 * Math.sin(System.currentTimeMillis() / 1000.0);
+        currentX += 10 * Math.cos(SimulationClock.get().now() / 1000.0);
+        currentY += 10 * Math.sin(SimulationClock.get().now() / 1000.0);
     }
 
     private static class FireInfo {
@@ -90,7 +99,7 @@ public class DetecterIncendieBehaviour extends TickerBehaviour {
         FireInfo(String location, double heatLevel) {
             this.location = location;
             this.heatLevel = heatLevel;
-            this.detectionTime = System.currentTimeMillis();
+            this.detectionTime = SimulationClock.get().now();
         }
     }
 }
@@ -1,13 +1,27 @@
 package com.jade.RoboCupRescueProject.behaviours.pompier;
 
+import jade.core.AID;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
 import jade.lang.acl.MessageTemplate;
+import com.jade.RoboCupRescueProject.fleet.LaunchProfile;
+import com.jade.RoboCupRescueProject.messages.DeltaReporter;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 public class EteindreIncendieBehaviour extends CyclicBehaviour {
     private static final double WATER_USE_RATE = 10.0; // liters per second
     private static final double INITIAL_WATER_CAPACITY = 1000.0; // liters
+    private static final long EXTINGUISH_STEP = 100; // milliseconds between extinguishing steps
+    // Progress is reported when the water level dropped by 5% of the tank, not at every step
+    private static final double WATER_REPORT_THRESHOLD = 0.05 * INITIAL_WATER_CAPACITY;
+
+    // Shared timer of the agent, used instead of polling
+    private final DeadlineScheduler scheduler;
+    private final DeltaReporter progressDelta;
 
     private double waterLevel;
     private boolean isExtinguishing;
@@ -17,6 +31,8 @@ public class EteindreIncendieBehaviour extends CyclicBehaviour {
         super(a);
         waterLevel = INITIAL_WATER_CAPACITY;
         isExtinguishing = false;
+        scheduler = DeadlineScheduler.of(a);
+        progressDelta = DeltaReporter.fromSystemProperties().withThreshold("water", WATER_REPORT_THRESHOLD);
         System.out.println(a.getLocalName() + ": Starting fire extinguishing behavior");
     }
 
@@ -38,18 +54,25 @@ public class EteindreIncendieBehaviour extends CyclicBehaviour {
             }
         }
 
-        // Continue extinguishing if active
-        if (isExtinguishing) {
+        // Continue extinguishing if active, one step per deadline
+        if (isExtinguishing && scheduler.isDue(this)) {
             continueExtinguishing();
+            scheduler.schedule(this, SimulationClock.get().now() + EXTINGUISH_STEP);
+        }
+        if (!isExtinguishing) {
+            scheduler.cancel(this);
         }
 
-        block(100); // Small delay between actions
+        block(); // Sleep until the next step or a message
     }
 
     private void handleStartExtinguishing(String content) {
         String location = content.substring("START_EXTINGUISHING:".length());
 
         if (waterLevel > 0) {
+            if (!location.equals(currentFireLocation)) {
+                forgetProgress();
+            }
             isExtinguishing = true;
             currentFireLocation = location;
             System.out.println(myAgent.getLocalName() + ": Starting to extinguish fire at " + location);
@@ -60,7 +83,7 @@ public class EteindreIncendieBehaviour extends CyclicBehaviour {
 
     private void continueExtinguishing() {
         // Use water
-        double waterUsed = WATER_USE_RATE * 0.1; // For 100ms interval
+        double waterUsed = WATER_USE_RATE * EXTINGUISH_STEP / 1000.0; // For one step
         waterLevel -= waterUsed;
 
         if (waterLevel <= 0) {
@@ -70,21 +93,35 @@ public class EteindreIncendieBehaviour extends CyclicBehaviour {
             return;
         }
 
-        // Report progress
-        ACLMessage progressMsg = new ACLMessage(ACLMessage.INFORM);
-        progressMsg.setContent("EXTINGUISHING_PROGRESS:" + currentFireLocation +
-                ",water_level=" + String.format("%.2f", waterLevel));
-        myAgent.send(progressMsg);
+        // Report progress to the team leader, which merges it into the team summary
+        String teamLeader = LaunchProfile.of(myAgent).team();
+        if (teamLeader != null
+                && progressDelta.begin(teamLeader).offer(currentFireLocation, "water", waterLevel)) {
+            ACLMessage progressMsg = MessageCodec.create(ACLMessage.INFORM,
+                    new TypedMessage.ExtinguishingProgress(currentFireLocation, waterLevel));
+            progressMsg.addReceiver(new AID(teamLeader, AID.ISLOCALNAME));
+            myAgent.send(progressMsg);
+        }
     }
 
     private void stopExtinguishing() {
         if (isExtinguishing) {
             isExtinguishing = false;
+            forgetProgress();
             currentFireLocation = null;
             System.out.println(myAgent.getLocalName() + ": Stopping extinguishing operation");
         }
     }
 
+    // The progress on a fire is no longer reported once the unit leaves it, so the water level
+    // last sent for it is dropped instead of being kept for every fire fought
+    private void forgetProgress() {
+        String teamLeader = LaunchProfile.of(myAgent).team();
+        if (teamLeader != null && currentFireLocation != null) {
+            progressDelta.forget(teamLeader, currentFireLocation);
+        }
+    }
+
     private void requestWaterResupply() {
         ACLMessage request = new ACLMessage(ACLMessage.REQUEST);
         request.setContent("WATER_RESUPPLY_REQUEST:" + myAgent.getLocalName());
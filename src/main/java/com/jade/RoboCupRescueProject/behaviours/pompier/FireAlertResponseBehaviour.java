@@ -4,6 +4,7 @@ import jade.core.AID;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
 import jade.lang.acl.MessageTemplate;
+import com.jade.RoboCupRescueProject.utils.ClockWakerBehaviour;
 
 /**
  * Behavior for handling fire alert responses from the Command Center.
@@ -73,8 +74,8 @@ public class FireAlertResponseBehaviour extends CyclicBehaviour {
                         // Passer à l'étape de confirmation après un court délai
                         etapeActuelle = Etape.CONFIRMATION;
 
-                        // Utiliser un WakerBehaviour pour envoyer la confirmation après un délai
-                        myAgent.addBehaviour(new jade.core.behaviours.WakerBehaviour(myAgent, 1000) {
+                        // Utiliser un ClockWakerBehaviour pour envoyer la confirmation après un délai
+                        myAgent.addBehaviour(new ClockWakerBehaviour(myAgent, 1000) {
                             @Override
                             protected void onWake() {
                                 // Send CONFIRM message with enhanced acknowledgement
@@ -120,13 +121,13 @@ public class FireAlertResponseBehaviour extends CyclicBehaviour {
                 break;
 
             case CONFIRMATION:
-                // Attendre que le WakerBehaviour termine
+                // Attendre que le ClockWakerBehaviour termine
                 block();
                 break;
 
             case DEMARRAGE_EXTINCTION:
-                // Utiliser un WakerBehaviour pour démarrer l'extinction après un délai
-                myAgent.addBehaviour(new jade.core.behaviours.WakerBehaviour(myAgent, DELAI_AVANT_EXTINCTION) {
+                // Utiliser un ClockWakerBehaviour pour démarrer l'extinction après un délai
+                myAgent.addBehaviour(new ClockWakerBehaviour(myAgent, DELAI_AVANT_EXTINCTION) {
                     @Override
                     protected void onWake() {
                         // Start fire extinguishing behavior with victim rescue if needed
@@ -140,12 +141,12 @@ public class FireAlertResponseBehaviour extends CyclicBehaviour {
                     }
                 });
 
-                // Passer à l'état TERMINE pour attendre que le WakerBehaviour termine
+                // Passer à l'état TERMINE pour attendre que le ClockWakerBehaviour termine
                 etapeActuelle = Etape.TERMINE;
                 break;
 
             case TERMINE:
-                // Attendre que le WakerBehaviour termine
+                // Attendre que le ClockWakerBehaviour termine
                 block();
                 break;
         }
@@ -1,15 +1,24 @@
 package com.jade.RoboCupRescueProject.behaviours.pompier;
 
 import jade.core.Agent;
-import jade.core.behaviours.TickerBehaviour;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
 import jade.lang.acl.ACLMessage;
 
 import java.util.*;
+import com.jade.RoboCupRescueProject.messages.DeltaReporter;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
-public class SignalerEtatFeuBehaviour extends TickerBehaviour {
+public class SignalerEtatFeuBehaviour extends ClockTickerBehaviour {
     private Map<String, FireStatus> activeFireStatus;
     private final EteindreIncendieBehaviour extinguishBehaviour;
 
+    // Recipient of the reports in the delta reporter
+    private static final String TEAM_LEADER = "team-leader";
+    // Only fields that changed are reported; control and water must move by 10 points and 50 L
+    private final DeltaReporter reportDelta = DeltaReporter.fromSystemProperties()
+            .withThreshold("control", 10)
+            .withThreshold("water", 50);
+
     public SignalerEtatFeuBehaviour(Agent a, long period, EteindreIncendieBehaviour extinguishBehaviour) {
         super(a, period);
         this.extinguishBehaviour = extinguishBehaviour;
@@ -31,18 +40,41 @@ public class SignalerEtatFeuBehaviour extends TickerBehaviour {
     }
 
     private void sendStatusReport() {
-        StringBuilder report = new StringBuilder("FIRE_STATUS_REPORT:\n");
+        // Full report for snapshots, changed lines only otherwise
+        DeltaReporter.Round round = reportDelta.begin(TEAM_LEADER);
+        StringBuilder report = new StringBuilder(round.isSnapshot() ? "FIRE_STATUS_REPORT:\n" : "FIRE_STATUS_UPDATE:\n");
 
         for (Map.Entry<String, FireStatus> entry : activeFireStatus.entrySet()) {
+            String location = entry.getKey();
             FireStatus status = entry.getValue();
-            report.append(String.format("Location: %s\n", entry.getKey()));
-            report.append(String.format("Status: %s\n", status.getStatusDescription()));
-            report.append(String.format("Intensity: %s\n", status.getIntensityLevel()));
-            report.append(String.format("Control Level: %d%%\n", status.getControlLevel()));
+            StringBuilder lines = new StringBuilder();
+            if (round.offer(location, "status", status.getStatusDescription())) {
+                lines.append(String.format("Status: %s\n", status.getStatusDescription()));
+            }
+            if (round.offer(location, "intensity", status.getIntensityLevel())) {
+                lines.append(String.format("Intensity: %s\n", status.getIntensityLevel()));
+            }
+            if (round.offer(location, "control", status.getControlLevel())) {
+                lines.append(String.format("Control Level: %d%%\n", status.getControlLevel()));
+            }
+            if (lines.length() > 0) {
+                report.append(String.format("Location: %s\n", location)).append(lines);
+            }
         }
 
         // Add resource status
-        report.append(String.format("Water Level: %.2f L\n", extinguishBehaviour.getWaterLevel()));
+        if (round.offer("", "water", extinguishBehaviour.getWaterLevel())) {
+            report.append(String.format("Water Level: %.2f L\n", extinguishBehaviour.getWaterLevel()));
+        }
+
+        // Fires no longer followed
+        for (String location : round.removed()) {
+            report.append(String.format("Removed: %s\n", location));
+        }
+
+        if (!round.hasChanges()) {
+            return;
+        }
 
         // Send report to team leader
         ACLMessage reportMsg = new ACLMessage(ACLMessage.INFORM);
@@ -66,7 +98,7 @@ public class SignalerEtatFeuBehaviour extends TickerBehaviour {
         FireStatus(double intensity) {
             this.intensity = intensity;
             this.controlLevel = 0;
-            this.lastUpdate = System.currentTimeMillis();
+            this.lastUpdate = SimulationClock.get().now();
         }
 
         void updateStatus(double waterLevel) {
@@ -75,7 +107,7 @@ public class SignalerEtatFeuBehaviour extends TickerBehaviour {
                 controlLevel = Math.min(100, controlLevel + 5);
                 intensity = Math.max(0, intensity - 0.1);
             }
-            lastUpdate = System.currentTimeMillis();
+            lastUpdate = SimulationClock.get().now();
         }
 
         String getStatusDescription() {
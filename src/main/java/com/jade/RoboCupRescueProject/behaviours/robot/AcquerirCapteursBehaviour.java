@@ -0,0 +1,46 @@
+package com.jade.RoboCupRescueProject.behaviours.robot;
+
+import com.jade.RoboCupRescueProject.agents.AgentRobot;
+import com.jade.RoboCupRescueProject.sensing.DutyCycle;
+import com.jade.RoboCupRescueProject.sensing.SensorPipeline;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
+import jade.core.Agent;
+
+/**
+ * Drives the sensor pipeline of the robot: samples every channel once per period and runs the
+ * frames through the pipeline, which hands the detections to the behaviours that registered
+ * a detector. The period follows the duty cycle, from the detection activity and the battery.
+ */
+public class AcquerirCapteursBehaviour extends ClockTickerBehaviour {
+    // Time between two duty cycle reports in the logs, in milliseconds
+    private static final long REPORT_PERIOD = 60000;
+
+    private final SensorPipeline sensors;
+    private final DutyCycle dutyCycle;
+    private long nextReport;
+
+    public AcquerirCapteursBehaviour(Agent a, SensorPipeline sensors, DutyCycle dutyCycle, long period) {
+        super(a, period);
+        this.sensors = sensors;
+        this.dutyCycle = dutyCycle;
+        this.nextReport = SimulationClock.get().now() + REPORT_PERIOD;
+    }
+
+    @Override
+    protected void onTick() {
+        long now = SimulationClock.get().now();
+        sensors.sample(now);
+        sensors.process();
+
+        long period = dutyCycle.update(now, ((AgentRobot) myAgent).getBatteryLevel());
+        if (period != getPeriod()) {
+            reset(period);
+        }
+
+        if (now >= nextReport) {
+            System.out.println(myAgent.getLocalName() + ": Sensor duty cycle: " + dutyCycle);
+            nextReport = now + REPORT_PERIOD;
+        }
+    }
+}
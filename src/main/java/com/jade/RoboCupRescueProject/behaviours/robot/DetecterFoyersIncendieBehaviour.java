@@ -1,87 +1,93 @@
 package com.jade.RoboCupRescueProject.behaviours.robot;
 
+import jade.core.AID;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
 import java.util.*;
-
+import com.jade.RoboCupRescueProject.agents.AgentRobot;
+import com.jade.RoboCupRescueProject.messages.DeltaReporter;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.Outbox;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.sensing.Detector;
+import com.jade.RoboCupRescueProject.sensing.SensorPipeline;
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
+
+/**
+ * Detects fire hotspots with the robot's sensor pipeline and reports them.
+ * A scan point is a hotspot when both its temperature and its infrared reading are high;
+ * a known hotspot is reported again when its temperature changes.
+ */
 public class DetecterFoyersIncendieBehaviour extends CyclicBehaviour {
+    private static final String DETECTOR = "fire-hotspot";
+
     private Map<String, FireHotspot> detectedHotspots;
     private static final double TEMPERATURE_THRESHOLD = 60.0; // Celsius
     private static final double INFRARED_THRESHOLD = 100.0;
+    // Temperature change, in Celsius, for which a hotspot change is announced
+    private static final double TEMPERATURE_CHANGE = 10.0;
+    private static final long SCAN_INTERVAL = 500; // milliseconds
+    // Temperature change, in Celsius, for which a hotspot is reported again
+    private static final double TEMPERATURE_REPORT_THRESHOLD = 5.0;
+
+    // Shared timer of the agent, used instead of polling
+    private final DeadlineScheduler scheduler;
+
+    // Last readings sent to the swarm leader
+    private final DeltaReporter hotspotDelta;
+
+    // Location label of each scan point
+    private final String[] pointLocations;
 
     public DetecterFoyersIncendieBehaviour(Agent a) {
         super(a);
         this.detectedHotspots = new HashMap<>();
+        this.scheduler = DeadlineScheduler.of(a);
+        this.hotspotDelta = DeltaReporter.fromSystemProperties()
+                .withThreshold("temperature", TEMPERATURE_REPORT_THRESHOLD);
+
+        SensorPipeline sensors = ((AgentRobot) a).getSensors();
+        this.pointLocations = new String[sensors.getPoints()];
+        for (int i = 0; i < pointLocations.length; i++) {
+            pointLocations[i] = "POINT_" + i;
+        }
+        // Temperature and infrared must both be high; values are in evidence order
+        sensors.addDetector(Detector.named(DETECTOR)
+                .evidence(AgentRobot.CHANNEL_TEMPERATURE, 0.5, TEMPERATURE_THRESHOLD, Double.POSITIVE_INFINITY)
+                .evidence(AgentRobot.CHANNEL_INFRARED, 0.5, INFRARED_THRESHOLD, Double.POSITIVE_INFINITY)
+                .minScore(1.0)
+                .reportChange(AgentRobot.CHANNEL_TEMPERATURE, TEMPERATURE_CHANGE),
+                (point, score, values, isNew) -> updateHotspot(pointLocations[point], values[0], values[1], isNew));
         System.out.println(myAgent.getLocalName() + ": Starting fire detection behavior");
     }
 
     @Override
     public void action() {
-        // Perform thermal scan
-        Map<String, Double> thermalData = performThermalScan();
-
-        // Analyze thermal data
-        analyzeHotspots(thermalData);
-
-        // Report findings
-        reportHotspots();
-
-        block(500); // Scan every 500ms
-    }
-
-    private Map<String, Double> performThermalScan() {
-        Map<String, Double> thermalData = new HashMap<>();
-
-        // Simulate thermal camera readings
-        double baseTemp = 25.0; // Base ambient temperature
-
-        // Simulate multiple points in the scan area
-        for (int i = 0; i < 5; i++) {
-            String location = "POINT_" + i;
-            double temperature = baseTemp + Math.random() * 100; // 25-125°C
-            thermalData.put(location, temperature);
+        // Ignore wake-ups caused by incoming messages
+        if (!scheduler.isDue(this)) {
+            block();
+            return;
         }
 
-        return thermalData;
-    }
-
-    private void analyzeHotspots(Map<String, Double> thermalData) {
-        for (Map.Entry<String, Double> entry : thermalData.entrySet()) {
-            String location = entry.getKey();
-            double temperature = entry.getValue();
-
-            if (temperature > TEMPERATURE_THRESHOLD) {
-                // Confirm with infrared reading
-                double infraredReading = getInfraredReading(location);
-
-                if (infraredReading > INFRARED_THRESHOLD) {
-                    // Confirmed hotspot
-                    updateHotspot(location, temperature, infraredReading);
-                }
-            }
-        }
-    }
+        // Report the hotspots found by the sensor pipeline
+        reportHotspots();
 
-    private double getInfraredReading(String location) {
-        // Simulate infrared sensor reading
-        return Math.random() * 200; // 0-200 arbitrary units
+        // Report as often as the sensors are sampled, every 500ms at most
+        long interval = Math.max(SCAN_INTERVAL, ((AgentRobot) myAgent).getDutyCycle().getPeriod());
+        scheduler.sleepUntil(this, SimulationClock.get().now() + interval);
     }
 
-    private void updateHotspot(String location, double temperature, double infraredReading) {
+    private void updateHotspot(String location, double temperature, double infraredReading, boolean isNew) {
         FireHotspot hotspot = new FireHotspot(location, temperature, infraredReading);
-
-        if (!detectedHotspots.containsKey(location)) {
+        detectedHotspots.put(location, hotspot);
+        if (isNew) {
             // New hotspot detected
-            detectedHotspots.put(location, hotspot);
             reportNewHotspot(hotspot);
         } else {
-            // Update existing hotspot
-            FireHotspot existing = detectedHotspots.get(location);
-            if (Math.abs(existing.temperature - temperature) > 10) {
-                detectedHotspots.put(location, hotspot);
-                reportHotspotChange(hotspot);
-            }
+            // Temperature of a known hotspot changed
+            reportHotspotChange(hotspot);
         }
     }
 
@@ -98,17 +104,32 @@ public class DetecterFoyersIncendieBehaviour extends CyclicBehaviour {
     }
 
     private void reportHotspots() {
-        // Periodically report all active hotspots
-        if (!detectedHotspots.isEmpty()) {
-            ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
-            StringBuilder report = new StringBuilder("ACTIVE_HOTSPOTS:");
+        // Report the hotspots that changed since the last report, and all of them for periodic
+        // snapshots, to the swarm leader. The agent's outbox keeps the latest reading of each
+        // hotspot and sends them together once per window
+        String teamLeader = ((AgentRobot) myAgent).getTeamLeader();
+        if (teamLeader == null) {
+            return;
+        }
 
-            for (FireHotspot hotspot : detectedHotspots.values()) {
-                report.append("\n").append(hotspot.toString());
+        Outbox outbox = Outbox.of(myAgent);
+        AID leader = new AID(teamLeader, AID.ISLOCALNAME);
+        DeltaReporter.Round round = hotspotDelta.begin(teamLeader);
+        for (FireHotspot hotspot : detectedHotspots.values()) {
+            if (!outbox.hasCapacity()) {
+                // Outbox full, the hotspot is reported again on the next scan
+                break;
+            }
+            if (!round.changed(hotspot.location, "temperature", hotspot.temperature)) {
+                continue;
+            }
+            ACLMessage msg = MessageCodec.create(ACLMessage.INFORM, new TypedMessage.HotspotReport(
+                    hotspot.location, hotspot.temperature, hotspot.infraredReading));
+            msg.addReceiver(leader);
+            // A reading the outbox refused is still unsent, and offered again on the next scan
+            if (outbox.offer(msg, "hotspot:" + hotspot.location)) {
+                round.commit(hotspot.location, "temperature", hotspot.temperature);
             }
-
-            msg.setContent(report.toString());
-            myAgent.send(msg);
         }
     }
 
@@ -122,7 +143,7 @@ public class DetecterFoyersIncendieBehaviour extends CyclicBehaviour {
             this.location = location;
             this.temperature = temperature;
             this.infraredReading = infraredReading;
-            this.detectionTime = System.currentTimeMillis();
+            this.detectionTime = SimulationClock.get().now();
         }
 
         @Override
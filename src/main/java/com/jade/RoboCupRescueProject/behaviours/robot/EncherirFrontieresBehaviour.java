@@ -0,0 +1,80 @@
+package com.jade.RoboCupRescueProject.behaviours.robot;
+
+import com.jade.RoboCupRescueProject.agents.AgentRobot;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.MessageKind;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.*;
+import com.jade.RoboCupRescueProject.spatial.Point;
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.lang.acl.ACLMessage;
+import jade.lang.acl.MessageTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Takes part in the frontier auctions of the swarm leader.
+ *
+ * The robot bids on the offered regions with its own cost: the distance to the region, less the
+ * length of frontier it would explore there. Only the distance is raised as the battery runs down,
+ * so that robots with little battery left prefer, and get, the nearby regions. The awarded region
+ * becomes the target of the exploration.
+ */
+public class EncherirFrontieresBehaviour extends CyclicBehaviour {
+    // Bids sent per call, the cheapest ones
+    private static final int MAX_BIDS = 5;
+    // Full robot battery, in percent
+    private static final double FULL_BATTERY = 100.0;
+
+    private static final MessageTemplate AUCTION_TEMPLATE =
+            MessageCodec.matchKind(MessageKind.FRONTIER_CALL, MessageKind.FRONTIER_AWARD);
+
+    private final ExplorerZoneBehaviour explorer;
+
+    public EncherirFrontieresBehaviour(Agent a, ExplorerZoneBehaviour explorer) {
+        super(a);
+        this.explorer = explorer;
+    }
+
+    @Override
+    public void action() {
+        ACLMessage msg = myAgent.receive(AUCTION_TEMPLATE);
+        if (msg == null) {
+            block();
+            return;
+        }
+
+        TypedMessage payload = MessageCodec.read(msg);
+        if (payload instanceof FrontierCall call) {
+            bid(msg, call);
+        } else if (payload instanceof FrontierAward award) {
+            explorer.setTarget(new Point(award.x(), award.y()));
+        }
+    }
+
+    private void bid(ACLMessage msg, FrontierCall call) {
+        AgentRobot robot = (AgentRobot) myAgent;
+        if (!robot.isOperational() || call.regions().isEmpty()) {
+            return;
+        }
+
+        Point position = explorer.getPosition();
+        double batteryFactor = FULL_BATTERY / Math.max(1.0, robot.getBatteryLevel());
+        List<RegionBid> bids = new ArrayList<>(call.regions().size());
+        for (FrontierRegion region : call.regions()) {
+            double distance = position.distance(new Point(region.x(), region.y()));
+            // Both terms in meters: the frontier gained against the travel, weighted by the battery
+            double gain = region.frontierCells() * explorer.getCellSize();
+            bids.add(new RegionBid(region.id(), distance * batteryFactor - gain));
+        }
+        bids.sort(Comparator.comparingDouble(RegionBid::cost));
+
+        ACLMessage reply = MessageCodec.write(msg.createReply(), new FrontierBid(call.round(),
+                new ArrayList<>(bids.subList(0, Math.min(MAX_BIDS, bids.size())))));
+        reply.setPerformative(ACLMessage.PROPOSE);
+        myAgent.send(reply);
+    }
+}
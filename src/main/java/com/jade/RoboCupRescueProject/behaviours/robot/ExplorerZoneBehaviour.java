@@ -1,21 +1,47 @@
 package com.jade.RoboCupRescueProject.behaviours.robot;
 
+import jade.core.AID;
 import jade.core.Agent;
-import jade.core.behaviours.TickerBehaviour;
+import com.jade.RoboCupRescueProject.agents.AgentRobot;
+import com.jade.RoboCupRescueProject.exploration.ExplorationMetrics;
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.spatial.OccupancyGrid;
+import com.jade.RoboCupRescueProject.spatial.Point;
+import com.jade.RoboCupRescueProject.utils.ClockTickerBehaviour;
 import jade.lang.acl.ACLMessage;
 import java.util.*;
 
-public class ExplorerZoneBehaviour extends TickerBehaviour {
+/**
+ * Scans the area around the robot and moves it towards unexplored cells.
+ *
+ * The robot heads for the frontier region awarded by its swarm leader when it has one, and
+ * otherwise for the closest frontier cell of its own coverage grid. Exploration efficiency is
+ * tracked in {@link ExplorationMetrics} and logged periodically.
+ */
+public class ExplorerZoneBehaviour extends ClockTickerBehaviour {
+    // Radius scanned at each tick, and distance the robot moves per tick, in meters
+    public static final double SCAN_RADIUS = 5.0;
+    // Ticks between two metrics reports in the logs
+    private static final int METRICS_REPORT_TICKS = 30;
+
     private Position currentPosition;
-    private List<Position> exploredPositions;
-    private Map<String, Double> terrainDifficulty;
-    private static final double SCAN_RADIUS = 5.0;
+    // Explored cells and terrain difficulty of the exploration area, of fixed size
+    private final OccupancyGrid grid;
+    private double currentDifficulty;
+    private Map<String, SensorData> lastScan;
+    // Frontier awarded by the swarm leader, or null to head for the closest frontier
+    private Point target;
+
+    private final ExplorationMetrics metrics = new ExplorationMetrics();
+    private final double startBatteryLevel;
+    private int ticks = 0;
 
     public ExplorerZoneBehaviour(Agent a, long period) {
         super(a, period);
         this.currentPosition = new Position(0, 0);
-        this.exploredPositions = new ArrayList<>();
-        this.terrainDifficulty = new HashMap<>();
+        this.grid = OccupancyGrid.fromSystemProperties();
+        this.startBatteryLevel = ((AgentRobot) a).getBatteryLevel();
         System.out.println(myAgent.getLocalName() + ": Starting exploration behavior");
     }
 
@@ -29,17 +55,17 @@ public class ExplorerZoneBehaviour extends TickerBehaviour {
 
         // Update position
         updatePosition();
+
+        updateMetrics();
     }
 
     private void exploreArea() {
         // Simulate area scanning
         Map<String, SensorData> areaData = scanCurrentArea();
+        lastScan = areaData;
 
-        // Process and analyze terrain
+        // Process and analyze terrain, marking the scanned cells as explored
         analyzeTerrain(areaData);
-
-        // Mark position as explored
-        exploredPositions.add(new Position(currentPosition));
     }
 
     private Map<String, SensorData> scanCurrentArea() {
@@ -59,13 +85,11 @@ public class ExplorerZoneBehaviour extends TickerBehaviour {
 
     private void analyzeTerrain(Map<String, SensorData> sensorData) {
         // Calculate terrain difficulty based on sensor data
-        double difficulty = calculateTerrainDifficulty(sensorData);
-
-        String locationKey = currentPosition.toString();
-        terrainDifficulty.put(locationKey, difficulty);
+        currentDifficulty = calculateTerrainDifficulty(sensorData);
+        grid.explore(currentPosition.x, currentPosition.y, SCAN_RADIUS, currentDifficulty);
 
         // Report if terrain is too dangerous
-        if (difficulty > 0.8) { // 80% difficulty threshold
+        if (currentDifficulty > 0.8) { // 80% difficulty threshold
             reportDangerousArea();
         }
     }
@@ -91,34 +115,124 @@ public class ExplorerZoneBehaviour extends TickerBehaviour {
     private void reportDangerousArea() {
         ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
         msg.setContent("DANGEROUS_AREA:" + currentPosition +
-                ",difficulty=" + terrainDifficulty.get(currentPosition.toString()));
+                ",difficulty=" + currentDifficulty);
         myAgent.send(msg);
     }
 
     private void sendEnvironmentData() {
-        ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
-        StringBuilder data = new StringBuilder("ENVIRONMENT_DATA:");
-        data.append(currentPosition).append(";");
-        data.append(scanCurrentArea().toString());
-        msg.setContent(data.toString());
+        // Scans go to the swarm leader, which merges them into the swarm summary
+        AgentRobot robot = (AgentRobot) myAgent;
+        if (robot.getTeamLeader() == null) {
+            return;
+        }
+
+        ACLMessage msg = MessageCodec.create(ACLMessage.INFORM, new TypedMessage.EnvironmentData(
+                currentPosition.toString(),
+                lastScan.get("TEMPERATURE").value,
+                lastScan.get("RADIATION").value,
+                lastScan.get("AIR_QUALITY").value,
+                currentDifficulty,
+                robot.getBatteryLevel(),
+                robot.isOperational(),
+                robot.getDutyCycle().getEnergyPerDetection()));
+        msg.addReceiver(new AID(robot.getTeamLeader(), AID.ISLOCALNAME));
         myAgent.send(msg);
     }
 
     private void updatePosition() {
-        // Calculate next position based on exploration strategy
-        Position nextPosition = calculateNextPosition();
-        currentPosition = nextPosition;
+        if (target != null && grid.isExplored(target.x(), target.y())) {
+            // Reached, or explored on the way
+            target = null;
+        }
+        Point destination = target != null ? target : grid.nearestFrontier(currentPosition.x, currentPosition.y);
+        if (destination != null) {
+            moveTowards(destination);
+            return;
+        }
+
+        // No frontier left: the whole area is explored
+        metrics.markFullCoverage();
+        randomStep();
     }
 
-    private Position calculateNextPosition() {
+    private void moveTowards(Point destination) {
+        double dx = destination.x() - currentPosition.x;
+        double dy = destination.y() - currentPosition.y;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance <= SCAN_RADIUS) {
+            currentPosition.x = destination.x();
+            currentPosition.y = destination.y();
+        } else {
+            currentPosition.x += dx * SCAN_RADIUS / distance;
+            currentPosition.y += dy * SCAN_RADIUS / distance;
+        }
+    }
+
+    private void randomStep() {
         // Simple exploration pattern
         double angle = Math.random() * 2 * Math.PI;
         double distance = Math.random() * SCAN_RADIUS;
+        double dx = distance * Math.cos(angle);
+        double dy = distance * Math.sin(angle);
+
+        // Stay in the exploration area: turn back at its edges
+        if (!grid.contains(currentPosition.x + dx, currentPosition.y + dy)) {
+            dx = -dx;
+            dy = -dy;
+        }
+        if (grid.contains(currentPosition.x + dx, currentPosition.y + dy)) {
+            currentPosition.x += dx;
+            currentPosition.y += dy;
+        }
+    }
+
+    private void updateMetrics() {
+        AgentRobot robot = (AgentRobot) myAgent;
+        metrics.update(grid.exploredArea(), Math.max(0, startBatteryLevel - robot.getBatteryLevel()));
+        if (++ticks % METRICS_REPORT_TICKS == 0) {
+            System.out.println(myAgent.getLocalName() + String.format(": Coverage %.1f%%: ", grid.coverage() * 100)
+                    + metrics);
+        }
+    }
 
-        double newX = currentPosition.x + distance * Math.cos(angle);
-        double newY = currentPosition.y + distance * Math.sin(angle);
+    /**
+     * Set the frontier region to explore next, awarded by the swarm leader
+     * @param target A frontier cell of the region
+     */
+    public void setTarget(Point target) {
+        this.target = target;
+    }
 
-        return new Position(newX, newY);
+    /**
+     * Get the current position of the robot
+     * @return The position
+     */
+    public Point getPosition() {
+        return new Point(currentPosition.x, currentPosition.y);
+    }
+
+    /**
+     * Get the side of the cells of the robot's coverage grid
+     * @return The cell size, in meters
+     */
+    public double getCellSize() {
+        return grid.cellSize();
+    }
+
+    /**
+     * Get the coverage grid of the exploration area
+     * @return The grid
+     */
+    public OccupancyGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * Get the exploration efficiency of the robot
+     * @return The metrics
+     */
+    public ExplorationMetrics getMetrics() {
+        return metrics;
     }
 
     private static class Position {
@@ -129,11 +243,6 @@ public class ExplorerZoneBehaviour extends TickerBehaviour {
             this.y = y;
         }
 
-        Position(Position other) {
-            this.x = other.x;
-            this.y = other.y;
-        }
-
         @Override
         public String toString() {
             return String.format("(%.2f,%.2f)", x, y);
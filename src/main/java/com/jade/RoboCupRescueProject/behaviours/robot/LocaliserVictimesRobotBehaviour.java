@@ -4,207 +4,146 @@ import jade.core.AID;
 import jade.core.Agent;
 import jade.core.behaviours.CyclicBehaviour;
 import jade.lang.acl.ACLMessage;
-import jade.domain.DFService;
-import jade.domain.FIPAException;
+import jade.domain.DFSubscriber;
 import jade.domain.FIPAAgentManagement.DFAgentDescription;
 import jade.domain.FIPAAgentManagement.ServiceDescription;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicInteger;
-
+import java.util.LinkedHashSet;
+import java.util.Set;
+import com.jade.RoboCupRescueProject.agents.AgentRobot;
+import com.jade.RoboCupRescueProject.messages.Outbox;
+import com.jade.RoboCupRescueProject.sensing.Detector;
+import com.jade.RoboCupRescueProject.sensing.SensorPipeline;
+import com.jade.RoboCupRescueProject.spatial.Point;
+import com.jade.RoboCupRescueProject.tracking.VictimTrack;
+import com.jade.RoboCupRescueProject.tracking.VictimTrackManager;
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
+
+/**
+ * Locates victims with the robot's sensor pipeline and guides the rescue teams to them.
+ * The confidence of a detection is the fused score of the heartbeat, movement and body
+ * temperature evidence. Detections are merged into victim tracks by position, so a victim
+ * seen from several scan points or while the robot moves is reported once; victims not
+ * detected again for a while are dropped.
+ */
 public class LocaliserVictimesRobotBehaviour extends CyclicBehaviour {
-    // Thread-safe collections
-    private final ConcurrentHashMap<String, VictimInfo> detectedVictims;
-    private final CopyOnWriteArrayList<String> notifiedVictims;
-    private final ConcurrentHashMap<String, Long> lastUpdateTimes;
+    private static final String DETECTOR = "victim";
+
+    // Victim tracks, expired after the tracking timeout
+    private final VictimTrackManager tracks;
 
     // Constants for detection thresholds
     private static final double HEARTBEAT_THRESHOLD = 0.5;
     private static final double MOVEMENT_THRESHOLD = 0.3;
     private static final double THERMAL_MIN = 36.0;
     private static final double THERMAL_MAX = 38.0;
-    private static final long VICTIM_TIMEOUT = 10000; // 10 seconds
+    private static final double CONFIDENCE_THRESHOLD = 0.7;
     private static final long SCAN_INTERVAL = 1000; // 1 second
 
-    // Counters for statistics
-    private final AtomicInteger totalVictimsFound;
-    private final AtomicInteger activeVictims;
+    // Rescue teams registered in the DF, kept up to date by a DF subscription
+    private final Set<AID> rescueTeams;
 
-    // Cache for rescue team AIDs
-    private List<AID> rescueTeams;
-    private long lastTeamUpdate;
-    private static final long TEAM_UPDATE_INTERVAL = 30000; // 30 seconds
+    // Shared timer of the agent, used instead of polling
+    private final DeadlineScheduler scheduler;
+
+    // Guidance is coalesced per victim and batched in the agent's outbox, configured by the robot
+    private final Outbox outbox;
 
     public LocaliserVictimesRobotBehaviour(Agent a) {
         super(a);
-        this.detectedVictims = new ConcurrentHashMap<>();
-        this.notifiedVictims = new CopyOnWriteArrayList<>();
-        this.lastUpdateTimes = new ConcurrentHashMap<>();
-        this.totalVictimsFound = new AtomicInteger(0);
-        this.activeVictims = new AtomicInteger(0);
-        this.rescueTeams = new ArrayList<>();
+        this.tracks = VictimTrackManager.fromSystemProperties(SimulationClock.get().now());
+        this.rescueTeams = new LinkedHashSet<>();
+        this.scheduler = DeadlineScheduler.of(a);
+        this.outbox = Outbox.of(a);
+
+        AgentRobot robot = (AgentRobot) a;
+        SensorPipeline sensors = robot.getSensors();
+        // Every detection refreshes the victim, so no change threshold; values are in evidence order
+        sensors.addDetector(Detector.named(DETECTOR)
+                .evidence(AgentRobot.CHANNEL_HEARTBEAT, 0.4, HEARTBEAT_THRESHOLD, Double.POSITIVE_INFINITY)
+                .evidence(AgentRobot.CHANNEL_MOVEMENT, 0.3, MOVEMENT_THRESHOLD, Double.POSITIVE_INFINITY)
+                .evidence(AgentRobot.CHANNEL_BODY_TEMPERATURE, 0.3, THERMAL_MIN, THERMAL_MAX)
+                .minScore(CONFIDENCE_THRESHOLD),
+                (point, score, values, isNew) -> updateVictimLocation(robot.getScanPointPosition(point), score,
+                        values[0], values[1], values[2]));
 
         System.out.println(myAgent.getLocalName() + ": Starting victim localization behavior");
-        updateRescueTeams();
+        subscribeToRescueTeams();
     }
 
     @Override
     public void action() {
-        try {
-            // Update rescue teams list periodically
-            if (System.currentTimeMillis() - lastTeamUpdate > TEAM_UPDATE_INTERVAL) {
-                updateRescueTeams();
-            }
-
-            // Scan for victims
-            Map<String, DetectionData> currentDetections = performAreaScan();
-
-            // Process detections and update victim status
-            processDetections(currentDetections);
+        // Ignore wake-ups caused by incoming messages
+        if (!scheduler.isDue(this)) {
+            block();
+            return;
+        }
 
-            // Update existing victim statuses
+        try {
+            // Victims are detected by the sensor pipeline; update existing victim statuses
             updateVictimStatuses();
 
             // Guide rescue teams
-            if (!detectedVictims.isEmpty()) {
+            if (!tracks.isEmpty()) {
                 guideRescueTeams();
             }
 
-            // Wait before next scan
-            block(SCAN_INTERVAL);
         } catch (Exception e) {
             System.err.println(myAgent.getLocalName() + ": Error in victim localization: " + e.getMessage());
             e.printStackTrace();
         }
-    }
-
-    private Map<String, DetectionData> performAreaScan() {
-        Map<String, DetectionData> detections = new HashMap<>();
-
-        // Simulate scanning different zones
-        for (int i = 0; i < 3; i++) {
-            String zone = "ZONE_" + i;
-            DetectionData data = new DetectionData(
-                    detectHeartbeat(zone),
-                    detectMovement(zone),
-                    detectThermalSignature(zone)
-            );
-
-            if (data.isSignificant()) {
-                detections.put(zone, data);
-            }
-        }
-
-        return detections;
-    }
 
-    private double detectHeartbeat(String zone) {
-        // Simulate heartbeat detection with random noise
-        return Math.random() + (Math.random() * 0.2);
+        // Wait before next update, longer while the sensors are duty cycled
+        long interval = Math.max(SCAN_INTERVAL, ((AgentRobot) myAgent).getDutyCycle().getPeriod());
+        scheduler.sleepUntil(this, SimulationClock.get().now() + interval);
     }
 
-    private double detectMovement(String zone) {
-        // Simulate movement detection with random noise
-        return Math.random() + (Math.random() * 0.15);
-    }
-
-    private double detectThermalSignature(String zone) {
-        // Simulate thermal detection around human body temperature
-        return 36.5 + (Math.random() * 2.0);
-    }
+    private void updateVictimLocation(Point position, double confidence,
+                                      double heartbeat, double movement, double thermal) {
+        VictimTrack track = tracks.observe(position.x(), position.y(), confidence, heartbeat, movement, thermal,
+                SimulationClock.get().now());
 
-    private void processDetections(Map<String, DetectionData> detections) {
-        for (Map.Entry<String, DetectionData> entry : detections.entrySet()) {
-            String zone = entry.getKey();
-            DetectionData data = entry.getValue();
-
-            double confidence = calculateConfidence(data);
-
-            if (confidence > 0.7) { // 70% confidence threshold
-                updateVictimLocation(zone, confidence, data);
-            }
+        // Retried on every detection until the notification fits in the outbox
+        if (!tracks.isNotified(track)) {
+            notifyNewVictim(track);
         }
     }
 
-    private double calculateConfidence(DetectionData data) {
-        double confidence = 0.0;
-
-        // Weight different factors
-        if (data.heartbeat > HEARTBEAT_THRESHOLD) confidence += 0.4;
-        if (data.movement > MOVEMENT_THRESHOLD) confidence += 0.3;
-        if (data.thermal > THERMAL_MIN && data.thermal < THERMAL_MAX) confidence += 0.3;
-
-        return confidence;
-    }
-
-    private void updateVictimLocation(String zone, double confidence, DetectionData data) {
-        VictimInfo victim = new VictimInfo(zone, confidence, data);
-
-        VictimInfo previous = detectedVictims.put(zone, victim);
-        lastUpdateTimes.put(zone, System.currentTimeMillis());
+    private void notifyNewVictim(VictimTrack victim) {
+        ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
+        msg.setContent(formatVictimMessage(victim));
 
-        if (previous == null) {
-            // New victim detected
-            totalVictimsFound.incrementAndGet();
-            activeVictims.incrementAndGet();
-            notifyNewVictim(victim);
+        // Add all rescue teams as receivers
+        for (AID team : rescueTeams) {
+            msg.addReceiver(team);
         }
-    }
-
-    private void notifyNewVictim(VictimInfo victim) {
-        if (!notifiedVictims.contains(victim.location)) {
-            ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
-            msg.setContent(formatVictimMessage(victim));
 
-            // Add all rescue teams as receivers
-            for (AID team : rescueTeams) {
-                msg.addReceiver(team);
-            }
-
-            myAgent.send(msg);
-            notifiedVictims.add(victim.location);
-
-            System.out.println(myAgent.getLocalName() + ": Notified rescue teams about victim at " + victim.location);
+        if (!outbox.offer(msg)) {
+            // Outbox full, the victim will be notified on a later detection
+            return;
         }
+        tracks.markNotified(victim);
+
+        System.out.println(myAgent.getLocalName() + ": Notified rescue teams about victim " + victim.getId()
+                + " at " + victim.getLocation());
     }
 
     private void updateVictimStatuses() {
-        long currentTime = System.currentTimeMillis();
-
-        // Create a copy of locations to avoid concurrent modification
-        Set<String> locations = new HashSet<>(detectedVictims.keySet());
-
-        for (String location : locations) {
-            Long lastUpdate = lastUpdateTimes.get(location);
-            if (lastUpdate != null && (currentTime - lastUpdate > VICTIM_TIMEOUT)) {
-                // Remove victim if not detected recently
-                detectedVictims.remove(location);
-                lastUpdateTimes.remove(location);
-                notifiedVictims.remove(location);
-                activeVictims.decrementAndGet();
-
-                // Notify about victim status change
-                notifyVictimStatusChange(location, "TIMEOUT");
-            }
-        }
+        // Victims not detected recently are dropped by the track manager
+        tracks.expire(SimulationClock.get().now(), victim -> notifyVictimStatusChange(victim, "TIMEOUT"));
     }
 
     private void guideRescueTeams() {
-        // Create a snapshot of current victims
-        Map<String, VictimInfo> victims = new HashMap<>(detectedVictims);
-
-        for (Map.Entry<String, VictimInfo> entry : victims.entrySet()) {
-            VictimInfo victim = entry.getValue();
-
-            if (victim.confidence > 0.5) {
-                sendGuidanceMessage(victim);
+        for (VictimTrack victim : tracks.getTracks()) {
+            if (victim.getConfidence() > 0.5 && !sendGuidanceMessage(victim)) {
+                // Outbox full, guidance resumes on the next scan
+                break;
             }
         }
     }
 
-    private void sendGuidanceMessage(VictimInfo victim) {
+    private boolean sendGuidanceMessage(VictimTrack victim) {
         ACLMessage guidance = new ACLMessage(ACLMessage.INFORM);
         guidance.setContent("RESCUE_GUIDANCE:" + formatVictimMessage(victim));
 
@@ -212,80 +151,53 @@ public class LocaliserVictimesRobotBehaviour extends CyclicBehaviour {
             guidance.addReceiver(team);
         }
 
-        myAgent.send(guidance);
+        // Pending guidance for the same victim is replaced by the newer one
+        return outbox.offer(guidance, "guidance:" + victim.getId());
     }
 
-    private void updateRescueTeams() {
-        try {
-            DFAgentDescription template = new DFAgentDescription();
-            ServiceDescription sd = new ServiceDescription();
-            sd.setType("rescue-team");
-            template.addServices(sd);
-
-            DFAgentDescription[] result = DFService.search(myAgent, template);
+    private void subscribeToRescueTeams() {
+        DFAgentDescription template = new DFAgentDescription();
+        ServiceDescription sd = new ServiceDescription();
+        sd.setType("rescue-team");
+        template.addServices(sd);
 
-            rescueTeams = new ArrayList<>();
-            for (DFAgentDescription agent : result) {
-                rescueTeams.add(agent.getName());
+        // The DF notifies registrations and deregistrations instead of being searched on a timer
+        myAgent.addBehaviour(new DFSubscriber(myAgent, template) {
+            @Override
+            public void onRegister(DFAgentDescription dfd) {
+                rescueTeams.add(dfd.getName());
             }
 
-            lastTeamUpdate = System.currentTimeMillis();
-        } catch (FIPAException fe) {
-            fe.printStackTrace();
-        }
+            @Override
+            public void onDeregister(DFAgentDescription dfd) {
+                rescueTeams.remove(dfd.getName());
+            }
+        });
     }
 
-    private String formatVictimMessage(VictimInfo victim) {
-        return String.format("VICTIM:%s:confidence=%.2f:heartbeat=%.2f:movement=%.2f:thermal=%.1f",
-                victim.location,
-                victim.confidence,
-                victim.data.heartbeat,
-                victim.data.movement,
-                victim.data.thermal
+    private String formatVictimMessage(VictimTrack victim) {
+        return String.format("VICTIM:%s:id=%d:confidence=%.2f:heartbeat=%.2f:movement=%.2f:thermal=%.1f",
+                victim.getLocation(),
+                victim.getId(),
+                victim.getConfidence(),
+                victim.getHeartbeat(),
+                victim.getMovement(),
+                victim.getThermal()
         );
     }
 
-    private void notifyVictimStatusChange(String location, String status) {
+    private void notifyVictimStatusChange(VictimTrack victim, String status) {
         ACLMessage msg = new ACLMessage(ACLMessage.INFORM);
-        msg.setContent("VICTIM_STATUS:" + location + ":" + status);
+        msg.setContent("VICTIM_STATUS:" + victim.getLocation() + ":id=" + victim.getId() + ":" + status);
 
         for (AID team : rescueTeams) {
             msg.addReceiver(team);
         }
 
-        myAgent.send(msg);
+        outbox.offer(msg);
     }
 
-    // Inner classes for data representation
-    private static class DetectionData {
-        final double heartbeat;
-        final double movement;
-        final double thermal;
-
-        DetectionData(double heartbeat, double movement, double thermal) {
-            this.heartbeat = heartbeat;
-            this.movement = movement;
-            this.thermal = thermal;
-        }
-
-        boolean isSignificant() {
-            return heartbeat > HEARTBEAT_THRESHOLD ||
-                    movement > MOVEMENT_THRESHOLD ||
-                    (thermal > THERMAL_MIN && thermal < THERMAL_MAX);
-        }
-    }
-
-    private static class VictimInfo {
-        final String location;
-        final double confidence;
-        final DetectionData data;
-        final long timestamp;
-
-        VictimInfo(String location, double confidence, DetectionData data) {
-            this.location = location;
-            this.confidence = confidence;
-            this.data = data;
-            this.timestamp = System.currentTimeMillis();
-        }
+    public VictimTrackManager getTracks() {
+        return tracks;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,86 @@
+package com.jade.RoboCupRescueProject.exploration;
+
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
+
+/**
+ * Exploration efficiency of a robot or of a swarm: area covered per simulated minute and per
+ * percent of battery drained, and the time it took to cover the whole area.
+ *
+ * The owner updates it after every scan; the getters are read by the logs and by other agents.
+ */
+public class ExplorationMetrics {
+    private static final double MILLIS_PER_MINUTE = 60000.0;
+
+    private final long startTime;
+    private long elapsed = 0;
+    private double coveredArea = 0;
+    private double batteryDrained = 0;
+    // Time from the start to full coverage, or -1 while the area is not fully covered
+    private long fullCoverageTime = -1;
+
+    public ExplorationMetrics() {
+        this.startTime = SimulationClock.get().now();
+    }
+
+    /**
+     * Record the progress of the exploration
+     * @param coveredArea The area covered since the start, in square meters
+     * @param batteryDrained The battery drained since the start, in percent (summed over the robots of a swarm)
+     */
+    public void update(double coveredArea, double batteryDrained) {
+        this.elapsed = SimulationClock.get().now() - startTime;
+        this.coveredArea = coveredArea;
+        this.batteryDrained = batteryDrained;
+    }
+
+    /**
+     * Record that no frontier is left; only the first call counts
+     */
+    public void markFullCoverage() {
+        if (fullCoverageTime < 0) {
+            fullCoverageTime = SimulationClock.get().now() - startTime;
+        }
+    }
+
+    public double getCoveredArea() {
+        return coveredArea;
+    }
+
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Get the area covered per simulated minute
+     * @return The rate in square meters per minute, 0 before the first minute has started
+     */
+    public double getAreaPerMinute() {
+        return elapsed > 0 ? coveredArea * MILLIS_PER_MINUTE / elapsed : 0;
+    }
+
+    /**
+     * Get the area covered per percent of battery drained
+     * @return The rate in square meters per percent, or NaN while no battery has been drained
+     */
+    public double getAreaPerBatteryPercent() {
+        return batteryDrained > 0 ? coveredArea / batteryDrained : Double.NaN;
+    }
+
+    /**
+     * Get the time it took to cover the whole area
+     * @return The time in simulated milliseconds, or -1 if the area is not fully covered yet
+     */
+    public long getTimeToFullCoverage() {
+        return fullCoverageTime;
+    }
+
+    @Override
+    public String toString() {
+        String summary = String.format("%.0f m2 in %.1f min (%.1f m2/min, %.1f m2/%% battery)",
+                coveredArea, elapsed / MILLIS_PER_MINUTE, getAreaPerMinute(), getAreaPerBatteryPercent());
+        if (fullCoverageTime >= 0) {
+            summary += String.format(", fully covered after %.1f min", fullCoverageTime / MILLIS_PER_MINUTE);
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,242 @@
+package com.jade.RoboCupRescueProject.exploration;
+
+import com.jade.RoboCupRescueProject.messages.TypedMessage.FrontierBid;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.FrontierCall;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.FrontierRegion;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.RegionBid;
+import com.jade.RoboCupRescueProject.spatial.OccupancyGrid;
+import com.jade.RoboCupRescueProject.spatial.Point;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared coverage map of a swarm, and the frontier auctions that spread its robots.
+ *
+ * The swarm leader merges the scans of all its robots into one grid. At every round it groups
+ * the frontier cells of the grid into square regions and offers the largest ones to the robots;
+ * each robot bids its own cost for the regions (it knows its position and battery better than the
+ * leader), and each region is awarded to at most one robot, lowest bids first, so that robots
+ * explore different parts of the area.
+ *
+ * Not thread-safe: it belongs to the swarm leader and is used from its thread.
+ */
+public class FrontierPlanner {
+    // Side of the regions frontier cells are grouped in, in meters
+    private static final double REGION_SIZE = 20.0;
+
+    private final OccupancyGrid grid;
+    private final double scanRadius;
+    private final Map<String, RobotState> robots = new LinkedHashMap<>();
+    private final ExplorationMetrics metrics = new ExplorationMetrics();
+
+    private int round = 0;
+    private List<FrontierRegion> openRegions = List.of();
+
+    /**
+     * Battery and status of a robot of the swarm
+     */
+    private static final class RobotState {
+        final double firstBatteryLevel;
+        double batteryLevel;
+        boolean operational;
+        // Battery spent on sensing per detection, in percent; 0 until the robot detects something
+        double energyPerDetection;
+
+        RobotState(double batteryLevel) {
+            this.firstBatteryLevel = batteryLevel;
+            this.batteryLevel = batteryLevel;
+        }
+    }
+
+    /**
+     * Frontier cells of a region, while regions are being built
+     */
+    private static final class RegionBuilder {
+        int cells;
+        double sumX;
+        double sumY;
+        Point target;
+        double targetDistance = Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Create a planner
+     * @param grid The shared grid, with the same area and resolution as the robots' grids
+     * @param scanRadius The scan radius of the robots, in meters
+     */
+    public FrontierPlanner(OccupancyGrid grid, double scanRadius) {
+        this.grid = grid;
+        this.scanRadius = scanRadius;
+    }
+
+    /**
+     * Merge the scan of a robot into the shared map
+     * @param robot The robot name
+     * @param position The scan position
+     * @param difficulty The measured terrain difficulty
+     * @param batteryLevel The battery level of the robot, in percent
+     * @param operational Whether the robot can still explore
+     * @param energyPerDetection The battery spent by the robot on sensing per detection, in percent
+     */
+    public void recordScan(String robot, Point position, double difficulty, double batteryLevel, boolean operational,
+                           double energyPerDetection) {
+        RobotState state = robots.computeIfAbsent(robot, r -> new RobotState(batteryLevel));
+        state.batteryLevel = batteryLevel;
+        state.operational = operational;
+        state.energyPerDetection = energyPerDetection;
+        if (position != null) {
+            grid.explore(position.x(), position.y(), scanRadius, difficulty);
+        }
+
+        double drained = 0;
+        for (RobotState robotState : robots.values()) {
+            drained += Math.max(0, robotState.firstBatteryLevel - robotState.batteryLevel);
+        }
+        metrics.update(grid.exploredArea(), drained);
+    }
+
+    /**
+     * Start an auction round on the current frontier
+     * @param maxRegions The maximum number of regions offered
+     * @return The call for bids, with no region once the whole area is explored
+     */
+    public FrontierCall openRound(int maxRegions) {
+        round++;
+        openRegions = frontierRegions(maxRegions);
+        if (openRegions.isEmpty() && grid.exploredCount() > 0) {
+            metrics.markFullCoverage();
+        }
+        return new FrontierCall(round, openRegions);
+    }
+
+    /**
+     * Close the current round: award each region to the lowest bidder that has not won another region
+     * @param bids The bids received, by robot name; bids for another round are ignored
+     * @return The region awarded to each winning robot
+     */
+    public Map<String, FrontierRegion> award(Map<String, FrontierBid> bids) {
+        record Offer(String robot, FrontierRegion region, double cost) {
+        }
+
+        List<Offer> offers = new ArrayList<>();
+        for (Map.Entry<String, FrontierBid> entry : bids.entrySet()) {
+            if (entry.getValue().round() != round) {
+                continue;
+            }
+            for (RegionBid bid : entry.getValue().bids()) {
+                if (bid.regionId() >= 0 && bid.regionId() < openRegions.size()) {
+                    offers.add(new Offer(entry.getKey(), openRegions.get(bid.regionId()), bid.cost()));
+                }
+            }
+        }
+        offers.sort(Comparator.comparingDouble(Offer::cost));
+
+        Map<String, FrontierRegion> awards = new LinkedHashMap<>();
+        Set<Integer> awardedRegions = new HashSet<>();
+        for (Offer offer : offers) {
+            if (!awards.containsKey(offer.robot()) && awardedRegions.add(offer.region().id())) {
+                awards.put(offer.robot(), offer.region());
+            }
+        }
+        return awards;
+    }
+
+    /**
+     * Get the robots that can take part in an auction
+     * @return The names of the operational robots
+     */
+    public List<String> getOperationalRobots() {
+        List<String> operational = new ArrayList<>();
+        for (Map.Entry<String, RobotState> entry : robots.entrySet()) {
+            if (entry.getValue().operational) {
+                operational.add(entry.getKey());
+            }
+        }
+        return operational;
+    }
+
+    /**
+     * Get the mean battery spent on sensing per detection, over the robots that detected something
+     * @return The energy per detection, in battery percent, or 0 if no robot detected anything
+     */
+    public double getEnergyPerDetection() {
+        double sum = 0;
+        int count = 0;
+        for (RobotState state : robots.values()) {
+            if (state.energyPerDetection > 0) {
+                sum += state.energyPerDetection;
+                count++;
+            }
+        }
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    public OccupancyGrid getGrid() {
+        return grid;
+    }
+
+    public ExplorationMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Group the frontier cells in square regions
+     * @param maxRegions The maximum number of regions
+     * @return The largest regions, each targeting its frontier cell closest to the center of its frontier
+     */
+    private List<FrontierRegion> frontierRegions(int maxRegions) {
+        Map<Long, RegionBuilder> regions = new HashMap<>();
+        for (int cell = 0; cell < grid.cellCount(); cell++) {
+            if (grid.isFrontier(cell)) {
+                Point center = grid.centerOf(cell);
+                RegionBuilder region = regions.computeIfAbsent(regionKey(center), k -> new RegionBuilder());
+                region.cells++;
+                region.sumX += center.x();
+                region.sumY += center.y();
+            }
+        }
+        if (regions.isEmpty()) {
+            return List.of();
+        }
+
+        for (int cell = 0; cell < grid.cellCount(); cell++) {
+            if (grid.isFrontier(cell)) {
+                Point center = grid.centerOf(cell);
+                RegionBuilder region = regions.get(regionKey(center));
+                double distance = center.distanceSq(region.sumX / region.cells, region.sumY / region.cells);
+                if (distance < region.targetDistance) {
+                    region.target = center;
+                    region.targetDistance = distance;
+                }
+            }
+        }
+
+        List<RegionBuilder> largest = new ArrayList<>(regions.values());
+        largest.sort(Comparator.comparingInt((RegionBuilder region) -> region.cells).reversed());
+        List<FrontierRegion> offered = new ArrayList<>(Math.min(maxRegions, largest.size()));
+        for (RegionBuilder region : largest) {
+            if (offered.size() == maxRegions) {
+                break;
+            }
+            offered.add(new FrontierRegion(offered.size(), region.target.x(), region.target.y(), region.cells));
+        }
+        return offered;
+    }
+
+    private static long regionKey(Point point) {
+        long x = (long) Math.floor(point.x() / REGION_SIZE);
+        long y = (long) Math.floor(point.y() / REGION_SIZE);
+        return (x << 32) ^ (y & 0xffffffffL);
+    }
+}
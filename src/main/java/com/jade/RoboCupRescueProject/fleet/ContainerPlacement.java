@@ -0,0 +1,237 @@
+package com.jade.RoboCupRescueProject.fleet;
+
+import com.jade.RoboCupRescueProject.PeripheralContainer;
+import com.jade.RoboCupRescueProject.utils.AgentThreads;
+import com.jade.RoboCupRescueProject.utils.ContainerManager;
+import jade.core.Profile;
+import jade.core.ProfileImpl;
+import jade.core.Runtime;
+import jade.wrapper.AgentContainer;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Distributes the groups of a fleet over the containers named in the spec.
+ *
+ * Three modes are available, selected with the system property {@value #MODE_PROPERTY}:
+ * - single: every agent runs in the main container and container names are ignored (default)
+ * - local: each named container is a peripheral container of this JVM
+ * - jvm: each named container is a separate JVM running {@link PeripheralContainer}
+ *
+ * The agents of the main container are started first, so the coordinators are up before the
+ * districts join. The peripheral containers then start their part of the fleet in parallel and
+ * report when it is ready. Agents of the same container talk to each other without leaving their
+ * JVM, so placing a district's units with their team leader keeps most traffic local. Containers
+ * on other hosts can be started by hand with {@link PeripheralContainer} and are not waited for.
+ */
+public class ContainerPlacement {
+    public static final String MODE_PROPERTY = "simulation.containers";
+
+    // Line printed by a peripheral JVM once its agents are ready, followed by the ready and expected counts
+    public static final String READY_MARKER = "FLEET-READY";
+
+    // Time given to a peripheral JVM to start, on top of the fleet timeout, in milliseconds
+    private static final long JVM_START_TIME = 30000;
+
+    /**
+     * Ways of running the named containers
+     */
+    public enum Mode {
+        SINGLE, LOCAL, JVM;
+
+        /**
+         * Get the mode set by the simulation.containers system property
+         * @return The configured mode, single by default
+         */
+        public static Mode fromSystemProperties() {
+            String name = System.getProperty(MODE_PROPERTY, "single").trim().toUpperCase();
+            try {
+                return valueOf(name);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown container mode '" + name + "', using SINGLE");
+                return SINGLE;
+            }
+        }
+    }
+
+    private final Mode mode;
+    private final Profile mainProfile;
+    private final FleetLauncher mainLauncher;
+    private final List<Process> processes = new ArrayList<>();
+
+    // Local containers block while their agents start, so each one gets its own thread rather than the common pool
+    private final ExecutorService localStarters =
+            Executors.newThreadPerTaskExecutor(Thread.ofPlatform().daemon().name("container-start-", 0).factory());
+
+    public ContainerPlacement(Mode mode, Profile mainProfile, AgentContainer mainContainer) {
+        this.mode = mode;
+        this.mainProfile = mainProfile;
+        this.mainLauncher = FleetLauncher.fromSystemProperties(mainContainer);
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Start the fleet in its containers and wait until it is ready
+     * @param spec The fleet
+     * @return The readiness of all containers together
+     * @throws InterruptedException If the calling thread is interrupted while waiting
+     */
+    public FleetLauncher.Report launch(FleetSpec spec) throws InterruptedException {
+        if (mode == Mode.SINGLE || spec.getPeripheralContainers().isEmpty()) {
+            return mainLauncher.launch(spec);
+        }
+
+        // Coordinators first, then every district in parallel
+        FleetLauncher.Report main = mainLauncher.launch(spec.forContainer(FleetSpec.MAIN_CONTAINER));
+
+        List<String> names = spec.getPeripheralContainers();
+        List<CompletableFuture<FleetLauncher.Report>> reports = new ArrayList<>();
+        for (String name : names) {
+            FleetSpec part = spec.forContainer(name);
+            reports.add(mode == Mode.LOCAL ? launchLocal(name, part) : launchJvm(name, part));
+        }
+
+        int expected = main.expected();
+        int ready = main.ready();
+        List<String> failed = new ArrayList<>(main.failed());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(mainLauncher.getTimeout() + JVM_START_TIME);
+        for (int i = 0; i < names.size(); i++) {
+            FleetLauncher.Report report = await(names.get(i), spec.forContainer(names.get(i)), reports.get(i), deadline);
+            expected += report.expected();
+            ready += report.ready();
+            failed.addAll(report.failed());
+        }
+        return new FleetLauncher.Report(expected, ready, failed);
+    }
+
+    /**
+     * Stop the peripheral JVMs started by this placement
+     */
+    public void shutdown() {
+        localStarters.shutdownNow();
+        synchronized (processes) {
+            for (Process process : processes) {
+                process.destroy();
+            }
+        }
+    }
+
+    private CompletableFuture<FleetLauncher.Report> launchLocal(String name, FleetSpec part) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                AgentContainer container = Runtime.instance().createAgentContainer(peripheralProfile(name));
+                return FleetLauncher.fromSystemProperties(container).launch(part);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while starting container " + name);
+            }
+        }, localStarters);
+    }
+
+    private CompletableFuture<FleetLauncher.Report> launchJvm(String name, FleetSpec part) {
+        CompletableFuture<FleetLauncher.Report> ready = new CompletableFuture<>();
+
+        // Same classpath and simulation settings as this JVM
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        for (Map.Entry<Object, Object> property : System.getProperties().entrySet()) {
+            if (property.getKey().toString().startsWith("simulation.")) {
+                command.add("-D" + property.getKey() + "=" + property.getValue());
+            }
+        }
+        command.add(PeripheralContainer.class.getName());
+        command.add(PeripheralContainer.ATTACHED_OPTION);
+        command.add(name);
+        command.add(mainHost());
+        command.add(mainPort());
+
+        Process process;
+        try {
+            process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        } catch (IOException e) {
+            ready.completeExceptionally(e);
+            return ready;
+        }
+        synchronized (processes) {
+            processes.add(process);
+        }
+
+        // Registered here so that scenarios can address them through the container manager
+        for (FleetSpec.Group group : part.getGroups()) {
+            for (int i = 0; i < group.count(); i++) {
+                ContainerManager.getInstance().registerRemoteAgent(group.agentName(i));
+            }
+        }
+
+        // Forward the output of the JVM and watch for its readiness line
+        Thread.ofPlatform().daemon().name("container-" + name + "-output").start(() -> {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(READY_MARKER)) {
+                        String[] counts = line.substring(READY_MARKER.length()).trim().split("\\s+");
+                        ready.complete(new FleetLauncher.Report(Integer.parseInt(counts[1]),
+                                Integer.parseInt(counts[0]), List.of()));
+                    } else {
+                        System.out.println("[" + name + "] " + line);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                ready.completeExceptionally(e);
+            }
+            ready.completeExceptionally(new IllegalStateException("container JVM exited"));
+        });
+        return ready;
+    }
+
+    private FleetLauncher.Report await(String name, FleetSpec part, CompletableFuture<FleetLauncher.Report> report,
+                                       long deadline) throws InterruptedException {
+        try {
+            return report.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+            System.err.println("Container " + name + " did not start its agents: " + cause);
+            List<String> failed = new ArrayList<>();
+            for (FleetSpec.Group group : part.getGroups()) {
+                for (int i = 0; i < group.count(); i++) {
+                    failed.add(group.agentName(i));
+                }
+            }
+            return new FleetLauncher.Report(part.size(), 0, failed);
+        }
+    }
+
+    private Profile peripheralProfile(String name) {
+        Profile profile = new ProfileImpl(mainHost(), Integer.parseInt(mainPort()), null, false);
+        profile.setParameter(Profile.CONTAINER_NAME, name);
+        AgentThreads.configure(profile);
+        return profile;
+    }
+
+    private String mainHost() {
+        return mainProfile.getParameter(Profile.MAIN_HOST, "localhost");
+    }
+
+    private String mainPort() {
+        return mainProfile.getParameter(Profile.MAIN_PORT, "1099");
+    }
+}
@@ -0,0 +1,149 @@
+package com.jade.RoboCupRescueProject.fleet;
+
+import com.jade.RoboCupRescueProject.utils.AgentThreads;
+import com.jade.RoboCupRescueProject.utils.ContainerManager;
+import jade.wrapper.AgentContainer;
+import jade.wrapper.AgentController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts the agents of a fleet spec in parallel.
+ *
+ * The agents of a stage are created and started concurrently, and each one counts down the
+ * stage latch through its {@link LaunchProfile}: at the end of its setup, or from takeDown()
+ * if it stops before, in which case it is reported as failed. The launcher waits on
+ * the latch, with a deadline, before starting the next stage: nothing polls or sleeps, and the
+ * fleet is up as soon as its slowest agent is.
+ */
+public class FleetLauncher {
+    public static final String TIMEOUT_PROPERTY = "simulation.fleet.timeout";
+
+    // Default time given to the whole fleet to get ready, in milliseconds
+    private static final long DEFAULT_TIMEOUT = 30000;
+
+    /**
+     * Outcome of a launch
+     * @param expected The number of agents in the spec
+     * @param ready The number of agents that finished their setup in time
+     * @param failed The names of the agents that could not be created or stopped during their setup
+     */
+    public record Report(int expected, int ready, List<String> failed) {
+        public boolean allReady() {
+            return ready == expected;
+        }
+    }
+
+    private final AgentContainer container;
+    private final long timeout;
+
+    public FleetLauncher(AgentContainer container, long timeout) {
+        this.container = container;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Get the time given to a fleet to get ready
+     * @return The timeout in milliseconds
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Build a launcher with the timeout set by the simulation.fleet.timeout system property
+     * @param container The container the agents are started in
+     * @return The launcher
+     */
+    public static FleetLauncher fromSystemProperties(AgentContainer container) {
+        long timeout = DEFAULT_TIMEOUT;
+        String value = System.getProperty(TIMEOUT_PROPERTY);
+        if (value != null) {
+            try {
+                timeout = Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid fleet timeout '" + value + "', using " + DEFAULT_TIMEOUT + " ms");
+            }
+        }
+        return new FleetLauncher(container, timeout);
+    }
+
+    /**
+     * Start every agent of a fleet, stage by stage, and wait until they are ready
+     * @param spec The fleet
+     * @return The number of agents ready and the agents that failed
+     * @throws InterruptedException If the calling thread is interrupted while waiting
+     */
+    public Report launch(FleetSpec spec) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        List<String> failed = new ArrayList<>();
+        int ready = 0;
+
+        ExecutorService executor = newExecutor();
+        try {
+            List<FleetSpec.Group> groups = spec.getGroups();
+            int start = 0;
+            while (start < groups.size()) {
+                // Groups are sorted by stage: take every group of the current stage
+                int end = start;
+                int stageSize = 0;
+                while (end < groups.size() && groups.get(end).stage() == groups.get(start).stage()) {
+                    stageSize += groups.get(end).count();
+                    end++;
+                }
+
+                CountDownLatch latch = new CountDownLatch(stageSize);
+                AtomicInteger stageReady = new AtomicInteger();
+                List<String> stageFailures = new ArrayList<>();
+                for (FleetSpec.Group group : groups.subList(start, end)) {
+                    for (int i = 0; i < group.count(); i++) {
+                        String name = group.agentName(i);
+                        LaunchSignal signal = new LaunchSignal(name, latch, stageReady, stageFailures);
+                        LaunchProfile profile = group.profile(i).withSignal(signal);
+                        executor.execute(() -> {
+                            if (!startAgent(name, group.className(), profile)) {
+                                signal.failed();
+                            }
+                        });
+                    }
+                }
+
+                latch.await(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                synchronized (stageFailures) {
+                    failed.addAll(stageFailures);
+                }
+                ready += stageReady.get();
+                start = end;
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return new Report(spec.size(), ready, failed);
+    }
+
+    private boolean startAgent(String name, String className, LaunchProfile profile) {
+        try {
+            AgentController agent = container.createNewAgent(name, className, new Object[] {profile});
+            ContainerManager.getInstance().registerAgent(name, agent);
+            agent.start();
+            return true;
+        } catch (Exception e) {
+            System.err.println("Failed to start agent " + name + " (" + className + "): " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static ExecutorService newExecutor() {
+        if (AgentThreads.isVirtual()) {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                Thread.ofPlatform().name("fleet-launcher-", 0).daemon().factory());
+    }
+}
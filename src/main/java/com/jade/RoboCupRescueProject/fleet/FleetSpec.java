@@ -0,0 +1,251 @@
+package com.jade.RoboCupRescueProject.fleet;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Declarative description of the agents started by the simulation.
+ *
+ * The fleet is a list of groups, each starting a number of agents of one class. A group sets the
+ * name pattern of its agents, the locations they start from and their capacity (water of a
+ * firefighter, battery of a robot). Groups are started stage by stage: every agent of a stage
+ * must be ready before the next stage starts, so coordinators can be up before the units.
+ * The units of a group can report to a team leader, which sends windowed summaries of its
+ * team to the command center instead of every unit report.
+ * A group can also be placed in a named container, so that the units of one district run
+ * next to their team leader, away from the main container (see {@link ContainerPlacement}).
+ *
+ * The spec is a properties file:
+ * <pre>
+ * fleet.groups=command,firefighters
+ * fleet.command.class=AgentCentreCommande
+ * fleet.command.name=CommandCenter
+ * fleet.firefighters.class=AgentPompier
+ * fleet.firefighters.count=50
+ * fleet.firefighters.name=Firefighter-%d
+ * fleet.firefighters.stage=1
+ * fleet.firefighters.positions=BASE;(300,150);(250,300)
+ * fleet.firefighters.capacity=1000
+ * fleet.firefighters.team=FireTeamLeader
+ * fleet.firefighters.container=district-1
+ * </pre>
+ * Class names without a package are taken from the agents package. Agent names are formatted
+ * with the agent number, from 1, and positions are assigned in turn.
+ */
+public class FleetSpec {
+    public static final String FILE_PROPERTY = "simulation.fleet";
+
+    // Container of the groups not placed elsewhere
+    public static final String MAIN_CONTAINER = "main";
+
+    // Spec read from the classpath when no file is given
+    private static final String DEFAULT_RESOURCE = "fleet.properties";
+    private static final String AGENTS_PACKAGE = "com.jade.RoboCupRescueProject.agents.";
+
+    /**
+     * Agents of one class started with the same settings
+     * @param id The group ID in the spec
+     * @param className The agent class
+     * @param count The number of agents
+     * @param namePattern The format of the agent names, given the agent number
+     * @param stage The start stage, lower stages start first
+     * @param positions The start locations, assigned in turn; empty to keep the agent default
+     * @param capacity The capacity of each agent, or NaN to keep the agent default
+     * @param team The name of the leader the agents report to, or null for none
+     * @param container The name of the container the agents run in
+     */
+    public record Group(String id, String className, int count, String namePattern, int stage,
+                        List<String> positions, double capacity, String team, String container) {
+
+        /**
+         * Get the name of an agent of the group
+         * @param index The agent index, from 0
+         * @return The agent name
+         */
+        public String agentName(int index) {
+            return String.format(namePattern, index + 1);
+        }
+
+        /**
+         * Get the launch settings of an agent of the group
+         * @param index The agent index, from 0
+         * @return The settings
+         */
+        public LaunchProfile profile(int index) {
+            String position = positions.isEmpty() ? null : positions.get(index % positions.size());
+            return new LaunchProfile(position, capacity, team);
+        }
+    }
+
+    private final List<Group> groups;
+
+    public FleetSpec(List<Group> groups) {
+        List<Group> sorted = new ArrayList<>(groups);
+        sorted.sort((a, b) -> Integer.compare(a.stage(), b.stage()));
+        this.groups = Collections.unmodifiableList(sorted);
+    }
+
+    /**
+     * Get the groups of the fleet
+     * @return The groups, by stage
+     */
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Count the agents of the fleet
+     * @return The total number of agents
+     */
+    public int size() {
+        int size = 0;
+        for (Group group : groups) {
+            size += group.count();
+        }
+        return size;
+    }
+
+    /**
+     * Get the containers the groups are placed in, besides the main container
+     * @return The container names, in order of first appearance
+     */
+    public List<String> getPeripheralContainers() {
+        List<String> containers = new ArrayList<>();
+        for (Group group : groups) {
+            if (!group.container().equals(MAIN_CONTAINER) && !containers.contains(group.container())) {
+                containers.add(group.container());
+            }
+        }
+        return containers;
+    }
+
+    /**
+     * Get the part of the fleet placed in a container
+     * @param container The container name
+     * @return The groups of that container
+     */
+    public FleetSpec forContainer(String container) {
+        List<Group> placed = new ArrayList<>();
+        for (Group group : groups) {
+            if (group.container().equals(container)) {
+                placed.add(group);
+            }
+        }
+        return new FleetSpec(placed);
+    }
+
+    /**
+     * Load the fleet given by the simulation.fleet system property, then by fleet.properties
+     * on the classpath, and fall back to one agent of each type
+     * @return The fleet spec
+     */
+    public static FleetSpec fromSystemProperties() {
+        String file = System.getProperty(FILE_PROPERTY);
+        try {
+            if (file != null) {
+                try (Reader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+                    Properties properties = new Properties();
+                    properties.load(reader);
+                    return parse(properties);
+                }
+            }
+            try (InputStream in = FleetSpec.class.getClassLoader().getResourceAsStream(DEFAULT_RESOURCE)) {
+                if (in != null) {
+                    Properties properties = new Properties();
+                    properties.load(in);
+                    return parse(properties);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Invalid fleet spec " + (file != null ? file : DEFAULT_RESOURCE)
+                    + ": " + e.getMessage() + ", using the default fleet");
+        }
+        return defaultFleet();
+    }
+
+    /**
+     * Read a fleet spec
+     * @param properties The spec, in the format described above
+     * @return The fleet spec
+     * @throws IllegalArgumentException If a group is incomplete or a value is invalid
+     */
+    public static FleetSpec parse(Properties properties) {
+        String ids = properties.getProperty("fleet.groups");
+        if (ids == null || ids.isBlank()) {
+            throw new IllegalArgumentException("fleet.groups is missing");
+        }
+
+        List<Group> groups = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            id = id.trim();
+            if (id.isEmpty()) {
+                continue;
+            }
+            String prefix = "fleet." + id + ".";
+            String className = properties.getProperty(prefix + "class");
+            if (className == null || className.isBlank()) {
+                throw new IllegalArgumentException(prefix + "class is missing");
+            }
+            className = className.trim();
+            if (className.indexOf('.') < 0) {
+                className = AGENTS_PACKAGE + className;
+            }
+
+            int count = Integer.parseInt(properties.getProperty(prefix + "count", "1").trim());
+            if (count < 0) {
+                throw new IllegalArgumentException(prefix + "count must not be negative");
+            }
+            String namePattern = properties.getProperty(prefix + "name", id + "-%d").trim();
+            if (count > 1 && !namePattern.contains("%")) {
+                throw new IllegalArgumentException(prefix + "name must contain %d for several agents");
+            }
+            int stage = Integer.parseInt(properties.getProperty(prefix + "stage", "0").trim());
+
+            List<String> positions = new ArrayList<>();
+            for (String position : properties.getProperty(prefix + "positions", "").split(";")) {
+                if (!position.isBlank()) {
+                    positions.add(position.trim());
+                }
+            }
+            String capacity = properties.getProperty(prefix + "capacity");
+            String team = properties.getProperty(prefix + "team");
+            String container = properties.getProperty(prefix + "container", MAIN_CONTAINER).trim();
+            groups.add(new Group(id, className, count, namePattern, stage, positions,
+                    capacity == null ? Double.NaN : Double.parseDouble(capacity.trim()),
+                    team == null || team.isBlank() ? null : team.trim(), container));
+        }
+        return new FleetSpec(groups);
+    }
+
+    /**
+     * Get the fleet of the original simulation: the coordinators and team leaders, then one unit
+     * of each type, the firefighter and the robot reporting to their leader
+     * @return The default fleet spec
+     */
+    public static FleetSpec defaultFleet() {
+        List<Group> groups = new ArrayList<>();
+        groups.add(single("control", "AgentCentreControle", "ControlCenter", 0, null));
+        groups.add(single("command", "AgentCentreCommande", "CommandCenter", 0, null));
+        groups.add(single("teamleader", "AgentChefEquipePompier", "FireTeamLeader", 0, null));
+        groups.add(single("swarmleader", "AgentChefEssaimRobots", "RobotSwarmLeader", 0, null));
+        groups.add(single("ambulances", "AgentAmbulancier", "Ambulance-%d", 1, null));
+        groups.add(single("logistics", "AgentLogistique", "Logistics-%d", 1, null));
+        groups.add(single("police", "AgentPolice", "Police-%d", 1, null));
+        groups.add(single("firefighters", "AgentPompier", "Firefighter-%d", 1, "FireTeamLeader"));
+        groups.add(single("robots", "AgentRobot", "Robot-%d", 1, "RobotSwarmLeader"));
+        return new FleetSpec(groups);
+    }
+
+    private static Group single(String id, String simpleClassName, String namePattern, int stage, String team) {
+        return new Group(id, AGENTS_PACKAGE + simpleClassName, 1, namePattern, stage, List.of(), Double.NaN,
+                team, MAIN_CONTAINER);
+    }
+}
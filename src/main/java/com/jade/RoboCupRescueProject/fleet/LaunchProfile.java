@@ -0,0 +1,85 @@
+package com.jade.RoboCupRescueProject.fleet;
+
+import jade.core.Agent;
+
+/**
+ * Start settings handed to an agent by the fleet launcher, as its first argument.
+ * @param position The start location, or null to keep the agent default
+ * @param capacity The capacity of the agent (water, battery), or NaN to keep the agent default
+ * @param team The name of the leader the agent reports to, or null if it reports to the command center
+ * @param signal Outcome reported to the launcher once the agent is set up or stopped, or null if nobody waits for it
+ */
+public record LaunchProfile(String position, double capacity, String team, LaunchSignal signal) {
+
+    public LaunchProfile(String position, double capacity, String team) {
+        this(position, capacity, team, null);
+    }
+
+    /**
+     * Get the settings of an agent
+     * @param agent The agent being set up
+     * @return The settings given by the launcher, or defaults if the agent was started otherwise
+     */
+    public static LaunchProfile of(Agent agent) {
+        Object[] args = agent.getArguments();
+        if (args != null && args.length > 0 && args[0] instanceof LaunchProfile profile) {
+            return profile;
+        }
+        return new LaunchProfile(null, Double.NaN, null);
+    }
+
+    /**
+     * Get a copy of these settings reporting the outcome of the start to a launcher
+     * @param signal The signal of the agent
+     * @return The settings
+     */
+    public LaunchProfile withSignal(LaunchSignal signal) {
+        return new LaunchProfile(position, capacity, team, signal);
+    }
+
+    /**
+     * Get the start location
+     * @param defaultPosition The location used when none is set
+     * @return The start location
+     */
+    public String positionOr(String defaultPosition) {
+        return position == null ? defaultPosition : position;
+    }
+
+    /**
+     * Get the capacity
+     * @param defaultCapacity The capacity used when none is set
+     * @return The capacity
+     */
+    public double capacityOr(double defaultCapacity) {
+        return Double.isNaN(capacity) ? defaultCapacity : capacity;
+    }
+
+    /**
+     * Get the leader the agent reports to
+     * @param defaultTeam The agent used when no team is set
+     * @return The local name of the leader
+     */
+    public String teamOr(String defaultTeam) {
+        return team == null ? defaultTeam : team;
+    }
+
+    /**
+     * Signal that the agent finished its setup. Must be called at the end of setup().
+     */
+    public void ready() {
+        if (signal != null) {
+            signal.ready();
+        }
+    }
+
+    /**
+     * Signal that the agent is terminating. Must be called from takeDown(), which JADE also runs
+     * when setup() throws: an agent terminating before it was ready is reported as failed.
+     */
+    public void terminated() {
+        if (signal != null) {
+            signal.failed();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.jade.RoboCupRescueProject.fleet;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outcome of the start of one agent, reported once to the fleet launcher.
+ *
+ * The first report wins: an agent that stops after it got ready is not a failure, and an
+ * agent that failed cannot get ready later. Either way the stage latch is counted down once.
+ */
+public final class LaunchSignal {
+    private final String agentName;
+    private final CountDownLatch latch;
+    private final AtomicInteger readyCount;
+    private final List<String> failures;
+    private final AtomicBoolean reported = new AtomicBoolean();
+
+    /**
+     * Create the signal of an agent
+     * @param agentName The name of the agent
+     * @param latch The latch of the stage
+     * @param readyCount The number of agents of the stage that got ready
+     * @param failures The names of the agents of the stage that failed; guarded by its own lock
+     */
+    LaunchSignal(String agentName, CountDownLatch latch, AtomicInteger readyCount, List<String> failures) {
+        this.agentName = agentName;
+        this.latch = latch;
+        this.readyCount = readyCount;
+        this.failures = failures;
+    }
+
+    /**
+     * Report that the agent finished its setup
+     */
+    void ready() {
+        if (reported.compareAndSet(false, true)) {
+            readyCount.incrementAndGet();
+            latch.countDown();
+        }
+    }
+
+    /**
+     * Report that the agent could not be created, or stopped before it got ready
+     */
+    void failed() {
+        if (reported.compareAndSet(false, true)) {
+            synchronized (failures) {
+                failures.add(agentName);
+            }
+            latch.countDown();
+        }
+    }
+}
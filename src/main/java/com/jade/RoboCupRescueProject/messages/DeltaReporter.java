@@ -0,0 +1,259 @@
+package com.jade.RoboCupRescueProject.messages;
+
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Remembers what a periodic reporter last sent to each recipient, so that it only sends changes.
+ *
+ * A report is made of entries (a fire, a hotspot, a resource) identified by a key, each with
+ * named fields. At every reporting round the reporter offers the current value of each field;
+ * the value is worth sending if the recipient never got it or if it moved by more than the
+ * threshold of the field (any change for fields without threshold and for text fields).
+ * Entries sent before and not offered in a round are reported as removed.
+ *
+ * Every {@value #SNAPSHOT_PROPERTY} simulated milliseconds (10 s by default) a round is a full
+ * snapshot: every field is sent again, so that a recipient that missed an update, or restarted,
+ * catches up.
+ *
+ * Not thread-safe: a reporter belongs to one behaviour and is used from the agent thread.
+ */
+public class DeltaReporter {
+    public static final String SNAPSHOT_PROPERTY = "simulation.delta.snapshot";
+
+    // Default time between two full snapshots, in milliseconds
+    private static final long DEFAULT_SNAPSHOT_PERIOD = 10000;
+
+    private final long snapshotPeriod;
+    private final Map<String, Double> thresholds = new HashMap<>();
+    private final Map<String, Recipient> recipients = new HashMap<>();
+
+    // Statistics
+    private long sentFields = 0;
+    private long suppressedFields = 0;
+
+    /**
+     * Values last sent to one recipient
+     */
+    private static final class Recipient {
+        final Map<String, Map<String, Object>> entries = new HashMap<>();
+        long lastSnapshot = Long.MIN_VALUE;
+    }
+
+    public DeltaReporter(long snapshotPeriod) {
+        this.snapshotPeriod = snapshotPeriod;
+    }
+
+    /**
+     * Build a reporter with the snapshot period set by the simulation.delta.snapshot system property
+     * @return The reporter, without thresholds
+     */
+    public static DeltaReporter fromSystemProperties() {
+        long period = DEFAULT_SNAPSHOT_PERIOD;
+        String value = System.getProperty(SNAPSHOT_PROPERTY);
+        if (value != null) {
+            try {
+                period = Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid snapshot period '" + value + "', using " + DEFAULT_SNAPSHOT_PERIOD + " ms");
+            }
+        }
+        return new DeltaReporter(period);
+    }
+
+    /**
+     * Set the smallest change of a numeric field worth sending
+     * @param field The field name
+     * @param threshold The threshold, in the unit of the field
+     * @return This reporter, for chaining
+     */
+    public DeltaReporter withThreshold(String field, double threshold) {
+        thresholds.put(field, threshold);
+        return this;
+    }
+
+    /**
+     * Start a reporting round for a recipient
+     * @param recipient The recipient name
+     * @return The round, to offer the current values to
+     */
+    public Round begin(String recipient) {
+        Recipient state = recipients.computeIfAbsent(recipient, r -> new Recipient());
+        long now = SimulationClock.get().now();
+        boolean snapshot = state.lastSnapshot == Long.MIN_VALUE || now - state.lastSnapshot >= snapshotPeriod;
+        if (snapshot) {
+            state.lastSnapshot = now;
+        }
+        return new Round(state, snapshot);
+    }
+
+    /**
+     * Forget what was sent to a recipient; its next round is a snapshot
+     * @param recipient The recipient name
+     */
+    public void reset(String recipient) {
+        recipients.remove(recipient);
+    }
+
+    /**
+     * Forget an entry sent to a recipient, without reporting it as removed
+     * @param recipient The recipient name
+     * @param key The entry key
+     */
+    public void forget(String recipient, String key) {
+        Recipient state = recipients.get(recipient);
+        if (state != null) {
+            state.entries.remove(key);
+        }
+    }
+
+    /**
+     * Get the number of field values sent since the reporter started
+     * @return The sent count
+     */
+    public long getSentFields() {
+        return sentFields;
+    }
+
+    /**
+     * Get the number of field values not sent because they had not changed enough
+     * @return The suppressed count
+     */
+    public long getSuppressedFields() {
+        return suppressedFields;
+    }
+
+    /**
+     * One reporting round for one recipient
+     */
+    public final class Round {
+        private final Recipient state;
+        private final boolean snapshot;
+        private final Set<String> offeredKeys = new HashSet<>();
+        private boolean changed = false;
+
+        private Round(Recipient state, boolean snapshot) {
+            this.state = state;
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * Check whether this round is a full snapshot
+         * @return true if every field is sent in this round
+         */
+        public boolean isSnapshot() {
+            return snapshot;
+        }
+
+        /**
+         * Offer the current value of a numeric field
+         * @param key The entry key
+         * @param field The field name
+         * @param value The current value
+         * @return true if the value must be sent; it is then recorded as sent
+         */
+        public boolean offer(String key, String field, double value) {
+            boolean send = changed(key, field, value);
+            if (send) {
+                commit(key, field, value);
+            }
+            return send;
+        }
+
+        /**
+         * Check whether the current value of a numeric field must be sent, without recording it.
+         * For senders that may fail to send: the value is recorded by {@link #commit} once sent.
+         * @param key The entry key
+         * @param field The field name
+         * @param value The current value
+         * @return true if the value must be sent
+         */
+        public boolean changed(String key, String field, double value) {
+            Map<String, Object> sent = entry(key);
+            Object previous = sent.get(field);
+            double threshold = thresholds.getOrDefault(field, 0.0);
+            boolean send = snapshot || !(previous instanceof Double last)
+                    || (threshold > 0 ? Math.abs(value - last) >= threshold : value != last);
+            if (!send) {
+                suppressedFields++;
+            }
+            return send;
+        }
+
+        /**
+         * Record the value of a numeric field as sent
+         * @param key The entry key
+         * @param field The field name
+         * @param value The value sent
+         */
+        public void commit(String key, String field, double value) {
+            record(entry(key), field, value, true);
+        }
+
+        /**
+         * Offer the current value of a text field
+         * @param key The entry key
+         * @param field The field name
+         * @param value The current value
+         * @return true if the value must be sent; it is then recorded as sent
+         */
+        public boolean offer(String key, String field, String value) {
+            Map<String, Object> sent = entry(key);
+            boolean send = snapshot || !sent.containsKey(field) || !Objects.equals(sent.get(field), value);
+            return record(sent, field, value, send);
+        }
+
+        /**
+         * Get the entries sent before and not offered in this round, and forget them.
+         * Must be called after every entry has been offered.
+         * @return The keys of the removed entries
+         */
+        public List<String> removed() {
+            List<String> removed = new ArrayList<>();
+            Iterator<String> it = state.entries.keySet().iterator();
+            while (it.hasNext()) {
+                String key = it.next();
+                if (!offeredKeys.contains(key)) {
+                    it.remove();
+                    removed.add(key);
+                }
+            }
+            if (!removed.isEmpty()) {
+                changed = true;
+            }
+            return removed;
+        }
+
+        /**
+         * Check whether anything has to be sent in this round
+         * @return true if a field changed or an entry was removed
+         */
+        public boolean hasChanges() {
+            return changed;
+        }
+
+        private Map<String, Object> entry(String key) {
+            offeredKeys.add(key);
+            return state.entries.computeIfAbsent(key, k -> new HashMap<>());
+        }
+
+        private boolean record(Map<String, Object> sent, String field, Object value, boolean send) {
+            if (send) {
+                sent.put(field, value);
+                sentFields++;
+                changed = true;
+            } else {
+                suppressedFields++;
+            }
+            return send;
+        }
+    }
+}
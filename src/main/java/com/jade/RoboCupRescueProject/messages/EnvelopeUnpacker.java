@@ -0,0 +1,47 @@
+package com.jade.RoboCupRescueProject.messages;
+
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.lang.acl.ACLMessage;
+import jade.lang.acl.MessageTemplate;
+
+import java.util.List;
+
+/**
+ * Opens envelopes built by an {@link Outbox} and puts the carried messages back in the
+ * agent's queue, so that agents without a {@link MessageRouter} receive them unchanged.
+ */
+public class EnvelopeUnpacker extends CyclicBehaviour {
+    private static final MessageTemplate ENVELOPE_TEMPLATE = MessageCodec.matchKind(MessageKind.ENVELOPE);
+
+    public EnvelopeUnpacker(Agent a) {
+        super(a);
+    }
+
+    @Override
+    public void action() {
+        ACLMessage msg = myAgent.receive(ENVELOPE_TEMPLATE);
+        while (msg != null) {
+            unpack(myAgent, msg);
+            msg = myAgent.receive(ENVELOPE_TEMPLATE);
+        }
+        block();
+    }
+
+    /**
+     * Put the messages carried by an envelope in the queue of an agent
+     * @param agent The receiving agent
+     * @param msg The received message
+     * @return true if the message was an envelope and has been opened
+     */
+    public static boolean unpack(Agent agent, ACLMessage msg) {
+        List<ACLMessage> messages = MessageCodec.openEnvelope(msg);
+        if (messages == null) {
+            return false;
+        }
+        for (ACLMessage carried : messages) {
+            agent.postMessage(carried);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,618 @@
+package com.jade.RoboCupRescueProject.messages;
+
+import jade.lang.acl.ACLMessage;
+import jade.lang.acl.MessageTemplate;
+
+import jade.core.AID;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import com.jade.RoboCupRescueProject.messages.TypedMessage.*;
+
+/**
+ * Compact binary codec for {@link TypedMessage} payloads.
+ *
+ * Wire format: one version byte, one {@link MessageKind} code byte, then the record
+ * fields in declaration order. Integers are zig-zag varints, doubles are 8 raw bytes,
+ * booleans are one byte and strings are a varint length (0 for null) followed by UTF-8 bytes.
+ *
+ * Encoded payloads are carried with {@link ACLMessage#setByteSequenceContent(byte[])} and
+ * flagged with the {@link #LANGUAGE} language so receivers can tell them apart from text content.
+ * Decoding walks the byte array once and never allocates regex or split arrays.
+ */
+public final class MessageCodec {
+    // ACL language used to flag binary payloads
+    public static final String LANGUAGE = "rcr-binary";
+
+    private static final byte VERSION = 1;
+
+    private MessageCodec() {
+        // Utility class
+    }
+
+    /**
+     * Encode a typed message to bytes
+     * @param message The message to encode
+     * @return The encoded bytes
+     */
+    public static byte[] encode(TypedMessage message) {
+        Writer w = new Writer();
+        w.writeByte(VERSION);
+        w.writeByte(message.kind().code());
+
+        switch (message) {
+            case FireReport m -> { w.writeString(m.location()); w.writeString(m.status()); }
+            case VictimReport m -> { w.writeString(m.location()); w.writeString(m.status()); }
+            case RoadStatusChange m -> { w.writeString(m.roadId()); w.writeString(m.status()); }
+            case SecurityPerimeter m -> {
+                w.writeString(m.zoneId()); w.writeString(m.zoneType()); w.writeString(m.status());
+            }
+            case SummaryReport m -> {
+                w.writeInt(m.totalFound()); w.writeInt(m.totalTransported());
+                w.writeInt(m.leger()); w.writeInt(m.urgent()); w.writeInt(m.critique());
+            }
+            case SituationReport m -> {
+                w.writeInt(m.activeAlerts()); w.writeInt(m.openRoads()); w.writeInt(m.closedRoads());
+                w.writeInt(m.restrictedRoads()); w.writeInt(m.securityZones());
+            }
+            case TransportReport m -> {
+                w.writeString(m.location()); w.writeString(m.facility()); w.writeString(m.triageCategory());
+            }
+            case ResourceRequest m -> {
+                w.writeString(m.resourceType()); w.writeInt(m.quantity()); w.writeString(m.location());
+            }
+            case ResourceAllocation m -> { w.writeString(m.resourceType()); w.writeInt(m.quantity()); }
+            case ResourceConfirmation m -> { w.writeString(m.resourceType()); w.writeInt(m.quantity()); }
+            case ResourcePending m -> { w.writeString(m.resourceType()); w.writeInt(m.quantity()); }
+            case StockUpdate m -> { w.writeString(m.resource()); w.writeInt(m.quantity()); }
+            case Mission m -> {
+                w.writeString(m.missionId()); w.writeString(m.type()); w.writeString(m.location());
+                w.writeInt(m.priority()); w.writeString(m.description());
+            }
+            case MissionComplete m -> { w.writeString(m.type()); w.writeString(m.location()); }
+            case FirefighterStatus m -> {
+                w.writeString(m.name()); w.writeDouble(m.waterLevel());
+                w.writeString(m.location()); w.writeBoolean(m.available());
+            }
+            case UnitStatus m -> {
+                w.writeString(m.name()); w.writeString(m.location());
+                w.writeBoolean(m.available()); w.writeDouble(m.resourceLevel());
+            }
+            case FireScenarioStart m -> {
+                w.writeString(m.idBatiment()); w.writeString(m.intensiteFeu()); w.writeInt(m.nombreVictimes());
+                w.writeBoolean(m.matieresDangereuses()); w.writeString(m.accessibilite()); w.writeInt(m.etage());
+            }
+            case ExtinguishingProgress m -> { w.writeString(m.location()); w.writeDouble(m.waterLevel()); }
+            case EnvironmentData m -> {
+                w.writeString(m.position()); w.writeDouble(m.temperature()); w.writeDouble(m.radiation());
+                w.writeDouble(m.airQuality()); w.writeDouble(m.difficulty()); w.writeDouble(m.batteryLevel());
+                w.writeBoolean(m.operational()); w.writeDouble(m.energyPerDetection());
+            }
+            case HotspotReport m -> {
+                w.writeString(m.location()); w.writeDouble(m.temperature()); w.writeDouble(m.infraredReading());
+            }
+            case TeamSummary m -> writeTeamSummary(w, m);
+            case FrontierCall m -> {
+                w.writeInt(m.round());
+                w.writeVarint(m.regions().size());
+                for (FrontierRegion region : m.regions()) {
+                    w.writeInt(region.id()); w.writeDouble(region.x()); w.writeDouble(region.y());
+                    w.writeInt(region.frontierCells());
+                }
+            }
+            case FrontierBid m -> {
+                w.writeInt(m.round());
+                w.writeVarint(m.bids().size());
+                for (RegionBid bid : m.bids()) {
+                    w.writeInt(bid.regionId()); w.writeDouble(bid.cost());
+                }
+            }
+            case FrontierAward m -> {
+                w.writeInt(m.round()); w.writeInt(m.regionId()); w.writeDouble(m.x()); w.writeDouble(m.y());
+            }
+        }
+
+        return w.toByteArray();
+    }
+
+    /**
+     * Decode bytes produced by {@link #encode(TypedMessage)}
+     * @param data The encoded bytes
+     * @return The decoded message
+     * @throws IllegalArgumentException if the payload is malformed or of an unknown version or kind
+     */
+    public static TypedMessage decode(byte[] data) {
+        if (data == null || data.length < 2 || data[0] != VERSION) {
+            throw new IllegalArgumentException("Not a typed message payload");
+        }
+        MessageKind kind = MessageKind.fromCode(data[1]);
+        if (kind == null) {
+            throw new IllegalArgumentException("Unknown message kind code: " + data[1]);
+        }
+
+        Reader r = new Reader(data, 2);
+        try {
+            switch (kind) {
+                case FIRE_REPORT: return new FireReport(r.readString(), r.readString());
+                case VICTIM_REPORT: return new VictimReport(r.readString(), r.readString());
+                case ROAD_STATUS_CHANGE: return new RoadStatusChange(r.readString(), r.readString());
+                case SECURITY_PERIMETER: return new SecurityPerimeter(r.readString(), r.readString(), r.readString());
+                case SUMMARY_REPORT:
+                    return new SummaryReport(r.readInt(), r.readInt(), r.readInt(), r.readInt(), r.readInt());
+                case SITUATION_REPORT:
+                    return new SituationReport(r.readInt(), r.readInt(), r.readInt(), r.readInt(), r.readInt());
+                case TRANSPORT_REPORT: return new TransportReport(r.readString(), r.readString(), r.readString());
+                case RESOURCE_REQUEST: return new ResourceRequest(r.readString(), r.readInt(), r.readString());
+                case RESOURCE_ALLOCATION: return new ResourceAllocation(r.readString(), r.readInt());
+                case RESOURCE_CONFIRMATION: return new ResourceConfirmation(r.readString(), r.readInt());
+                case RESOURCE_PENDING: return new ResourcePending(r.readString(), r.readInt());
+                case STOCK_UPDATE: return new StockUpdate(r.readString(), r.readInt());
+                case MISSION:
+                    return new Mission(r.readString(), r.readString(), r.readString(), r.readInt(), r.readString());
+                case MISSION_COMPLETE: return new MissionComplete(r.readString(), r.readString());
+                case FIREFIGHTER_STATUS:
+                    return new FirefighterStatus(r.readString(), r.readDouble(), r.readString(), r.readBoolean());
+                case UNIT_STATUS:
+                    return new UnitStatus(r.readString(), r.readString(), r.readBoolean(), r.readDouble());
+                case FIRE_SCENARIO_START:
+                    return new FireScenarioStart(r.readString(), r.readString(), r.readInt(),
+                            r.readBoolean(), r.readString(), r.readInt());
+                case EXTINGUISHING_PROGRESS: return new ExtinguishingProgress(r.readString(), r.readDouble());
+                case ENVIRONMENT_DATA:
+                    return new EnvironmentData(r.readString(), r.readDouble(), r.readDouble(), r.readDouble(),
+                            r.readDouble(), r.readDouble(), r.readBoolean(), r.readDouble());
+                case HOTSPOT_REPORT: return new HotspotReport(r.readString(), r.readDouble(), r.readDouble());
+                case TEAM_SUMMARY: return readTeamSummary(r);
+                case FRONTIER_CALL: return readFrontierCall(r);
+                case FRONTIER_BID: return readFrontierBid(r);
+                case FRONTIER_AWARD: return new FrontierAward(r.readInt(), r.readInt(), r.readDouble(), r.readDouble());
+                default:
+                    throw new IllegalArgumentException("Unsupported message kind: " + kind);
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated payload for " + kind, e);
+        }
+    }
+
+    private static void writeTeamSummary(Writer w, TeamSummary m) {
+        w.writeString(m.team()); w.writeInt(m.window()); w.writeBoolean(m.snapshot());
+        w.writeInt(m.reportsMerged()); w.writeInt(m.unitCount()); w.writeInt(m.availableCount());
+        w.writeDouble(m.maxIntensity());
+
+        w.writeVarint(m.changedUnits().size());
+        for (UnitState unit : m.changedUnits()) {
+            w.writeString(unit.name()); w.writeString(unit.location());
+            w.writeBoolean(unit.available()); w.writeDouble(unit.resourceLevel());
+        }
+        w.writeVarint(m.changedIncidents().size());
+        for (Incident incident : m.changedIncidents()) {
+            w.writeString(incident.key()); w.writeString(incident.type()); w.writeDouble(incident.intensity());
+        }
+        w.writeVarint(m.clearedIncidents().size());
+        for (String key : m.clearedIncidents()) {
+            w.writeString(key);
+        }
+    }
+
+    private static TeamSummary readTeamSummary(Reader r) {
+        String team = r.readString();
+        int window = r.readInt();
+        boolean snapshot = r.readBoolean();
+        int reportsMerged = r.readInt();
+        int unitCount = r.readInt();
+        int availableCount = r.readInt();
+        double maxIntensity = r.readDouble();
+
+        int count = r.readCount();
+        List<UnitState> units = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            units.add(new UnitState(r.readString(), r.readString(), r.readBoolean(), r.readDouble()));
+        }
+        count = r.readCount();
+        List<Incident> incidents = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            incidents.add(new Incident(r.readString(), r.readString(), r.readDouble()));
+        }
+        count = r.readCount();
+        List<String> cleared = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            cleared.add(r.readString());
+        }
+        return new TeamSummary(team, window, snapshot, reportsMerged, unitCount, availableCount, maxIntensity,
+                units, incidents, cleared);
+    }
+
+    private static FrontierCall readFrontierCall(Reader r) {
+        int round = r.readInt();
+        int count = r.readCount();
+        List<FrontierRegion> regions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            regions.add(new FrontierRegion(r.readInt(), r.readDouble(), r.readDouble(), r.readInt()));
+        }
+        return new FrontierCall(round, regions);
+    }
+
+    private static FrontierBid readFrontierBid(Reader r) {
+        int round = r.readInt();
+        int count = r.readCount();
+        List<RegionBid> bids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            bids.add(new RegionBid(r.readInt(), r.readDouble()));
+        }
+        return new FrontierBid(round, bids);
+    }
+
+    /**
+     * Encode a typed message into an ACL message
+     * @param acl The ACL message to fill
+     * @param message The typed payload
+     * @return The same ACL message, for chaining
+     */
+    public static ACLMessage write(ACLMessage acl, TypedMessage message) {
+        acl.setLanguage(LANGUAGE);
+        acl.setByteSequenceContent(encode(message));
+        return acl;
+    }
+
+    /**
+     * Create a new ACL message carrying a typed payload
+     * @param performative The ACL performative
+     * @param message The typed payload
+     * @return The new ACL message (receivers still have to be added)
+     */
+    public static ACLMessage create(int performative, TypedMessage message) {
+        return write(new ACLMessage(performative), message);
+    }
+
+    /**
+     * Decode the typed payload of an ACL message
+     * @param acl The ACL message
+     * @return The decoded payload, or null if the message does not carry a valid typed payload
+     */
+    public static TypedMessage read(ACLMessage acl) {
+        if (!isTyped(acl)) {
+            return null;
+        }
+        try {
+            return decode(acl.getByteSequenceContent());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check whether an ACL message carries a typed payload
+     * @param acl The ACL message
+     * @return true if the message is flagged with the binary language
+     */
+    public static boolean isTyped(ACLMessage acl) {
+        return LANGUAGE.equals(acl.getLanguage()) && acl.hasByteSequenceContent();
+    }
+
+    /**
+     * Peek at the kind of a typed ACL message without decoding its payload
+     * @param acl The ACL message
+     * @return The message kind, or null if the message is not typed
+     */
+    public static MessageKind kindOf(ACLMessage acl) {
+        if (!isTyped(acl)) {
+            return null;
+        }
+        byte[] data = acl.getByteSequenceContent();
+        if (data == null || data.length < 2 || data[0] != VERSION) {
+            return null;
+        }
+        return MessageKind.fromCode(data[1]);
+    }
+
+    /**
+     * Create a template matching typed messages of the given kinds
+     * @param kinds The accepted kinds
+     * @return A template that only inspects the kind byte of the payload
+     */
+    public static MessageTemplate matchKind(MessageKind... kinds) {
+        final MessageKind[] accepted = kinds.clone();
+        return new MessageTemplate((MessageTemplate.MatchExpression) msg -> {
+            MessageKind kind = kindOf(msg);
+            if (kind == null) {
+                return false;
+            }
+            for (MessageKind k : accepted) {
+                if (k == kind) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Check whether a message can travel inside an envelope.
+     * Envelopes do not carry reply-to addresses, so messages that set them must be sent alone.
+     * @param msg The message
+     * @return true if {@link #createEnvelope} keeps every field of the message
+     */
+    public static boolean canEnvelope(ACLMessage msg) {
+        return !msg.getAllReplyTo().hasNext();
+    }
+
+    /**
+     * Pack several messages for the same receivers into one envelope message.
+     * Each message keeps its performative, conversation fields (conversation id, reply-with,
+     * in-reply-to, reply-by, protocol), language, encoding, ontology, user-defined parameters
+     * and content; the receivers of the envelope are those of the first message.
+     * @param messages The messages to pack; see {@link #canEnvelope}
+     * @return The envelope, flagged as a typed message of kind {@link MessageKind#ENVELOPE}
+     */
+    public static ACLMessage createEnvelope(List<ACLMessage> messages) {
+        Writer w = new Writer();
+        w.writeByte(VERSION);
+        w.writeByte(MessageKind.ENVELOPE.code());
+        w.writeVarint(messages.size());
+
+        for (ACLMessage msg : messages) {
+            w.writeInt(msg.getPerformative());
+            w.writeString(msg.getConversationId());
+            w.writeString(msg.getReplyWith());
+            w.writeString(msg.getInReplyTo());
+            Date replyBy = msg.getReplyByDate();
+            w.writeBoolean(replyBy != null);
+            if (replyBy != null) {
+                w.writeLong(replyBy.getTime());
+            }
+            w.writeString(msg.getProtocol());
+            w.writeString(msg.getLanguage());
+            w.writeString(msg.getEncoding());
+            w.writeString(msg.getOntology());
+            Properties params = msg.getAllUserDefinedParameters();
+            Set<String> names = params.stringPropertyNames();
+            w.writeVarint(names.size());
+            for (String name : names) {
+                w.writeString(name);
+                w.writeString(params.getProperty(name));
+            }
+            boolean binary = msg.hasByteSequenceContent();
+            w.writeBoolean(binary);
+            if (binary) {
+                w.writeBytes(msg.getByteSequenceContent());
+            } else {
+                w.writeString(msg.getContent());
+            }
+        }
+
+        ACLMessage envelope = new ACLMessage(ACLMessage.INFORM);
+        envelope.setLanguage(LANGUAGE);
+        envelope.setByteSequenceContent(w.toByteArray());
+        if (!messages.isEmpty()) {
+            Iterator<?> receivers = messages.get(0).getAllReceiver();
+            while (receivers.hasNext()) {
+                envelope.addReceiver((AID) receivers.next());
+            }
+        }
+        return envelope;
+    }
+
+    /**
+     * Unpack the messages carried by an envelope.
+     * The unpacked messages get the sender and receivers of the envelope.
+     * @param envelope The envelope message
+     * @return The carried messages, or null if the message is not a valid envelope
+     */
+    public static List<ACLMessage> openEnvelope(ACLMessage envelope) {
+        if (kindOf(envelope) != MessageKind.ENVELOPE) {
+            return null;
+        }
+
+        Reader r = new Reader(envelope.getByteSequenceContent(), 2);
+        try {
+            int count = r.readCount();
+            List<ACLMessage> messages = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ACLMessage msg = new ACLMessage(r.readInt());
+                msg.setSender(envelope.getSender());
+                Iterator<?> receivers = envelope.getAllReceiver();
+                while (receivers.hasNext()) {
+                    msg.addReceiver((AID) receivers.next());
+                }
+                msg.setConversationId(r.readString());
+                msg.setReplyWith(r.readString());
+                msg.setInReplyTo(r.readString());
+                if (r.readBoolean()) {
+                    msg.setReplyByDate(new Date(r.readLong()));
+                }
+                msg.setProtocol(r.readString());
+                msg.setLanguage(r.readString());
+                msg.setEncoding(r.readString());
+                msg.setOntology(r.readString());
+                int paramCount = r.readCount();
+                for (int j = 0; j < paramCount; j++) {
+                    String name = r.readString();
+                    String value = r.readString();
+                    if (name == null || value == null) {
+                        throw new ArrayIndexOutOfBoundsException(j);
+                    }
+                    msg.addUserDefinedParameter(name, value);
+                }
+                if (r.readBoolean()) {
+                    msg.setByteSequenceContent(r.readBytes());
+                } else {
+                    msg.setContent(r.readString());
+                }
+                messages.add(msg);
+            }
+            return messages;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Growable byte buffer used for encoding
+     */
+    private static final class Writer {
+        private byte[] buf = new byte[64];
+        private int pos = 0;
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+
+        void writeByte(byte b) {
+            ensure(1);
+            buf[pos++] = b;
+        }
+
+        void writeBoolean(boolean b) {
+            writeByte(b ? (byte) 1 : (byte) 0);
+        }
+
+        void writeVarint(int value) {
+            ensure(5);
+            while ((value & ~0x7F) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            writeVarint((value << 1) ^ (value >> 31));
+        }
+
+        void writeLong(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buf[pos++] = (byte) (value >>> shift);
+            }
+        }
+
+        void writeDouble(double value) {
+            writeLong(Double.doubleToLongBits(value));
+        }
+
+        void writeString(String s) {
+            if (s == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length + 1);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        void writeBytes(byte[] bytes) {
+            if (bytes == null) {
+                writeVarint(0);
+                return;
+            }
+            writeVarint(bytes.length + 1);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, pos, bytes.length);
+            pos += bytes.length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    /**
+     * Cursor over an encoded payload
+     */
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        boolean readBoolean() {
+            return buf[pos++] != 0;
+        }
+
+        int readVarint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buf[pos++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0 && shift < 35);
+            return value;
+        }
+
+        /**
+         * Read the element count of a list; every element takes at least one byte
+         * @return The count
+         * @throws ArrayIndexOutOfBoundsException if the payload cannot hold that many elements
+         */
+        int readCount() {
+            int count = readVarint();
+            if (count < 0 || count > buf.length - pos) {
+                throw new ArrayIndexOutOfBoundsException(count);
+            }
+            return count;
+        }
+
+        int readInt() {
+            int raw = readVarint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (buf[pos++] & 0xFFL);
+            }
+            return value;
+        }
+
+        double readDouble() {
+            return Double.longBitsToDouble(readLong());
+        }
+
+        String readString() {
+            int len = readVarint();
+            if (len == 0) {
+                return null;
+            }
+            len--;
+            // A negative length is a varint that overflowed
+            if (len < 0 || len > buf.length - pos) {
+                throw new ArrayIndexOutOfBoundsException(len);
+            }
+            String s = new String(buf, pos, len, StandardCharsets.UTF_8);
+            pos += len;
+            return s;
+        }
+
+        byte[] readBytes() {
+            int len = readVarint();
+            if (len == 0) {
+                return null;
+            }
+            len--;
+            // A negative length is a varint that overflowed
+            if (len < 0 || len > buf.length - pos) {
+                throw new ArrayIndexOutOfBoundsException(len);
+            }
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + len);
+            pos += len;
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.jade.RoboCupRescueProject.messages;
+
+/**
+ * Kinds of typed messages exchanged between agents.
+ * Each kind is identified on the wire by a single byte code, so that a receiver
+ * can dispatch a message without decoding its payload.
+ */
+public enum MessageKind {
+    FIRE_REPORT(1),
+    VICTIM_REPORT(2),
+    ROAD_STATUS_CHANGE(3),
+    SECURITY_PERIMETER(4),
+    SUMMARY_REPORT(5),
+    SITUATION_REPORT(6),
+    TRANSPORT_REPORT(7),
+    RESOURCE_REQUEST(8),
+    RESOURCE_ALLOCATION(9),
+    RESOURCE_CONFIRMATION(10),
+    RESOURCE_PENDING(11),
+    STOCK_UPDATE(12),
+    MISSION(13),
+    MISSION_COMPLETE(14),
+    FIREFIGHTER_STATUS(15),
+    FIRE_SCENARIO_START(16),
+    // Several ACL messages coalesced by an Outbox, see MessageCodec#createEnvelope
+    ENVELOPE(17),
+    EXTINGUISHING_PROGRESS(18),
+    ENVIRONMENT_DATA(19),
+    HOTSPOT_REPORT(20),
+    TEAM_SUMMARY(21),
+    FRONTIER_CALL(22),
+    FRONTIER_BID(23),
+    FRONTIER_AWARD(24),
+    UNIT_STATUS(25);
+
+    private static final MessageKind[] BY_CODE = new MessageKind[32];
+
+    static {
+        for (MessageKind kind : values()) {
+            BY_CODE[kind.code] = kind;
+        }
+    }
+
+    private final byte code;
+
+    MessageKind(int code) {
+        this.code = (byte) code;
+    }
+
+    /**
+     * Get the wire code of this kind
+     * @return The byte code
+     */
+    public byte code() {
+        return code;
+    }
+
+    /**
+     * Get the kind matching a wire code
+     * @param code The byte code
+     * @return The matching kind, or null if the code is unknown
+     */
+    public static MessageKind fromCode(int code) {
+        return (code > 0 && code < BY_CODE.length) ? BY_CODE[code] : null;
+    }
+}
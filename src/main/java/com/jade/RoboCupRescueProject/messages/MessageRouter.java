@@ -0,0 +1,309 @@
+package com.jade.RoboCupRescueProject.messages;
+
+import jade.core.Agent;
+import jade.core.behaviours.Behaviour;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.lang.acl.ACLMessage;
+import jade.lang.acl.MessageTemplate;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single entry point for the message queue of an agent.
+ *
+ * The router drains the agent queue once per activation and hands each message to the
+ * inbox of the behaviour that handles it, so handler behaviours no longer scan the whole
+ * queue with their own templates. Lookups are done, in this order, by conversation ID,
+ * by typed {@link MessageKind}, by the first token of a text content and finally by
+ * performative. Messages that match no route are dropped and counted. Envelopes built by an
+ * {@link Outbox} are opened and each carried message is routed on its own.
+ *
+ * Inboxes are created and routed when their behaviour is built, and the behaviour attaches
+ * itself in {@link Behaviour#onStart()}; messages routed before are kept until it runs.
+ */
+public class MessageRouter extends CyclicBehaviour {
+    // Default capacity of a handler inbox
+    public static final int DEFAULT_INBOX_CAPACITY = 64;
+    // Dropped messages between two warnings in the logs
+    private static final int DROP_LOG_INTERVAL = 100;
+
+    private final Map<String, Inbox> byConversation = new HashMap<>();
+    private final Map<MessageKind, Inbox> byKind = new EnumMap<>(MessageKind.class);
+    private final Map<String, Inbox> byPrefix = new HashMap<>();
+    private final Inbox[] byPerformative = new Inbox[ACLMessage.getAllPerformativeNames().length];
+
+    private long routedCount = 0;
+    private long unroutedCount = 0;
+
+    public MessageRouter(Agent a) {
+        super(a);
+    }
+
+    @Override
+    public void action() {
+        ACLMessage msg = myAgent.receive();
+        while (msg != null) {
+            dispatch(msg);
+            msg = myAgent.receive();
+        }
+        block();
+    }
+
+    /**
+     * Create an inbox for a handler behaviour, which attaches itself with {@link Inbox#attach(Behaviour)}
+     * @param capacity The maximum number of queued messages; the oldest unprotected one is dropped beyond it
+     * @return The new inbox (routes still have to be added)
+     */
+    public Inbox createInbox(int capacity) {
+        return new Inbox(myAgent, capacity);
+    }
+
+    /**
+     * Create an inbox with the default capacity
+     * @return The new inbox
+     */
+    public Inbox createInbox() {
+        return createInbox(DEFAULT_INBOX_CAPACITY);
+    }
+
+    /**
+     * Route typed messages of the given kinds to an inbox
+     * @param inbox The target inbox
+     * @param kinds The message kinds
+     */
+    public void routeKinds(Inbox inbox, MessageKind... kinds) {
+        for (MessageKind kind : kinds) {
+            byKind.put(kind, inbox);
+        }
+    }
+
+    /**
+     * Route text messages whose content starts with the given token to an inbox.
+     * The token is the content up to the first ':', ',' or space.
+     * @param inbox The target inbox
+     * @param prefixes The leading tokens
+     */
+    public void routePrefixes(Inbox inbox, String... prefixes) {
+        for (String prefix : prefixes) {
+            byPrefix.put(prefix, inbox);
+        }
+    }
+
+    /**
+     * Route messages with the given performatives to an inbox when no more specific route matches
+     * @param inbox The target inbox
+     * @param performatives The ACL performatives
+     */
+    public void routePerformatives(Inbox inbox, int... performatives) {
+        for (int performative : performatives) {
+            byPerformative[performative] = inbox;
+        }
+    }
+
+    /**
+     * Route all replies of a conversation to an inbox
+     * @param conversationId The conversation ID
+     * @param inbox The target inbox
+     */
+    public void routeConversation(String conversationId, Inbox inbox) {
+        byConversation.put(conversationId, inbox);
+    }
+
+    /**
+     * Stop routing a conversation
+     * @param conversationId The conversation ID
+     */
+    public void unrouteConversation(String conversationId) {
+        byConversation.remove(conversationId);
+    }
+
+    /**
+     * Get the number of messages delivered to an inbox
+     * @return The routed message count
+     */
+    public long getRoutedCount() {
+        return routedCount;
+    }
+
+    /**
+     * Get the number of messages that matched no route
+     * @return The unrouted message count
+     */
+    public long getUnroutedCount() {
+        return unroutedCount;
+    }
+
+    private void dispatch(ACLMessage msg) {
+        if (MessageCodec.kindOf(msg) == MessageKind.ENVELOPE) {
+            List<ACLMessage> messages = MessageCodec.openEnvelope(msg);
+            if (messages == null) {
+                unroutedCount++;
+                return;
+            }
+            for (ACLMessage carried : messages) {
+                dispatch(carried);
+            }
+            return;
+        }
+
+        Inbox inbox = findInbox(msg);
+        if (inbox != null) {
+            inbox.offer(msg);
+            routedCount++;
+        } else {
+            unroutedCount++;
+        }
+    }
+
+    private Inbox findInbox(ACLMessage msg) {
+        String conversationId = msg.getConversationId();
+        if (conversationId != null && !byConversation.isEmpty()) {
+            Inbox inbox = byConversation.get(conversationId);
+            if (inbox != null) {
+                return inbox;
+            }
+        }
+
+        MessageKind kind = MessageCodec.kindOf(msg);
+        if (kind != null) {
+            Inbox inbox = byKind.get(kind);
+            if (inbox != null) {
+                return inbox;
+            }
+        } else if (!byPrefix.isEmpty() && !msg.hasByteSequenceContent()) {
+            String token = leadingToken(msg.getContent());
+            if (token != null) {
+                Inbox inbox = byPrefix.get(token);
+                if (inbox != null) {
+                    return inbox;
+                }
+            }
+        }
+
+        int performative = msg.getPerformative();
+        if (performative >= 0 && performative < byPerformative.length) {
+            return byPerformative[performative];
+        }
+        return null;
+    }
+
+    private static String leadingToken(String content) {
+        if (content == null || content.isEmpty()) {
+            return null;
+        }
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == ':' || c == ',' || c == ' ') {
+                return content.substring(0, i);
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Bounded message queue owned by one handler behaviour.
+     *
+     * When the inbox is full the oldest message is dropped, so that a burst cannot grow the queue
+     * without bound. Messages matching a protected template, such as the replies a handler waits
+     * for, are never dropped: the oldest other message is dropped instead, and the inbox grows
+     * beyond its capacity if it only holds protected messages.
+     */
+    public static final class Inbox {
+        private final Agent agent;
+        private final int capacity;
+        private final ArrayDeque<ACLMessage> queue;
+        private Behaviour owner;
+        private MessageTemplate protectedTemplate;
+        private long droppedCount = 0;
+
+        private Inbox(Agent agent, int capacity) {
+            this.agent = agent;
+            this.capacity = capacity;
+            this.queue = new ArrayDeque<>(Math.min(capacity, 16));
+        }
+
+        /**
+         * Attach the handler behaviour, restarted whenever a message is delivered to the inbox.
+         * Called from {@link Behaviour#onStart()}, once the behaviour is fully built.
+         * @param owner The handler behaviour
+         */
+        public void attach(Behaviour owner) {
+            this.owner = owner;
+        }
+
+        /**
+         * Never drop the messages matching a template
+         * @param template The template of the protected messages
+         */
+        public void protect(MessageTemplate template) {
+            protectedTemplate = protectedTemplate == null ? template : MessageTemplate.or(protectedTemplate, template);
+        }
+
+        private boolean isProtected(ACLMessage msg) {
+            return protectedTemplate != null && protectedTemplate.match(msg);
+        }
+
+        private void offer(ACLMessage msg) {
+            if (queue.size() >= capacity && !dropOldestUnprotected() && !isProtected(msg)) {
+                // Only protected messages are queued: the new message is the one dropped
+                dropped(msg);
+                return;
+            }
+            queue.addLast(msg);
+            if (owner != null) {
+                owner.restart();
+            }
+        }
+
+        private boolean dropOldestUnprotected() {
+            Iterator<ACLMessage> it = queue.iterator();
+            while (it.hasNext()) {
+                ACLMessage queued = it.next();
+                if (!isProtected(queued)) {
+                    it.remove();
+                    dropped(queued);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void dropped(ACLMessage msg) {
+            if (droppedCount++ % DROP_LOG_INTERVAL == 0) {
+                System.err.println(agent.getLocalName() + ": Inbox " + (owner != null ? "of "
+                        + owner.getBehaviourName() + " " : "") + "full, dropped one "
+                        + ACLMessage.getPerformative(msg.getPerformative()) + " message ("
+                        + droppedCount + " dropped so far)");
+            }
+        }
+
+        /**
+         * Take the next message
+         * @return The oldest queued message, or null if the inbox is empty
+         */
+        public ACLMessage poll() {
+            return queue.pollFirst();
+        }
+
+        /**
+         * Get the number of queued messages
+         * @return The inbox size
+         */
+        public int size() {
+            return queue.size();
+        }
+
+        /**
+         * Get the number of messages dropped because the inbox was full
+         * @return The dropped message count
+         */
+        public long getDroppedCount() {
+            return droppedCount;
+        }
+    }
+}
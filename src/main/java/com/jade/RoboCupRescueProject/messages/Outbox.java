@@ -0,0 +1,293 @@
+package com.jade.RoboCupRescueProject.messages;
+
+import com.jade.RoboCupRescueProject.utils.DeadlineScheduler;
+import jade.core.AID;
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.lang.acl.ACLMessage;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Batching outbox of an agent.
+ *
+ * Messages offered to the outbox are held for a short window and grouped by receivers; when
+ * the window of a group elapses, its messages are sent as a single envelope (or as is when the
+ * group holds one message, or a message that an envelope cannot carry). A message offered with a coalescing key replaces the pending message
+ * of the same group with the same key, so periodic updates only send their latest value.
+ *
+ * The outbox holds at most a fixed number of pending messages. When it is full, offers are
+ * refused so that the caller can keep its work for a later round instead of flooding the
+ * transport. Receivers open envelopes with their {@link MessageRouter} or an {@link EnvelopeUnpacker}.
+ *
+ * An agent has a single outbox. Agents that need other settings than the defaults create it in
+ * their setup with {@link #of(Agent, long, int)}, before any behaviour calls {@link #of(Agent)}.
+ *
+ * All methods must be called from the agent thread.
+ */
+public class Outbox extends CyclicBehaviour {
+    // Default coalescing window, in simulated milliseconds
+    public static final long DEFAULT_WINDOW = 200;
+    // Default maximum number of pending messages
+    public static final int DEFAULT_CAPACITY = 256;
+
+    // One outbox per agent; the outbox references its agent, so it is held weakly to let the agent be collected
+    private static final Map<Agent, WeakReference<Outbox>> OUTBOXES = new WeakHashMap<>();
+
+    private final long window;
+    private final int capacity;
+    private final DeadlineScheduler scheduler;
+
+    // Pending groups by sorted receiver list; the window is constant, so insertion order is deadline order
+    private final Map<List<AID>, Batch> batches = new LinkedHashMap<>();
+    private int pendingCount = 0;
+
+    // Statistics
+    private long sentMessageCount = 0;
+    private long sentEnvelopeCount = 0;
+    private long coalescedCount = 0;
+    private long rejectedCount = 0;
+
+    private Outbox(Agent a, long window, int capacity) {
+        super(a);
+        this.window = window;
+        this.capacity = capacity;
+        this.scheduler = DeadlineScheduler.of(a);
+    }
+
+    /**
+     * Get the outbox of an agent, whatever its settings, creating it with the default settings on first use
+     * @param agent The agent
+     * @return The outbox of the agent
+     */
+    public static Outbox of(Agent agent) {
+        synchronized (OUTBOXES) {
+            Outbox outbox = get(agent);
+            return outbox != null ? outbox : create(agent, DEFAULT_WINDOW, DEFAULT_CAPACITY);
+        }
+    }
+
+    /**
+     * Get the outbox of an agent, creating it with the given settings on first use
+     * @param agent The agent
+     * @param window The coalescing window in simulated milliseconds; 0 sends messages immediately
+     * @param capacity The maximum number of pending messages
+     * @return The outbox of the agent
+     * @throws IllegalStateException if the outbox of the agent already exists with other settings
+     */
+    public static Outbox of(Agent agent, long window, int capacity) {
+        synchronized (OUTBOXES) {
+            Outbox outbox = get(agent);
+            if (outbox == null) {
+                return create(agent, window, capacity);
+            }
+            if (outbox.window != window || outbox.capacity != capacity) {
+                throw new IllegalStateException("Outbox of " + agent.getLocalName() + " already uses window "
+                        + outbox.window + " ms and capacity " + outbox.capacity + ", not " + window + " ms and " + capacity);
+            }
+            return outbox;
+        }
+    }
+
+    private static Outbox get(Agent agent) {
+        WeakReference<Outbox> ref = OUTBOXES.get(agent);
+        return ref != null ? ref.get() : null;
+    }
+
+    private static Outbox create(Agent agent, long window, int capacity) {
+        Outbox outbox = new Outbox(agent, window, capacity);
+        OUTBOXES.put(agent, new WeakReference<>(outbox));
+        agent.addBehaviour(outbox);
+        return outbox;
+    }
+
+    @Override
+    public void action() {
+        long now = scheduler.now();
+
+        // Send every group whose window has elapsed
+        Iterator<Batch> it = batches.values().iterator();
+        while (it.hasNext()) {
+            Batch batch = it.next();
+            if (batch.deadline > now) {
+                break;
+            }
+            it.remove();
+            send(batch);
+        }
+
+        if (!batches.isEmpty()) {
+            scheduler.schedule(this, batches.values().iterator().next().deadline);
+        }
+        block();
+    }
+
+    /**
+     * Offer a message for sending
+     * @param msg The message; its receivers must be set
+     * @return true if the message was accepted, false if the outbox is full
+     */
+    public boolean offer(ACLMessage msg) {
+        return offer(msg, null);
+    }
+
+    /**
+     * Offer a message for sending, replacing a pending message with the same key and receivers
+     * @param msg The message; its receivers must be set
+     * @param coalescingKey The key identifying the information carried, or null
+     * @return true if the message was accepted, false if the outbox is full
+     */
+    public boolean offer(ACLMessage msg, String coalescingKey) {
+        List<AID> receivers = receiversOf(msg);
+        if (receivers.isEmpty()) {
+            // Nobody to deliver to
+            return true;
+        }
+
+        Batch batch = batches.get(receivers);
+        if (batch != null && coalescingKey != null && batch.replace(coalescingKey, msg)) {
+            coalescedCount++;
+            return true;
+        }
+
+        if (pendingCount >= capacity) {
+            rejectedCount++;
+            return false;
+        }
+
+        if (window <= 0) {
+            myAgent.send(msg);
+            sentMessageCount++;
+            return true;
+        }
+
+        if (batch == null) {
+            batch = new Batch(scheduler.now() + window);
+            boolean wasIdle = batches.isEmpty();
+            batches.put(receivers, batch);
+            if (wasIdle) {
+                scheduler.schedule(this, batch.deadline);
+            }
+        }
+        batch.add(coalescingKey, msg);
+        pendingCount++;
+        return true;
+    }
+
+    /**
+     * Send all pending messages now
+     */
+    public void flush() {
+        for (Batch batch : batches.values()) {
+            send(batch);
+        }
+        batches.clear();
+        scheduler.cancel(this);
+    }
+
+    /**
+     * Check whether the outbox accepts new messages
+     * @return true if at least one more message can be queued
+     */
+    public boolean hasCapacity() {
+        return pendingCount < capacity;
+    }
+
+    /**
+     * Get the number of messages waiting for their window to elapse
+     * @return The pending message count
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    /**
+     * Get the number of messages sent, whether alone or inside an envelope
+     * @return The sent message count
+     */
+    public long getSentMessageCount() {
+        return sentMessageCount;
+    }
+
+    /**
+     * Get the number of envelopes sent
+     * @return The envelope count
+     */
+    public long getSentEnvelopeCount() {
+        return sentEnvelopeCount;
+    }
+
+    /**
+     * Get the number of messages replaced by a newer one with the same key
+     * @return The coalesced message count
+     */
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Get the number of messages refused because the outbox was full
+     * @return The rejected message count
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    private void send(Batch batch) {
+        if (batch.messages.size() == 1 || !batch.messages.stream().allMatch(MessageCodec::canEnvelope)) {
+            for (ACLMessage msg : batch.messages) {
+                myAgent.send(msg);
+            }
+        } else {
+            myAgent.send(MessageCodec.createEnvelope(batch.messages));
+            sentEnvelopeCount++;
+        }
+        sentMessageCount += batch.messages.size();
+        pendingCount -= batch.messages.size();
+    }
+
+    private static List<AID> receiversOf(ACLMessage msg) {
+        List<AID> receivers = new ArrayList<>();
+        Iterator<?> it = msg.getAllReceiver();
+        while (it.hasNext()) {
+            receivers.add((AID) it.next());
+        }
+        receivers.sort(Comparator.comparing(AID::getName));
+        return receivers;
+    }
+
+    // Inner class to represent the pending messages of one receiver group
+    private static final class Batch {
+        final long deadline;
+        final List<ACLMessage> messages = new ArrayList<>();
+        final Map<String, Integer> indexByKey = new HashMap<>();
+
+        Batch(long deadline) {
+            this.deadline = deadline;
+        }
+
+        void add(String key, ACLMessage msg) {
+            if (key != null) {
+                indexByKey.put(key, messages.size());
+            }
+            messages.add(msg);
+        }
+
+        boolean replace(String key, ACLMessage msg) {
+            Integer index = indexByKey.get(key);
+            if (index == null) {
+                return false;
+            }
+            messages.set(index, msg);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.jade.RoboCupRescueProject.messages;
+
+/**
+ * Implemented by agents whose message queue is read by a {@link MessageRouter}.
+ * Handler behaviours use it to obtain the router and register their inboxes.
+ */
+public interface RoutedAgent {
+
+    /**
+     * Get the message router of this agent
+     * @return The message router
+     */
+    MessageRouter getRouter();
+}
@@ -0,0 +1,171 @@
+package com.jade.RoboCupRescueProject.messages;
+
+import java.util.List;
+
+/**
+ * Typed payloads carried in ACL messages.
+ * Each record corresponds to one {@link MessageKind} and replaces a former
+ * colon/comma separated string protocol. Records are encoded with {@link MessageCodec}.
+ */
+public sealed interface TypedMessage {
+
+    /**
+     * Get the kind of this message
+     * @return The message kind
+     */
+    MessageKind kind();
+
+    /** Fire report sent to the command center (was "FIRE_REPORT:location,status") */
+    record FireReport(String location, String status) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.FIRE_REPORT; }
+    }
+
+    /** Victim report sent to the command center (was "VICTIM_REPORT:location,status") */
+    record VictimReport(String location, String status) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.VICTIM_REPORT; }
+    }
+
+    /** Road status change (was "ROAD_STATUS_CHANGE:roadId,status") */
+    record RoadStatusChange(String roadId, String status) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.ROAD_STATUS_CHANGE; }
+    }
+
+    /** Security perimeter update (was "SECURITY_PERIMETER:zoneId,zoneType,status") */
+    record SecurityPerimeter(String zoneId, String zoneType, String status) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.SECURITY_PERIMETER; }
+    }
+
+    /** Ambulance summary (was "SUMMARY_REPORT:total_found=..,total_transported=..,leger=..,urgent=..,critique=..") */
+    record SummaryReport(int totalFound, int totalTransported, int leger, int urgent, int critique)
+            implements TypedMessage {
+        public MessageKind kind() { return MessageKind.SUMMARY_REPORT; }
+    }
+
+    /** Police situation report (was "SITUATION_REPORT:active_alerts=..,open_roads=..,...") */
+    record SituationReport(int activeAlerts, int openRoads, int closedRoads, int restrictedRoads,
+                           int securityZones) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.SITUATION_REPORT; }
+    }
+
+    /** Completed victim transport (was "VICTIM_TRANSPORTED:..." and "TRANSPORT_REPORT:location,facility,triage") */
+    record TransportReport(String location, String facility, String triageCategory) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.TRANSPORT_REPORT; }
+    }
+
+    /** Resource request (was "RESOURCE_REQUEST:type,quantity[,location]"); location may be empty */
+    record ResourceRequest(String resourceType, int quantity, String location) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.RESOURCE_REQUEST; }
+    }
+
+    /** Resources allocated by logistics (was "RESOURCE_ALLOCATION:type,quantity") */
+    record ResourceAllocation(String resourceType, int quantity) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.RESOURCE_ALLOCATION; }
+    }
+
+    /** Resources granted to a requester (was "RESOURCE_CONFIRMATION:type,quantity") */
+    record ResourceConfirmation(String resourceType, int quantity) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.RESOURCE_CONFIRMATION; }
+    }
+
+    /** Request waiting for resupply (was "RESOURCE_PENDING:type,quantity") */
+    record ResourcePending(String resourceType, int quantity) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.RESOURCE_PENDING; }
+    }
+
+    /** Absolute stock level (was "STOCK_UPDATE:resource,quantity") */
+    record StockUpdate(String resource, int quantity) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.STOCK_UPDATE; }
+    }
+
+    /** Mission order (was "MISSION:type:location:priority:description") */
+    record Mission(String missionId, String type, String location, int priority, String description)
+            implements TypedMessage {
+        public MessageKind kind() { return MessageKind.MISSION; }
+    }
+
+    /** Mission completion (was "MISSION_COMPLETE:type:location") */
+    record MissionComplete(String type, String location) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.MISSION_COMPLETE; }
+    }
+
+    /** Firefighter heartbeat (was "STATUS:FIREFIGHTER:name:water=..:location=..:available=..") */
+    record FirefighterStatus(String name, double waterLevel, String location, boolean available)
+            implements TypedMessage {
+        public MessageKind kind() { return MessageKind.FIREFIGHTER_STATUS; }
+    }
+
+    /** Heartbeat of an ambulance or police unit; the resource level is the fraction of supplies left */
+    record UnitStatus(String name, String location, boolean available, double resourceLevel)
+            implements TypedMessage {
+        public MessageKind kind() { return MessageKind.UNIT_STATUS; }
+    }
+
+    /** Fire alert scenario start (was "START_SCENARIO:FIRE_ALERT:building:intensity:victims:hazmat:access:floor") */
+    record FireScenarioStart(String idBatiment, String intensiteFeu, int nombreVictimes,
+                             boolean matieresDangereuses, String accessibilite, int etage)
+            implements TypedMessage {
+        public MessageKind kind() { return MessageKind.FIRE_SCENARIO_START; }
+    }
+
+    /** Extinguishing progress sent to the team leader (was "EXTINGUISHING_PROGRESS:location,water_level=..") */
+    record ExtinguishingProgress(String location, double waterLevel) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.EXTINGUISHING_PROGRESS; }
+    }
+
+    /**
+     * Robot scan sent to the swarm leader (was "ENVIRONMENT_DATA:(x,y);{...}"); battery in percent,
+     * energy per detection in battery percent spent on sensing per detection
+     */
+    record EnvironmentData(String position, double temperature, double radiation, double airQuality,
+                           double difficulty, double batteryLevel, boolean operational,
+                           double energyPerDetection) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.ENVIRONMENT_DATA; }
+    }
+
+    /** Active fire hotspot seen by a robot (was one line of "ACTIVE_HOTSPOTS:...") */
+    record HotspotReport(String location, double temperature, double infraredReading) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.HOTSPOT_REPORT; }
+    }
+
+    /**
+     * Windowed summary of a team, sent by its leader to the command center.
+     * Only the units and incidents that changed since the previous summary are listed,
+     * unless the summary is a snapshot of the whole team.
+     */
+    record TeamSummary(String team, int window, boolean snapshot, int reportsMerged, int unitCount,
+                       int availableCount, double maxIntensity, List<UnitState> changedUnits,
+                       List<Incident> changedIncidents, List<String> clearedIncidents) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.TEAM_SUMMARY; }
+    }
+
+    /** Last state of a unit in a {@link TeamSummary}; the resource level is the fraction of water or battery left */
+    record UnitState(String name, String location, boolean available, double resourceLevel) {
+    }
+
+    /** Incident known to a team (fire, hotspot, dangerous area) in a {@link TeamSummary} */
+    record Incident(String key, String type, double intensity) {
+    }
+
+    /** Frontier regions of the swarm coverage map, offered by the swarm leader to its robots */
+    record FrontierCall(int round, List<FrontierRegion> regions) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.FRONTIER_CALL; }
+    }
+
+    /** Unexplored region at the edge of the explored area in a {@link FrontierCall}; (x, y) is a frontier cell */
+    record FrontierRegion(int id, double x, double y, int frontierCells) {
+    }
+
+    /** Bids of a robot on the regions of a {@link FrontierCall}; the lowest cost wins */
+    record FrontierBid(int round, List<RegionBid> bids) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.FRONTIER_BID; }
+    }
+
+    /** Cost for a robot to explore a region in a {@link FrontierBid} */
+    record RegionBid(int regionId, double cost) {
+    }
+
+    /** Frontier region awarded to a robot at the end of an auction */
+    record FrontierAward(int round, int regionId, double x, double y) implements TypedMessage {
+        public MessageKind kind() { return MessageKind.FRONTIER_AWARD; }
+    }
+}
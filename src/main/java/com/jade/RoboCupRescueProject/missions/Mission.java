@@ -0,0 +1,43 @@
+package com.jade.RoboCupRescueProject.missions;
+
+/**
+ * Mission planned by the command center.
+ * A mission is identified by its type and location, so a new report about the same place
+ * updates the existing mission instead of adding another one.
+ */
+public record Mission(String type, String location, int priority, String description) {
+    // Priority levels, the lowest value being the most urgent
+    public static final int PRIORITY_CRITICAL = 1;
+    public static final int PRIORITY_HIGH = 2;
+    public static final int PRIORITY_MEDIUM = 3;
+    public static final int PRIORITY_LOW = 4;
+
+    // Mission types
+    public static final String FIRE_FIGHTING = "FIRE_FIGHTING";
+    public static final String VICTIM_RESCUE = "VICTIM_RESCUE";
+    public static final String ROAD_CLEARING = "ROAD_CLEARING";
+    public static final String SECURITY_ZONE = "SECURITY_ZONE";
+
+    /**
+     * Get the ID of a mission
+     * @param type The mission type
+     * @param location The mission location
+     * @return The mission ID
+     */
+    public static String idOf(String type, String location) {
+        return type + ":" + location;
+    }
+
+    public String id() {
+        return idOf(type, location);
+    }
+
+    /**
+     * Copy this mission with another priority
+     * @param newPriority The new priority
+     * @return The updated mission
+     */
+    public Mission withPriority(int newPriority) {
+        return new Mission(type, location, newPriority, description);
+    }
+}
@@ -0,0 +1,215 @@
+package com.jade.RoboCupRescueProject.missions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Priority queue of missions, indexed by mission ID.
+ *
+ * Missions are kept in a binary heap ordered by priority, then by age, and a map gives the
+ * heap position of each mission ID. Insertion, removal and priority changes are therefore
+ * O(log n), so the planner can apply each report as it arrives instead of rebuilding and
+ * sorting the whole list.
+ *
+ * Not thread-safe: the queue belongs to the command center and is used from its behaviours.
+ */
+public class MissionQueue {
+    private Mission[] heap = new Mission[16];
+    // ID of each heap slot, computed once per mission
+    private String[] ids = new String[16];
+    // Insertion order of each heap slot, breaking ties between equal priorities
+    private long[] sequence = new long[16];
+    private int size = 0;
+    private long nextSequence = 0;
+
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    /**
+     * Add a mission, or update the mission with the same ID.
+     * An updated mission keeps its age, so it does not lose its place among equal priorities.
+     * @param mission The mission
+     * @return true if the mission was added, false if an existing one was updated
+     */
+    public boolean offer(Mission mission) {
+        String id = mission.id();
+        Integer position = positions.get(id);
+        if (position != null) {
+            replace(position, mission);
+            return false;
+        }
+
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+            sequence = Arrays.copyOf(sequence, size * 2);
+        }
+        heap[size] = mission;
+        ids[size] = id;
+        sequence[size] = nextSequence++;
+        positions.put(id, size);
+        siftUp(size++);
+        return true;
+    }
+
+    /**
+     * Change the priority of a mission
+     * @param missionId The mission ID
+     * @param priority The new priority
+     * @return true if the mission is in the queue
+     */
+    public boolean reprioritize(String missionId, int priority) {
+        Integer position = positions.get(missionId);
+        if (position == null) {
+            return false;
+        }
+        if (heap[position].priority() != priority) {
+            replace(position, heap[position].withPriority(priority));
+        }
+        return true;
+    }
+
+    /**
+     * Remove a mission
+     * @param missionId The mission ID
+     * @return The removed mission, or null if it was not in the queue
+     */
+    public Mission remove(String missionId) {
+        Integer position = positions.get(missionId);
+        return position == null ? null : removeAt(position);
+    }
+
+    /**
+     * Get a mission
+     * @param missionId The mission ID
+     * @return The mission, or null if it is not in the queue
+     */
+    public Mission get(String missionId) {
+        Integer position = positions.get(missionId);
+        return position == null ? null : heap[position];
+    }
+
+    public boolean contains(String missionId) {
+        return positions.containsKey(missionId);
+    }
+
+    /**
+     * Get the most urgent mission without removing it
+     * @return The mission, or null if the queue is empty
+     */
+    public Mission peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    /**
+     * Remove the most urgent mission
+     * @return The mission, or null if the queue is empty
+     */
+    public Mission poll() {
+        return size == 0 ? null : removeAt(0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the missions from the most to the least urgent.
+     * This sorts a copy of the queue; prefer {@link #peek()} when only the head is needed.
+     * @return The sorted missions
+     */
+    public List<Mission> toSortedList() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> compare(a, b));
+        List<Mission> missions = new ArrayList<>(size);
+        for (int i : order) {
+            missions.add(heap[i]);
+        }
+        return missions;
+    }
+
+    private void replace(int position, Mission mission) {
+        int previousPriority = heap[position].priority();
+        heap[position] = mission;
+        if (mission.priority() < previousPriority) {
+            siftUp(position);
+        } else if (mission.priority() > previousPriority) {
+            siftDown(position);
+        }
+    }
+
+    private Mission removeAt(int position) {
+        Mission removed = heap[position];
+        positions.remove(ids[position]);
+        size--;
+        if (position != size) {
+            move(size, position);
+            siftDown(position);
+            siftUp(position);
+        }
+        heap[size] = null;
+        ids[size] = null;
+        return removed;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (compare(parent, i) <= 0) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && compare(child + 1, child) < 0) {
+                child++;
+            }
+            if (compare(i, child) <= 0) {
+                break;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private int compare(int a, int b) {
+        int byPriority = Integer.compare(heap[a].priority(), heap[b].priority());
+        return byPriority != 0 ? byPriority : Long.compare(sequence[a], sequence[b]);
+    }
+
+    private void swap(int a, int b) {
+        Mission mission = heap[a];
+        String id = ids[a];
+        long order = sequence[a];
+        heap[a] = heap[b];
+        ids[a] = ids[b];
+        sequence[a] = sequence[b];
+        heap[b] = mission;
+        ids[b] = id;
+        sequence[b] = order;
+        positions.put(ids[a], a);
+        positions.put(ids[b], b);
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        ids[to] = ids[from];
+        sequence[to] = sequence[from];
+        positions.put(ids[to], to);
+    }
+}
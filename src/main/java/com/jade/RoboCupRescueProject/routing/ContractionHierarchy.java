@@ -0,0 +1,409 @@
+package com.jade.RoboCupRescueProject.routing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Contraction hierarchy of a road graph for one set of edge costs.
+ *
+ * Locations are contracted one by one, least important first, adding shortcut edges that
+ * preserve shortest paths between the remaining locations. A query is then a bidirectional
+ * search that only goes up the hierarchy, settling a few hundred locations even on large
+ * maps. Building is much slower than a single query, so the hierarchy must be rebuilt when
+ * the costs change and only pays off while road conditions are stable.
+ *
+ * On grid-like maps the last locations to contract would need a great many shortcuts, so
+ * contraction stops when they get too connected: these locations form a core that shares the
+ * top rank and that queries cross with a plain bidirectional search.
+ */
+final class ContractionHierarchy {
+    // Locations settled by a witness search before giving up and adding the shortcut; priority
+    // estimates use a smaller search, which may overestimate the shortcuts but is much cheaper
+    private static final int WITNESS_SETTLE_LIMIT = 100;
+    private static final int ESTIMATE_SETTLE_LIMIT = 3;
+
+    // Weight of the edge difference against the uniformity terms of the node priority
+    private static final int EDGE_DIFFERENCE_WEIGHT = 4;
+
+    // Locations left with more neighbours than this form the core, which is not contracted
+    private static final int MAX_CONTRACTED_DEGREE = 24;
+
+    private final int[] rank;
+    private int coreSize = 0;
+
+    // Targets of the current witness search and the direct edges to them, marked with the number of the search
+    private final int[] targetMark;
+    private final int[] directMark;
+    private final int[] directEdge;
+    private int targetRun = 0;
+
+    // Hierarchy edges: original edges first, then shortcuts made of two hierarchy edges
+    private int[] from = new int[64];
+    private int[] to = new int[64];
+    private double[] cost = new double[64];
+    private int[] originalEdge = new int[64];
+    private int[] firstChild = new int[64];
+    private int[] secondChild = new int[64];
+    private int edgeCount = 0;
+
+    // Search graph: edges going up from each location, and edges coming down to each location
+    private final int[] firstUp;
+    private final int[] upEdges;
+    private final int[] firstDown;
+    private final int[] downEdges;
+
+    /**
+     * Build the hierarchy
+     * @param graph The road graph
+     * @param edgeCosts The cost of each graph edge; infinite costs mark unusable edges
+     */
+    ContractionHierarchy(RoadGraph graph, double[] edgeCosts) {
+        int nodes = graph.nodeCount();
+        IntList[] out = new IntList[nodes];
+        IntList[] in = new IntList[nodes];
+        for (int v = 0; v < nodes; v++) {
+            out[v] = new IntList();
+            in[v] = new IntList();
+        }
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            int source = graph.edgeSource(e);
+            int target = graph.edgeTarget(e);
+            if (source != target && edgeCosts[e] != Double.POSITIVE_INFINITY) {
+                int id = addEdge(source, target, edgeCosts[e], e, -1, -1);
+                out[source].add(id);
+                in[target].add(id);
+            }
+        }
+
+        rank = new int[nodes];
+        targetMark = new int[nodes];
+        directMark = new int[nodes];
+        directEdge = new int[nodes];
+        int[] level = new int[nodes];
+        boolean[] contracted = new boolean[nodes];
+        int[] deletedNeighbours = new int[nodes];
+        SearchState witness = new SearchState(nodes);
+
+        // Lazy node ordering: a popped node is contracted only if its refreshed priority is still the lowest
+        PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        for (int v = 0; v < nodes; v++) {
+            queue.add(new long[]{priority(v, out, in, deletedNeighbours, level, witness), v});
+        }
+
+        int order = 0;
+        while (!queue.isEmpty()) {
+            int v = (int) queue.poll()[1];
+            long priority = priority(v, out, in, deletedNeighbours, level, witness);
+            if (!queue.isEmpty() && priority > queue.peek()[0]) {
+                queue.add(new long[]{priority, v});
+                continue;
+            }
+            if (out[v].size + in[v].size > 2 * MAX_CONTRACTED_DEGREE) {
+                // The cheapest location is already too connected: the rest is the core
+                break;
+            }
+
+            contract(v, out, in, witness, true);
+            contracted[v] = true;
+            rank[v] = order++;
+            for (int i = 0; i < out[v].size + in[v].size; i++) {
+                int w = i < out[v].size ? to[out[v].get(i)] : from[in[v].get(i - out[v].size)];
+                deletedNeighbours[w]++;
+                level[w] = Math.max(level[w], level[v] + 1);
+            }
+        }
+        for (int v = 0; v < nodes; v++) {
+            if (!contracted[v]) {
+                rank[v] = order;
+                coreSize++;
+            }
+        }
+
+        // Split the edges into the upward and downward search graphs; edges inside the core are in both
+        firstUp = new int[nodes + 1];
+        firstDown = new int[nodes + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            if (rank[to[e]] >= rank[from[e]]) {
+                firstUp[from[e] + 1]++;
+            }
+            if (rank[to[e]] <= rank[from[e]]) {
+                firstDown[to[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < nodes; v++) {
+            firstUp[v + 1] += firstUp[v];
+            firstDown[v + 1] += firstDown[v];
+        }
+        upEdges = new int[firstUp[nodes]];
+        downEdges = new int[firstDown[nodes]];
+        int[] nextUp = firstUp.clone();
+        int[] nextDown = firstDown.clone();
+        for (int e = 0; e < edgeCount; e++) {
+            if (rank[to[e]] >= rank[from[e]]) {
+                upEdges[nextUp[from[e]]++] = e;
+            }
+            if (rank[to[e]] <= rank[from[e]]) {
+                downEdges[nextDown[to[e]]++] = e;
+            }
+        }
+    }
+
+    /**
+     * Get the number of locations left uncontracted
+     * @return The size of the core
+     */
+    int getCoreSize() {
+        return coreSize;
+    }
+
+    /**
+     * Find a shortest path
+     * @param source The start location
+     * @param target The destination
+     * @param forward The state of the forward search
+     * @param backward The state of the backward search
+     * @return The graph edges of the path, or null if the destination cannot be reached
+     */
+    List<Integer> query(int source, int target, SearchState forward, SearchState backward) {
+        forward.reset();
+        backward.reset();
+        forward.improve(source, 0, -1);
+        forward.push(source, 0);
+        backward.improve(target, 0, -1);
+        backward.push(target, 0);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        while (Math.min(forward.peekKey(), backward.peekKey()) < best) {
+            boolean isForward = forward.peekKey() <= backward.peekKey();
+            SearchState side = isForward ? forward : backward;
+            SearchState other = isForward ? backward : forward;
+
+            int v = side.pop();
+            if (side.isSettled(v)) {
+                continue;
+            }
+            side.settle(v);
+            double distance = side.distance(v);
+            if (other.isReached(v) && distance + other.distance(v) < best) {
+                best = distance + other.distance(v);
+                meeting = v;
+            }
+
+            int[] first = isForward ? firstUp : firstDown;
+            int[] edges = isForward ? upEdges : downEdges;
+            for (int i = first[v]; i < first[v + 1]; i++) {
+                int e = edges[i];
+                int w = isForward ? to[e] : from[e];
+                double newDistance = distance + cost[e];
+                if (side.improve(w, newDistance, e)) {
+                    side.push(w, newDistance);
+                }
+            }
+        }
+        if (meeting < 0) {
+            return null;
+        }
+
+        // Hierarchy edges from the start to the meeting point, then down to the destination
+        List<Integer> hierarchyPath = new ArrayList<>();
+        for (int v = meeting; v != source; v = from[forward.parentEdge(v)]) {
+            hierarchyPath.add(forward.parentEdge(v));
+        }
+        Collections.reverse(hierarchyPath);
+        for (int v = meeting; v != target; v = to[backward.parentEdge(v)]) {
+            hierarchyPath.add(backward.parentEdge(v));
+        }
+
+        List<Integer> path = new ArrayList<>();
+        for (int e : hierarchyPath) {
+            unpack(e, path);
+        }
+        return path;
+    }
+
+    // Replace a hierarchy edge by the graph edges it stands for
+    private void unpack(int edge, List<Integer> path) {
+        int[] stack = new int[16];
+        int size = 0;
+        stack[size++] = edge;
+        while (size > 0) {
+            int e = stack[--size];
+            if (originalEdge[e] >= 0) {
+                path.add(originalEdge[e]);
+            } else {
+                if (size + 2 > stack.length) {
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                }
+                // Second half pushed first so that the first half is unpacked first
+                stack[size++] = secondChild[e];
+                stack[size++] = firstChild[e];
+            }
+        }
+    }
+
+    private long priority(int v, IntList[] out, IntList[] in, int[] deletedNeighbours, int[] level,
+                          SearchState witness) {
+        int degree = out[v].size + in[v].size;
+        int shortcuts = contract(v, out, in, witness, false);
+        return (long) EDGE_DIFFERENCE_WEIGHT * (shortcuts - degree) + deletedNeighbours[v] + level[v];
+    }
+
+    /**
+     * Find the shortcuts needed to remove a location, and add them.
+     * The adjacency lists only hold edges between remaining locations.
+     * @param add false to only count the shortcuts
+     * @return The number of shortcuts
+     */
+    private int contract(int v, IntList[] out, IntList[] in, SearchState witness, boolean add) {
+        int shortcuts = 0;
+        for (int i = 0; i < in[v].size; i++) {
+            int inEdge = in[v].get(i);
+            int u = from[inEdge];
+
+            double maxCost = -1;
+            int targets = 0;
+            targetRun++;
+            for (int j = 0; j < out[v].size; j++) {
+                int w = to[out[v].get(j)];
+                if (w != u) {
+                    maxCost = Math.max(maxCost, cost[inEdge] + cost[out[v].get(j)]);
+                    if (targetMark[w] != targetRun) {
+                        targetMark[w] = targetRun;
+                        targets++;
+                    }
+                }
+            }
+            if (targets == 0) {
+                continue;
+            }
+            // Direct edges from u to the targets, in case the witness search stops before finding them
+            for (int j = 0; j < out[u].size; j++) {
+                int e = out[u].get(j);
+                int w = to[e];
+                if (targetMark[w] == targetRun && (directMark[w] != targetRun || cost[e] < cost[directEdge[w]])) {
+                    directMark[w] = targetRun;
+                    directEdge[w] = e;
+                }
+            }
+
+            witnessSearch(u, v, maxCost, targets, add ? WITNESS_SETTLE_LIMIT : ESTIMATE_SETTLE_LIMIT, out, witness);
+            for (int j = 0; j < out[v].size; j++) {
+                int outEdge = out[v].get(j);
+                int w = to[outEdge];
+                if (w == u) {
+                    continue;
+                }
+                double viaCost = cost[inEdge] + cost[outEdge];
+                if (witness.distance(w) > viaCost) {
+                    // A direct edge missed by a truncated witness search may still be short enough
+                    int parallel = directMark[w] == targetRun ? directEdge[w] : -1;
+                    if (parallel >= 0 && cost[parallel] <= viaCost) {
+                        continue;
+                    }
+                    shortcuts++;
+                    if (add) {
+                        // A longer direct edge is replaced rather than kept alongside the shortcut
+                        if (parallel >= 0) {
+                            out[u].remove(parallel);
+                            in[w].remove(parallel);
+                        }
+                        int id = addEdge(u, w, viaCost, -1, inEdge, outEdge);
+                        out[u].add(id);
+                        in[w].add(id);
+                        directMark[w] = targetRun;
+                        directEdge[w] = id;
+                    }
+                }
+            }
+        }
+
+        if (add) {
+            // Only edges between remaining locations are kept in the adjacency lists
+            for (int i = 0; i < out[v].size; i++) {
+                in[to[out[v].get(i)]].remove(out[v].get(i));
+            }
+            for (int i = 0; i < in[v].size; i++) {
+                out[from[in[v].get(i)]].remove(in[v].get(i));
+            }
+        }
+        return shortcuts;
+    }
+
+    // Bounded Dijkstra from u avoiding v, looking for paths that make shortcuts through v useless
+    private void witnessSearch(int u, int v, double maxCost, int targets, int settleLimit, IntList[] out,
+                               SearchState witness) {
+        witness.reset();
+        witness.improve(u, 0, -1);
+        witness.push(u, 0);
+        int settled = 0;
+        while (!witness.isEmpty() && settled < settleLimit) {
+            int x = witness.pop();
+            if (witness.isSettled(x)) {
+                continue;
+            }
+            witness.settle(x);
+            settled++;
+            double distance = witness.distance(x);
+            if (distance > maxCost || (targetMark[x] == targetRun && --targets == 0)) {
+                // No shorter path left to find, or every target is settled
+                break;
+            }
+            for (int i = 0; i < out[x].size; i++) {
+                int e = out[x].get(i);
+                int y = to[e];
+                if (y != v && witness.improve(y, distance + cost[e], e)) {
+                    witness.push(y, distance + cost[e]);
+                }
+            }
+        }
+    }
+
+    private int addEdge(int source, int target, double edgeCost, int original, int first, int second) {
+        if (edgeCount == from.length) {
+            int capacity = edgeCount * 2;
+            from = Arrays.copyOf(from, capacity);
+            to = Arrays.copyOf(to, capacity);
+            cost = Arrays.copyOf(cost, capacity);
+            originalEdge = Arrays.copyOf(originalEdge, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            secondChild = Arrays.copyOf(secondChild, capacity);
+        }
+        from[edgeCount] = source;
+        to[edgeCount] = target;
+        cost[edgeCount] = edgeCost;
+        originalEdge[edgeCount] = original;
+        firstChild[edgeCount] = first;
+        secondChild[edgeCount] = second;
+        return edgeCount++;
+    }
+
+    // Growable list of ints, for the adjacency lists used while contracting
+    private static final class IntList {
+        int[] values = new int[4];
+        int size = 0;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.jade.RoboCupRescueProject.routing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable road network stored as adjacency arrays.
+ *
+ * Locations and roads are numbered once when the graph is built, so searches work on int
+ * indexes and primitive arrays instead of strings. The outgoing edges of location v are the
+ * indexes firstEdge(v) to endEdge(v) - 1; incoming edges are indexed the same way for the
+ * backward searches. A road may span several edges, and a two-way road has one edge per
+ * direction.
+ */
+public final class RoadGraph {
+    private final String[] nodeNames;
+    private final double[] nodeX;
+    private final double[] nodeY;
+    private final Map<String, Integer> nodeIndex;
+
+    private final String[] roadIds;
+    private final Map<String, Integer> roadIndex;
+
+    // Outgoing edges, grouped by source location
+    private final int[] firstEdge;
+    private final int[] edgeSource;
+    private final int[] edgeTarget;
+    private final int[] edgeRoad;
+    private final double[] edgeLength;
+
+    // Incoming edges, grouped by target location, as indexes of outgoing edges
+    private final int[] firstInEdge;
+    private final int[] inEdges;
+
+    // Edges of each road, grouped by road
+    private final int[] firstRoadEdge;
+    private final int[] roadEdges;
+
+    // Lower bound of length / straight-line distance, keeping the A* heuristic admissible
+    private final double heuristicScale;
+
+    private RoadGraph(Builder builder) {
+        int nodes = builder.nodeNames.size();
+        int edges = builder.edgeSources.size();
+
+        nodeNames = builder.nodeNames.toArray(new String[0]);
+        nodeX = new double[nodes];
+        nodeY = new double[nodes];
+        for (int v = 0; v < nodes; v++) {
+            nodeX[v] = builder.nodeX.get(v);
+            nodeY[v] = builder.nodeY.get(v);
+        }
+        nodeIndex = new HashMap<>(builder.nodeIndex);
+        roadIds = builder.roadIds.toArray(new String[0]);
+        roadIndex = new HashMap<>(builder.roadIndex);
+
+        // Counting sort of the edges by source, then by target for the incoming index
+        firstEdge = new int[nodes + 1];
+        firstInEdge = new int[nodes + 1];
+        for (int i = 0; i < edges; i++) {
+            firstEdge[builder.edgeSources.get(i) + 1]++;
+            firstInEdge[builder.edgeTargets.get(i) + 1]++;
+        }
+        for (int v = 0; v < nodes; v++) {
+            firstEdge[v + 1] += firstEdge[v];
+            firstInEdge[v + 1] += firstInEdge[v];
+        }
+
+        edgeSource = new int[edges];
+        edgeTarget = new int[edges];
+        edgeRoad = new int[edges];
+        edgeLength = new double[edges];
+        inEdges = new int[edges];
+        int[] nextOut = firstEdge.clone();
+        int[] nextIn = firstInEdge.clone();
+        double scale = 1.0;
+        for (int i = 0; i < edges; i++) {
+            int source = builder.edgeSources.get(i);
+            int target = builder.edgeTargets.get(i);
+            int e = nextOut[source]++;
+            edgeSource[e] = source;
+            edgeTarget[e] = target;
+            edgeRoad[e] = builder.edgeRoads.get(i);
+            edgeLength[e] = builder.edgeLengths.get(i);
+            inEdges[nextIn[target]++] = e;
+
+            double straight = straightDistance(source, target);
+            if (straight > 0) {
+                scale = Math.min(scale, edgeLength[e] / straight);
+            }
+        }
+        heuristicScale = scale;
+
+        firstRoadEdge = new int[roadIds.length + 1];
+        for (int e = 0; e < edges; e++) {
+            firstRoadEdge[edgeRoad[e] + 1]++;
+        }
+        for (int r = 0; r < roadIds.length; r++) {
+            firstRoadEdge[r + 1] += firstRoadEdge[r];
+        }
+        roadEdges = new int[edges];
+        int[] nextRoadEdge = firstRoadEdge.clone();
+        for (int e = 0; e < edges; e++) {
+            roadEdges[nextRoadEdge[edgeRoad[e]]++] = e;
+        }
+    }
+
+    /**
+     * Create a builder for a new graph
+     * @return The builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Load a graph from a text file.
+     * Each line is either "node NAME X Y" or "road ID FROM TO [LENGTH] [oneway]"; the length
+     * defaults to the straight-line distance. Empty lines and lines starting with # are ignored.
+     * @param file The file to read
+     * @return The loaded graph
+     * @throws IOException If the file cannot be read or a line is invalid
+     */
+    public static RoadGraph load(Path file) throws IOException {
+        Builder builder = builder();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split("\\s+");
+                try {
+                    if (parts[0].equals("node") && parts.length == 4) {
+                        builder.addLocation(parts[1], Double.parseDouble(parts[2]), Double.parseDouble(parts[3]));
+                    } else if (parts[0].equals("road") && parts.length >= 4) {
+                        boolean oneWay = parts[parts.length - 1].equals("oneway");
+                        int lengthIndex = 4;
+                        double length = parts.length > lengthIndex && !parts[lengthIndex].equals("oneway")
+                                ? Double.parseDouble(parts[lengthIndex]) : -1;
+                        builder.addRoad(parts[1], parts[2], parts[3], length, !oneWay);
+                    } else {
+                        throw new IllegalArgumentException("unknown entry");
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(file + ":" + lineNumber + ": " + e.getMessage());
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    public int nodeCount() {
+        return nodeNames.length;
+    }
+
+    public int edgeCount() {
+        return edgeTarget.length;
+    }
+
+    public int roadCount() {
+        return roadIds.length;
+    }
+
+    /**
+     * Get the index of a location
+     * @param name The location name
+     * @return The index, or -1 if the location is not in the graph
+     */
+    public int nodeId(String name) {
+        Integer id = nodeIndex.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public String nodeName(int node) {
+        return nodeNames[node];
+    }
+
+    public double x(int node) {
+        return nodeX[node];
+    }
+
+    public double y(int node) {
+        return nodeY[node];
+    }
+
+    /**
+     * Get the index of a road
+     * @param roadId The road ID
+     * @return The index, or -1 if the road is not in the graph
+     */
+    public int roadIndex(String roadId) {
+        Integer index = roadIndex.get(roadId);
+        return index == null ? -1 : index;
+    }
+
+    public String roadId(int road) {
+        return roadIds[road];
+    }
+
+    public int firstRoadEdge(int road) {
+        return firstRoadEdge[road];
+    }
+
+    public int endRoadEdge(int road) {
+        return firstRoadEdge[road + 1];
+    }
+
+    /**
+     * Get an edge of a road
+     * @param i The position in the road index, between firstRoadEdge(r) and endRoadEdge(r) - 1
+     * @return The edge index
+     */
+    public int roadEdge(int i) {
+        return roadEdges[i];
+    }
+
+    public int firstEdge(int node) {
+        return firstEdge[node];
+    }
+
+    public int endEdge(int node) {
+        return firstEdge[node + 1];
+    }
+
+    public int firstInEdge(int node) {
+        return firstInEdge[node];
+    }
+
+    public int endInEdge(int node) {
+        return firstInEdge[node + 1];
+    }
+
+    /**
+     * Get an incoming edge
+     * @param i The position in the incoming index, between firstInEdge(v) and endInEdge(v) - 1
+     * @return The edge index
+     */
+    public int inEdge(int i) {
+        return inEdges[i];
+    }
+
+    public int edgeSource(int edge) {
+        return edgeSource[edge];
+    }
+
+    public int edgeTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    public int edgeRoad(int edge) {
+        return edgeRoad[edge];
+    }
+
+    public double edgeLength(int edge) {
+        return edgeLength[edge];
+    }
+
+    /**
+     * Get a lower bound of the travel length between two locations
+     * @param from The first location
+     * @param to The second location
+     * @return The bound, never more than the length of the shortest path
+     */
+    public double lowerBound(int from, int to) {
+        return straightDistance(from, to) * heuristicScale;
+    }
+
+    private double straightDistance(int from, int to) {
+        double dx = nodeX[from] - nodeX[to];
+        double dy = nodeY[from] - nodeY[to];
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Builder collecting locations and roads before they are packed into arrays
+     */
+    public static final class Builder {
+        private final List<String> nodeNames = new ArrayList<>();
+        private final List<Double> nodeX = new ArrayList<>();
+        private final List<Double> nodeY = new ArrayList<>();
+        private final Map<String, Integer> nodeIndex = new HashMap<>();
+        private final List<String> roadIds = new ArrayList<>();
+        private final Map<String, Integer> roadIndex = new HashMap<>();
+        private final List<Integer> edgeSources = new ArrayList<>();
+        private final List<Integer> edgeTargets = new ArrayList<>();
+        private final List<Integer> edgeRoads = new ArrayList<>();
+        private final List<Double> edgeLengths = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Add a location, or move it if it already exists
+         * @param name The location name
+         * @param x The x coordinate in meters
+         * @param y The y coordinate in meters
+         * @return This builder
+         */
+        public Builder addLocation(String name, double x, double y) {
+            Integer id = nodeIndex.get(name);
+            if (id == null) {
+                nodeIndex.put(name, nodeNames.size());
+                nodeNames.add(name);
+                nodeX.add(x);
+                nodeY.add(y);
+            } else {
+                nodeX.set(id, x);
+                nodeY.set(id, y);
+            }
+            return this;
+        }
+
+        /**
+         * Add a two-way road whose length is the straight-line distance
+         * @param roadId The road ID
+         * @param from The first location
+         * @param to The second location
+         * @return This builder
+         */
+        public Builder addRoad(String roadId, String from, String to) {
+            return addRoad(roadId, from, to, -1, true);
+        }
+
+        /**
+         * Add a road segment
+         * @param roadId The road ID; several segments may belong to the same road
+         * @param from The start location
+         * @param to The end location
+         * @param length The length in meters, or a negative value for the straight-line distance
+         * @param twoWay Whether the road can be used in both directions
+         * @return This builder
+         */
+        public Builder addRoad(String roadId, String from, String to, double length, boolean twoWay) {
+            Integer source = nodeIndex.get(from);
+            Integer target = nodeIndex.get(to);
+            if (source == null || target == null) {
+                throw new IllegalArgumentException("Unknown location on road " + roadId + ": "
+                        + (source == null ? from : to));
+            }
+            if (length < 0) {
+                double dx = nodeX.get(source) - nodeX.get(target);
+                double dy = nodeY.get(source) - nodeY.get(target);
+                length = Math.sqrt(dx * dx + dy * dy);
+            }
+
+            Integer road = roadIndex.get(roadId);
+            if (road == null) {
+                road = roadIds.size();
+                roadIndex.put(roadId, road);
+                roadIds.add(roadId);
+            }
+
+            addEdge(source, target, road, length);
+            if (twoWay) {
+                addEdge(target, source, road, length);
+            }
+            return this;
+        }
+
+        private void addEdge(int source, int target, int road, double length) {
+            edgeSources.add(source);
+            edgeTargets.add(target);
+            edgeRoads.add(road);
+            edgeLengths.add(length);
+        }
+
+        /**
+         * Pack the locations and roads into a graph
+         * @return The new graph
+         */
+        public RoadGraph build() {
+            return new RoadGraph(this);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.jade.RoboCupRescueProject.routing;
+
+import java.util.List;
+
+/**
+ * Route computed by a RoutePlanner
+ *
+ * @param locations The locations crossed, from the start to the destination
+ * @param roads The roads to follow, in order; consecutive segments of the same road appear once
+ * @param cost The travel cost, i.e. the length weighted by the road conditions
+ */
+public record Route(List<String> locations, List<String> roads, double cost) {
+
+    // No route between the locations
+    public static final Route NONE = new Route(List.of(), List.of(), Double.POSITIVE_INFINITY);
+
+    /**
+     * Check whether the route is missing
+     * @return true if no route was found
+     */
+    public boolean isEmpty() {
+        return locations.isEmpty();
+    }
+}
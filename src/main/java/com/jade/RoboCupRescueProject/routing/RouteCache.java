@@ -0,0 +1,158 @@
+package com.jade.RoboCupRescueProject.routing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Size-bounded LRU cache of computed routes, keyed by (from, to, vehicle class).
+ *
+ * A reverse index lists the cached routes crossing each road, so that a road getting worse
+ * only evicts the routes that use it. A road getting better may shorten routes that avoid it,
+ * which the reverse index cannot tell; {@link RoutePlanner} handles that case with
+ * {@link #invalidateIf(VehicleClass, Predicate)} and a lower-bound test.
+ */
+final class RouteCache {
+
+    /**
+     * Cache key: start, destination and vehicle class
+     */
+    record Key(int from, int to, VehicleClass vehicleClass) {
+    }
+
+    /**
+     * Cached route with the indexes of the roads it crosses
+     */
+    record Entry(Route route, int[] roads) {
+    }
+
+    /**
+     * Condition on a cached route, used to invalidate entries
+     */
+    interface Predicate {
+        boolean test(Key key, Entry entry);
+    }
+
+    private final int capacity;
+    private final LinkedHashMap<Key, Entry> entries;
+    private final Map<Integer, Set<Key>> keysByRoad = new HashMap<>();
+
+    private long hits = 0;
+    private long misses = 0;
+    private long invalidations = 0;
+
+    RouteCache(int capacity) {
+        this.capacity = capacity;
+        // Access order: the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    Entry get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return entry;
+    }
+
+    void put(Key key, Entry entry) {
+        if (capacity <= 0) {
+            return;
+        }
+        remove(key);
+        entries.put(key, entry);
+        for (int road : entry.roads()) {
+            keysByRoad.computeIfAbsent(road, r -> new HashSet<>()).add(key);
+        }
+
+        if (entries.size() > capacity) {
+            remove(entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Evict the routes of a vehicle class crossing a road
+     * @param road The road index
+     * @param vehicleClass The vehicle class
+     */
+    void invalidateRoad(int road, VehicleClass vehicleClass) {
+        Set<Key> keys = keysByRoad.get(road);
+        if (keys == null) {
+            return;
+        }
+        List<Key> affected = new ArrayList<>();
+        for (Key key : keys) {
+            if (key.vehicleClass() == vehicleClass) {
+                affected.add(key);
+            }
+        }
+        for (Key key : affected) {
+            remove(key);
+            invalidations++;
+        }
+    }
+
+    /**
+     * Evict the routes of a vehicle class matching a condition
+     * @param vehicleClass The vehicle class
+     * @param condition The condition
+     */
+    void invalidateIf(VehicleClass vehicleClass, Predicate condition) {
+        Iterator<Map.Entry<Key, Entry>> it = entries.entrySet().iterator();
+        List<Key> affected = new ArrayList<>();
+        while (it.hasNext()) {
+            Map.Entry<Key, Entry> e = it.next();
+            if (e.getKey().vehicleClass() == vehicleClass && condition.test(e.getKey(), e.getValue())) {
+                affected.add(e.getKey());
+            }
+        }
+        for (Key key : affected) {
+            remove(key);
+            invalidations++;
+        }
+    }
+
+    void clear() {
+        entries.clear();
+        keysByRoad.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long getHits() {
+        return hits;
+    }
+
+    long getMisses() {
+        return misses;
+    }
+
+    long getInvalidations() {
+        return invalidations;
+    }
+
+    private void remove(Key key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+        for (int road : entry.roads()) {
+            Set<Key> keys = keysByRoad.get(road);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    keysByRoad.remove(road);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.jade.RoboCupRescueProject.routing;
+
+import com.jade.RoboCupRescueProject.behaviours.police.GererCirculationBehaviour;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shortest-path routing on a road graph, honouring road conditions and vehicle access.
+ *
+ * The cost of an edge is its length multiplied by a factor that depends on the status of its
+ * road and on the vehicle class: closed roads are unusable, restricted roads are only open to
+ * emergency vehicles and damaged roads are slower. Factors are kept per road in arrays updated
+ * by {@link #setRoadStatus(String, String)}, so a search does no string lookup.
+ *
+ * Routes found with the configured algorithm are cached. A status change only evicts the
+ * cached routes it can affect: a road getting worse evicts the routes crossing it, and a road
+ * getting better evicts the routes it could shorten according to the straight-line bound.
+ *
+ * Not thread-safe: the search state is reused between queries, so a planner belongs to one agent.
+ */
+public class RoutePlanner {
+    public static final String ALGORITHM_PROPERTY = "simulation.routing.algorithm";
+    public static final String CACHE_SIZE_PROPERTY = "simulation.routing.cache.size";
+
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+
+    // Slowdown on damaged roads, which stay usable
+    private static final double DAMAGED_ROAD_FACTOR = 3.0;
+
+    /**
+     * Search algorithms; all of them return a shortest path
+     */
+    public enum Algorithm {
+        // Plain Dijkstra search
+        DIJKSTRA,
+        // Dijkstra guided by the straight-line distance to the destination
+        ASTAR,
+        // Dijkstra from both ends, meeting in the middle
+        BIDIRECTIONAL,
+        // Queries on a precomputed hierarchy, rebuilt after road status changes; for large, stable maps
+        CONTRACTION_HIERARCHY;
+
+        /**
+         * Get the algorithm set by the simulation.routing.algorithm system property
+         * @return The configured algorithm, A* by default
+         */
+        public static Algorithm fromSystemProperties() {
+            String name = System.getProperty(ALGORITHM_PROPERTY, "astar").trim().toUpperCase();
+            try {
+                return valueOf(name);
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown routing algorithm '" + name + "', using A*");
+                return ASTAR;
+            }
+        }
+    }
+
+    private final RoadGraph graph;
+    private final Algorithm algorithm;
+
+    // Cost factor of each road for each vehicle class
+    private final double[][] roadFactors;
+
+    // Hierarchy of each vehicle class, null until built or after a status change
+    private final ContractionHierarchy[] hierarchies;
+
+    private final SearchState forward;
+    private final SearchState backward;
+
+    private final RouteCache cache;
+
+    public RoutePlanner(RoadGraph graph) {
+        this(graph, Algorithm.ASTAR);
+    }
+
+    public RoutePlanner(RoadGraph graph, Algorithm algorithm) {
+        this(graph, algorithm, Integer.getInteger(CACHE_SIZE_PROPERTY, DEFAULT_CACHE_SIZE));
+    }
+
+    /**
+     * Create a planner
+     * @param graph The road graph
+     * @param algorithm The algorithm used by {@link #route(String, String, VehicleClass)}
+     * @param cacheSize The maximum number of cached routes, 0 to disable the cache
+     */
+    public RoutePlanner(RoadGraph graph, Algorithm algorithm, int cacheSize) {
+        this.graph = graph;
+        this.algorithm = algorithm;
+        this.roadFactors = new double[VehicleClass.values().length][graph.roadCount()];
+        for (double[] factors : roadFactors) {
+            Arrays.fill(factors, 1.0);
+        }
+        this.hierarchies = new ContractionHierarchy[VehicleClass.values().length];
+        this.forward = new SearchState(graph.nodeCount());
+        this.backward = new SearchState(graph.nodeCount());
+        this.cache = new RouteCache(cacheSize);
+    }
+
+    public RoadGraph getGraph() {
+        return graph;
+    }
+
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public long getCacheHitCount() {
+        return cache.getHits();
+    }
+
+    public long getCacheMissCount() {
+        return cache.getMisses();
+    }
+
+    public long getCacheInvalidationCount() {
+        return cache.getInvalidations();
+    }
+
+    /**
+     * Update the status of a road
+     * @param roadId The road ID
+     * @param status The status, one of the GererCirculationBehaviour road statuses
+     * @return true if the change affects route costs
+     */
+    public boolean setRoadStatus(String roadId, String status) {
+        int road = graph.roadIndex(roadId);
+        if (road < 0) {
+            return false;
+        }
+
+        boolean changed = false;
+        for (VehicleClass vehicleClass : VehicleClass.values()) {
+            double factor = factor(status, vehicleClass);
+            double previous = roadFactors[vehicleClass.ordinal()][road];
+            if (previous != factor) {
+                roadFactors[vehicleClass.ordinal()][road] = factor;
+                hierarchies[vehicleClass.ordinal()] = null;
+                invalidateCachedRoutes(road, vehicleClass, factor > previous);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private void invalidateCachedRoutes(int road, VehicleClass vehicleClass, boolean slower) {
+        if (slower) {
+            // Only the routes crossing the road get longer; the others stay shortest
+            cache.invalidateRoad(road, vehicleClass);
+            return;
+        }
+
+        // Any route may now be shortened through the road, unless even the straight-line bound
+        // of a detour through it is no shorter than the cached route
+        double factor = roadFactors[vehicleClass.ordinal()][road];
+        cache.invalidateIf(vehicleClass, (key, entry) -> {
+            for (int i = graph.firstRoadEdge(road); i < graph.endRoadEdge(road); i++) {
+                int e = graph.roadEdge(i);
+                double detour = graph.lowerBound(key.from(), graph.edgeSource(e))
+                        + graph.edgeLength(e) * factor
+                        + graph.lowerBound(graph.edgeTarget(e), key.to());
+                if (detour < entry.route().cost()) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Check whether a location is part of the road graph
+     * @param location The location name
+     * @return true if routes can start or end there
+     */
+    public boolean isKnownLocation(String location) {
+        return graph.nodeId(location) >= 0;
+    }
+
+    /**
+     * Find a route with the configured algorithm
+     * @param from The start location
+     * @param to The destination
+     * @param vehicleClass The class of the vehicle
+     * @return The route, or Route.NONE if a location is unknown or unreachable
+     */
+    public Route route(String from, String to, VehicleClass vehicleClass) {
+        int source = graph.nodeId(from);
+        int target = graph.nodeId(to);
+        if (source < 0 || target < 0 || source == target) {
+            return route(from, to, vehicleClass, algorithm);
+        }
+
+        RouteCache.Key key = new RouteCache.Key(source, target, vehicleClass);
+        RouteCache.Entry cached = cache.get(key);
+        if (cached != null) {
+            return cached.route();
+        }
+
+        // Unreachable destinations are cached too, until a road opens
+        Route route = route(from, to, vehicleClass, algorithm);
+        int[] roads = new int[route.roads().size()];
+        for (int i = 0; i < roads.length; i++) {
+            roads[i] = graph.roadIndex(route.roads().get(i));
+        }
+        cache.put(key, new RouteCache.Entry(route, roads));
+        return route;
+    }
+
+    /**
+     * Find a route, bypassing the cache
+     * @param from The start location
+     * @param to The destination
+     * @param vehicleClass The class of the vehicle
+     * @param algorithm The search algorithm
+     * @return The route, or Route.NONE if a location is unknown or unreachable
+     */
+    public Route route(String from, String to, VehicleClass vehicleClass, Algorithm algorithm) {
+        int source = graph.nodeId(from);
+        int target = graph.nodeId(to);
+        if (source < 0 || target < 0) {
+            return Route.NONE;
+        }
+        if (source == target) {
+            return new Route(List.of(from), List.of(), 0);
+        }
+
+        double[] factors = roadFactors[vehicleClass.ordinal()];
+        List<Integer> edges;
+        switch (algorithm) {
+            case DIJKSTRA:
+                edges = search(source, target, factors, false);
+                break;
+            case ASTAR:
+                edges = search(source, target, factors, true);
+                break;
+            case BIDIRECTIONAL:
+                edges = bidirectionalSearch(source, target, factors);
+                break;
+            case CONTRACTION_HIERARCHY:
+                edges = hierarchy(vehicleClass).query(source, target, forward, backward);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown routing algorithm: " + algorithm);
+        }
+        return edges == null ? Route.NONE : toRoute(source, edges, factors);
+    }
+
+    // Dijkstra, or A* when guided by the lower bound of the remaining distance
+    private List<Integer> search(int source, int target, double[] factors, boolean guided) {
+        SearchState state = forward;
+        state.reset();
+        state.improve(source, 0, -1);
+        state.push(source, guided ? graph.lowerBound(source, target) : 0);
+
+        while (!state.isEmpty()) {
+            int v = state.pop();
+            if (state.isSettled(v)) {
+                continue;
+            }
+            state.settle(v);
+            if (v == target) {
+                return pathTo(target);
+            }
+
+            double distance = state.distance(v);
+            for (int e = graph.firstEdge(v); e < graph.endEdge(v); e++) {
+                double cost = edgeCost(e, factors);
+                if (cost == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int w = graph.edgeTarget(e);
+                if (state.improve(w, distance + cost, e)) {
+                    state.push(w, distance + cost + (guided ? graph.lowerBound(w, target) : 0));
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<Integer> bidirectionalSearch(int source, int target, double[] factors) {
+        forward.reset();
+        backward.reset();
+        forward.improve(source, 0, -1);
+        forward.push(source, 0);
+        backward.improve(target, 0, -1);
+        backward.push(target, 0);
+
+        double best = Double.POSITIVE_INFINITY;
+        int meeting = -1;
+        // No path through unsettled locations can beat the best one once both frontiers are that far
+        while (forward.peekKey() + backward.peekKey() < best) {
+            boolean isForward = forward.peekKey() <= backward.peekKey();
+            SearchState side = isForward ? forward : backward;
+            SearchState other = isForward ? backward : forward;
+
+            int v = side.pop();
+            if (side.isSettled(v)) {
+                continue;
+            }
+            side.settle(v);
+            double distance = side.distance(v);
+
+            int first = isForward ? graph.firstEdge(v) : graph.firstInEdge(v);
+            int end = isForward ? graph.endEdge(v) : graph.endInEdge(v);
+            for (int i = first; i < end; i++) {
+                int e = isForward ? i : graph.inEdge(i);
+                double cost = edgeCost(e, factors);
+                if (cost == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                int w = isForward ? graph.edgeTarget(e) : graph.edgeSource(e);
+                if (side.improve(w, distance + cost, e)) {
+                    side.push(w, distance + cost);
+                }
+                if (other.isReached(w) && side.distance(w) + other.distance(w) < best) {
+                    best = side.distance(w) + other.distance(w);
+                    meeting = w;
+                }
+            }
+        }
+        if (meeting < 0) {
+            return null;
+        }
+
+        List<Integer> path = new ArrayList<>();
+        for (int v = meeting; v != source; v = graph.edgeSource(forward.parentEdge(v))) {
+            path.add(forward.parentEdge(v));
+        }
+        Collections.reverse(path);
+        for (int v = meeting; v != target; v = graph.edgeTarget(backward.parentEdge(v))) {
+            path.add(backward.parentEdge(v));
+        }
+        return path;
+    }
+
+    private ContractionHierarchy hierarchy(VehicleClass vehicleClass) {
+        ContractionHierarchy hierarchy = hierarchies[vehicleClass.ordinal()];
+        if (hierarchy == null) {
+            double[] factors = roadFactors[vehicleClass.ordinal()];
+            double[] costs = new double[graph.edgeCount()];
+            for (int e = 0; e < costs.length; e++) {
+                costs[e] = edgeCost(e, factors);
+            }
+            hierarchy = new ContractionHierarchy(graph, costs);
+            hierarchies[vehicleClass.ordinal()] = hierarchy;
+        }
+        return hierarchy;
+    }
+
+    private List<Integer> pathTo(int target) {
+        List<Integer> path = new ArrayList<>();
+        for (int e = forward.parentEdge(target); e >= 0; e = forward.parentEdge(graph.edgeSource(e))) {
+            path.add(e);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private Route toRoute(int source, List<Integer> edges, double[] factors) {
+        List<String> locations = new ArrayList<>(edges.size() + 1);
+        List<String> roads = new ArrayList<>();
+        locations.add(graph.nodeName(source));
+        double cost = 0;
+        int previousRoad = -1;
+        for (int e : edges) {
+            locations.add(graph.nodeName(graph.edgeTarget(e)));
+            cost += edgeCost(e, factors);
+            if (graph.edgeRoad(e) != previousRoad) {
+                roads.add(graph.roadId(graph.edgeRoad(e)));
+                previousRoad = graph.edgeRoad(e);
+            }
+        }
+        return new Route(locations, roads, cost);
+    }
+
+    /**
+     * Get the cost of an edge for a set of road factors
+     * @param edge The edge
+     * @param factors The cost factor of each road
+     * @return The cost, infinite if the road is unusable even when the edge has no length
+     */
+    private double edgeCost(int edge, double[] factors) {
+        double factor = factors[graph.edgeRoad(edge)];
+        // 0 * infinity is NaN, which would make a closed zero-length edge look usable
+        return factor == Double.POSITIVE_INFINITY ? factor : graph.edgeLength(edge) * factor;
+    }
+
+    private static double factor(String status, VehicleClass vehicleClass) {
+        if (status == null) {
+            return 1.0;
+        }
+        switch (status) {
+            case GererCirculationBehaviour.ROAD_CLOSED:
+                return Double.POSITIVE_INFINITY;
+            case GererCirculationBehaviour.ROAD_RESTRICTED:
+                return vehicleClass == VehicleClass.EMERGENCY ? 1.0 : Double.POSITIVE_INFINITY;
+            case GererCirculationBehaviour.ROAD_DAMAGED:
+                return DAMAGED_ROAD_FACTOR;
+            default:
+                return 1.0;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.jade.RoboCupRescueProject.routing;
+
+import java.util.Arrays;
+
+/**
+ * Per-location state of a shortest-path search, reused from one search to the next.
+ *
+ * Entries are tagged with the number of the search that wrote them, so starting a new search
+ * is O(1) instead of clearing arrays as large as the graph. The priority queue is a binary
+ * heap of primitive (key, location) pairs; outdated pairs are skipped by the caller through
+ * {@link #isSettled(int)}.
+ */
+final class SearchState {
+    private final double[] distance;
+    private final int[] parentEdge;
+    private final int[] reachedRun;
+    private final int[] settledRun;
+    private int run = 0;
+
+    private double[] heapKeys = new double[64];
+    private int[] heapNodes = new int[64];
+    private int heapSize = 0;
+
+    SearchState(int nodes) {
+        distance = new double[nodes];
+        parentEdge = new int[nodes];
+        reachedRun = new int[nodes];
+        settledRun = new int[nodes];
+    }
+
+    /**
+     * Forget the previous search
+     */
+    void reset() {
+        heapSize = 0;
+        if (++run == Integer.MAX_VALUE) {
+            Arrays.fill(reachedRun, 0);
+            Arrays.fill(settledRun, 0);
+            run = 1;
+        }
+    }
+
+    boolean isReached(int node) {
+        return reachedRun[node] == run;
+    }
+
+    double distance(int node) {
+        return reachedRun[node] == run ? distance[node] : Double.POSITIVE_INFINITY;
+    }
+
+    int parentEdge(int node) {
+        return parentEdge[node];
+    }
+
+    /**
+     * Record a path to a location if it is shorter than the known one
+     * @param node The location
+     * @param newDistance The length of the new path
+     * @param edge The last edge of the new path, or -1 for the start
+     * @return true if the path was recorded
+     */
+    boolean improve(int node, double newDistance, int edge) {
+        if (reachedRun[node] == run && distance[node] <= newDistance) {
+            return false;
+        }
+        reachedRun[node] = run;
+        distance[node] = newDistance;
+        parentEdge[node] = edge;
+        return true;
+    }
+
+    boolean isSettled(int node) {
+        return settledRun[node] == run;
+    }
+
+    void settle(int node) {
+        settledRun[node] = run;
+    }
+
+    boolean isEmpty() {
+        return heapSize == 0;
+    }
+
+    /**
+     * Get the smallest key in the queue
+     * @return The key, or infinity if the queue is empty
+     */
+    double peekKey() {
+        return heapSize == 0 ? Double.POSITIVE_INFINITY : heapKeys[0];
+    }
+
+    void push(int node, double key) {
+        if (heapSize == heapKeys.length) {
+            heapKeys = Arrays.copyOf(heapKeys, heapSize * 2);
+            heapNodes = Arrays.copyOf(heapNodes, heapSize * 2);
+        }
+        int i = heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapKeys[parent] <= key) {
+                break;
+            }
+            heapKeys[i] = heapKeys[parent];
+            heapNodes[i] = heapNodes[parent];
+            i = parent;
+        }
+        heapKeys[i] = key;
+        heapNodes[i] = node;
+    }
+
+    /**
+     * Remove the location with the smallest key
+     * @return The location
+     */
+    int pop() {
+        int top = heapNodes[0];
+        double key = heapKeys[--heapSize];
+        int node = heapNodes[heapSize];
+        int i = 0;
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heapKeys[child + 1] < heapKeys[child]) {
+                child++;
+            }
+            if (key <= heapKeys[child]) {
+                break;
+            }
+            heapKeys[i] = heapKeys[child];
+            heapNodes[i] = heapNodes[child];
+            i = child;
+        }
+        heapKeys[i] = key;
+        heapNodes[i] = node;
+        return top;
+    }
+}
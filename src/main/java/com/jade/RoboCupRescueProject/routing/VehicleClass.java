@@ -0,0 +1,31 @@
+package com.jade.RoboCupRescueProject.routing;
+
+/**
+ * Classes of vehicles with different road access rights
+ */
+public enum VehicleClass {
+    // Civilian and logistics vehicles
+    STANDARD,
+    // Ambulances, fire trucks and police cars, allowed on restricted roads
+    EMERGENCY;
+
+    /**
+     * Get the class of a vehicle type used in route requests
+     * @param vehicleType The vehicle type (ambulance, fire_truck, police_car, standard, etc.)
+     * @return The vehicle class
+     */
+    public static VehicleClass of(String vehicleType) {
+        if (vehicleType == null) {
+            return STANDARD;
+        }
+        switch (vehicleType.trim().toLowerCase()) {
+            case "ambulance":
+            case "fire_truck":
+            case "police_car":
+            case "emergency":
+                return EMERGENCY;
+            default:
+                return STANDARD;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.jade.RoboCupRescueProject.scenarios;
 
+import com.jade.RoboCupRescueProject.messages.MessageCodec;
+import com.jade.RoboCupRescueProject.messages.TypedMessage;
+import com.jade.RoboCupRescueProject.utils.AgentThreads;
 import com.jade.RoboCupRescueProject.utils.ContainerManager;
 import jade.core.AID;
 import jade.lang.acl.ACLMessage;
 import jade.core.behaviours.OneShotBehaviour;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 /**
  * Scénario d'alerte incendie pour la simulation RoboCupRescue.
@@ -130,11 +134,11 @@ public class ScenarioAlerteIncendie {
             System.out.println("Préparation du scénario en cours...");
 
             // Créer un agent temporaire pour démarrer le scénario
-            new Thread(() -> {
+            AgentThreads.start("scenario-alerte-incendie", () -> {
                 try {
                     // Attendre que les agents soient prêts
                     System.out.println("Attente de l'initialisation des agents...");
-                    Thread.sleep(DELAI_INITIALISATION);
+                    SimulationClock.get().sleep(DELAI_INITIALISATION);
 
                     // Vérifier à nouveau si JADE est correctement initialisé
                     if (!isJadeRunning()) {
@@ -154,16 +158,13 @@ public class ScenarioAlerteIncendie {
                     System.out.println("Envoi d'une demande de démarrage du scénario à l'agent Firefighter-1");
 
                     // Créer le message à envoyer
-                    ACLMessage msg = new ACLMessage(ACLMessage.REQUEST);
+                    TypedMessage.FireScenarioStart scenario = new TypedMessage.FireScenarioStart(
+                            idBatiment, intensiteFeu, nombreVictimes, matieresDangereuses, accessibilite, etage);
+                    ACLMessage msg = MessageCodec.create(ACLMessage.REQUEST, scenario);
                     AID receiverAID = new AID("Firefighter-1", AID.ISLOCALNAME);
                     msg.addReceiver(receiverAID);
 
-                    String messageScenario = "START_SCENARIO:FIRE_ALERT:" + idBatiment + ":" + intensiteFeu + 
-                                                ":" + nombreVictimes + ":" + matieresDangereuses + 
-                                                ":" + accessibilite + ":" + etage;
-                    msg.setContent(messageScenario);
-
-                    System.out.println("Message à envoyer: \"" + messageScenario + "\"");
+                    System.out.println("Message à envoyer: " + scenario);
 
                     // Utiliser le ContainerManager pour envoyer le message
                     ContainerManager containerManager = ContainerManager.getInstance();
@@ -219,7 +220,7 @@ public class ScenarioAlerteIncendie {
                         System.out.println("=== FIN DES INSTRUCTIONS ===");
                     }
                 }
-            }).start();
+            });
         }
 
         /**
@@ -1,9 +1,11 @@
 package com.jade.RoboCupRescueProject.scenarios;
 
+import com.jade.RoboCupRescueProject.utils.AgentThreads;
 import com.jade.RoboCupRescueProject.utils.ContainerManager;
 import jade.core.AID;
 import jade.lang.acl.ACLMessage;
 import jade.core.behaviours.OneShotBehaviour;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 /**
  * Scénario d'assistance médicale pour la simulation RoboCupRescue.
@@ -137,11 +139,11 @@ public class ScenarioAssistanceMedicale {
             System.out.println("Préparation du scénario en cours...");
 
             // Créer un agent temporaire pour démarrer le scénario
-            new Thread(() -> {
+            AgentThreads.start("scenario-assistance-medicale", () -> {
                 try {
                     // Attendre que les agents soient prêts
                     System.out.println("Attente de l'initialisation des agents...");
-                    Thread.sleep(DELAI_INITIALISATION);
+                    SimulationClock.get().sleep(DELAI_INITIALISATION);
 
                     // Vérifier à nouveau si JADE est correctement initialisé
                     if (!isJadeRunning()) {
@@ -226,7 +228,7 @@ public class ScenarioAssistanceMedicale {
                         System.out.println("=== FIN DES INSTRUCTIONS ===");
                     }
                 }
-            }).start();
+            });
         }
 
         /**
@@ -1,9 +1,11 @@
 package com.jade.RoboCupRescueProject.scenarios;
 
+import com.jade.RoboCupRescueProject.utils.AgentThreads;
 import com.jade.RoboCupRescueProject.utils.ContainerManager;
 import jade.core.AID;
 import jade.lang.acl.ACLMessage;
 import jade.core.behaviours.OneShotBehaviour;
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
 
 /**
  * Scénario d'évacuation d'urgence pour la simulation RoboCupRescue.
@@ -132,11 +134,11 @@ public class ScenarioEvacuationUrgence {
             System.out.println("Préparation du scénario en cours...");
 
             // Créer un agent temporaire pour démarrer le scénario
-            new Thread(() -> {
+            AgentThreads.start("scenario-evacuation-urgence", () -> {
                 try {
                     // Attendre que les agents soient prêts
                     System.out.println("Attente de l'initialisation des agents...");
-                    Thread.sleep(DELAI_INITIALISATION);
+                    SimulationClock.get().sleep(DELAI_INITIALISATION);
 
                     // Vérifier à nouveau si JADE est correctement initialisé
                     if (!isJadeRunning()) {
@@ -221,7 +223,7 @@ public class ScenarioEvacuationUrgence {
                         System.out.println("=== FIN DES INSTRUCTIONS ===");
                     }
                 }
-            }).start();
+            });
         }
 
         /**
@@ -0,0 +1,17 @@
+package com.jade.RoboCupRescueProject.sensing;
+
+/**
+ * Emit stage of a detector: receives the detections that survived deduplication.
+ */
+@FunctionalInterface
+public interface DetectionSink {
+    /**
+     * Handle a detection
+     * @param point The scan point of the detection
+     * @param score The fused score, the sum of the weights of the matching evidence
+     * @param values The filtered values of the detector's channels, in the order of its evidence;
+     *               the array is reused for the next detection and must be copied to be kept
+     * @param isNew Whether the point was not detected before, or was forgotten since
+     */
+    void onDetection(int point, double score, double[] values, boolean isNew);
+}
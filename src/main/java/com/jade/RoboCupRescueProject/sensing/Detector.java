@@ -0,0 +1,95 @@
+package com.jade.RoboCupRescueProject.sensing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the fuse, detect and deduplicate stages of a detection.
+ *
+ * Each piece of evidence is a channel whose filtered value must lie in a range; the score of a
+ * scan point is the sum of the weights of its matching evidence, and the point is detected when
+ * the score reaches the minimum score. A detected point is emitted the first time, then only when
+ * the watched channel changed by more than a delta since it was last emitted (every time if no
+ * channel is watched).
+ */
+public class Detector {
+    /**
+     * Range of values of a channel counting as evidence
+     */
+    record Evidence(String channel, double weight, double min, double max) {
+    }
+
+    private final String name;
+    private final List<Evidence> evidence = new ArrayList<>();
+    private double minScore = 1.0;
+    private String changeChannel;
+    private double changeDelta;
+
+    private Detector(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Start the configuration of a detector
+     * @param name The detector name, used to forget points
+     * @return The detector
+     */
+    public static Detector named(String name) {
+        return new Detector(name);
+    }
+
+    /**
+     * Add a piece of evidence
+     * @param channel The channel name
+     * @param weight The weight added to the score when the value is in range
+     * @param min The lowest value in range
+     * @param max The highest value in range
+     * @return This detector, for chaining
+     */
+    public Detector evidence(String channel, double weight, double min, double max) {
+        evidence.add(new Evidence(channel, weight, min, max));
+        return this;
+    }
+
+    /**
+     * Set the score from which a point is detected
+     * @param minScore The minimum score
+     * @return This detector, for chaining
+     */
+    public Detector minScore(double minScore) {
+        this.minScore = minScore;
+        return this;
+    }
+
+    /**
+     * Emit a detected point again only when a channel changed enough
+     * @param channel The watched channel, one of the evidence channels
+     * @param delta The change from the last emitted value needed to emit again
+     * @return This detector, for chaining
+     */
+    public Detector reportChange(String channel, double delta) {
+        this.changeChannel = channel;
+        this.changeDelta = delta;
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    List<Evidence> getEvidence() {
+        return evidence;
+    }
+
+    double getMinScore() {
+        return minScore;
+    }
+
+    String getChangeChannel() {
+        return changeChannel;
+    }
+
+    double getChangeDelta() {
+        return changeDelta;
+    }
+}
@@ -0,0 +1,230 @@
+package com.jade.RoboCupRescueProject.sensing;
+
+import java.util.List;
+
+/**
+ * Adaptive duty cycle of the sensors of a robot.
+ *
+ * The sensors are sampled at the base period while the detectors find something, and less and
+ * less often as the scene goes quiet, down to the maximum period. Below half battery the period
+ * is stretched further, beyond the maximum period and by up to ten times at 5% battery, so that a
+ * robot running low stays on station longer.
+ *
+ * A detector that emits nothing for the idle time is paused, which switches off the channels
+ * only it uses; it is resumed for one probe frame every idle time, and stays on if the probe
+ * detects something.
+ *
+ * Every sample costs a fixed share of the battery, so the energy spent on sensing and the
+ * energy per detection follow from the counters of the pipeline.
+ *
+ * The idle time and the energy of a sample are set with the system properties
+ * {@value #IDLE_PROPERTY} (simulated milliseconds) and {@value #ENERGY_PROPERTY} (battery percent).
+ *
+ * Not thread-safe: the duty cycle belongs to one robot and is used from the agent thread.
+ */
+public class DutyCycle {
+    public static final String IDLE_PROPERTY = "simulation.sensors.idle";
+    public static final String ENERGY_PROPERTY = "simulation.sensors.energy";
+
+    // Default idle time before a detector is paused, in milliseconds
+    private static final long DEFAULT_IDLE_TIME = 10000;
+    // Default battery share of one channel sample, in percent
+    private static final double DEFAULT_SAMPLE_ENERGY = 0.0012;
+    // Maximum period, as a multiple of the base period
+    private static final int MAX_STRETCH = 8;
+    // Weight of the latest frame in the detection activity
+    private static final double ACTIVITY_ALPHA = 0.3;
+    // Battery level, in percent, below which the period is stretched, and floor of the stretch
+    private static final double LOW_BATTERY = 50.0;
+    private static final double MIN_BATTERY = 5.0;
+
+    /**
+     * Activity of one detector
+     */
+    private static final class Activity {
+        final String detector;
+        long lastCount;
+        long lastDetection;
+        // Share of the scan points detected per frame, smoothed
+        double level = 1.0;
+        boolean probing = false;
+        long nextProbe;
+
+        Activity(String detector, long now) {
+            this.detector = detector;
+            this.lastDetection = now;
+        }
+    }
+
+    private final SensorPipeline sensors;
+    private final long basePeriod;
+    private final long maxPeriod;
+    private final long idleTime;
+    private final double sampleEnergy;
+    private Activity[] activities = new Activity[0];
+
+    private long period;
+    private long drainedSamples = 0;
+
+    /**
+     * Create a duty cycle
+     * @param sensors The sensor pipeline, whose detectors are paused and resumed
+     * @param basePeriod The sampling period while the detectors are active, in simulated milliseconds
+     * @param idleTime The time without detection after which a detector is paused, in simulated milliseconds
+     * @param sampleEnergy The battery share of one channel sample, in percent
+     */
+    public DutyCycle(SensorPipeline sensors, long basePeriod, long idleTime, double sampleEnergy) {
+        if (basePeriod <= 0 || idleTime <= 0 || sampleEnergy < 0) {
+            throw new IllegalArgumentException("Invalid duty cycle of " + basePeriod + " ms, idle after "
+                    + idleTime + " ms, " + sampleEnergy + "% per sample");
+        }
+        this.sensors = sensors;
+        this.basePeriod = basePeriod;
+        this.maxPeriod = basePeriod * MAX_STRETCH;
+        this.idleTime = idleTime;
+        this.sampleEnergy = sampleEnergy;
+        this.period = basePeriod;
+    }
+
+    /**
+     * Build a duty cycle with the idle time and sample energy set by the simulation.sensors.* system properties
+     * @param sensors The sensor pipeline
+     * @param basePeriod The sampling period while the detectors are active, in simulated milliseconds
+     * @return The duty cycle
+     */
+    public static DutyCycle fromSystemProperties(SensorPipeline sensors, long basePeriod) {
+        String idle = System.getProperty(IDLE_PROPERTY, String.valueOf(DEFAULT_IDLE_TIME)).trim();
+        String energy = System.getProperty(ENERGY_PROPERTY, String.valueOf(DEFAULT_SAMPLE_ENERGY)).trim();
+        try {
+            return new DutyCycle(sensors, basePeriod, Long.parseLong(idle), Double.parseDouble(energy));
+        } catch (RuntimeException e) {
+            System.err.println("Invalid sensor duty cycle '" + idle + "', '" + energy + "': " + e.getMessage());
+            return new DutyCycle(sensors, basePeriod, DEFAULT_IDLE_TIME, DEFAULT_SAMPLE_ENERGY);
+        }
+    }
+
+    /**
+     * Account for the frames processed since the last update, pause the idle detectors, resume
+     * the detectors due for a probe, and compute the next sampling period
+     * @param now The current simulated time
+     * @param batteryLevel The battery level of the robot, in percent
+     * @return The next sampling period, in simulated milliseconds
+     */
+    public long update(long now, double batteryLevel) {
+        trackDetectors(now);
+
+        double level = 0;
+        for (Activity activity : activities) {
+            if (!sensors.isPaused(activity.detector)) {
+                level = Math.max(level, activity.level);
+            }
+        }
+
+        // Base period at full activity, maximum period when nothing is detected
+        double next = basePeriod + (maxPeriod - basePeriod) * (1 - Math.min(1.0, level));
+        // Stretched past the maximum period on low battery, bounded by the battery floor
+        if (batteryLevel < LOW_BATTERY) {
+            next *= LOW_BATTERY / Math.max(MIN_BATTERY, batteryLevel);
+        }
+        period = Math.round(next);
+        return period;
+    }
+
+    private void trackDetectors(long now) {
+        List<String> names = sensors.getDetectorNames();
+        if (names.size() != activities.length) {
+            // Detectors were added since the last update
+            Activity[] updated = new Activity[names.size()];
+            System.arraycopy(activities, 0, updated, 0, activities.length);
+            for (int i = activities.length; i < updated.length; i++) {
+                updated[i] = new Activity(names.get(i), now);
+                updated[i].lastCount = sensors.getDetections(names.get(i));
+            }
+            activities = updated;
+        }
+
+        for (Activity activity : activities) {
+            long count = sensors.getDetections(activity.detector);
+            long detected = count - activity.lastCount;
+            activity.lastCount = count;
+
+            if (sensors.isPaused(activity.detector)) {
+                if (now >= activity.nextProbe) {
+                    // Sample once more at the next frame to check whether the scene changed
+                    sensors.setPaused(activity.detector, false);
+                    activity.probing = true;
+                    activity.level = 0;
+                }
+                continue;
+            }
+
+            double share = Math.min(1.0, (double) detected / sensors.getPoints());
+            activity.level += ACTIVITY_ALPHA * (share - activity.level);
+            if (detected > 0) {
+                activity.lastDetection = now;
+                activity.probing = false;
+            } else if (activity.probing || now - activity.lastDetection >= idleTime) {
+                sensors.setPaused(activity.detector, true);
+                activity.probing = false;
+                activity.level = 0;
+                activity.nextProbe = now + idleTime;
+            }
+        }
+    }
+
+    /**
+     * Get the battery spent on samples since the last call, to drain it from the robot
+     * @return The energy, in battery percent
+     */
+    public double drainEnergy() {
+        long samples = sensors.getSamplesTaken();
+        double energy = (samples - drainedSamples) * sampleEnergy;
+        drainedSamples = samples;
+        return energy;
+    }
+
+    /**
+     * Get the battery spent on samples since the pipeline started
+     * @return The energy, in battery percent
+     */
+    public double getEnergyUsed() {
+        return sensors.getSamplesTaken() * sampleEnergy;
+    }
+
+    /**
+     * Get the battery spent on sensing per detection emitted
+     * @return The energy per detection, in battery percent, or 0 before the first detection
+     */
+    public double getEnergyPerDetection() {
+        long detections = sensors.getDetectionsEmitted();
+        return detections == 0 ? 0.0 : getEnergyUsed() / detections;
+    }
+
+    /**
+     * Get the last computed sampling period
+     * @return The period, in simulated milliseconds
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Get the number of detectors currently paused
+     * @return The paused detector count
+     */
+    public int getPausedCount() {
+        int paused = 0;
+        for (Activity activity : activities) {
+            if (sensors.isPaused(activity.detector)) {
+                paused++;
+            }
+        }
+        return paused;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("period=%d ms, paused=%d/%d, energy=%.3f%%, energy/detection=%.5f%%",
+                period, getPausedCount(), activities.length, getEnergyUsed(), getEnergyPerDetection());
+    }
+}
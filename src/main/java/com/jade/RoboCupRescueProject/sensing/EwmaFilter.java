@@ -0,0 +1,33 @@
+package com.jade.RoboCupRescueProject.sensing;
+
+/**
+ * Exponentially weighted moving average of each scan point.
+ * The first frame initializes the averages.
+ */
+public class EwmaFilter implements Filter {
+    private final double alpha;
+    private final double[] averages;
+    private boolean initialized = false;
+
+    /**
+     * Create a filter
+     * @param points The number of scan points of a frame
+     * @param alpha The weight of the newest sample, between 0 (no change) and 1 (no smoothing)
+     */
+    public EwmaFilter(int points, double alpha) {
+        if (!(alpha > 0 && alpha <= 1)) {
+            throw new IllegalArgumentException("EWMA weight must be in ]0, 1]: " + alpha);
+        }
+        this.alpha = alpha;
+        this.averages = new double[points];
+    }
+
+    @Override
+    public void apply(double[] frame) {
+        for (int point = 0; point < averages.length; point++) {
+            averages[point] = initialized ? averages[point] + alpha * (frame[point] - averages[point]) : frame[point];
+            frame[point] = averages[point];
+        }
+        initialized = true;
+    }
+}
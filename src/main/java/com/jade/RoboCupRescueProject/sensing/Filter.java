@@ -0,0 +1,17 @@
+package com.jade.RoboCupRescueProject.sensing;
+
+/**
+ * Filter stage of a sensor channel: smooths a frame in place, one value per scan point.
+ * Implementations keep one state per point, allocated when they are created.
+ */
+@FunctionalInterface
+public interface Filter {
+    // Leaves the samples unchanged
+    Filter NONE = frame -> { };
+
+    /**
+     * Filter a frame in place
+     * @param frame The samples of the frame, one per scan point
+     */
+    void apply(double[] frame);
+}
@@ -0,0 +1,46 @@
+package com.jade.RoboCupRescueProject.sensing;
+
+/**
+ * Scalar Kalman filter of each scan point, for a quantity that drifts slowly under noisy readings.
+ * The first frame initializes the estimates with the measurement noise as their variance.
+ */
+public class KalmanFilter implements Filter {
+    private final double processNoise;
+    private final double measurementNoise;
+    private final double[] estimates;
+    private final double[] variances;
+    private boolean initialized = false;
+
+    /**
+     * Create a filter
+     * @param points The number of scan points of a frame
+     * @param processNoise The variance of the change of the quantity between two frames
+     * @param measurementNoise The variance of the sensor readings
+     */
+    public KalmanFilter(int points, double processNoise, double measurementNoise) {
+        if (!(processNoise >= 0) || !(measurementNoise > 0)) {
+            throw new IllegalArgumentException("Invalid Kalman noise: " + processNoise + ", " + measurementNoise);
+        }
+        this.processNoise = processNoise;
+        this.measurementNoise = measurementNoise;
+        this.estimates = new double[points];
+        this.variances = new double[points];
+    }
+
+    @Override
+    public void apply(double[] frame) {
+        for (int point = 0; point < estimates.length; point++) {
+            if (initialized) {
+                double predicted = variances[point] + processNoise;
+                double gain = predicted / (predicted + measurementNoise);
+                estimates[point] += gain * (frame[point] - estimates[point]);
+                variances[point] = (1 - gain) * predicted;
+            } else {
+                estimates[point] = frame[point];
+                variances[point] = measurementNoise;
+            }
+            frame[point] = estimates[point];
+        }
+        initialized = true;
+    }
+}
@@ -0,0 +1,98 @@
+package com.jade.RoboCupRescueProject.sensing;
+
+/**
+ * Fixed-capacity FIFO of sensor frames, backed by arrays allocated once.
+ *
+ * A frame is one sample per scan point, with its simulated time. When the ring is full the
+ * oldest frame is overwritten, so a producer faster than the pipeline loses old frames rather
+ * than growing the heap.
+ */
+public final class SampleRing {
+    private final int capacity;
+    private final int width;
+    private final double[] values;
+    private final long[] times;
+
+    // Slot of the oldest frame, and number of frames stored
+    private int head = 0;
+    private int size = 0;
+    private long dropped = 0;
+
+    /**
+     * Create a ring
+     * @param capacity The maximum number of frames
+     * @param width The number of samples of a frame
+     */
+    public SampleRing(int capacity, int width) {
+        if (capacity <= 0 || width <= 0) {
+            throw new IllegalArgumentException("Invalid ring of " + capacity + " frames of " + width + " samples");
+        }
+        this.capacity = capacity;
+        this.width = width;
+        this.values = new double[capacity * width];
+        this.times = new long[capacity];
+    }
+
+    /**
+     * Append a frame, overwriting the oldest one if the ring is full
+     * @param time The simulated time of the frame
+     * @param source The array holding the frame
+     * @param offset The index of the first sample of the frame in the array
+     */
+    public void write(long time, double[] source, int offset) {
+        if (size == capacity) {
+            head = (head + 1) % capacity;
+            size--;
+            dropped++;
+        }
+        int slot = (head + size) % capacity;
+        System.arraycopy(source, offset, values, slot * width, width);
+        times[slot] = time;
+        size++;
+    }
+
+    /**
+     * Remove the oldest frame
+     * @param target The array receiving the samples of the frame, of at least the frame width
+     * @return The simulated time of the frame
+     * @throws IllegalStateException if the ring is empty
+     */
+    public long read(double[] target) {
+        if (size == 0) {
+            throw new IllegalStateException("Empty sample ring");
+        }
+        int slot = head;
+        System.arraycopy(values, slot * width, target, 0, width);
+        head = (head + 1) % capacity;
+        size--;
+        return times[slot];
+    }
+
+    /**
+     * Discard the stored frames
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    /**
+     * Get the number of frames overwritten before being read
+     * @return The dropped frame count
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+}
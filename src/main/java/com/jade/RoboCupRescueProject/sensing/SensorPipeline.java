@@ -0,0 +1,474 @@
+package com.jade.RoboCupRescueProject.sensing;
+
+import com.jade.RoboCupRescueProject.utils.SimulationClock;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sensor pipeline of a robot: sample, filter, fuse, detect, deduplicate and emit.
+ *
+ * Each channel (temperature, infrared, heartbeat...) produces frames of one value per scan point,
+ * either pulled from its sampler by {@link #sample(long)} or pushed by {@link #offer} and
+ * {@link #offerBatch}. Frames wait in the ring buffer of their channel until {@link #process()}
+ * takes them, one frame of every channel at a time: the frames are filtered, then each detector
+ * fuses the values of its channels into a score per point, and emits the detected points that
+ * pass its deduplication to its sink.
+ *
+ * All buffers are allocated when the pipeline and its detectors are built, so a frame costs
+ * no allocation whatever the number of channels and detectors.
+ *
+ * A detector can be paused to save energy: the channels used only by paused detectors are
+ * neither sampled nor waited for, and the frames pushed to them are ignored.
+ *
+ * Not thread-safe: the pipeline belongs to one robot and is used from the agent thread.
+ */
+public class SensorPipeline {
+    // Frames a channel can hold before the oldest is dropped
+    public static final int DEFAULT_RING_CAPACITY = 16;
+
+    // Tolerance on the score, so that weights summing to the minimum score detect the point
+    private static final double SCORE_EPSILON = 1e-9;
+
+    /**
+     * Sample stage of a channel
+     */
+    @FunctionalInterface
+    public interface Sampler {
+        /**
+         * Read one frame from the sensor
+         * @param frame The array to fill, one value per scan point
+         */
+        void read(double[] frame);
+    }
+
+    private static final class Channel {
+        final String name;
+        final Sampler sampler;
+        final Filter filter;
+        final SampleRing ring;
+        // Filtered frame being processed
+        final double[] frame;
+        // False when every detector using the channel is paused
+        boolean active = true;
+
+        Channel(String name, Sampler sampler, Filter filter, int ringCapacity, int points) {
+            this.name = name;
+            this.sampler = sampler;
+            this.filter = filter;
+            this.ring = new SampleRing(ringCapacity, points);
+            this.frame = new double[points];
+        }
+    }
+
+    /**
+     * Detector compiled against the channels of the pipeline
+     */
+    private static final class Stage {
+        final int[] channels;
+        final double[] weights;
+        final double[] mins;
+        final double[] maxs;
+        final double minScore;
+        // Index of the watched channel in the evidence, or -1 to emit every detection
+        final int changeIndex;
+        final double changeDelta;
+        final DetectionSink sink;
+
+        // Deduplication state of each point
+        final boolean[] emitted;
+        final double[] lastEmitted;
+        // Values passed to the sink
+        final double[] values;
+        boolean paused = false;
+        long detections = 0;
+
+        Stage(int[] channels, double[] weights, double[] mins, double[] maxs, double minScore,
+              int changeIndex, double changeDelta, DetectionSink sink, int points) {
+            this.channels = channels;
+            this.weights = weights;
+            this.mins = mins;
+            this.maxs = maxs;
+            this.minScore = minScore;
+            this.changeIndex = changeIndex;
+            this.changeDelta = changeDelta;
+            this.sink = sink;
+            this.emitted = new boolean[points];
+            this.lastEmitted = new double[points];
+            this.values = new double[channels.length];
+        }
+    }
+
+    private final int points;
+    private final Channel[] channels;
+    private final Map<String, Integer> channelIndex = new HashMap<>();
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private Stage[] stageArray = new Stage[0];
+
+    // Statistics
+    private long samplesTaken = 0;
+    private long framesProcessed = 0;
+    private long detectionsEmitted = 0;
+    private long lastLatency = 0;
+
+    private SensorPipeline(int points, List<Channel> channels) {
+        this.points = points;
+        this.channels = channels.toArray(new Channel[0]);
+        for (int i = 0; i < this.channels.length; i++) {
+            channelIndex.put(this.channels[i].name, i);
+        }
+    }
+
+    /**
+     * Start building a pipeline
+     * @param points The number of scan points of every frame
+     * @return The builder
+     */
+    public static Builder builder(int points) {
+        return new Builder(points);
+    }
+
+    /**
+     * Add a detector, fed from the next processed frame
+     * @param detector The detector configuration; its channels must belong to the pipeline
+     * @param sink The emit stage of the detector
+     * @throws IllegalArgumentException if a channel is unknown or the name is already used
+     */
+    public void addDetector(Detector detector, DetectionSink sink) {
+        if (stages.containsKey(detector.getName())) {
+            throw new IllegalArgumentException("Duplicate detector: " + detector.getName());
+        }
+        List<Detector.Evidence> evidence = detector.getEvidence();
+        int[] indexes = new int[evidence.size()];
+        double[] weights = new double[evidence.size()];
+        double[] mins = new double[evidence.size()];
+        double[] maxs = new double[evidence.size()];
+        int changeIndex = -1;
+        for (int i = 0; i < evidence.size(); i++) {
+            Detector.Evidence e = evidence.get(i);
+            indexes[i] = channelIndexOf(e.channel());
+            weights[i] = e.weight();
+            mins[i] = e.min();
+            maxs[i] = e.max();
+            if (e.channel().equals(detector.getChangeChannel())) {
+                changeIndex = i;
+            }
+        }
+        if (detector.getChangeChannel() != null && changeIndex < 0) {
+            throw new IllegalArgumentException("Watched channel is not evidence: " + detector.getChangeChannel());
+        }
+
+        stages.put(detector.getName(), new Stage(indexes, weights, mins, maxs, detector.getMinScore(),
+                changeIndex, detector.getChangeDelta(), sink, points));
+        stageArray = stages.values().toArray(new Stage[0]);
+        updateActiveChannels();
+    }
+
+    /**
+     * Pause or resume a detector. While paused, the detector emits nothing and the channels
+     * that no running detector uses are switched off.
+     * @param detector The detector name
+     * @param paused true to pause the detector, false to resume it
+     * @throws IllegalArgumentException if the detector is unknown
+     */
+    public void setPaused(String detector, boolean paused) {
+        Stage stage = stageOf(detector);
+        if (stage.paused != paused) {
+            stage.paused = paused;
+            updateActiveChannels();
+        }
+    }
+
+    /**
+     * Check whether a detector is paused
+     * @param detector The detector name
+     * @return true if the detector is paused
+     * @throws IllegalArgumentException if the detector is unknown
+     */
+    public boolean isPaused(String detector) {
+        return stageOf(detector).paused;
+    }
+
+    private void updateActiveChannels() {
+        boolean[] used = new boolean[channels.length];
+        boolean[] running = new boolean[channels.length];
+        for (Stage stage : stageArray) {
+            for (int channel : stage.channels) {
+                used[channel] = true;
+                running[channel] |= !stage.paused;
+            }
+        }
+        for (int i = 0; i < channels.length; i++) {
+            boolean active = !used[i] || running[i];
+            if (!active && channels[i].active) {
+                // Frames left in the ring would be stale when the channel is switched on again
+                channels[i].ring.clear();
+            }
+            channels[i].active = active;
+        }
+    }
+
+    /**
+     * Pull one frame from the sampler of every channel that has one
+     * @param time The simulated time of the frame
+     */
+    public void sample(long time) {
+        for (Channel channel : channels) {
+            if (channel.sampler != null && channel.active) {
+                channel.sampler.read(channel.frame);
+                channel.ring.write(time, channel.frame, 0);
+                samplesTaken++;
+            }
+        }
+    }
+
+    /**
+     * Push one frame of a channel; the frame is ignored if the channel is switched off
+     * @param channel The channel name
+     * @param time The simulated time of the frame
+     * @param frame The samples, one per scan point
+     */
+    public void offer(String channel, long time, double[] frame) {
+        Channel target = channels[channelIndexOf(channel)];
+        if (target.active) {
+            target.ring.write(time, frame, 0);
+            samplesTaken++;
+        }
+    }
+
+    /**
+     * Push consecutive frames of a channel; the frames are ignored if the channel is switched off
+     * @param channel The channel name
+     * @param times The simulated time of each frame
+     * @param frames The samples of the frames, frame after frame
+     * @param count The number of frames
+     */
+    public void offerBatch(String channel, long[] times, double[] frames, int count) {
+        Channel target = channels[channelIndexOf(channel)];
+        if (!target.active) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            target.ring.write(times[i], frames, i * points);
+        }
+        samplesTaken += count;
+    }
+
+    /**
+     * Run the waiting frames through the filter, fuse, detect, deduplicate and emit stages.
+     * A frame is processed once every channel switched on has one.
+     * @return The number of detections emitted
+     */
+    public int process() {
+        int emitted = 0;
+        while (framesReady()) {
+            long time = 0;
+            for (Channel channel : channels) {
+                if (channel.active) {
+                    time = channel.ring.read(channel.frame);
+                    channel.filter.apply(channel.frame);
+                }
+            }
+            for (Stage stage : stageArray) {
+                if (!stage.paused) {
+                    emitted += detect(stage);
+                }
+            }
+            framesProcessed++;
+            lastLatency = SimulationClock.get().now() - time;
+        }
+        detectionsEmitted += emitted;
+        return emitted;
+    }
+
+    private int detect(Stage stage) {
+        int emitted = 0;
+        for (int point = 0; point < points; point++) {
+            // Fuse
+            double score = 0;
+            for (int i = 0; i < stage.channels.length; i++) {
+                double value = channels[stage.channels[i]].frame[point];
+                stage.values[i] = value;
+                if (value >= stage.mins[i] && value <= stage.maxs[i]) {
+                    score += stage.weights[i];
+                }
+            }
+
+            // Detect
+            if (score < stage.minScore - SCORE_EPSILON) {
+                continue;
+            }
+
+            // Deduplicate
+            boolean isNew = !stage.emitted[point];
+            if (!isNew && stage.changeIndex >= 0
+                    && Math.abs(stage.values[stage.changeIndex] - stage.lastEmitted[point]) <= stage.changeDelta) {
+                continue;
+            }
+            stage.emitted[point] = true;
+            if (stage.changeIndex >= 0) {
+                stage.lastEmitted[point] = stage.values[stage.changeIndex];
+            }
+
+            // Emit
+            stage.sink.onDetection(point, score, stage.values, isNew);
+            emitted++;
+        }
+        stage.detections += emitted;
+        return emitted;
+    }
+
+    private boolean framesReady() {
+        boolean any = false;
+        for (Channel channel : channels) {
+            if (channel.active) {
+                if (channel.ring.size() == 0) {
+                    return false;
+                }
+                any = true;
+            }
+        }
+        return any;
+    }
+
+    /**
+     * Forget that a point was detected, so that its next detection is new again
+     * @param detector The detector name
+     * @param point The scan point
+     */
+    public void forget(String detector, int point) {
+        Stage stage = stages.get(detector);
+        if (stage != null) {
+            stage.emitted[point] = false;
+        }
+    }
+
+    private Stage stageOf(String detector) {
+        Stage stage = stages.get(detector);
+        if (stage == null) {
+            throw new IllegalArgumentException("Unknown detector: " + detector);
+        }
+        return stage;
+    }
+
+    private int channelIndexOf(String name) {
+        Integer index = channelIndex.get(name);
+        if (index == null) {
+            throw new IllegalArgumentException("Unknown sensor channel: " + name);
+        }
+        return index;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public int getChannelCount() {
+        return channels.length;
+    }
+
+    /**
+     * Get the names of the detectors, in the order they were added
+     * @return The detector names
+     */
+    public List<String> getDetectorNames() {
+        return new ArrayList<>(stages.keySet());
+    }
+
+    /**
+     * Get the number of channel frames sampled or pushed, that is the sensor readings taken
+     * @return The sample count, over all channels
+     */
+    public long getSamplesTaken() {
+        return samplesTaken;
+    }
+
+    /**
+     * Get the number of detections emitted by a detector
+     * @param detector The detector name
+     * @return The detection count
+     * @throws IllegalArgumentException if the detector is unknown
+     */
+    public long getDetections(String detector) {
+        return stageOf(detector).detections;
+    }
+
+    public long getFramesProcessed() {
+        return framesProcessed;
+    }
+
+    public long getDetectionsEmitted() {
+        return detectionsEmitted;
+    }
+
+    /**
+     * Get the frames dropped because a channel produced them faster than they were processed
+     * @return The dropped frame count, over all channels
+     */
+    public long getDroppedFrames() {
+        long dropped = 0;
+        for (Channel channel : channels) {
+            dropped += channel.ring.getDroppedCount();
+        }
+        return dropped;
+    }
+
+    /**
+     * Get the time between the sampling and the processing of the last frame
+     * @return The latency in simulated milliseconds
+     */
+    public long getLastLatency() {
+        return lastLatency;
+    }
+
+    /**
+     * Builder of the channels of a pipeline
+     */
+    public static final class Builder {
+        private final int points;
+        private final List<Channel> channels = new ArrayList<>();
+        private int ringCapacity = DEFAULT_RING_CAPACITY;
+
+        private Builder(int points) {
+            if (points <= 0) {
+                throw new IllegalArgumentException("A frame needs at least one scan point: " + points);
+            }
+            this.points = points;
+        }
+
+        /**
+         * Set the number of frames each channel can hold before the oldest is dropped
+         * @param ringCapacity The ring capacity, in frames
+         * @return This builder
+         */
+        public Builder ringCapacity(int ringCapacity) {
+            this.ringCapacity = ringCapacity;
+            return this;
+        }
+
+        /**
+         * Add a channel
+         * @param name The channel name
+         * @param sampler The sampler read by {@link SensorPipeline#sample(long)}, or null for a channel
+         *                whose frames are pushed
+         * @param filter The filter of the channel, {@link Filter#NONE} to keep the raw samples
+         * @return This builder
+         */
+        public Builder channel(String name, Sampler sampler, Filter filter) {
+            for (Channel channel : channels) {
+                if (channel.name.equals(name)) {
+                    throw new IllegalArgumentException("Duplicate sensor channel: " + name);
+                }
+            }
+            channels.add(new Channel(name, sampler, filter, ringCapacity, points));
+            return this;
+        }
+
+        public SensorPipeline build() {
+            return new SensorPipeline(points, channels);
+        }
+    }
+}
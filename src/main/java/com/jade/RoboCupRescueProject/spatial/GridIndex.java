@@ -0,0 +1,210 @@
+package com.jade.RoboCupRescueProject.spatial;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Spatial index bucketing items in square cells.
+ *
+ * Updates are O(1). Range and radius queries visit the cells overlapping the query area;
+ * nearest-neighbour queries visit rings of cells around the query position until no closer
+ * item can exist. Works best when items are spread evenly and the cell size is close to the
+ * typical query radius.
+ */
+public class GridIndex<T> implements SpatialIndex<T> {
+    private final double cellSize;
+    private final Map<Long, List<SpatialEntry<T>>> cells = new HashMap<>();
+    private final Map<T, SpatialEntry<T>> entries = new HashMap<>();
+
+    // Bounds of the occupied cells, used to stop ring searches
+    private int minCellX = Integer.MAX_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+
+    public GridIndex(double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
+
+    @Override
+    public void put(T item, double x, double y) {
+        remove(item);
+        SpatialEntry<T> entry = new SpatialEntry<>(item, x, y);
+        entries.put(item, entry);
+
+        int cx = cellOf(x);
+        int cy = cellOf(y);
+        cells.computeIfAbsent(key(cx, cy), k -> new ArrayList<>(4)).add(entry);
+        minCellX = Math.min(minCellX, cx);
+        minCellY = Math.min(minCellY, cy);
+        maxCellX = Math.max(maxCellX, cx);
+        maxCellY = Math.max(maxCellY, cy);
+    }
+
+    @Override
+    public boolean remove(T item) {
+        SpatialEntry<T> entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+        long key = key(cellOf(entry.x), cellOf(entry.y));
+        List<SpatialEntry<T>> cell = cells.get(key);
+        cell.remove(entry);
+        if (cell.isEmpty()) {
+            cells.remove(key);
+        }
+        return true;
+    }
+
+    @Override
+    public Point locationOf(T item) {
+        SpatialEntry<T> entry = entries.get(item);
+        return entry == null ? null : entry.location();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void clear() {
+        cells.clear();
+        entries.clear();
+        minCellX = Integer.MAX_VALUE;
+        minCellY = Integer.MAX_VALUE;
+        maxCellX = Integer.MIN_VALUE;
+        maxCellY = Integer.MIN_VALUE;
+    }
+
+    @Override
+    public List<T> range(double minX, double minY, double maxX, double maxY) {
+        List<T> result = new ArrayList<>();
+        if (entries.isEmpty()) {
+            return result;
+        }
+
+        int fromX = Math.max(cellOf(minX), minCellX);
+        int toX = Math.min(cellOf(maxX), maxCellX);
+        int fromY = Math.max(cellOf(minY), minCellY);
+        int toY = Math.min(cellOf(maxY), maxCellY);
+
+        if ((long) (toX - fromX + 1) * (toY - fromY + 1) > cells.size()) {
+            // Fewer occupied cells than cells in the area: scan the occupied ones
+            for (List<SpatialEntry<T>> cell : cells.values()) {
+                collect(cell, minX, minY, maxX, maxY, result);
+            }
+            return result;
+        }
+
+        for (int cx = fromX; cx <= toX; cx++) {
+            for (int cy = fromY; cy <= toY; cy++) {
+                List<SpatialEntry<T>> cell = cells.get(key(cx, cy));
+                if (cell != null) {
+                    collect(cell, minX, minY, maxX, maxY, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<T> withinRadius(double x, double y, double radius) {
+        List<T> result = new ArrayList<>();
+        double radiusSq = radius * radius;
+        for (T item : range(x - radius, y - radius, x + radius, y + radius)) {
+            if (entries.get(item).distanceSq(x, y) <= radiusSq) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<T> nearest(double x, double y, int k, Predicate<? super T> filter) {
+        List<T> result = new ArrayList<>();
+        if (k <= 0 || entries.isEmpty()) {
+            return result;
+        }
+
+        // Max-heap of the best candidates found so far
+        PriorityQueue<SpatialEntry<T>> best = new PriorityQueue<>(
+                (a, b) -> Double.compare(b.distanceSq(x, y), a.distanceSq(x, y)));
+
+        int cx = cellOf(x);
+        int cy = cellOf(y);
+        int maxRing = Math.max(Math.max(Math.abs(cx - minCellX), Math.abs(cx - maxCellX)),
+                               Math.max(Math.abs(cy - minCellY), Math.abs(cy - maxCellY)));
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int i = -ring; i <= ring; i++) {
+                visit(cx + i, cy - ring, x, y, k, filter, best);
+                if (ring > 0) {
+                    visit(cx + i, cy + ring, x, y, k, filter, best);
+                }
+            }
+            for (int j = -ring + 1; j <= ring - 1; j++) {
+                visit(cx - ring, cy + j, x, y, k, filter, best);
+                visit(cx + ring, cy + j, x, y, k, filter, best);
+            }
+
+            // Items in the next ring are at least ring * cellSize away
+            if (best.size() == k) {
+                double bound = ring * cellSize;
+                if (best.peek().distanceSq(x, y) <= bound * bound) {
+                    break;
+                }
+            }
+        }
+
+        while (!best.isEmpty()) {
+            result.add(best.poll().item);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private void visit(int cx, int cy, double x, double y, int k, Predicate<? super T> filter,
+                       PriorityQueue<SpatialEntry<T>> best) {
+        List<SpatialEntry<T>> cell = cells.get(key(cx, cy));
+        if (cell == null) {
+            return;
+        }
+        for (SpatialEntry<T> entry : cell) {
+            if (!filter.test(entry.item)) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(entry);
+            } else if (entry.distanceSq(x, y) < best.peek().distanceSq(x, y)) {
+                best.poll();
+                best.add(entry);
+            }
+        }
+    }
+
+    private void collect(List<SpatialEntry<T>> cell, double minX, double minY, double maxX, double maxY,
+                         List<T> result) {
+        for (SpatialEntry<T> entry : cell) {
+            if (entry.inside(minX, minY, maxX, maxY)) {
+                result.add(entry.item);
+            }
+        }
+    }
+
+    private int cellOf(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+}
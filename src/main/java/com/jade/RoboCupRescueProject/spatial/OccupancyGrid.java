@@ -0,0 +1,271 @@
+package com.jade.RoboCupRescueProject.spatial;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-resolution coverage grid of an exploration area, centered on the origin.
+ *
+ * Each cell stores whether it has been explored and the last terrain difficulty measured in it,
+ * in primitive arrays allocated once: the memory used depends on the area and the resolution,
+ * not on how long the robot explores. Positions outside the area are ignored.
+ *
+ * A frontier cell is an unexplored cell next to an explored one, that is a cell at the edge
+ * of the known area that is worth exploring next.
+ *
+ * The area and the resolution are set with the system properties {@value #AREA_PROPERTY}
+ * (width x height, in meters) and {@value #CELL_PROPERTY} (side of a cell, in meters).
+ */
+public class OccupancyGrid {
+    public static final String AREA_PROPERTY = "simulation.exploration.area";
+    public static final String CELL_PROPERTY = "simulation.exploration.cell";
+
+    // Default exploration area and resolution, in meters
+    private static final double DEFAULT_SIZE = 200.0;
+    private static final double DEFAULT_CELL_SIZE = 2.0;
+
+    private static final byte UNEXPLORED = 0;
+    private static final byte EXPLORED = 1;
+
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final double minX;
+    private final double minY;
+
+    // State and terrain difficulty of each cell, by row then column; NaN for unknown difficulty
+    private final byte[] states;
+    private final float[] difficulties;
+
+    private int exploredCount = 0;
+
+    /**
+     * Create a grid centered on the origin
+     * @param width The width of the area, in meters
+     * @param height The height of the area, in meters
+     * @param cellSize The side of a cell, in meters
+     */
+    public OccupancyGrid(double width, double height, double cellSize) {
+        if (!(cellSize > 0) || !(width > 0) || !(height > 0)) {
+            throw new IllegalArgumentException("Invalid grid " + width + "x" + height + " with cells of " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.columns = (int) Math.ceil(width / cellSize);
+        this.rows = (int) Math.ceil(height / cellSize);
+        this.minX = -columns * cellSize / 2;
+        this.minY = -rows * cellSize / 2;
+        this.states = new byte[columns * rows];
+        this.difficulties = new float[columns * rows];
+        Arrays.fill(difficulties, Float.NaN);
+    }
+
+    /**
+     * Build a grid with the area and resolution set by the simulation.exploration.* system properties
+     * @return The grid
+     */
+    public static OccupancyGrid fromSystemProperties() {
+        String area = System.getProperty(AREA_PROPERTY, DEFAULT_SIZE + "x" + DEFAULT_SIZE).trim().toLowerCase();
+        String cell = System.getProperty(CELL_PROPERTY, String.valueOf(DEFAULT_CELL_SIZE)).trim();
+        try {
+            int separator = area.indexOf('x');
+            double width = Double.parseDouble(area.substring(0, separator));
+            double height = Double.parseDouble(area.substring(separator + 1));
+            return new OccupancyGrid(width, height, Double.parseDouble(cell));
+        } catch (RuntimeException e) {
+            System.err.println("Invalid exploration grid '" + area + "', '" + cell + "': " + e.getMessage());
+            return new OccupancyGrid(DEFAULT_SIZE, DEFAULT_SIZE, DEFAULT_CELL_SIZE);
+        }
+    }
+
+    /**
+     * Get the cell containing a position
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @return The cell index, or -1 if the position is outside the area
+     */
+    public int cellOf(double x, double y) {
+        double column = Math.floor((x - minX) / cellSize);
+        double row = Math.floor((y - minY) / cellSize);
+        if (!(column >= 0 && column < columns && row >= 0 && row < rows)) {
+            return -1;
+        }
+        return (int) row * columns + (int) column;
+    }
+
+    /**
+     * Check whether a position is inside the area
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @return true if the position has a cell
+     */
+    public boolean contains(double x, double y) {
+        return cellOf(x, y) >= 0;
+    }
+
+    /**
+     * Get the center of a cell
+     * @param cell The cell index
+     * @return The center of the cell
+     */
+    public Point centerOf(int cell) {
+        return new Point(minX + (cell % columns + 0.5) * cellSize, minY + (cell / columns + 0.5) * cellSize);
+    }
+
+    /**
+     * Mark the cells within a scan radius as explored, and record the terrain difficulty
+     * measured at the center of the scan
+     * @param x The x coordinate of the scan
+     * @param y The y coordinate of the scan
+     * @param radius The scan radius, in meters
+     * @param difficulty The terrain difficulty, between 0 and 1
+     * @return The number of cells explored for the first time
+     */
+    public int explore(double x, double y, double radius, double difficulty) {
+        int firstColumn = Math.max(0, (int) Math.floor((x - radius - minX) / cellSize));
+        int lastColumn = Math.min(columns - 1, (int) Math.floor((x + radius - minX) / cellSize));
+        int firstRow = Math.max(0, (int) Math.floor((y - radius - minY) / cellSize));
+        int lastRow = Math.min(rows - 1, (int) Math.floor((y + radius - minY) / cellSize));
+
+        int discovered = 0;
+        double radiusSquared = radius * radius;
+        for (int row = firstRow; row <= lastRow; row++) {
+            double dy = minY + (row + 0.5) * cellSize - y;
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                double dx = minX + (column + 0.5) * cellSize - x;
+                int cell = row * columns + column;
+                if (dx * dx + dy * dy <= radiusSquared && states[cell] == UNEXPLORED) {
+                    states[cell] = EXPLORED;
+                    discovered++;
+                }
+            }
+        }
+        exploredCount += discovered;
+
+        int center = cellOf(x, y);
+        if (center >= 0) {
+            if (states[center] == UNEXPLORED) {
+                states[center] = EXPLORED;
+                exploredCount++;
+                discovered++;
+            }
+            difficulties[center] = (float) difficulty;
+        }
+        return discovered;
+    }
+
+    /**
+     * Check whether the cell containing a position has been explored
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @return true if the position is inside the area and explored
+     */
+    public boolean isExplored(double x, double y) {
+        int cell = cellOf(x, y);
+        return cell >= 0 && states[cell] == EXPLORED;
+    }
+
+    /**
+     * Get the last terrain difficulty measured in the cell containing a position
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @return The difficulty, or NaN if it was never measured
+     */
+    public double difficultyAt(double x, double y) {
+        int cell = cellOf(x, y);
+        return cell < 0 ? Double.NaN : difficulties[cell];
+    }
+
+    /**
+     * Get the fraction of the area explored
+     * @return The coverage, between 0 and 1
+     */
+    public double coverage() {
+        return (double) exploredCount / states.length;
+    }
+
+    /**
+     * Get the number of explored cells
+     * @return The explored cell count
+     */
+    public int exploredCount() {
+        return exploredCount;
+    }
+
+    /**
+     * Get the explored area
+     * @return The explored area, in square meters
+     */
+    public double exploredArea() {
+        return exploredCount * cellSize * cellSize;
+    }
+
+    /**
+     * Get the side of a cell
+     * @return The cell size, in meters
+     */
+    public double cellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Get the number of cells of the area
+     * @return The cell count
+     */
+    public int cellCount() {
+        return states.length;
+    }
+
+    /**
+     * Check whether a cell is a frontier: unexplored, next to an explored cell
+     * @param cell The cell index
+     * @return true if the cell is on the frontier
+     */
+    public boolean isFrontier(int cell) {
+        if (states[cell] != UNEXPLORED) {
+            return false;
+        }
+        int column = cell % columns;
+        int row = cell / columns;
+        return (column > 0 && states[cell - 1] == EXPLORED)
+                || (column < columns - 1 && states[cell + 1] == EXPLORED)
+                || (row > 0 && states[cell - columns] == EXPLORED)
+                || (row < rows - 1 && states[cell + columns] == EXPLORED);
+    }
+
+    /**
+     * Count the frontier cells
+     * @return The number of frontier cells
+     */
+    public int frontierCount() {
+        int count = 0;
+        for (int cell = 0; cell < states.length; cell++) {
+            if (isFrontier(cell)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Find the frontier cell closest to a position
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @return The center of the closest frontier cell, or null if there is no frontier
+     */
+    public Point nearestFrontier(double x, double y) {
+        int best = -1;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (int cell = 0; cell < states.length; cell++) {
+            if (!isFrontier(cell)) {
+                continue;
+            }
+            double dx = minX + (cell % columns + 0.5) * cellSize - x;
+            double dy = minY + (cell / columns + 0.5) * cellSize - y;
+            double distance = dx * dx + dy * dy;
+            if (distance < bestDistance) {
+                best = cell;
+                bestDistance = distance;
+            }
+        }
+        return best < 0 ? null : centerOf(best);
+    }
+}
@@ -0,0 +1,87 @@
+package com.jade.RoboCupRescueProject.spatial;
+
+/**
+ * Position on the simulation map, in meters.
+ */
+public record Point(double x, double y) {
+
+    /**
+     * Get the squared distance to another point
+     * @param other The other point
+     * @return The squared Euclidean distance
+     */
+    public double distanceSq(Point other) {
+        return distanceSq(other.x, other.y);
+    }
+
+    /**
+     * Get the squared distance to a position
+     * @param px The x coordinate
+     * @param py The y coordinate
+     * @return The squared Euclidean distance
+     */
+    public double distanceSq(double px, double py) {
+        double dx = x - px;
+        double dy = y - py;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Get the distance to another point
+     * @param other The other point
+     * @return The Euclidean distance
+     */
+    public double distance(Point other) {
+        return Math.sqrt(distanceSq(other));
+    }
+
+    /**
+     * Extract coordinates from a location label.
+     * The first two numbers of the label are used, so "12,40", "(12,40)", "ZONE_12_40" and
+     * "x=12.5;y=40" are all understood. Labels without two numbers, such as "BASE" or
+     * "POINT_3", have no coordinates.
+     * @param label The location label
+     * @return The parsed point, or null if the label does not contain two numbers
+     */
+    public static Point parse(String label) {
+        if (label == null) {
+            return null;
+        }
+
+        double[] values = new double[2];
+        int found = 0;
+        int i = 0;
+        int n = label.length();
+        while (i < n && found < 2) {
+            char c = label.charAt(i);
+            boolean negative = c == '-' && i + 1 < n && Character.isDigit(label.charAt(i + 1));
+            if (!Character.isDigit(c) && !negative) {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            i++;
+            boolean dot = false;
+            while (i < n) {
+                char d = label.charAt(i);
+                if (Character.isDigit(d)) {
+                    i++;
+                } else if (d == '.' && !dot && i + 1 < n && Character.isDigit(label.charAt(i + 1))) {
+                    dot = true;
+                    i++;
+                } else {
+                    break;
+                }
+            }
+            values[found++] = Double.parseDouble(label.substring(start, i));
+        }
+
+        return found == 2 ? new Point(values[0], values[1]) : null;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + "," + y + ")";
+    }
+}
@@ -0,0 +1,301 @@
+package com.jade.RoboCupRescueProject.spatial;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Spatial index based on a point quadtree.
+ *
+ * Leaves hold up to {@link #NODE_CAPACITY} items and split into four quadrants beyond that,
+ * so dense areas get finer nodes while empty areas stay coarse. The tree grows past its
+ * initial bounds when an item is put outside them, and subtrees that become small after
+ * removals are collapsed back into a leaf. Nearest-neighbour queries are best-first searches
+ * ordered by the distance to each node's bounds.
+ */
+public class QuadTreeIndex<T> implements SpatialIndex<T> {
+    // Maximum number of items in a leaf before it splits
+    private static final int NODE_CAPACITY = 8;
+    // Leaves smaller than this never split, so that items at the same position cannot split forever
+    private static final double MIN_NODE_SIZE = 0.01;
+
+    private final Map<T, SpatialEntry<T>> entries = new HashMap<>();
+    private Node<T> root;
+
+    public QuadTreeIndex(double minX, double minY, double maxX, double maxY) {
+        if (!(maxX > minX) || !(maxY > minY)) {
+            throw new IllegalArgumentException("Empty bounds");
+        }
+        this.root = new Node<>(null, minX, minY, maxX, maxY);
+    }
+
+    @Override
+    public void put(T item, double x, double y) {
+        if (!Double.isFinite(x) || !Double.isFinite(y)) {
+            throw new IllegalArgumentException("Invalid position: " + x + "," + y);
+        }
+        remove(item);
+        SpatialEntry<T> entry = new SpatialEntry<>(item, x, y);
+        entries.put(item, entry);
+
+        while (!root.covers(x, y)) {
+            growToward(x, y);
+        }
+        insert(root, entry);
+    }
+
+    @Override
+    public boolean remove(T item) {
+        SpatialEntry<T> entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        Node<T> leaf = (Node<T>) entry.node;
+        leaf.entries.remove(entry);
+
+        // Update the counts and find the highest subtree small enough to become a leaf again
+        Node<T> collapse = null;
+        for (Node<T> node = leaf; node != null; node = node.parent) {
+            node.count--;
+            if (!node.isLeaf() && node.count <= NODE_CAPACITY) {
+                collapse = node;
+            }
+        }
+        if (collapse != null) {
+            List<SpatialEntry<T>> remaining = new ArrayList<>(collapse.count);
+            gather(collapse, remaining);
+            collapse.children = null;
+            collapse.entries = remaining;
+            for (SpatialEntry<T> e : remaining) {
+                e.node = collapse;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Point locationOf(T item) {
+        SpatialEntry<T> entry = entries.get(item);
+        return entry == null ? null : entry.location();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+        root = new Node<>(null, root.minX, root.minY, root.maxX, root.maxY);
+    }
+
+    @Override
+    public List<T> range(double minX, double minY, double maxX, double maxY) {
+        List<T> result = new ArrayList<>();
+        range(root, minX, minY, maxX, maxY, result);
+        return result;
+    }
+
+    @Override
+    public List<T> withinRadius(double x, double y, double radius) {
+        List<T> result = new ArrayList<>();
+        double radiusSq = radius * radius;
+        for (T item : range(x - radius, y - radius, x + radius, y + radius)) {
+            if (entries.get(item).distanceSq(x, y) <= radiusSq) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<T> nearest(double x, double y, int k, Predicate<? super T> filter) {
+        List<T> result = new ArrayList<>();
+        if (k <= 0 || entries.isEmpty()) {
+            return result;
+        }
+
+        // Nodes and entries ordered by their distance; an entry popped before any node is the nearest left
+        PriorityQueue<Candidate<T>> queue = new PriorityQueue<>();
+        queue.add(new Candidate<>(root.distanceSq(x, y), root, null));
+
+        while (!queue.isEmpty() && result.size() < k) {
+            Candidate<T> candidate = queue.poll();
+            if (candidate.entry != null) {
+                result.add(candidate.entry.item);
+                continue;
+            }
+
+            Node<T> node = candidate.node;
+            if (node.isLeaf()) {
+                for (SpatialEntry<T> entry : node.entries) {
+                    if (filter.test(entry.item)) {
+                        queue.add(new Candidate<>(entry.distanceSq(x, y), null, entry));
+                    }
+                }
+            } else {
+                for (Node<T> child : node.children) {
+                    if (child.count > 0) {
+                        queue.add(new Candidate<>(child.distanceSq(x, y), child, null));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void insert(Node<T> node, SpatialEntry<T> entry) {
+        while (true) {
+            node.count++;
+            if (node.isLeaf()) {
+                node.entries.add(entry);
+                entry.node = node;
+                if (node.entries.size() > NODE_CAPACITY && node.maxX - node.minX > MIN_NODE_SIZE) {
+                    split(node);
+                }
+                return;
+            }
+            node = node.children[node.quadrantOf(entry.x, entry.y)];
+        }
+    }
+
+    private void split(Node<T> node) {
+        double midX = (node.minX + node.maxX) / 2;
+        double midY = (node.minY + node.maxY) / 2;
+        @SuppressWarnings("unchecked")
+        Node<T>[] children = (Node<T>[]) new Node<?>[4];
+        children[0] = new Node<>(node, node.minX, node.minY, midX, midY);
+        children[1] = new Node<>(node, midX, node.minY, node.maxX, midY);
+        children[2] = new Node<>(node, node.minX, midY, midX, node.maxY);
+        children[3] = new Node<>(node, midX, midY, node.maxX, node.maxY);
+
+        List<SpatialEntry<T>> moved = node.entries;
+        node.entries = null;
+        node.children = children;
+        for (SpatialEntry<T> entry : moved) {
+            Node<T> child = children[node.quadrantOf(entry.x, entry.y)];
+            child.entries.add(entry);
+            child.count++;
+            entry.node = child;
+        }
+    }
+
+    private void growToward(double x, double y) {
+        double width = root.maxX - root.minX;
+        double height = root.maxY - root.minY;
+        boolean left = x < root.minX;
+        boolean down = y < root.minY;
+
+        double minX = left ? root.minX - width : root.minX;
+        double minY = down ? root.minY - height : root.minY;
+        Node<T> newRoot = new Node<>(null, minX, minY, minX + 2 * width, minY + 2 * height);
+
+        // The old root becomes the quadrant on the opposite side of the growth
+        int oldQuadrant = (left ? 1 : 0) + (down ? 2 : 0);
+        double midX = minX + width;
+        double midY = minY + height;
+        @SuppressWarnings("unchecked")
+        Node<T>[] children = (Node<T>[]) new Node<?>[4];
+        for (int q = 0; q < 4; q++) {
+            if (q == oldQuadrant) {
+                children[q] = root;
+                root.parent = newRoot;
+            } else {
+                double cMinX = (q & 1) == 0 ? minX : midX;
+                double cMinY = (q & 2) == 0 ? minY : midY;
+                children[q] = new Node<>(newRoot, cMinX, cMinY, cMinX + width, cMinY + height);
+            }
+        }
+        newRoot.entries = null;
+        newRoot.children = children;
+        newRoot.count = root.count;
+        root = newRoot;
+    }
+
+    private void range(Node<T> node, double minX, double minY, double maxX, double maxY, List<T> result) {
+        if (node.count == 0 || node.minX > maxX || node.maxX < minX || node.minY > maxY || node.maxY < minY) {
+            return;
+        }
+        if (node.isLeaf()) {
+            for (SpatialEntry<T> entry : node.entries) {
+                if (entry.inside(minX, minY, maxX, maxY)) {
+                    result.add(entry.item);
+                }
+            }
+        } else {
+            for (Node<T> child : node.children) {
+                range(child, minX, minY, maxX, maxY, result);
+            }
+        }
+    }
+
+    private void gather(Node<T> node, List<SpatialEntry<T>> out) {
+        if (node.isLeaf()) {
+            out.addAll(node.entries);
+        } else {
+            for (Node<T> child : node.children) {
+                gather(child, out);
+            }
+        }
+    }
+
+    // Inner class to represent a quadrant; a leaf has entries, an inner node has four children
+    private static final class Node<T> {
+        final double minX;
+        final double minY;
+        final double maxX;
+        final double maxY;
+        Node<T> parent;
+        List<SpatialEntry<T>> entries = new ArrayList<>(4);
+        Node<T>[] children;
+        int count = 0;
+
+        Node(Node<T> parent, double minX, double minY, double maxX, double maxY) {
+            this.parent = parent;
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        boolean isLeaf() {
+            return children == null;
+        }
+
+        boolean covers(double x, double y) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+
+        int quadrantOf(double x, double y) {
+            return (x >= (minX + maxX) / 2 ? 1 : 0) + (y >= (minY + maxY) / 2 ? 2 : 0);
+        }
+
+        double distanceSq(double x, double y) {
+            return SpatialEntry.distanceSqToBox(x, y, minX, minY, maxX, maxY);
+        }
+    }
+
+    // Inner class to represent a node or an entry waiting in a best-first search
+    private static final class Candidate<T> implements Comparable<Candidate<T>> {
+        final double distanceSq;
+        final Node<T> node;
+        final SpatialEntry<T> entry;
+
+        Candidate(double distanceSq, Node<T> node, SpatialEntry<T> entry) {
+            this.distanceSq = distanceSq;
+            this.node = node;
+            this.entry = entry;
+        }
+
+        @Override
+        public int compareTo(Candidate<T> other) {
+            return Double.compare(distanceSq, other.distanceSq);
+        }
+    }
+}
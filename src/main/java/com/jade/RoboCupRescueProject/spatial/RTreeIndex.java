@@ -0,0 +1,303 @@
+package com.jade.RoboCupRescueProject.spatial;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Spatial index based on an R-tree of points.
+ *
+ * Every leaf is at the same depth, so queries stay logarithmic whatever the distribution of
+ * the items and no map bounds are needed. Items go to the leaf whose bounding box grows the
+ * least; full nodes are split in two halves along their widest axis. Nearest-neighbour
+ * queries are best-first searches ordered by the distance to each node's bounding box.
+ */
+public class RTreeIndex<T> implements SpatialIndex<T> {
+    // Maximum number of items or children in a node before it splits
+    private static final int NODE_CAPACITY = 16;
+
+    private final Map<T, SpatialEntry<T>> entries = new HashMap<>();
+    private Node<T> root = new Node<>(true);
+
+    @Override
+    public void put(T item, double x, double y) {
+        remove(item);
+        SpatialEntry<T> entry = new SpatialEntry<>(item, x, y);
+        entries.put(item, entry);
+
+        Node<T> leaf = chooseLeaf(x, y);
+        leaf.entries.add(entry);
+        entry.node = leaf;
+        for (Node<T> node = leaf; node != null; node = node.parent) {
+            node.include(x, y);
+        }
+        if (leaf.size() > NODE_CAPACITY) {
+            split(leaf);
+        }
+    }
+
+    @Override
+    public boolean remove(T item) {
+        SpatialEntry<T> entry = entries.remove(item);
+        if (entry == null) {
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        Node<T> node = (Node<T>) entry.node;
+        node.entries.remove(entry);
+
+        // Drop the nodes left empty, then shrink the bounding boxes up to the root
+        while (node.parent != null && node.size() == 0) {
+            node.parent.children.remove(node);
+            node = node.parent;
+        }
+        for (; node != null; node = node.parent) {
+            node.recomputeBounds();
+        }
+
+        while (!root.leaf && root.children.size() == 1) {
+            root = root.children.get(0);
+            root.parent = null;
+        }
+        if (!root.leaf && root.children.isEmpty()) {
+            root = new Node<>(true);
+        }
+        return true;
+    }
+
+    @Override
+    public Point locationOf(T item) {
+        SpatialEntry<T> entry = entries.get(item);
+        return entry == null ? null : entry.location();
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+        root = new Node<>(true);
+    }
+
+    @Override
+    public List<T> range(double minX, double minY, double maxX, double maxY) {
+        List<T> result = new ArrayList<>();
+        if (!entries.isEmpty()) {
+            range(root, minX, minY, maxX, maxY, result);
+        }
+        return result;
+    }
+
+    @Override
+    public List<T> withinRadius(double x, double y, double radius) {
+        List<T> result = new ArrayList<>();
+        double radiusSq = radius * radius;
+        for (T item : range(x - radius, y - radius, x + radius, y + radius)) {
+            if (entries.get(item).distanceSq(x, y) <= radiusSq) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<T> nearest(double x, double y, int k, Predicate<? super T> filter) {
+        List<T> result = new ArrayList<>();
+        if (k <= 0 || entries.isEmpty()) {
+            return result;
+        }
+
+        // Nodes and entries ordered by their distance; an entry popped before any node is the nearest left
+        PriorityQueue<Candidate<T>> queue = new PriorityQueue<>();
+        queue.add(new Candidate<>(root.distanceSq(x, y), root, null));
+
+        while (!queue.isEmpty() && result.size() < k) {
+            Candidate<T> candidate = queue.poll();
+            if (candidate.entry != null) {
+                result.add(candidate.entry.item);
+                continue;
+            }
+
+            Node<T> node = candidate.node;
+            if (node.leaf) {
+                for (SpatialEntry<T> entry : node.entries) {
+                    if (filter.test(entry.item)) {
+                        queue.add(new Candidate<>(entry.distanceSq(x, y), null, entry));
+                    }
+                }
+            } else {
+                for (Node<T> child : node.children) {
+                    queue.add(new Candidate<>(child.distanceSq(x, y), child, null));
+                }
+            }
+        }
+        return result;
+    }
+
+    private Node<T> chooseLeaf(double x, double y) {
+        Node<T> node = root;
+        while (!node.leaf) {
+            Node<T> best = null;
+            double bestEnlargement = Double.POSITIVE_INFINITY;
+            double bestDistance = Double.POSITIVE_INFINITY;
+            for (Node<T> child : node.children) {
+                double enlargement = child.enlargement(x, y);
+                double distance = child.distanceSq(x, y);
+                if (enlargement < bestEnlargement
+                        || (enlargement == bestEnlargement && distance < bestDistance)) {
+                    best = child;
+                    bestEnlargement = enlargement;
+                    bestDistance = distance;
+                }
+            }
+            node = best;
+        }
+        return node;
+    }
+
+    private void split(Node<T> node) {
+        Node<T> sibling = new Node<>(node.leaf);
+        boolean alongX = node.maxX - node.minX >= node.maxY - node.minY;
+
+        if (node.leaf) {
+            node.entries.sort(alongX ? Comparator.comparingDouble(e -> e.x) : Comparator.comparingDouble(e -> e.y));
+            List<SpatialEntry<T>> moved = node.entries.subList(node.entries.size() / 2, node.entries.size());
+            for (SpatialEntry<T> entry : moved) {
+                sibling.entries.add(entry);
+                entry.node = sibling;
+            }
+            moved.clear();
+        } else {
+            node.children.sort(alongX
+                    ? Comparator.comparingDouble(c -> c.minX + c.maxX)
+                    : Comparator.comparingDouble(c -> c.minY + c.maxY));
+            List<Node<T>> moved = node.children.subList(node.children.size() / 2, node.children.size());
+            for (Node<T> child : moved) {
+                sibling.children.add(child);
+                child.parent = sibling;
+            }
+            moved.clear();
+        }
+        node.recomputeBounds();
+        sibling.recomputeBounds();
+
+        Node<T> parent = node.parent;
+        if (parent == null) {
+            // The root was split: the tree grows by one level
+            Node<T> newRoot = new Node<>(false);
+            newRoot.children.add(node);
+            newRoot.children.add(sibling);
+            node.parent = newRoot;
+            sibling.parent = newRoot;
+            newRoot.recomputeBounds();
+            root = newRoot;
+            return;
+        }
+
+        parent.children.add(sibling);
+        sibling.parent = parent;
+        if (parent.size() > NODE_CAPACITY) {
+            split(parent);
+        }
+    }
+
+    private void range(Node<T> node, double minX, double minY, double maxX, double maxY, List<T> result) {
+        if (node.minX > maxX || node.maxX < minX || node.minY > maxY || node.maxY < minY) {
+            return;
+        }
+        if (node.leaf) {
+            for (SpatialEntry<T> entry : node.entries) {
+                if (entry.inside(minX, minY, maxX, maxY)) {
+                    result.add(entry.item);
+                }
+            }
+        } else {
+            for (Node<T> child : node.children) {
+                range(child, minX, minY, maxX, maxY, result);
+            }
+        }
+    }
+
+    // Inner class to represent a tree node; a leaf holds entries, an inner node holds children
+    private static final class Node<T> {
+        final boolean leaf;
+        final List<SpatialEntry<T>> entries;
+        final List<Node<T>> children;
+        Node<T> parent;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+
+        Node(boolean leaf) {
+            this.leaf = leaf;
+            this.entries = leaf ? new ArrayList<>(NODE_CAPACITY + 1) : null;
+            this.children = leaf ? null : new ArrayList<>(NODE_CAPACITY + 1);
+        }
+
+        int size() {
+            return leaf ? entries.size() : children.size();
+        }
+
+        void include(double x, double y) {
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+
+        void recomputeBounds() {
+            minX = Double.POSITIVE_INFINITY;
+            minY = Double.POSITIVE_INFINITY;
+            maxX = Double.NEGATIVE_INFINITY;
+            maxY = Double.NEGATIVE_INFINITY;
+            if (leaf) {
+                for (SpatialEntry<T> entry : entries) {
+                    include(entry.x, entry.y);
+                }
+            } else {
+                for (Node<T> child : children) {
+                    include(child.minX, child.minY);
+                    include(child.maxX, child.maxY);
+                }
+            }
+        }
+
+        // Growth of the area of the bounding box if the position was added
+        double enlargement(double x, double y) {
+            double width = Math.max(maxX, x) - Math.min(minX, x);
+            double height = Math.max(maxY, y) - Math.min(minY, y);
+            return width * height - (maxX - minX) * (maxY - minY);
+        }
+
+        double distanceSq(double x, double y) {
+            return SpatialEntry.distanceSqToBox(x, y, minX, minY, maxX, maxY);
+        }
+    }
+
+    // Inner class to represent a node or an entry waiting in a best-first search
+    private static final class Candidate<T> implements Comparable<Candidate<T>> {
+        final double distanceSq;
+        final Node<T> node;
+        final SpatialEntry<T> entry;
+
+        Candidate(double distanceSq, Node<T> node, SpatialEntry<T> entry) {
+            this.distanceSq = distanceSq;
+            this.node = node;
+            this.entry = entry;
+        }
+
+        @Override
+        public int compareTo(Candidate<T> other) {
+            return Double.compare(distanceSq, other.distanceSq);
+        }
+    }
+}
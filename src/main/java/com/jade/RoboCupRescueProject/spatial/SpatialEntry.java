@@ -0,0 +1,42 @@
+package com.jade.RoboCupRescueProject.spatial;
+
+/**
+ * Indexed item with its position, shared by the index implementations
+ */
+final class SpatialEntry<T> {
+    final T item;
+    final double x;
+    final double y;
+
+    // Tree node holding the entry, used by the tree indexes to remove it without a search
+    Object node;
+
+    SpatialEntry(T item, double x, double y) {
+        this.item = item;
+        this.x = x;
+        this.y = y;
+    }
+
+    double distanceSq(double px, double py) {
+        double dx = x - px;
+        double dy = y - py;
+        return dx * dx + dy * dy;
+    }
+
+    boolean inside(double minX, double minY, double maxX, double maxY) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    Point location() {
+        return new Point(x, y);
+    }
+
+    /**
+     * Squared distance from a position to a rectangle, 0 when the position is inside
+     */
+    static double distanceSqToBox(double px, double py, double minX, double minY, double maxX, double maxY) {
+        double dx = px < minX ? minX - px : (px > maxX ? px - maxX : 0);
+        double dy = py < minY ? minY - py : (py > maxY ? py - maxY : 0);
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,173 @@
+package com.jade.RoboCupRescueProject.spatial;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Index of items located on the simulation map.
+ *
+ * Each item has a single position; putting an item again moves it. Implementations are not
+ * thread-safe and are meant to be owned by one agent and used from its thread.
+ *
+ * @param <T> The type of the indexed items; they are compared with equals/hashCode
+ */
+public interface SpatialIndex<T> {
+    String KIND_PROPERTY = "simulation.spatial.index";
+    String AREA_PROPERTY = "simulation.area.size";
+
+    /**
+     * Available implementations
+     */
+    enum Kind {
+        // Uniform grid of buckets: cheapest updates, best for evenly spread items
+        GRID,
+        // Point quadtree: adapts to clustered items
+        QUADTREE,
+        // R-tree: balanced depth whatever the distribution, no map bounds needed
+        RTREE
+    }
+
+    /**
+     * Create an index covering a map, e.g. simulation.area.size
+     * @param kind The implementation to use
+     * @param width The width of the map in meters
+     * @param height The height of the map in meters
+     * @param <T> The type of the indexed items
+     * @return The new empty index
+     */
+    static <T> SpatialIndex<T> create(Kind kind, double width, double height) {
+        switch (kind) {
+            case GRID:
+                return new GridIndex<>(Math.max(1.0, Math.max(width, height) / 32));
+            case QUADTREE:
+                return new QuadTreeIndex<>(0, 0, width, height);
+            case RTREE:
+                return new RTreeIndex<>();
+            default:
+                throw new IllegalArgumentException("Unknown index kind: " + kind);
+        }
+    }
+
+    /**
+     * Create an index from the system properties: simulation.spatial.index = grid | quadtree | rtree
+     * (quadtree by default) and simulation.area.size = WIDTHxHEIGHT (1000x1000 by default)
+     * @param <T> The type of the indexed items
+     * @return The new empty index
+     */
+    static <T> SpatialIndex<T> fromSystemProperties() {
+        String kind = System.getProperty(KIND_PROPERTY, "quadtree").trim().toUpperCase();
+        String area = System.getProperty(AREA_PROPERTY, "1000x1000").trim().toLowerCase();
+        try {
+            int separator = area.indexOf('x');
+            double width = Double.parseDouble(area.substring(0, separator));
+            double height = Double.parseDouble(area.substring(separator + 1));
+            return create(Kind.valueOf(kind), width, height);
+        } catch (RuntimeException e) {
+            System.err.println("Invalid spatial index configuration '" + kind + "', '" + area + "': " + e.getMessage());
+            return create(Kind.QUADTREE, 1000, 1000);
+        }
+    }
+
+    /**
+     * Insert an item or move it to a new position
+     * @param item The item
+     * @param x The x coordinate
+     * @param y The y coordinate
+     */
+    void put(T item, double x, double y);
+
+    /**
+     * Insert an item or move it to a new position
+     * @param item The item
+     * @param location The position
+     */
+    default void put(T item, Point location) {
+        put(item, location.x(), location.y());
+    }
+
+    /**
+     * Remove an item
+     * @param item The item
+     * @return true if the item was indexed
+     */
+    boolean remove(T item);
+
+    /**
+     * Get the position of an item
+     * @param item The item
+     * @return The position, or null if the item is not indexed
+     */
+    Point locationOf(T item);
+
+    /**
+     * Check whether an item is indexed
+     * @param item The item
+     * @return true if the item is indexed
+     */
+    default boolean contains(T item) {
+        return locationOf(item) != null;
+    }
+
+    /**
+     * Get the number of indexed items
+     * @return The item count
+     */
+    int size();
+
+    /**
+     * Remove all items
+     */
+    void clear();
+
+    /**
+     * Find the items inside a rectangle, bounds included
+     * @param minX The lower x bound
+     * @param minY The lower y bound
+     * @param maxX The upper x bound
+     * @param maxY The upper y bound
+     * @return The items found, in no particular order
+     */
+    List<T> range(double minX, double minY, double maxX, double maxY);
+
+    /**
+     * Find the items within a distance of a position
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param radius The maximum distance, included
+     * @return The items found, in no particular order
+     */
+    List<T> withinRadius(double x, double y, double radius);
+
+    /**
+     * Find the k nearest items accepted by a filter
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param k The maximum number of items
+     * @param filter The condition the items must meet
+     * @return The items found, nearest first
+     */
+    List<T> nearest(double x, double y, int k, Predicate<? super T> filter);
+
+    /**
+     * Find the k nearest items
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param k The maximum number of items
+     * @return The items found, nearest first
+     */
+    default List<T> nearest(double x, double y, int k) {
+        return nearest(x, y, k, item -> true);
+    }
+
+    /**
+     * Find the nearest item accepted by a filter
+     * @param x The x coordinate
+     * @param y The y coordinate
+     * @param filter The condition the item must meet
+     * @return The nearest matching item, or null if there is none
+     */
+    default T nearest(double x, double y, Predicate<? super T> filter) {
+        List<T> found = nearest(x, y, 1, filter);
+        return found.isEmpty() ? null : found.get(0);
+    }
+}
@@ -0,0 +1,103 @@
+package com.jade.RoboCupRescueProject.tracking;
+
+import com.jade.RoboCupRescueProject.spatial.Point;
+import com.jade.RoboCupRescueProject.utils.TimingWheel;
+
+/**
+ * One victim identity: the detections of a robot associated to the same position.
+ *
+ * The position is the confidence-weighted mean of the associated detections; the confidence
+ * and the vital signs are those of the latest detection.
+ */
+public class VictimTrack {
+    private final int id;
+    private final long firstSeen;
+    private double x;
+    private double y;
+    // Weight of the position, capped so that the track follows a victim that is moved
+    private double weight;
+    private double confidence;
+    private double heartbeat;
+    private double movement;
+    private double thermal;
+    private long lastSeen;
+    private int detections;
+
+    TimingWheel.Timeout<VictimTrack> timeout;
+
+    VictimTrack(int id, long now) {
+        this.id = id;
+        this.firstSeen = now;
+    }
+
+    void associate(double px, double py, double confidence, double heartbeat, double movement, double thermal,
+                   long now, double maxWeight) {
+        double total = weight + confidence;
+        if (detections == 0 || !(total > 0)) {
+            x = px;
+            y = py;
+        } else {
+            x += (px - x) * confidence / total;
+            y += (py - y) * confidence / total;
+        }
+        weight = Math.min(maxWeight, total);
+        this.confidence = confidence;
+        this.heartbeat = heartbeat;
+        this.movement = movement;
+        this.thermal = thermal;
+        this.lastSeen = now;
+        detections++;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public Point getPosition() {
+        return new Point(x, y);
+    }
+
+    /**
+     * Get the location label of the track, understood by {@link Point#parse(String)}
+     * @return The label
+     */
+    public String getLocation() {
+        return String.format("(%.2f,%.2f)", x, y);
+    }
+
+    public double getConfidence() {
+        return confidence;
+    }
+
+    public double getHeartbeat() {
+        return heartbeat;
+    }
+
+    public double getMovement() {
+        return movement;
+    }
+
+    public double getThermal() {
+        return thermal;
+    }
+
+    public long getFirstSeen() {
+        return firstSeen;
+    }
+
+    public long getLastSeen() {
+        return lastSeen;
+    }
+
+    public int getDetections() {
+        return detections;
+    }
+}
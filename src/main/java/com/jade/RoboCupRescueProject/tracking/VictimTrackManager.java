@@ -0,0 +1,197 @@
+package com.jade.RoboCupRescueProject.tracking;
+
+import com.jade.RoboCupRescueProject.spatial.GridIndex;
+import com.jade.RoboCupRescueProject.utils.IntHashSet;
+import com.jade.RoboCupRescueProject.utils.TimingWheel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Victim tracks of a robot.
+ *
+ * A detection is associated to the closest track within the association radius, and starts
+ * a new track otherwise, so the same victim seen from several scan points or positions keeps
+ * one identity. Tracks not detected again within the timeout expire.
+ *
+ * Association looks up a grid index with cells of the association radius, expiry is driven by
+ * a timing wheel, and the notified tracks are kept in an int set of track ids: observing a
+ * detection, expiring a track and checking whether it was notified do not depend on the
+ * number of tracks.
+ *
+ * The association radius and the timeout are set with the system properties
+ * {@value #RADIUS_PROPERTY} (meters) and {@value #TIMEOUT_PROPERTY} (simulated milliseconds).
+ *
+ * Not thread-safe: the tracks belong to one behaviour and are used from the agent thread.
+ */
+public class VictimTrackManager {
+    public static final String RADIUS_PROPERTY = "simulation.victims.radius";
+    public static final String TIMEOUT_PROPERTY = "simulation.victims.timeout";
+
+    // Default association radius, in meters, and timeout, in milliseconds
+    private static final double DEFAULT_RADIUS = 3.0;
+    private static final long DEFAULT_TIMEOUT = 10000;
+
+    // Slots of the timing wheel; a turn of the wheel covers twice the timeout
+    private static final int WHEEL_SLOTS = 64;
+    // Weight above which new detections no longer slow down the position of a track
+    private static final double MAX_POSITION_WEIGHT = 10.0;
+
+    private final double radius;
+    private final long timeout;
+
+    private final Map<Integer, VictimTrack> tracks = new LinkedHashMap<>();
+    private final GridIndex<VictimTrack> index;
+    private final TimingWheel<VictimTrack> wheel;
+    private final IntHashSet notified = new IntHashSet();
+
+    private int nextId = 1;
+
+    // Statistics
+    private long tracksCreated = 0;
+    private long tracksExpired = 0;
+    private long detectionsAssociated = 0;
+
+    /**
+     * Create a track manager
+     * @param radius The association radius, in meters
+     * @param timeout The time after which a track not detected again expires, in simulated milliseconds
+     * @param now The current simulated time
+     */
+    public VictimTrackManager(double radius, long timeout, long now) {
+        if (!(radius > 0) || timeout <= 0) {
+            throw new IllegalArgumentException("Invalid victim tracking radius " + radius + " or timeout " + timeout);
+        }
+        this.radius = radius;
+        this.timeout = timeout;
+        this.index = new GridIndex<>(radius);
+        this.wheel = new TimingWheel<>(WHEEL_SLOTS, Math.max(1, 2 * timeout / WHEEL_SLOTS), now);
+    }
+
+    /**
+     * Build a track manager with the radius and timeout set by the simulation.victims.* system properties
+     * @param now The current simulated time
+     * @return The track manager
+     */
+    public static VictimTrackManager fromSystemProperties(long now) {
+        String radius = System.getProperty(RADIUS_PROPERTY, String.valueOf(DEFAULT_RADIUS)).trim();
+        String timeout = System.getProperty(TIMEOUT_PROPERTY, String.valueOf(DEFAULT_TIMEOUT)).trim();
+        try {
+            return new VictimTrackManager(Double.parseDouble(radius), Long.parseLong(timeout), now);
+        } catch (RuntimeException e) {
+            System.err.println("Invalid victim tracking '" + radius + "', '" + timeout + "': " + e.getMessage());
+            return new VictimTrackManager(DEFAULT_RADIUS, DEFAULT_TIMEOUT, now);
+        }
+    }
+
+    /**
+     * Associate a detection to a track, creating the track if no track is close enough
+     * @param x The x coordinate of the detection
+     * @param y The y coordinate of the detection
+     * @param confidence The confidence of the detection, between 0 and 1
+     * @param heartbeat The heartbeat evidence
+     * @param movement The movement evidence
+     * @param thermal The body temperature evidence
+     * @param now The simulated time of the detection
+     * @return The track of the detection; {@link VictimTrack#getDetections()} is 1 for a new track
+     */
+    public VictimTrack observe(double x, double y, double confidence, double heartbeat, double movement,
+                               double thermal, long now) {
+        VictimTrack track = closest(x, y);
+        if (track == null) {
+            track = new VictimTrack(nextId++, now);
+            tracks.put(track.getId(), track);
+            tracksCreated++;
+            track.timeout = wheel.schedule(track, now + timeout);
+        } else {
+            detectionsAssociated++;
+            wheel.reschedule(track.timeout, now + timeout);
+        }
+        track.associate(x, y, confidence, heartbeat, movement, thermal, now, MAX_POSITION_WEIGHT);
+        index.put(track, track.getX(), track.getY());
+        return track;
+    }
+
+    private VictimTrack closest(double x, double y) {
+        VictimTrack best = null;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        for (VictimTrack track : index.withinRadius(x, y, radius)) {
+            double dx = track.getX() - x;
+            double dy = track.getY() - y;
+            double distance = dx * dx + dy * dy;
+            if (distance < bestDistance) {
+                best = track;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Drop the tracks not detected within the timeout
+     * @param now The current simulated time
+     * @param expired Called for each expired track, after it was dropped
+     * @return The number of expired tracks
+     */
+    public int expire(long now, Consumer<VictimTrack> expired) {
+        return wheel.advance(now, track -> {
+            tracks.remove(track.getId());
+            index.remove(track);
+            notified.remove(track.getId());
+            tracksExpired++;
+            expired.accept(track);
+        });
+    }
+
+    /**
+     * Record that the rescue teams were notified of a track
+     * @param track The track
+     */
+    public void markNotified(VictimTrack track) {
+        notified.add(track.getId());
+    }
+
+    /**
+     * Check whether the rescue teams were notified of a track
+     * @param track The track
+     * @return true if the track was notified and has not expired since
+     */
+    public boolean isNotified(VictimTrack track) {
+        return notified.contains(track.getId());
+    }
+
+    /**
+     * Get the live tracks, oldest first
+     * @return An unmodifiable view of the tracks
+     */
+    public Collection<VictimTrack> getTracks() {
+        return Collections.unmodifiableCollection(tracks.values());
+    }
+
+    public int size() {
+        return tracks.size();
+    }
+
+    public boolean isEmpty() {
+        return tracks.isEmpty();
+    }
+
+    public long getTracksCreated() {
+        return tracksCreated;
+    }
+
+    public long getTracksExpired() {
+        return tracksExpired;
+    }
+
+    /**
+     * Get the number of detections merged into an existing track
+     * @return The associated detection count
+     */
+    public long getDetectionsAssociated() {
+        return detectionsAssociated;
+    }
+}
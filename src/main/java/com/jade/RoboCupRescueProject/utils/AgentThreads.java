@@ -0,0 +1,91 @@
+package com.jade.RoboCupRescueProject.utils;
+
+import jade.core.Profile;
+
+/**
+ * Execution mode of the agents and of the helper threads of the simulation.
+ *
+ * Two modes are available, selected with the system property {@value #MODE_PROPERTY}:
+ * - platform: one OS thread per agent, JADE's default
+ * - virtual: agents run their behaviours on virtual threads, and so do the scenario launchers
+ *
+ * JADE agents wait for messages with Object.wait(), which only releases the carrier of a virtual
+ * thread from Java 24 on. On older runtimes every idle agent would pin a carrier thread, so the
+ * virtual mode falls back to platform threads there.
+ */
+public final class AgentThreads {
+    public static final String MODE_PROPERTY = "simulation.agents.threads";
+
+    // First Java release where a virtual thread waiting on a monitor releases its carrier
+    private static final int UNPINNED_WAIT_RELEASE = 24;
+
+    private static volatile Boolean virtual;
+
+    private AgentThreads() {
+    }
+
+    /**
+     * Check whether agents and helper threads run on virtual threads
+     * @return True in virtual mode on a runtime supporting it
+     */
+    public static boolean isVirtual() {
+        Boolean mode = virtual;
+        if (mode == null) {
+            mode = readMode();
+            virtual = mode;
+        }
+        return mode;
+    }
+
+    /**
+     * Set up a container profile for the configured mode. Must be called before the container is created.
+     * @param profile The container profile
+     */
+    public static void configure(Profile profile) {
+        if (isVirtual()) {
+            profile.setParameter("resource", VirtualThreadResourceManager.class.getName());
+        }
+    }
+
+    /**
+     * Start a helper thread, e.g. a scenario launcher, in the configured mode.
+     * Platform helper threads are daemons, like virtual threads.
+     * @param name The thread name
+     * @param task The work of the thread
+     * @return The started thread
+     */
+    public static Thread start(String name, Runnable task) {
+        if (isVirtual()) {
+            return Thread.ofVirtual().name(name).start(task);
+        }
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    /**
+     * Get a short description of the execution mode
+     * @return The mode name
+     */
+    public static String getMode() {
+        return isVirtual() ? "virtual" : "platform";
+    }
+
+    private static boolean readMode() {
+        String mode = System.getProperty(MODE_PROPERTY, "platform").trim().toLowerCase();
+        if (mode.equals("platform")) {
+            return false;
+        }
+        if (!mode.equals("virtual")) {
+            System.err.println("Unknown agent thread mode '" + mode + "', using platform threads");
+            return false;
+        }
+        if (Runtime.version().feature() < UNPINNED_WAIT_RELEASE) {
+            System.err.println("Virtual agent threads need Java " + UNPINNED_WAIT_RELEASE
+                    + " or later, using platform threads");
+            return false;
+        }
+        return true;
+    }
+}
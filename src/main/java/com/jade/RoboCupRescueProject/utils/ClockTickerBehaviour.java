@@ -0,0 +1,103 @@
+package com.jade.RoboCupRescueProject.utils;
+
+import jade.core.Agent;
+import jade.core.behaviours.SimpleBehaviour;
+
+/**
+ * Periodic behaviour driven by the {@link SimulationClock}.
+ *
+ * Replacement for JADE's TickerBehaviour: the period is measured in simulated time and the
+ * wait goes through the agent's {@link DeadlineScheduler}, so the behaviour follows the clock
+ * mode and ignores wake-ups caused by incoming messages.
+ */
+public abstract class ClockTickerBehaviour extends SimpleBehaviour {
+    private long period;
+    private long wakeupTime;
+    private int tickCount = 0;
+    private boolean finished = false;
+    private DeadlineScheduler scheduler;
+
+    public ClockTickerBehaviour(Agent a, long period) {
+        super(a);
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be greater than 0");
+        }
+        this.period = period;
+    }
+
+    @Override
+    public void onStart() {
+        scheduler = DeadlineScheduler.of(myAgent);
+        wakeupTime = scheduler.now() + period;
+    }
+
+    @Override
+    public final void action() {
+        if (finished) {
+            return;
+        }
+
+        long now = scheduler.now();
+        if (now >= wakeupTime) {
+            tickCount++;
+            onTick();
+            wakeupTime = now + period;
+        }
+
+        if (!finished) {
+            scheduler.sleepUntil(this, wakeupTime);
+        }
+    }
+
+    /**
+     * Periodic work of the behaviour
+     */
+    protected abstract void onTick();
+
+    @Override
+    public boolean done() {
+        return finished;
+    }
+
+    /**
+     * Stop the behaviour; it is removed from the agent after the current activation
+     */
+    public void stop() {
+        finished = true;
+        if (scheduler != null) {
+            scheduler.cancel(this);
+        }
+        // Let a blocked behaviour run once more so that the agent removes it
+        restart();
+    }
+
+    /**
+     * Restart the period from now with a new value
+     * @param period The new period in simulated milliseconds
+     */
+    public void reset(long period) {
+        this.period = period;
+        this.tickCount = 0;
+        this.finished = false;
+        if (scheduler != null) {
+            wakeupTime = scheduler.now() + period;
+            scheduler.schedule(this, wakeupTime);
+        }
+    }
+
+    /**
+     * Get the period of the behaviour
+     * @return The period in simulated milliseconds
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * Get the number of ticks since the behaviour started
+     * @return The tick count
+     */
+    public int getTickCount() {
+        return tickCount;
+    }
+}
@@ -0,0 +1,65 @@
+package com.jade.RoboCupRescueProject.utils;
+
+import jade.core.Agent;
+import jade.core.behaviours.SimpleBehaviour;
+
+/**
+ * One-shot delayed behaviour driven by the {@link SimulationClock}.
+ *
+ * Replacement for JADE's WakerBehaviour: the timeout is measured in simulated time and the
+ * wait goes through the agent's {@link DeadlineScheduler}.
+ */
+public abstract class ClockWakerBehaviour extends SimpleBehaviour {
+    private final long timeout;
+    private long wakeupTime;
+    private boolean finished = false;
+    private DeadlineScheduler scheduler;
+
+    public ClockWakerBehaviour(Agent a, long timeout) {
+        super(a);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void onStart() {
+        scheduler = DeadlineScheduler.of(myAgent);
+        wakeupTime = scheduler.now() + timeout;
+    }
+
+    @Override
+    public final void action() {
+        if (finished) {
+            return;
+        }
+
+        if (scheduler.now() >= wakeupTime) {
+            finished = true;
+            onWake();
+            scheduler.cancel(this);
+        } else {
+            scheduler.sleepUntil(this, wakeupTime);
+        }
+    }
+
+    /**
+     * Work to do once the timeout has elapsed
+     */
+    protected abstract void onWake();
+
+    @Override
+    public boolean done() {
+        return finished;
+    }
+
+    /**
+     * Cancel the behaviour before it wakes up
+     */
+    public void stop() {
+        finished = true;
+        if (scheduler != null) {
+            scheduler.cancel(this);
+        }
+        // Let a blocked behaviour run once more so that the agent removes it
+        restart();
+    }
+}
@@ -2,11 +2,12 @@ package com.jade.RoboCupRescueProject.utils;
 
 import jade.wrapper.AgentContainer;
 import jade.wrapper.AgentController;
-import jade.core.AID;
 import jade.lang.acl.ACLMessage;
 
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Singleton class to manage the JADE container and agent references.
@@ -16,7 +17,9 @@ import java.util.Map;
 public class ContainerManager {
     private static ContainerManager instance;
     private AgentContainer mainContainer;
-    private Map<String, AgentController> agentControllers = new HashMap<>();
+    private Map<String, AgentController> agentControllers = new ConcurrentHashMap<>();
+    private Set<String> remoteAgents = ConcurrentHashMap.newKeySet(); // Agents running in other JVMs
+    private MessageGatewayAgent gateway;
 
     /**
      * Private constructor to enforce singleton pattern
@@ -70,20 +73,45 @@ public class ContainerManager {
         return agentControllers.get(name);
     }
 
+    /**
+     * Register an agent started by another JVM of the platform, which has no local controller
+     * @param name The name of the agent
+     */
+    public void registerRemoteAgent(String name) {
+        remoteAgents.add(name);
+    }
+
     /**
      * Check if an agent exists
      * @param name The name of the agent
      * @return true if the agent exists, false otherwise
      */
     public boolean hasAgent(String name) {
-        return agentControllers.containsKey(name);
+        return agentControllers.containsKey(name) || remoteAgents.contains(name);
+    }
+
+    /**
+     * Get the message gateway, starting it in the main container on first use
+     * @return The gateway agent
+     * @throws Exception If the main container is not set or the gateway cannot be started
+     */
+    public synchronized MessageGatewayAgent getGateway() throws Exception {
+        if (gateway == null) {
+            if (mainContainer == null) {
+                throw new IllegalStateException("Main container not initialized");
+            }
+            MessageGatewayAgent agent = new MessageGatewayAgent();
+            mainContainer.acceptNewAgent(MessageGatewayAgent.NAME, agent).start();
+            gateway = agent;
+        }
+        return gateway;
     }
 
     /**
-     * Send a message to an agent using its controller
+     * Send a message to an agent through the message gateway
      * @param receiverName The name of the receiving agent
      * @param message The message to send
-     * @return true if the message was sent successfully, false otherwise
+     * @return true if the message was queued for sending, false otherwise
      */
     public boolean sendMessage(String receiverName, ACLMessage message) {
         try {
@@ -92,17 +120,7 @@ public class ContainerManager {
                 return false;
             }
 
-            // Create a temporary agent to send the message
-            jade.core.Agent tempAgent = new jade.core.Agent() {
-                @Override
-                protected void setup() {
-                    send(message);
-                    doDelete();
-                }
-            };
-
-            // Start the temporary agent in the main container
-            mainContainer.acceptNewAgent("TempMessageSender_" + System.currentTimeMillis(), tempAgent).start();
+            getGateway().submit(message);
             return true;
         } catch (Exception e) {
             System.err.println("Error sending message to " + receiverName + ": " + e.getMessage());
@@ -110,4 +128,21 @@ public class ContainerManager {
             return false;
         }
     }
+
+    /**
+     * Send a batch of messages through the message gateway, e.g. to inject external events.
+     * The receivers of each message must already be set.
+     * @param messages The messages to send
+     * @return true if the messages were queued for sending, false otherwise
+     */
+    public boolean sendMessages(Collection<ACLMessage> messages) {
+        try {
+            getGateway().submitAll(messages);
+            return true;
+        } catch (Exception e) {
+            System.err.println("Error sending " + messages.size() + " messages: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
 }
\ No newline at end of file
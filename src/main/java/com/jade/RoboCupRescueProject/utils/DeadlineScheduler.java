@@ -0,0 +1,187 @@
+package com.jade.RoboCupRescueProject.utils;
+
+import jade.core.Agent;
+import jade.core.behaviours.Behaviour;
+import jade.core.behaviours.CyclicBehaviour;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.WeakHashMap;
+
+/**
+ * Shared deadline scheduler of an agent.
+ *
+ * Behaviours register their next deadline and block without timeout. The scheduler is the
+ * only behaviour of the agent holding a JADE timer: it sleeps until the earliest registered
+ * deadline and then restarts the behaviours that are due. A behaviour woken early by an
+ * incoming message can check {@link #isDue(Behaviour)} and go back to sleep without doing
+ * its periodic work, so message traffic no longer turns polling loops into busy loops.
+ * Deadlines are expressed in {@link SimulationClock} time, and the wait itself is delegated to
+ * the installed clock, so the same behaviours run in real, scaled or discrete-event time.
+ *
+ * All methods must be called from the agent thread, like any other behaviour code.
+ */
+public class DeadlineScheduler extends CyclicBehaviour {
+    // One scheduler per agent. The agent keeps its scheduler alive through its behaviours; the
+    // scheduler is held weakly here too, since it references its agent and would pin the key
+    private static final Map<Agent, WeakReference<DeadlineScheduler>> SCHEDULERS = new WeakHashMap<>();
+
+    // Deadlines ordered by time; entries replaced by a newer deadline are skipped lazily
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private final Map<Behaviour, Entry> current = new HashMap<>();
+
+    private DeadlineScheduler(Agent a) {
+        super(a);
+    }
+
+    /**
+     * Get the scheduler of an agent, creating and adding it on first use
+     * @param agent The agent
+     * @return The scheduler of the agent
+     */
+    public static DeadlineScheduler of(Agent agent) {
+        synchronized (SCHEDULERS) {
+            WeakReference<DeadlineScheduler> ref = SCHEDULERS.get(agent);
+            DeadlineScheduler scheduler = ref == null ? null : ref.get();
+            if (scheduler == null) {
+                scheduler = new DeadlineScheduler(agent);
+                SCHEDULERS.put(agent, new WeakReference<>(scheduler));
+                agent.addBehaviour(scheduler);
+            }
+            return scheduler;
+        }
+    }
+
+    @Override
+    public void action() {
+        SimulationClock clock = SimulationClock.get();
+        long now = clock.now();
+
+        // Restart every behaviour whose deadline has elapsed
+        while (!queue.isEmpty() && queue.peek().deadline <= now) {
+            Entry entry = queue.poll();
+            if (current.get(entry.behaviour) == entry) {
+                current.remove(entry.behaviour);
+                clock.wakeUp(entry.behaviour);
+                entry.behaviour.restart();
+            }
+        }
+
+        // Drop entries that have been replaced or cancelled
+        while (!queue.isEmpty() && current.get(queue.peek().behaviour) != queue.peek()) {
+            queue.poll();
+        }
+
+        if (queue.isEmpty()) {
+            clock.settle(this);
+            block();
+        } else {
+            clock.blockUntil(this, queue.peek().deadline);
+        }
+    }
+
+    /**
+     * Register the next deadline of a behaviour, replacing any previous one
+     * @param behaviour The behaviour to restart at the deadline
+     * @param deadline The absolute simulated deadline in milliseconds
+     */
+    public void schedule(Behaviour behaviour, long deadline) {
+        SimulationClock clock = SimulationClock.get();
+        Entry entry = new Entry(behaviour, deadline);
+        current.put(behaviour, entry);
+        Entry head = queue.peek();
+        queue.add(entry);
+
+        // Wake up the scheduler if it is sleeping past the new deadline
+        if (head == null || deadline < head.deadline) {
+            clock.wakeUp(this);
+            restart();
+        }
+
+        // The scheduler is marked busy first so that the clock cannot advance in between
+        clock.settle(behaviour);
+    }
+
+    /**
+     * Get the current simulated time, shorthand for {@link SimulationClock#now()}
+     * @return The simulated time in milliseconds
+     */
+    public long now() {
+        return SimulationClock.get().now();
+    }
+
+    /**
+     * Register a deadline relative to now
+     * @param behaviour The behaviour to restart at the deadline
+     * @param delay The delay in milliseconds
+     */
+    public void scheduleIn(Behaviour behaviour, long delay) {
+        schedule(behaviour, SimulationClock.get().now() + delay);
+    }
+
+    /**
+     * Register a deadline and block the behaviour until it elapses or a message arrives
+     * @param behaviour The behaviour to put to sleep
+     * @param deadline The absolute simulated deadline in milliseconds
+     */
+    public void sleepUntil(Behaviour behaviour, long deadline) {
+        schedule(behaviour, deadline);
+        behaviour.block();
+    }
+
+    /**
+     * Remove the deadline of a behaviour
+     * @param behaviour The behaviour
+     */
+    public void cancel(Behaviour behaviour) {
+        SimulationClock.get().settle(behaviour);
+        current.remove(behaviour);
+    }
+
+    /**
+     * Check whether the deadline of a behaviour has elapsed.
+     * A behaviour without deadline is always due, so that its first run does its work.
+     * @param behaviour The behaviour
+     * @return true if the behaviour has no pending deadline or if it has elapsed
+     */
+    public boolean isDue(Behaviour behaviour) {
+        Entry entry = current.get(behaviour);
+        return entry == null || entry.deadline <= SimulationClock.get().now();
+    }
+
+    /**
+     * Get the pending deadline of a behaviour
+     * @param behaviour The behaviour
+     * @return The deadline, or -1 if none is registered
+     */
+    public long getDeadline(Behaviour behaviour) {
+        Entry entry = current.get(behaviour);
+        return entry == null ? -1 : entry.deadline;
+    }
+
+    /**
+     * Get the number of behaviours with a pending deadline
+     * @return The number of registered deadlines
+     */
+    public int getPendingCount() {
+        return current.size();
+    }
+
+    // Inner class to represent a registered deadline
+    private static final class Entry implements Comparable<Entry> {
+        final Behaviour behaviour;
+        final long deadline;
+
+        Entry(Behaviour behaviour, long deadline) {
+            this.behaviour = behaviour;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            return Long.compare(deadline, other.deadline);
+        }
+    }
+}
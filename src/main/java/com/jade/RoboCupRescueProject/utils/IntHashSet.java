@@ -0,0 +1,156 @@
+package com.jade.RoboCupRescueProject.utils;
+
+import java.util.Arrays;
+
+/**
+ * Set of ints with open addressing and linear probing.
+ *
+ * Keys are stored unboxed in a single array; removal shifts the following keys of the probe
+ * sequence back instead of leaving tombstones, so lookups stay short under churn.
+ *
+ * Not thread-safe.
+ */
+public class IntHashSet {
+    // Marks a free slot; the key 0 itself is tracked by a flag
+    private static final int FREE = 0;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private int[] keys;
+    private int mask;
+    private int size = 0;
+    private boolean containsFree = false;
+
+    public IntHashSet() {
+        this(16);
+    }
+
+    /**
+     * Create a set
+     * @param expectedSize The number of keys expected, to size the table
+     */
+    public IntHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        keys = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Add a key
+     * @param key The key
+     * @return true if the key was not in the set
+     */
+    public boolean add(int key) {
+        if (key == FREE) {
+            if (containsFree) {
+                return false;
+            }
+            containsFree = true;
+            size++;
+            return true;
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        if (++size > keys.length * LOAD_FACTOR) {
+            resize(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Check whether a key is in the set
+     * @param key The key
+     * @return true if the key is in the set
+     */
+    public boolean contains(int key) {
+        if (key == FREE) {
+            return containsFree;
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Remove a key
+     * @param key The key
+     * @return true if the key was in the set
+     */
+    public boolean remove(int key) {
+        if (key == FREE) {
+            if (!containsFree) {
+                return false;
+            }
+            containsFree = false;
+            size--;
+            return true;
+        }
+        int slot = slotOf(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == FREE) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Shift back the following keys that probed past the freed slot
+        int free = slot;
+        int next = (slot + 1) & mask;
+        while (keys[next] != FREE) {
+            int home = slotOf(keys[next]);
+            // The key may move to the free slot if its home is not between the free slot and its slot
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[free] = FREE;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        containsFree = false;
+        size = 0;
+    }
+
+    private int slotOf(int key) {
+        // Fibonacci hashing spreads sequential keys over the table
+        return (key * 0x9E3779B9 >>> 16 ^ key * 0x9E3779B9) & mask;
+    }
+
+    private void resize(int capacity) {
+        int[] old = keys;
+        keys = new int[capacity];
+        mask = capacity - 1;
+        for (int key : old) {
+            if (key != FREE) {
+                int slot = slotOf(key);
+                while (keys[slot] != FREE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = key;
+            }
+        }
+    }
+}
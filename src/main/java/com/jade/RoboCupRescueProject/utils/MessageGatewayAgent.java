@@ -0,0 +1,123 @@
+package com.jade.RoboCupRescueProject.utils;
+
+import jade.core.Agent;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.lang.acl.ACLMessage;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Long-lived agent sending messages on behalf of non-agent threads.
+ *
+ * Threads such as the scenario launchers submit messages to a lock-free queue; the gateway
+ * drains it in batches from its own thread and sends them. The agent is only woken when the
+ * queue goes from empty to non-empty, so a burst of submissions costs one wake-up.
+ * Replies addressed to the gateway are discarded.
+ */
+public class MessageGatewayAgent extends Agent {
+    // Local name of the gateway in the main container
+    public static final String NAME = "MessageGateway";
+
+    // Maximum number of messages sent per activation, so that a burst does not starve the agent
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private final ConcurrentLinkedQueue<ACLMessage> outbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeRequested = new AtomicBoolean(false);
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final SendBehaviour sender = new SendBehaviour(this);
+
+    @Override
+    protected void setup() {
+        addBehaviour(sender);
+    }
+
+    /**
+     * Queue a message for sending. Can be called from any thread.
+     * @param message The message to send; its receivers must be set
+     */
+    public void submit(ACLMessage message) {
+        outbox.add(message);
+        submittedCount.incrementAndGet();
+        wakeUp();
+    }
+
+    /**
+     * Queue several messages for sending with a single wake-up. Can be called from any thread.
+     * @param messages The messages to send; their receivers must be set
+     */
+    public void submitAll(Collection<ACLMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        outbox.addAll(messages);
+        submittedCount.addAndGet(messages.size());
+        wakeUp();
+    }
+
+    /**
+     * Get the number of messages waiting to be sent
+     * @return The queue size
+     */
+    public int getPendingCount() {
+        return outbox.size();
+    }
+
+    /**
+     * Get the number of messages submitted since the gateway was created
+     * @return The submitted message count
+     */
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * Get the number of messages sent since the gateway started
+     * @return The sent message count
+     */
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    private void wakeUp() {
+        // Only the first submission after the queue was drained needs to restart the sender
+        if (wakeRequested.compareAndSet(false, true)) {
+            sender.restart();
+        }
+    }
+
+    // Behaviour draining the submission queue from the agent thread
+    private class SendBehaviour extends CyclicBehaviour {
+        SendBehaviour(Agent a) {
+            super(a);
+        }
+
+        @Override
+        public void action() {
+            // Replies to gateway messages have no consumer
+            while (myAgent.receive() != null) {
+                // Discard
+            }
+
+            int sent = 0;
+            ACLMessage msg;
+            while (sent < MAX_BATCH_SIZE && (msg = outbox.poll()) != null) {
+                myAgent.send(msg);
+                sent++;
+            }
+            sentCount.addAndGet(sent);
+
+            if (sent < MAX_BATCH_SIZE) {
+                // Block first, then accept wake-ups: a submission racing with us restarts the behaviour
+                block();
+                wakeRequested.set(false);
+                if (!outbox.isEmpty()) {
+                    restart();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package com.jade.RoboCupRescueProject.utils;
+
+import jade.core.behaviours.Behaviour;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Source of simulated time shared by all agents of the JVM.
+ *
+ * Behaviours read the time with {@link #now()} and wait for a deadline through
+ * {@link DeadlineScheduler}, which delegates the actual wait to {@link #blockUntil(Behaviour, long)}.
+ * Plain threads such as the scenario launchers use {@link #sleep(long)}. Three modes are available:
+ * - real: simulated time is the wall clock (default)
+ * - scaled: simulated time runs a constant factor faster than the wall clock
+ * - discrete: simulated time jumps straight to the next pending deadline once the agents are idle
+ *
+ * The mode is selected with the system property {@value #MODE_PROPERTY}, e.g.
+ * -Dsimulation.clock=real, -Dsimulation.clock=scaled:10 or -Dsimulation.clock=discrete.
+ */
+public abstract class SimulationClock {
+    // System properties used to configure the clock
+    public static final String MODE_PROPERTY = "simulation.clock";
+    public static final String SETTLE_PROPERTY = "simulation.clock.settle";
+
+    // Default idle period, in wall-clock milliseconds, before the discrete clock advances
+    public static final long DEFAULT_SETTLE_TIME = 5;
+
+    private static volatile SimulationClock instance = new RealTime();
+
+    /**
+     * Get the installed clock
+     * @return The clock used by all behaviours
+     */
+    public static SimulationClock get() {
+        return instance;
+    }
+
+    /**
+     * Install the clock used by all behaviours. Must be called before the agents are started.
+     * @param clock The clock to install
+     */
+    public static void install(SimulationClock clock) {
+        SimulationClock previous = instance;
+        instance = clock;
+        if (previous != clock) {
+            previous.shutdown();
+        }
+    }
+
+    /**
+     * Build the clock described by the system properties, falling back to real time
+     * @return The configured clock
+     */
+    public static SimulationClock fromSystemProperties() {
+        String mode = System.getProperty(MODE_PROPERTY, "real").trim().toLowerCase();
+        try {
+            if (mode.equals("real")) {
+                return new RealTime();
+            } else if (mode.startsWith("scaled")) {
+                int separator = mode.indexOf(':');
+                double speed = separator < 0 ? 1.0 : Double.parseDouble(mode.substring(separator + 1));
+                return new Scaled(speed);
+            } else if (mode.equals("discrete")) {
+                long settle = Long.parseLong(System.getProperty(SETTLE_PROPERTY, String.valueOf(DEFAULT_SETTLE_TIME)));
+                return new DiscreteEvent(settle);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid simulation clock configuration '" + mode + "': " + e.getMessage());
+            return new RealTime();
+        }
+        System.err.println("Unknown simulation clock mode '" + mode + "', using real time");
+        return new RealTime();
+    }
+
+    /**
+     * Get the current simulated time
+     * @return The simulated time in milliseconds
+     */
+    public abstract long now();
+
+    /**
+     * Block a behaviour until a simulated deadline, or until a message restarts it
+     * @param behaviour The behaviour to block; must be the behaviour currently running
+     * @param deadline The simulated deadline in milliseconds
+     */
+    public abstract void blockUntil(Behaviour behaviour, long deadline);
+
+    /**
+     * Put the calling thread to sleep for a simulated duration
+     * @param duration The simulated duration in milliseconds
+     * @throws InterruptedException If the thread is interrupted while sleeping
+     */
+    public abstract void sleep(long duration) throws InterruptedException;
+
+    /**
+     * Notify the clock that a behaviour was restarted because its deadline elapsed.
+     * The behaviour is considered busy until it calls {@link #settle(Behaviour)} or blocks again.
+     * @param behaviour The restarted behaviour
+     */
+    public void wakeUp(Behaviour behaviour) {
+    }
+
+    /**
+     * Notify the clock that a behaviour woken by {@link #wakeUp(Behaviour)} has finished its work
+     * @param behaviour The behaviour
+     */
+    public void settle(Behaviour behaviour) {
+    }
+
+    /**
+     * Get a short description of the clock mode
+     * @return The mode name
+     */
+    public abstract String getMode();
+
+    /**
+     * Release the resources held by the clock when it is replaced
+     */
+    protected void shutdown() {
+    }
+
+    /**
+     * Wall-clock time
+     */
+    public static class RealTime extends SimulationClock {
+        @Override
+        public long now() {
+            return System.currentTimeMillis();
+        }
+
+        @Override
+        public void blockUntil(Behaviour behaviour, long deadline) {
+            behaviour.block(Math.max(1, deadline - now()));
+        }
+
+        @Override
+        public void sleep(long duration) throws InterruptedException {
+            Thread.sleep(Math.max(0, duration));
+        }
+
+        @Override
+        public String getMode() {
+            return "real";
+        }
+    }
+
+    /**
+     * Wall-clock time accelerated by a constant factor
+     */
+    public static class Scaled extends SimulationClock {
+        private final double speed;
+        private final long originReal;
+        private final long originSimulated;
+
+        public Scaled(double speed) {
+            if (!(speed > 0)) {
+                throw new IllegalArgumentException("Speed must be positive: " + speed);
+            }
+            this.speed = speed;
+            this.originReal = System.currentTimeMillis();
+            this.originSimulated = originReal;
+        }
+
+        @Override
+        public long now() {
+            return originSimulated + (long) ((System.currentTimeMillis() - originReal) * speed);
+        }
+
+        @Override
+        public void blockUntil(Behaviour behaviour, long deadline) {
+            behaviour.block(Math.max(1, toReal(deadline - now())));
+        }
+
+        @Override
+        public void sleep(long duration) throws InterruptedException {
+            Thread.sleep(toReal(duration));
+        }
+
+        @Override
+        public String getMode() {
+            return "scaled x" + speed;
+        }
+
+        private long toReal(long simulatedDelay) {
+            return Math.max(0, (long) Math.ceil(simulatedDelay / speed));
+        }
+    }
+
+    /**
+     * Discrete-event time.
+     *
+     * Simulated time only moves when nothing is left to do: every deadline registered through
+     * {@link #blockUntil(Behaviour, long)} or {@link #sleep(long)} is kept in a queue, and a driver
+     * thread advances the clock to the earliest one as soon as no agent has read the clock or
+     * registered a deadline for the settle period, and every behaviour restarted at the previous
+     * deadline has settled. Agents reading the clock are considered busy, so message exchanges
+     * and chains of behaviours complete before time moves on. A behaviour that never settles is
+     * ignored after {@link #MAX_BUSY_TIME} milliseconds of wall-clock time.
+     */
+    public static class DiscreteEvent extends SimulationClock {
+        // Wall-clock time after which a woken behaviour that has not settled is ignored
+        public static final long MAX_BUSY_TIME = 1000;
+
+        private final long settleNanos;
+        private final Object lock = new Object();
+        private final PriorityQueue<Wakeup> pending = new PriorityQueue<>();
+        private final Map<Behaviour, Wakeup> blocked = new HashMap<>();
+        private final Map<Behaviour, Long> awake = new HashMap<>();
+        private volatile long simulatedNow;
+        private volatile long lastActivity;
+        private Thread driver;
+        private boolean running = true;
+        private long advanceCount = 0;
+
+        public DiscreteEvent(long settleTime) {
+            this.settleNanos = Math.max(1, settleTime) * 1_000_000L;
+            this.simulatedNow = System.currentTimeMillis();
+            this.lastActivity = System.nanoTime();
+        }
+
+        @Override
+        public long now() {
+            lastActivity = System.nanoTime();
+            return simulatedNow;
+        }
+
+        @Override
+        public void blockUntil(Behaviour behaviour, long deadline) {
+            behaviour.block();
+            synchronized (lock) {
+                awake.remove(behaviour);
+                // A behaviour waits for a single deadline; the previous one is superseded
+                Wakeup wakeup = new Wakeup(deadline, behaviour, null);
+                blocked.put(behaviour, wakeup);
+                enqueue(wakeup);
+            }
+        }
+
+        @Override
+        public void sleep(long duration) throws InterruptedException {
+            CountDownLatch latch = new CountDownLatch(1);
+            synchronized (lock) {
+                enqueue(new Wakeup(simulatedNow + Math.max(0, duration), null, latch));
+            }
+            latch.await();
+        }
+
+        @Override
+        public void wakeUp(Behaviour behaviour) {
+            synchronized (lock) {
+                awake.put(behaviour, System.nanoTime());
+            }
+        }
+
+        @Override
+        public void settle(Behaviour behaviour) {
+            synchronized (lock) {
+                awake.remove(behaviour);
+            }
+            lastActivity = System.nanoTime();
+        }
+
+        @Override
+        public String getMode() {
+            return "discrete";
+        }
+
+        /**
+         * Get the number of times the clock jumped to a new deadline
+         * @return The advance count
+         */
+        public long getAdvanceCount() {
+            synchronized (lock) {
+                return advanceCount;
+            }
+        }
+
+        @Override
+        protected void shutdown() {
+            synchronized (lock) {
+                running = false;
+                lock.notifyAll();
+            }
+        }
+
+        // Must be called with the lock held
+        private void enqueue(Wakeup wakeup) {
+            pending.add(wakeup);
+            lastActivity = System.nanoTime();
+            if (driver == null) {
+                driver = new Thread(this::drive, "SimulationClock-driver");
+                driver.setDaemon(true);
+                driver.start();
+            }
+            lock.notifyAll();
+        }
+
+        private void drive() {
+            try {
+                while (true) {
+                    synchronized (lock) {
+                        while (running && pending.isEmpty()) {
+                            lock.wait();
+                        }
+                        if (!running) {
+                            return;
+                        }
+                    }
+
+                    // Wait until the agents have been idle for the settle period
+                    long idle = System.nanoTime() - lastActivity;
+                    if (idle < settleNanos) {
+                        Thread.sleep(Math.max(1, (settleNanos - idle) / 1_000_000L));
+                        continue;
+                    }
+
+                    synchronized (lock) {
+                        if (isSettled()) {
+                            advance();
+                            continue;
+                        }
+                    }
+                    Thread.sleep(Math.max(1, settleNanos / 1_000_000L));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Must be called with the lock held
+        private boolean isSettled() {
+            long now = System.nanoTime();
+            awake.values().removeIf(since -> now - since > MAX_BUSY_TIME * 1_000_000L);
+            return awake.isEmpty();
+        }
+
+        // Must be called with the lock held
+        private void advance() {
+            // Skip deadlines superseded by a newer one of the same behaviour
+            while (!pending.isEmpty() && pending.peek().isStale(blocked)) {
+                pending.poll();
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+
+            long deadline = pending.peek().deadline;
+            if (deadline > simulatedNow) {
+                simulatedNow = deadline;
+                advanceCount++;
+            }
+
+            // Wake everything due at the new time
+            while (!pending.isEmpty() && pending.peek().deadline <= simulatedNow) {
+                Wakeup wakeup = pending.poll();
+                if (wakeup.isStale(blocked)) {
+                    continue;
+                }
+                if (wakeup.behaviour != null) {
+                    blocked.remove(wakeup.behaviour);
+                    awake.put(wakeup.behaviour, System.nanoTime());
+                    wakeup.behaviour.restart();
+                } else {
+                    wakeup.latch.countDown();
+                }
+            }
+            lastActivity = System.nanoTime();
+        }
+
+        // Inner class to represent a pending wake-up of a behaviour or a sleeping thread
+        private static final class Wakeup implements Comparable<Wakeup> {
+            final long deadline;
+            final Behaviour behaviour;
+            final CountDownLatch latch;
+
+            Wakeup(long deadline, Behaviour behaviour, CountDownLatch latch) {
+                this.deadline = deadline;
+                this.behaviour = behaviour;
+                this.latch = latch;
+            }
+
+            boolean isStale(Map<Behaviour, Wakeup> blocked) {
+                return behaviour != null && blocked.get(behaviour) != this;
+            }
+
+            @Override
+            public int compareTo(Wakeup other) {
+                return Long.compare(deadline, other.deadline);
+            }
+        }
+    }
+}
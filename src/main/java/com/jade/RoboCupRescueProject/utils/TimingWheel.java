@@ -0,0 +1,184 @@
+package com.jade.RoboCupRescueProject.utils;
+
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel for large numbers of timeouts that are often pushed back.
+ *
+ * Time is cut in ticks, and each tick hashes to a slot of a circular array holding a doubly-linked
+ * list of the timeouts due at that tick (or at a later turn of the wheel). Scheduling, rescheduling
+ * and cancelling are O(1); advancing the wheel only visits the slots of the elapsed ticks.
+ * A timeout fires at most one tick after its deadline.
+ *
+ * Not thread-safe: the wheel belongs to one behaviour and is used from the agent thread.
+ */
+public class TimingWheel<T> {
+
+    /**
+     * Handle of a scheduled item
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private long deadlineTick;
+        private int slot = -1;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(T item) {
+            this.item = item;
+        }
+
+        public T item() {
+            return item;
+        }
+
+        public boolean isScheduled() {
+            return slot >= 0;
+        }
+    }
+
+    private final Timeout<T>[] slots;
+    private final int mask;
+    private final long tickDuration;
+
+    // Next tick to process
+    private long currentTick;
+    private int size = 0;
+
+    /**
+     * Create a wheel
+     * @param slotCount The number of slots, rounded up to a power of two; one turn of the wheel
+     *                  should cover the usual timeouts
+     * @param tickDuration The duration of a tick, in simulated milliseconds
+     * @param startTime The current simulated time
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int slotCount, long tickDuration, long startTime) {
+        if (slotCount <= 0 || tickDuration <= 0) {
+            throw new IllegalArgumentException("Invalid wheel of " + slotCount + " slots of " + tickDuration + " ms");
+        }
+        int capacity = Integer.highestOneBit(slotCount);
+        if (capacity < slotCount) {
+            capacity <<= 1;
+        }
+        this.slots = (Timeout<T>[]) new Timeout<?>[capacity];
+        this.mask = capacity - 1;
+        this.tickDuration = tickDuration;
+        this.currentTick = Math.floorDiv(startTime, tickDuration) + 1;
+    }
+
+    /**
+     * Schedule an item
+     * @param item The item
+     * @param deadline The simulated time at which the item expires
+     * @return The handle, to reschedule or cancel the item
+     */
+    public Timeout<T> schedule(T item, long deadline) {
+        Timeout<T> timeout = new Timeout<>(item);
+        reschedule(timeout, deadline);
+        return timeout;
+    }
+
+    /**
+     * Move a timeout to a new deadline, scheduling it again if it expired or was cancelled
+     * @param timeout The handle
+     * @param deadline The new deadline
+     */
+    public void reschedule(Timeout<T> timeout, long deadline) {
+        cancel(timeout);
+        // Round up, so that the timeout never fires before its deadline
+        timeout.deadlineTick = Math.max(currentTick, Math.floorDiv(deadline + tickDuration - 1, tickDuration));
+        int slot = (int) (timeout.deadlineTick & mask);
+        timeout.slot = slot;
+        timeout.previous = null;
+        timeout.next = slots[slot];
+        if (slots[slot] != null) {
+            slots[slot].previous = timeout;
+        }
+        slots[slot] = timeout;
+        size++;
+    }
+
+    /**
+     * Cancel a timeout
+     * @param timeout The handle
+     * @return true if the timeout was scheduled
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isScheduled()) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Expire the items whose deadline has passed.
+     * Items expire in deadline tick order, unless the wheel advances by more than one turn at once.
+     * @param now The current simulated time
+     * @param expired Called for each expired item; it may schedule or cancel timeouts
+     * @return The number of expired items
+     */
+    public int advance(long now, Consumer<? super T> expired) {
+        long lastTick = Math.floorDiv(now, tickDuration);
+        if (lastTick < currentTick) {
+            return 0;
+        }
+
+        // Detach the due timeouts first, in tick order, so that the callbacks can change the wheel
+        Timeout<T> due = null;
+        Timeout<T> last = null;
+        int count = 0;
+        long endTick = Math.min(lastTick, currentTick + mask);
+        for (long tick = currentTick; tick <= endTick; tick++) {
+            Timeout<T> timeout = slots[(int) (tick & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadlineTick <= lastTick) {
+                    unlink(timeout);
+                    size--;
+                    if (last == null) {
+                        due = timeout;
+                    } else {
+                        last.next = timeout;
+                    }
+                    last = timeout;
+                    count++;
+                }
+                timeout = next;
+            }
+        }
+        currentTick = lastTick + 1;
+
+        while (due != null) {
+            Timeout<T> next = due.next;
+            due.next = null;
+            expired.accept(due.item);
+            due = next;
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of scheduled timeouts
+     * @return The size
+     */
+    public int size() {
+        return size;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.previous != null) {
+            timeout.previous.next = timeout.next;
+        } else {
+            slots[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.previous = timeout.previous;
+        }
+        timeout.previous = null;
+        timeout.next = null;
+        timeout.slot = -1;
+    }
+}
@@ -0,0 +1,81 @@
+package com.jade.RoboCupRescueProject.utils;
+
+import jade.core.Profile;
+import jade.core.ResourceManager;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JADE resource manager running each user agent on a virtual thread.
+ *
+ * The container asks its resource manager for the thread of every agent it starts. User agents
+ * get a virtual thread, so an agent waiting for a message or sleeping only keeps a continuation
+ * instead of an OS thread, and tens of thousands of agents fit in one JVM. Platform agents
+ * (AMS, DF) and JADE's time-critical threads keep platform threads, as with the default
+ * resource manager.
+ *
+ * Installed with the profile parameter "resource", see {@link AgentThreads#configure(Profile)}.
+ */
+public class VirtualThreadResourceManager implements ResourceManager {
+    private final ThreadGroup parent = new ThreadGroup("JADE");
+    private final ThreadGroup systemAgentThreads = new ThreadGroup(parent, "JADE System Agents");
+    private final ThreadGroup criticalThreads = new ThreadGroup(parent, "JADE time-critical threads");
+
+    // Live virtual threads, interrupted when the container shuts down
+    private final Set<Thread> agentThreads = ConcurrentHashMap.newKeySet();
+
+    public VirtualThreadResourceManager() {
+        systemAgentThreads.setMaxPriority(Thread.NORM_PRIORITY + 1);
+        criticalThreads.setMaxPriority(Thread.MAX_PRIORITY);
+    }
+
+    @Override
+    public void initialize(Profile profile) {
+    }
+
+    /**
+     * Create the thread of an agent or of a JADE service
+     * @param type The kind of thread, one of the ResourceManager constants
+     * @param name The thread name
+     * @param runnable The code the thread runs
+     * @return The unstarted thread
+     * @throws IllegalArgumentException If the type is not one of the ResourceManager constants
+     */
+    @Override
+    public Thread getThread(int type, String name, Runnable runnable) {
+        switch (type) {
+            case USER_AGENTS:
+                Thread[] self = new Thread[1];
+                self[0] = Thread.ofVirtual().name(name).unstarted(() -> {
+                    try {
+                        runnable.run();
+                    } finally {
+                        agentThreads.remove(self[0]);
+                    }
+                });
+                agentThreads.add(self[0]);
+                return self[0];
+            case SYSTEM_AGENTS:
+                return platformThread(systemAgentThreads, name, runnable);
+            case TIME_CRITICAL:
+                return platformThread(criticalThreads, name, runnable);
+            default:
+                throw new IllegalArgumentException("Unknown thread type " + type + " for " + name);
+        }
+    }
+
+    @Override
+    public void releaseResources() {
+        for (Thread thread : agentThreads) {
+            thread.interrupt();
+        }
+        parent.interrupt();
+    }
+
+    private static Thread platformThread(ThreadGroup group, String name, Runnable runnable) {
+        Thread thread = new Thread(group, runnable, name);
+        thread.setPriority(group.getMaxPriority());
+        return thread;
+    }
+}
@@ -0,0 +1,230 @@
+package com.jade.RoboCupRescueProject.world;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Picture of the disaster area known to the command center: reported fires, victims, roads and
+ * security zones, assigned missions, global resources and report statistics.
+ *
+ * Every part is safe to read from any thread (dashboard, exporter, scenario driver) while the
+ * agent updates it. The reports live in concurrent maps, which lock per bin rather than as a
+ * whole, and are handed out as read-only views instead of copies. Each resource is a single
+ * atomic counter: reserving checks and decrements in one compare-and-set, so two requests can
+ * never both take the last units. Statistics are striped adders, cheap to increment from
+ * several threads.
+ *
+ * Concurrent maps do not hold nulls: reports without a key are ignored, and a missing status is
+ * recorded as {@value #UNKNOWN_STATUS}.
+ */
+public class WorldState {
+    public static final String UNKNOWN_STATUS = "UNKNOWN";
+
+    private final Map<String, String> fires = new ConcurrentHashMap<>(); // Fire location to status
+    private final Map<String, String> victims = new ConcurrentHashMap<>(); // Victim location to status
+    private final Map<String, String> roads = new ConcurrentHashMap<>(); // Road ID to status
+    private final Map<String, String> securityZones = new ConcurrentHashMap<>(); // Zone ID to status
+    private final Map<String, String> assignedMissions = new ConcurrentHashMap<>(); // Mission ID to agent
+
+    private final ConcurrentHashMap<String, AtomicLong> resources = new ConcurrentHashMap<>(); // Resource type to quantity
+
+    private final LongAdder firesReported = new LongAdder();
+    private final LongAdder victimsReported = new LongAdder();
+    private final LongAdder roadIssuesReported = new LongAdder();
+    private final LongAdder missionsDispatched = new LongAdder();
+
+    /**
+     * Record the status of a fire
+     * @param location The location of the fire
+     * @param status The status of the fire
+     */
+    public void reportFire(String location, String status) {
+        if (record(fires, location, status)) {
+            firesReported.increment();
+        }
+    }
+
+    /**
+     * Record the status of a victim
+     * @param location The location of the victim
+     * @param status The status of the victim
+     */
+    public void reportVictim(String location, String status) {
+        if (record(victims, location, status)) {
+            victimsReported.increment();
+        }
+    }
+
+    /**
+     * Record the status of a road
+     * @param roadId The ID of the road
+     * @param status The status of the road
+     */
+    public void reportRoad(String roadId, String status) {
+        if (record(roads, roadId, status)) {
+            roadIssuesReported.increment();
+        }
+    }
+
+    /**
+     * Record the status of a security zone
+     * @param zoneId The ID of the zone
+     * @param status The status of the zone
+     */
+    public void reportSecurityZone(String zoneId, String status) {
+        record(securityZones, zoneId, status);
+    }
+
+    /**
+     * Record the agent a mission was given to
+     * @param missionId The ID of the mission
+     * @param agentId The ID of the agent
+     */
+    public void assignMission(String missionId, String agentId) {
+        if (record(assignedMissions, missionId, agentId)) {
+            missionsDispatched.increment();
+        }
+    }
+
+    // Store a report, replacing a missing status; false if the report has no key
+    private static boolean record(Map<String, String> reports, String key, String status) {
+        if (key == null) {
+            return false;
+        }
+        reports.put(key, status != null ? status : UNKNOWN_STATUS);
+        return true;
+    }
+
+    /**
+     * Get the reported fires
+     * @return A live read-only view of fire location to status
+     */
+    public Map<String, String> fires() {
+        return Collections.unmodifiableMap(fires);
+    }
+
+    /**
+     * Get the reported victims
+     * @return A live read-only view of victim location to status
+     */
+    public Map<String, String> victims() {
+        return Collections.unmodifiableMap(victims);
+    }
+
+    /**
+     * Get the reported roads
+     * @return A live read-only view of road ID to status
+     */
+    public Map<String, String> roads() {
+        return Collections.unmodifiableMap(roads);
+    }
+
+    /**
+     * Get the reported security zones
+     * @return A live read-only view of zone ID to status
+     */
+    public Map<String, String> securityZones() {
+        return Collections.unmodifiableMap(securityZones);
+    }
+
+    /**
+     * Get the assigned missions
+     * @return A live read-only view of mission ID to agent
+     */
+    public Map<String, String> assignedMissions() {
+        return Collections.unmodifiableMap(assignedMissions);
+    }
+
+    /**
+     * Set the quantity of a resource, e.g. the initial stock
+     * @param resourceType The type of resource
+     * @param quantity The new quantity
+     */
+    public void setResource(String resourceType, long quantity) {
+        counter(resourceType).set(Math.max(0, quantity));
+    }
+
+    /**
+     * Get the quantity of a resource
+     * @param resourceType The type of resource
+     * @return The quantity left, 0 for unknown resources
+     */
+    public long getResource(String resourceType) {
+        AtomicLong counter = resources.get(resourceType);
+        return counter == null ? 0 : counter.get();
+    }
+
+    /**
+     * Take resources if enough are left, atomically
+     * @param resourceType The type of resource
+     * @param quantity The quantity to take
+     * @return Whether the resources were taken; nothing is taken otherwise
+     */
+    public boolean reserve(String resourceType, long quantity) {
+        AtomicLong counter = resources.get(resourceType);
+        if (counter == null) {
+            return quantity <= 0;
+        }
+        long current;
+        do {
+            current = counter.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    /**
+     * Give back or add resources
+     * @param resourceType The type of resource
+     * @param quantity The quantity added
+     * @return The new quantity
+     */
+    public long release(String resourceType, long quantity) {
+        return counter(resourceType).addAndGet(quantity);
+    }
+
+    /**
+     * Take up to a quantity of resources, stopping at zero
+     * @param resourceType The type of resource
+     * @param quantity The quantity to take
+     * @return The quantity actually taken
+     */
+    public long consume(String resourceType, long quantity) {
+        AtomicLong counter = resources.get(resourceType);
+        if (counter == null) {
+            return 0;
+        }
+        long current;
+        long taken;
+        do {
+            current = counter.get();
+            taken = Math.min(current, quantity);
+        } while (taken > 0 && !counter.compareAndSet(current, current - taken));
+        return Math.max(0, taken);
+    }
+
+    public long getFiresReported() {
+        return firesReported.sum();
+    }
+
+    public long getVictimsReported() {
+        return victimsReported.sum();
+    }
+
+    public long getRoadIssuesReported() {
+        return roadIssuesReported.sum();
+    }
+
+    public long getMissionsDispatched() {
+        return missionsDispatched.sum();
+    }
+
+    private AtomicLong counter(String resourceType) {
+        return resources.computeIfAbsent(resourceType, t -> new AtomicLong());
+    }
+}
@@ -0,0 +1,161 @@
+package com.jade.RoboCupRescueProject.aggregation;
+
+import com.jade.RoboCupRescueProject.messages.TypedMessage.Incident;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.TeamSummary;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.UnitState;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TeamAggregatorTest {
+    // 5% of water, 5 degrees, no periodic snapshot, incidents kept 2 windows
+    private final TeamAggregator aggregator = new TeamAggregator("Leader", 0.05, 5.0, 0, 2);
+
+    @Test
+    public void listsOnlyTheUnitsThatChangedSinceThePreviousWindow() {
+        aggregator.recordUnit("A", "10,10", true, 1.0);
+        aggregator.recordUnit("B", "20,20", true, 1.0);
+        TeamSummary first = aggregator.flush();
+        assertEquals(List.of("A", "B"), unitNames(first));
+        assertEquals(2, first.reportsMerged());
+
+        // Same state, and a level change below the threshold
+        aggregator.recordUnit("A", "10,10", true, 1.0);
+        aggregator.recordUnit("B", "20,20", true, 0.97);
+        assertNull(aggregator.flush());
+
+        // The threshold is measured from the last sent level, not from the previous report
+        aggregator.recordUnit("B", "20,20", true, 0.94);
+        aggregator.recordUnit("A", "30,30", true, 1.0);
+        TeamSummary third = aggregator.flush();
+        assertEquals(List.of("A", "B"), unitNames(third));
+        assertEquals(new UnitState("B", "20,20", true, 0.94), third.changedUnits().get(1));
+
+        aggregator.recordUnit("A", "30,30", false, 1.0);
+        TeamSummary fourth = aggregator.flush();
+        assertEquals(List.of(new UnitState("A", "30,30", false, 1.0)), fourth.changedUnits());
+        assertEquals(2, fourth.unitCount());
+        assertEquals(1, fourth.availableCount());
+    }
+
+    @Test
+    public void changeRevertedWithinAWindowIsStillSent() {
+        aggregator.recordUnit("A", "10,10", true, 1.0);
+        aggregator.flush();
+
+        aggregator.recordUnit("A", "10,10", false, 1.0);
+        aggregator.recordUnit("A", "10,10", true, 1.0);
+        TeamSummary summary = aggregator.flush();
+        assertEquals(List.of(new UnitState("A", "10,10", true, 1.0)), summary.changedUnits());
+        assertNull(aggregator.flush());
+    }
+
+    @Test
+    public void listsIncidentsWhoseIntensityChanged() {
+        aggregator.recordIncident("100,100", "FIRE", 300);
+        aggregator.recordIncident("200,200", "FIRE", 150);
+        TeamSummary first = aggregator.flush();
+        assertEquals(List.of("100,100", "200,200"), incidentKeys(first));
+        assertEquals(300, first.maxIntensity(), 1e-9);
+
+        aggregator.recordIncident("100,100", "FIRE", 303);
+        aggregator.recordIncident("200,200", "FIRE", 140);
+        TeamSummary second = aggregator.flush();
+        assertEquals(List.of(new Incident("200,200", "FIRE", 140)), second.changedIncidents());
+
+        // Unknown intensity: the last known one is kept
+        aggregator.recordIncident("200,200", "FIRE", Double.NaN);
+        aggregator.recordIncident("100,100", "FIRE", Double.NaN);
+        assertNull(aggregator.flush());
+        assertEquals(2, aggregator.getIncidentCount());
+    }
+
+    @Test
+    public void clearedIncidentsAreListedOnce() {
+        aggregator.recordIncident("100,100", "FIRE", 300);
+        aggregator.flush();
+
+        aggregator.clearIncident("100,100");
+        TeamSummary cleared = aggregator.flush();
+        assertEquals(List.of("100,100"), cleared.clearedIncidents());
+        assertEquals(List.of(), cleared.changedIncidents());
+        assertEquals(0, aggregator.getIncidentCount());
+
+        aggregator.clearIncident("100,100");
+        assertNull(aggregator.flush());
+    }
+
+    @Test
+    public void incidentNeverSentIsNotReportedCleared() {
+        aggregator.recordIncident("100,100", "FIRE", 300);
+        aggregator.clearIncident("100,100");
+        assertNull(aggregator.flush());
+    }
+
+    @Test
+    public void incidentReportedAgainAfterItsClearingIsNotCleared() {
+        aggregator.recordIncident("100,100", "FIRE", 300);
+        aggregator.flush();
+
+        aggregator.clearIncident("100,100");
+        aggregator.recordIncident("100,100", "FIRE", 320);
+        TeamSummary summary = aggregator.flush();
+        assertEquals(List.of(), summary.clearedIncidents());
+        assertEquals(List.of(new Incident("100,100", "FIRE", 320)), summary.changedIncidents());
+    }
+
+    @Test
+    public void incidentsNoLongerReportedExpire() {
+        aggregator.recordIncident("100,100", "FIRE", 300);
+        aggregator.recordIncident("200,200", "FIRE", 150);
+        aggregator.flush();
+
+        // Only the second one is still reported; the first one is kept two more windows
+        aggregator.recordIncident("200,200", "FIRE", 150);
+        assertNull(aggregator.flush());
+        aggregator.recordIncident("200,200", "FIRE", 150);
+        TeamSummary summary = aggregator.flush();
+        assertEquals(List.of("100,100"), summary.clearedIncidents());
+        assertEquals(List.of(), summary.changedIncidents());
+        assertEquals(1, aggregator.getIncidentCount());
+    }
+
+    @Test
+    public void snapshotListsTheWholeTeam() {
+        TeamAggregator snapshots = new TeamAggregator("Leader", 0.05, 5.0, 3, 10);
+        snapshots.recordUnit("A", "10,10", true, 1.0);
+        snapshots.recordUnit("B", "20,20", true, 1.0);
+        snapshots.recordIncident("100,100", "FIRE", 300);
+        assertFalse(snapshots.flush().snapshot());
+
+        snapshots.recordUnit("A", "10,10", true, 1.0);
+        assertNull(snapshots.flush());
+
+        // Third window: nothing changed, but everything is listed
+        TeamSummary snapshot = snapshots.flush();
+        assertTrue(snapshot.snapshot());
+        assertEquals(3, snapshot.window());
+        assertEquals(List.of("A", "B"), unitNames(snapshot));
+        assertEquals(List.of("100,100"), incidentKeys(snapshot));
+        assertEquals(2, snapshots.getSummariesSent());
+    }
+
+    private static List<String> unitNames(TeamSummary summary) {
+        List<String> names = new ArrayList<>();
+        for (UnitState unit : summary.changedUnits()) {
+            names.add(unit.name());
+        }
+        return names;
+    }
+
+    private static List<String> incidentKeys(TeamSummary summary) {
+        List<String> keys = new ArrayList<>();
+        for (Incident incident : summary.changedIncidents()) {
+            keys.add(incident.key());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,182 @@
+package com.jade.RoboCupRescueProject.assignment;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class AssignmentStrategyTest {
+    private static final double INF = Double.POSITIVE_INFINITY;
+    private static final double EPSILON = 1e-9;
+
+    private static final List<AssignmentStrategy> OPTIMAL =
+            List.of(AssignmentStrategy.HUNGARIAN, AssignmentStrategy.MIN_COST_FLOW);
+    private static final List<AssignmentStrategy> ALL =
+            List.of(AssignmentStrategy.GREEDY, AssignmentStrategy.HUNGARIAN, AssignmentStrategy.MIN_COST_FLOW);
+
+    @Test
+    public void findsTheOptimumOfASquareMatrix() {
+        double[][] costs = {
+                {4, 1, 3},
+                {2, 0, 5},
+                {3, 2, 2},
+        };
+        double[] unassigned = {100, 100, 100};
+        for (AssignmentStrategy strategy : OPTIMAL) {
+            int[] assignment = solve(strategy, costs, unassigned, 3);
+            assertEquals(strategy.toString(), 5.0, total(costs, unassigned, assignment), EPSILON);
+        }
+    }
+
+    @Test
+    public void greedyIsValidButNotAlwaysOptimal() {
+        // The first task takes the cheapest unit, leaving the second task its expensive one
+        double[][] costs = {
+                {1, 2},
+                {1, 100},
+        };
+        double[] unassigned = {1000, 1000};
+
+        int[] greedy = solve(AssignmentStrategy.GREEDY, costs, unassigned, 2);
+        assertEquals(101.0, total(costs, unassigned, greedy), EPSILON);
+        for (AssignmentStrategy strategy : OPTIMAL) {
+            assertEquals(3.0, total(costs, unassigned, solve(strategy, costs, unassigned, 2)), EPSILON);
+        }
+    }
+
+    @Test
+    public void leavesTheCheapestTasksOutWhenUnitsAreShort() {
+        double[][] costs = {
+                {10, 12},
+                {11, 10},
+                {10, 10},
+        };
+        // The second task costs the least to leave pending
+        double[] unassigned = {500, 50, 400};
+        for (AssignmentStrategy strategy : ALL) {
+            int[] assignment = solve(strategy, costs, unassigned, 2);
+            assertEquals(strategy.toString(), -1, assignment[1]);
+            assertEquals(strategy.toString(), 50 + 20.0, total(costs, unassigned, assignment), EPSILON);
+        }
+    }
+
+    @Test
+    public void leavesUnitsIdleWhenTasksAreShort() {
+        double[][] costs = {
+                {9, 3, 7, 1},
+                {2, 8, 1, 6},
+        };
+        double[] unassigned = {100, 100};
+        for (AssignmentStrategy strategy : ALL) {
+            int[] assignment = solve(strategy, costs, unassigned, 4);
+            assertArrayEquals(strategy.toString(), new int[] {3, 2}, assignment);
+        }
+    }
+
+    @Test
+    public void neverUsesForbiddenPairs() {
+        double[][] costs = {
+                {INF, 5, INF},
+                {INF, 1, INF},
+                {INF, INF, INF},
+        };
+        double[] unassigned = {100, 20, 100};
+        for (AssignmentStrategy strategy : ALL) {
+            int[] assignment = solve(strategy, costs, unassigned, 3);
+            assertEquals(strategy.toString(), 1, assignment[0]);
+            assertEquals(strategy.toString(), -1, assignment[1]);
+            assertEquals(strategy.toString(), -1, assignment[2]);
+        }
+    }
+
+    @Test
+    public void leavesTasksPendingWhenEveryUnitCostsMore() {
+        double[][] costs = {{50, 60}};
+        double[] unassigned = {40};
+        for (AssignmentStrategy strategy : ALL) {
+            assertArrayEquals(strategy.toString(), new int[] {-1}, solve(strategy, costs, unassigned, 2));
+        }
+    }
+
+    @Test
+    public void solvesEmptyProblems() {
+        for (AssignmentStrategy strategy : ALL) {
+            assertEquals(0, strategy.solve(new double[0][0], new double[0], 3).length);
+            assertArrayEquals(new int[] {-1, -1},
+                    strategy.solve(new double[][] {{}, {}}, new double[] {1, 1}, 0));
+        }
+    }
+
+    @Test
+    public void matchesBruteForceOnRandomProblems() {
+        Random random = new Random(11);
+        for (int round = 0; round < 500; round++) {
+            int tasks = 1 + random.nextInt(5);
+            int units = 1 + random.nextInt(5);
+            double[][] costs = new double[tasks][units];
+            double[] unassigned = new double[tasks];
+            for (int i = 0; i < tasks; i++) {
+                unassigned[i] = 20 + random.nextInt(80);
+                for (int j = 0; j < units; j++) {
+                    costs[i][j] = random.nextInt(4) == 0 ? INF : random.nextInt(100);
+                }
+            }
+
+            double optimum = bruteForce(costs, unassigned, 0, new boolean[units]);
+            for (AssignmentStrategy strategy : ALL) {
+                int[] assignment = solve(strategy, costs, unassigned, units);
+                double cost = total(costs, unassigned, assignment);
+                if (strategy == AssignmentStrategy.GREEDY) {
+                    assertTrue(cost >= optimum - EPSILON);
+                } else {
+                    assertEquals(strategy + " on " + Arrays.deepToString(costs), optimum, cost, EPSILON);
+                }
+            }
+        }
+    }
+
+    // Solve and check that the result is a valid matching
+    private static int[] solve(AssignmentStrategy strategy, double[][] costs, double[] unassigned, int units) {
+        int[] assignment = strategy.solve(costs, unassigned, units);
+        assertEquals(costs.length, assignment.length);
+        boolean[] taken = new boolean[units];
+        for (int task = 0; task < assignment.length; task++) {
+            int unit = assignment[task];
+            if (unit >= 0) {
+                assertTrue("unit " + unit + " out of range", unit < units);
+                assertFalse("unit " + unit + " taken twice", taken[unit]);
+                assertTrue("forbidden pair " + task + "/" + unit, costs[task][unit] < INF);
+                taken[unit] = true;
+            } else {
+                assertEquals(-1, unit);
+            }
+        }
+        return assignment;
+    }
+
+    private static double total(double[][] costs, double[] unassigned, int[] assignment) {
+        double total = 0;
+        for (int task = 0; task < assignment.length; task++) {
+            total += assignment[task] >= 0 ? costs[task][assignment[task]] : unassigned[task];
+        }
+        return total;
+    }
+
+    private static double bruteForce(double[][] costs, double[] unassigned, int task, boolean[] taken) {
+        if (task == costs.length) {
+            return 0;
+        }
+        double best = unassigned[task] + bruteForce(costs, unassigned, task + 1, taken);
+        for (int unit = 0; unit < taken.length; unit++) {
+            if (!taken[unit] && costs[task][unit] < INF) {
+                taken[unit] = true;
+                best = Math.min(best, costs[task][unit] + bruteForce(costs, unassigned, task + 1, taken));
+                taken[unit] = false;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,163 @@
+package com.jade.RoboCupRescueProject.exploration;
+
+import com.jade.RoboCupRescueProject.messages.TypedMessage.FrontierBid;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.FrontierCall;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.FrontierRegion;
+import com.jade.RoboCupRescueProject.messages.TypedMessage.RegionBid;
+import com.jade.RoboCupRescueProject.spatial.OccupancyGrid;
+import com.jade.RoboCupRescueProject.spatial.Point;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class FrontierPlannerTest {
+    private static final double SCAN_RADIUS = 5;
+
+    // 50 x 50 cells of 2 m, from -50 to 50 on both axes
+    private final FrontierPlanner planner = new FrontierPlanner(new OccupancyGrid(100, 100, 2), SCAN_RADIUS);
+
+    @Test
+    public void groupsTheFrontierOfAScanInOneRegion() {
+        planner.recordScan("R1", new Point(10, 10), 0.5, 100, true, 0);
+
+        FrontierCall call = planner.openRound(10);
+        assertEquals(1, call.round());
+        assertEquals(1, call.regions().size());
+        FrontierRegion region = call.regions().get(0);
+        assertEquals(0, region.id());
+        assertEquals(planner.getGrid().frontierCount(), region.frontierCells());
+        assertTarget(region);
+    }
+
+    @Test
+    public void offersTheLargestRegionsFirst() {
+        // Four scans in separate regions, the last one wider
+        scan("R1", -30, -30);
+        scan("R1", -30, 30);
+        scan("R2", 30, -30);
+        scan("R2", 30, 30);
+        planner.getGrid().explore(30, 30, 7, 0.5);
+
+        List<FrontierRegion> all = planner.openRound(10).regions();
+        assertEquals(4, all.size());
+        int total = 0;
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(i, all.get(i).id());
+            if (i > 0) {
+                assertTrue(all.get(i - 1).frontierCells() >= all.get(i).frontierCells());
+            }
+            assertTarget(all.get(i));
+            total += all.get(i).frontierCells();
+        }
+        assertEquals(planner.getGrid().frontierCount(), total);
+        assertTrue(all.get(0).x() > 0 && all.get(0).y() > 0);
+
+        List<FrontierRegion> limited = planner.openRound(2).regions();
+        assertEquals(2, limited.size());
+        assertEquals(all.get(0).frontierCells(), limited.get(0).frontierCells());
+        assertEquals(2, planner.getRound());
+    }
+
+    @Test
+    public void awardsEachRegionToOneRobotAndEachRobotOneRegion() {
+        scan("R0", -30, -30);
+        scan("R0", -30, 30);
+        scan("R0", 30, -30);
+        scan("R0", 30, 30);
+        scan("R0", 10, 10);
+
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            List<FrontierRegion> regions = planner.openRound(10).regions();
+            assertEquals(5, regions.size());
+
+            // More robots than regions, each bidding on some of them
+            Map<String, FrontierBid> bids = new HashMap<>();
+            Map<String, Set<Integer>> bidRegions = new HashMap<>();
+            double cheapest = Double.POSITIVE_INFINITY;
+            String cheapestRobot = null;
+            for (int robot = 0; robot < 7; robot++) {
+                String name = "R" + robot;
+                List<RegionBid> robotBids = new ArrayList<>();
+                Set<Integer> ids = new HashSet<>();
+                for (FrontierRegion region : regions) {
+                    if (random.nextInt(3) > 0) {
+                        double cost = random.nextDouble() * 100 - 20;
+                        robotBids.add(new RegionBid(region.id(), cost));
+                        ids.add(region.id());
+                        if (cost < cheapest) {
+                            cheapest = cost;
+                            cheapestRobot = name;
+                        }
+                    }
+                }
+                bids.put(name, new FrontierBid(planner.getRound(), robotBids));
+                bidRegions.put(name, ids);
+            }
+
+            Map<String, FrontierRegion> awards = planner.award(bids);
+            Set<Integer> awarded = new HashSet<>();
+            for (Map.Entry<String, FrontierRegion> award : awards.entrySet()) {
+                assertTrue("region awarded twice", awarded.add(award.getValue().id()));
+                assertTrue("region not bid on", bidRegions.get(award.getKey()).contains(award.getValue().id()));
+            }
+            if (cheapestRobot != null) {
+                assertTrue(awards.containsKey(cheapestRobot));
+            }
+            // No robot left without a region while one it bid on is still free
+            for (Map.Entry<String, Set<Integer>> entry : bidRegions.entrySet()) {
+                if (!awards.containsKey(entry.getKey())) {
+                    assertTrue(awarded.containsAll(entry.getValue()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void ignoresBidsForAnotherRoundOrAnUnknownRegion() {
+        scan("R1", -30, -30);
+        scan("R1", 30, 30);
+        planner.openRound(10);
+        int round = planner.getRound();
+
+        Map<String, FrontierBid> bids = new HashMap<>();
+        bids.put("Stale", new FrontierBid(round - 1, List.of(new RegionBid(0, -100))));
+        bids.put("Unknown", new FrontierBid(round, List.of(new RegionBid(7, -100), new RegionBid(-1, -100))));
+        bids.put("Valid", new FrontierBid(round, List.of(new RegionBid(1, 10))));
+
+        Map<String, FrontierRegion> awards = planner.award(bids);
+        assertEquals(Set.of("Valid"), awards.keySet());
+        assertEquals(1, awards.get("Valid").id());
+    }
+
+    @Test
+    public void fullCoverageLeavesNoRegionToOffer() {
+        FrontierPlanner small = new FrontierPlanner(new OccupancyGrid(20, 20, 2), 30);
+        assertTrue(small.openRound(10).regions().isEmpty());
+        assertEquals(-1, small.getMetrics().getTimeToFullCoverage());
+
+        small.recordScan("R1", new Point(0, 0), 0.5, 90, true, 0);
+        assertEquals(1.0, small.getGrid().coverage(), 0.0);
+        assertTrue(small.openRound(10).regions().isEmpty());
+        assertTrue(small.getMetrics().getTimeToFullCoverage() >= 0);
+        assertEquals(400, small.getMetrics().getCoveredArea(), 1e-9);
+    }
+
+    private void scan(String robot, double x, double y) {
+        planner.recordScan(robot, new Point(x, y), 0.5, 100, true, 0);
+    }
+
+    // The target of a region is one of its frontier cells
+    private void assertTarget(FrontierRegion region) {
+        OccupancyGrid grid = planner.getGrid();
+        assertTrue(grid.isFrontier(grid.cellOf(region.x(), region.y())));
+    }
+}
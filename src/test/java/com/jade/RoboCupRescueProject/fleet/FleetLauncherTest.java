@@ -0,0 +1,119 @@
+package com.jade.RoboCupRescueProject.fleet;
+
+import jade.core.Agent;
+import jade.core.Profile;
+import jade.core.ProfileImpl;
+import jade.core.Runtime;
+import jade.wrapper.AgentContainer;
+import jade.wrapper.ControllerException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FleetLauncherTest {
+    // Long enough to tell a launch waiting for the timeout from one that returns at once
+    private static final long TIMEOUT = 20000;
+
+    private static AgentContainer container;
+
+    @BeforeClass
+    public static void startPlatform() {
+        Profile profile = new ProfileImpl();
+        profile.setParameter(Profile.GUI, "false");
+        profile.setParameter(Profile.NO_MTP, "true");
+        container = Runtime.instance().createMainContainer(profile);
+    }
+
+    @AfterClass
+    public static void stopPlatform() {
+        try {
+            container.getPlatformController().kill();
+        } catch (ControllerException e) {
+            // Already stopped
+        }
+    }
+
+    @Test
+    public void agentsStoppingDuringTheirSetupAreReportedAsFailed() throws Exception {
+        FleetSpec spec = new FleetSpec(List.of(
+                group("ready", ReadyAgent.class, 3, 0),
+                group("throwing", ThrowingAgent.class, 1, 0),
+                group("deleting", DeletingAgent.class, 1, 0),
+                group("missing", "com.jade.RoboCupRescueProject.agents.NoSuchAgent", 1, 0),
+                group("late", ReadyAgent.class, 2, 1)));
+
+        long start = System.currentTimeMillis();
+        FleetLauncher.Report report = new FleetLauncher(container, TIMEOUT).launch(spec);
+
+        assertTrue(System.currentTimeMillis() - start < TIMEOUT / 2);
+        assertEquals(8, report.expected());
+        assertEquals(5, report.ready());
+        assertFalse(report.allReady());
+        List<String> failed = new ArrayList<>(report.failed());
+        Collections.sort(failed);
+        assertEquals(List.of("deleting1", "missing1", "throwing1"), failed);
+    }
+
+    @Test
+    public void stoppingAfterTheSetupIsNotAFailure() throws Exception {
+        FleetSpec spec = new FleetSpec(List.of(group("stopping", StoppingAgent.class, 2, 0)));
+
+        FleetLauncher.Report report = new FleetLauncher(container, TIMEOUT).launch(spec);
+
+        assertTrue(report.allReady());
+        assertEquals(List.of(), report.failed());
+    }
+
+    private static FleetSpec.Group group(String id, Class<? extends Agent> agentClass, int count, int stage) {
+        return group(id, agentClass.getName(), count, stage);
+    }
+
+    private static FleetSpec.Group group(String id, String className, int count, int stage) {
+        return new FleetSpec.Group(id, className, count, id + "%d", stage, List.of(), Double.NaN, null,
+                FleetSpec.MAIN_CONTAINER);
+    }
+
+    // Agent following the launch protocol
+    public static class ReadyAgent extends Agent {
+        @Override
+        protected void setup() {
+            LaunchProfile.of(this).ready();
+        }
+
+        @Override
+        protected void takeDown() {
+            LaunchProfile.of(this).terminated();
+        }
+    }
+
+    // Agent whose setup fails with an exception
+    public static class ThrowingAgent extends ReadyAgent {
+        @Override
+        protected void setup() {
+            throw new IllegalStateException("setup failed");
+        }
+    }
+
+    // Agent giving up during its setup, as the team leaders do when an error is caught
+    public static class DeletingAgent extends ReadyAgent {
+        @Override
+        protected void setup() {
+            doDelete();
+        }
+    }
+
+    // Agent stopping on its own once ready
+    public static class StoppingAgent extends ReadyAgent {
+        @Override
+        protected void setup() {
+            super.setup();
+            doDelete();
+        }
+    }
+}
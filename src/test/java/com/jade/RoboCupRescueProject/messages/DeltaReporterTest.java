@@ -0,0 +1,80 @@
+package com.jade.RoboCupRescueProject.messages;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DeltaReporterTest {
+
+    // No periodic snapshot after the first round
+    private final DeltaReporter reporter = new DeltaReporter(Long.MAX_VALUE).withThreshold("temperature", 5.0);
+
+    @Test
+    public void sendsOnlyChangesAboveTheThreshold() {
+        DeltaReporter.Round first = reporter.begin("leader");
+        assertTrue(first.isSnapshot());
+        assertTrue(first.offer("A", "temperature", 100.0));
+
+        DeltaReporter.Round second = reporter.begin("leader");
+        assertFalse(second.isSnapshot());
+        assertFalse(second.offer("A", "temperature", 103.0));
+        assertFalse(second.hasChanges());
+
+        DeltaReporter.Round third = reporter.begin("leader");
+        assertTrue(third.offer("A", "temperature", 106.0));
+        assertTrue(third.hasChanges());
+        assertEquals(2, reporter.getSentFields());
+        assertEquals(1, reporter.getSuppressedFields());
+    }
+
+    @Test
+    public void changedValuesAreOnlyRecordedOnceCommitted() {
+        reporter.begin("leader").offer("A", "temperature", 100.0);
+
+        // Not sent, e.g. refused by a full outbox: still a change in the next round
+        DeltaReporter.Round round = reporter.begin("leader");
+        assertTrue(round.changed("A", "temperature", 110.0));
+        assertFalse(round.hasChanges());
+        assertTrue(reporter.begin("leader").changed("A", "temperature", 110.0));
+
+        DeltaReporter.Round sent = reporter.begin("leader");
+        assertTrue(sent.changed("A", "temperature", 110.0));
+        sent.commit("A", "temperature", 110.0);
+        assertTrue(sent.hasChanges());
+        assertFalse(reporter.begin("leader").changed("A", "temperature", 110.0));
+    }
+
+    @Test
+    public void reportsEntriesNoLongerOffered() {
+        DeltaReporter.Round first = reporter.begin("leader");
+        first.offer("A", "temperature", 100.0);
+        first.offer("B", "temperature", 200.0);
+        assertEquals(List.of(), first.removed());
+
+        DeltaReporter.Round second = reporter.begin("leader");
+        second.offer("A", "temperature", 100.0);
+        assertEquals(List.of("B"), second.removed());
+        assertTrue(second.hasChanges());
+    }
+
+    @Test
+    public void forgottenEntriesAreSentAgainButNotReportedRemoved() {
+        reporter.begin("leader").offer("A", "temperature", 100.0);
+        reporter.forget("leader", "A");
+        reporter.forget("nobody", "A");
+
+        DeltaReporter.Round round = reporter.begin("leader");
+        assertEquals(List.of(), round.removed());
+        assertTrue(round.offer("A", "temperature", 100.0));
+    }
+
+    @Test
+    public void keepsOneStatePerRecipient() {
+        reporter.begin("leader").offer("A", "status", "BURNING");
+        assertFalse(reporter.begin("leader").offer("A", "status", "BURNING"));
+        assertTrue(reporter.begin("center").offer("A", "status", "BURNING"));
+        assertTrue(reporter.begin("leader").offer("A", "status", "CONTAINED"));
+    }
+}
@@ -0,0 +1,218 @@
+package com.jade.RoboCupRescueProject.messages;
+
+import com.jade.RoboCupRescueProject.messages.TypedMessage.*;
+import jade.core.AID;
+import jade.lang.acl.ACLMessage;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class MessageCodecTest {
+
+    // One message of every kind, with values that exercise the encoding of each field type
+    private static List<TypedMessage> samples() {
+        return List.of(
+                new FireReport("(12.5,-40)", "ACTIVE"),
+                new VictimReport("ZONE_3", null),
+                new RoadStatusChange("R-17", "CLOSED"),
+                new SecurityPerimeter("Z1", "FIRE", "ACTIVE"),
+                new SummaryReport(12, 7, 3, 2, Integer.MAX_VALUE),
+                new SituationReport(0, -1, Integer.MIN_VALUE, 4, 5),
+                new TransportReport("(1,2)", "Hôpital Nord", "URGENT"),
+                new ResourceRequest("WATER", 250, "(0,0)"),
+                new ResourceAllocation("AMBULANCE", 2),
+                new ResourceConfirmation("FUEL", -3),
+                new ResourcePending("MEDICAL", 0),
+                new StockUpdate("WATER", 1000),
+                new Mission("FIRE_FIGHTING@(1,2)", "FIRE_FIGHTING", "(1,2)", 3, ""),
+                new MissionComplete("VICTIM_RESCUE", "ZONE_1"),
+                new FirefighterStatus("Pompier-1", 87.25, "(3,4)", true),
+                new UnitStatus("Ambulance-2", "(7,-8)", false, 0.5),
+                new FireScenarioStart("B-12", "FORTE", 4, true, "DIFFICILE", -1),
+                new ExtinguishingProgress("(5,5)", 0.0),
+                new EnvironmentData("(1.00,2.00)", 31.5, 0.02, 0.9, 0.4, 64.0, false, 0.0012),
+                new HotspotReport("POINT_1", 95.0, Double.NaN),
+                new TeamSummary("FireTeam", 3, true, 12, 4, 2, 0.75,
+                        List.of(new UnitState("Pompier-1", "(1,1)", true, 0.5),
+                                new UnitState("Pompier-2", null, false, 1.0)),
+                        List.of(new Incident("(1,1)", "FIRE", 0.8)),
+                        List.of("(9,9)")),
+                new TeamSummary("Empty", 0, false, 0, 0, 0, 0.0, List.of(), List.of(), List.of()),
+                new FrontierCall(7, List.of(new FrontierRegion(1, -10.0, 20.0, 12),
+                        new FrontierRegion(2, 30.0, -5.5, 3))),
+                new FrontierBid(7, List.of(new RegionBid(1, 4.5), new RegionBid(2, Double.POSITIVE_INFINITY))),
+                new FrontierAward(7, 2, 30.0, -5.5));
+    }
+
+    @Test
+    public void everyKindHasASample() {
+        Set<MessageKind> covered = EnumSet.noneOf(MessageKind.class);
+        for (TypedMessage message : samples()) {
+            covered.add(message.kind());
+        }
+        Set<MessageKind> expected = EnumSet.allOf(MessageKind.class);
+        // Envelopes wrap ACL messages and are tested separately
+        expected.remove(MessageKind.ENVELOPE);
+        assertEquals(expected, covered);
+    }
+
+    @Test
+    public void roundTripsEveryKind() {
+        for (TypedMessage message : samples()) {
+            assertEquals(message, MessageCodec.decode(MessageCodec.encode(message)));
+        }
+    }
+
+    @Test
+    public void roundTripsThroughAclMessages() {
+        for (TypedMessage message : samples()) {
+            ACLMessage acl = MessageCodec.create(ACLMessage.INFORM, message);
+            assertTrue(MessageCodec.isTyped(acl));
+            assertEquals(message.kind(), MessageCodec.kindOf(acl));
+            assertEquals(message, MessageCodec.read(acl));
+        }
+    }
+
+    @Test
+    public void rejectsEveryTruncation() {
+        for (TypedMessage message : samples()) {
+            byte[] data = MessageCodec.encode(message);
+            for (int length = 0; length < data.length; length++) {
+                byte[] truncated = Arrays.copyOf(data, length);
+                assertThrows(message.kind() + " truncated to " + length, IllegalArgumentException.class,
+                        () -> MessageCodec.decode(truncated));
+            }
+        }
+    }
+
+    @Test
+    public void rejectsMalformedHeaders() {
+        byte[] valid = MessageCodec.encode(new FireReport("(1,1)", "ACTIVE"));
+
+        assertThrows(IllegalArgumentException.class, () -> MessageCodec.decode(null));
+        assertThrows(IllegalArgumentException.class, () -> MessageCodec.decode(new byte[0]));
+
+        byte[] badVersion = valid.clone();
+        badVersion[0] = 42;
+        assertThrows(IllegalArgumentException.class, () -> MessageCodec.decode(badVersion));
+
+        byte[] unknownKind = valid.clone();
+        unknownKind[1] = 127;
+        assertThrows(IllegalArgumentException.class, () -> MessageCodec.decode(unknownKind));
+
+        // An envelope is not a typed message payload
+        byte[] envelope = valid.clone();
+        envelope[1] = MessageKind.ENVELOPE.code();
+        assertThrows(IllegalArgumentException.class, () -> MessageCodec.decode(envelope));
+    }
+
+    @Test
+    public void rejectsNegativeLengths() {
+        // A string length of 0xFFFFFFFF overflows to a negative length
+        byte[] data = {1, MessageKind.FIRE_REPORT.code(), (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        assertThrows(IllegalArgumentException.class, () -> MessageCodec.decode(data));
+    }
+
+    @Test
+    public void rejectsRandomPayloadsWithIllegalArgumentOnly() {
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            byte[] data = new byte[2 + random.nextInt(40)];
+            random.nextBytes(data);
+            data[0] = 1;
+            data[1] = (byte) (1 + random.nextInt(MessageKind.values().length));
+            try {
+                MessageCodec.decode(data);
+            } catch (IllegalArgumentException e) {
+                // Expected for most payloads
+            }
+        }
+    }
+
+    @Test
+    public void readReturnsNullForInvalidMessages() {
+        ACLMessage text = new ACLMessage(ACLMessage.INFORM);
+        text.setContent("FIRE:(1,1)");
+        assertNull(MessageCodec.read(text));
+        assertNull(MessageCodec.kindOf(text));
+
+        ACLMessage truncated = new ACLMessage(ACLMessage.INFORM);
+        truncated.setLanguage(MessageCodec.LANGUAGE);
+        truncated.setByteSequenceContent(new byte[] {1, MessageKind.MISSION.code(), 5});
+        assertNull(MessageCodec.read(truncated));
+    }
+
+    @Test
+    public void envelopesKeepEveryMessage() {
+        AID receiver = new AID("CommandCenter@Test", AID.ISGUID);
+        ACLMessage typed = MessageCodec.create(ACLMessage.AGREE, new MissionComplete("FIRE_FIGHTING", "(1,1)"));
+        typed.addReceiver(receiver);
+        typed.setConversationId("mission-1");
+        typed.setReplyWith("reply-7");
+        typed.setInReplyTo("request-3");
+        typed.setProtocol("fipa-request");
+        typed.setReplyByDate(new Date(123456789L));
+        typed.addUserDefinedParameter("unit", "Pompier1");
+        typed.addUserDefinedParameter("attempt", "2");
+        ACLMessage text = new ACLMessage(ACLMessage.INFORM);
+        text.addReceiver(receiver);
+        text.setContent("STATUS:OK");
+        text.setOntology("rescue");
+
+        List<ACLMessage> opened = MessageCodec.openEnvelope(MessageCodec.createEnvelope(List.of(typed, text)));
+        assertNotNull(opened);
+        assertEquals(2, opened.size());
+        assertEquals(ACLMessage.AGREE, opened.get(0).getPerformative());
+        assertEquals("mission-1", opened.get(0).getConversationId());
+        assertEquals("reply-7", opened.get(0).getReplyWith());
+        assertEquals("request-3", opened.get(0).getInReplyTo());
+        assertEquals("fipa-request", opened.get(0).getProtocol());
+        assertEquals(new Date(123456789L), opened.get(0).getReplyByDate());
+        assertEquals("Pompier1", opened.get(0).getUserDefinedParameter("unit"));
+        assertEquals("2", opened.get(0).getUserDefinedParameter("attempt"));
+        assertNull(opened.get(1).getProtocol());
+        assertNull(opened.get(1).getReplyByDate());
+        assertTrue(opened.get(1).getAllUserDefinedParameters().isEmpty());
+        assertEquals(new MissionComplete("FIRE_FIGHTING", "(1,1)"), MessageCodec.read(opened.get(0)));
+        assertEquals("STATUS:OK", opened.get(1).getContent());
+        assertEquals("rescue", opened.get(1).getOntology());
+        assertEquals(receiver, opened.get(1).getAllReceiver().next());
+    }
+
+    @Test
+    public void onlyMessagesWithoutReplyToCanBeEnveloped() {
+        ACLMessage msg = new ACLMessage(ACLMessage.REQUEST);
+        assertTrue(MessageCodec.canEnvelope(msg));
+        msg.addReplyTo(new AID("Relay@Test", AID.ISGUID));
+        assertFalse(MessageCodec.canEnvelope(msg));
+    }
+
+    @Test
+    public void rejectsTruncatedEnvelopes() {
+        ACLMessage text = new ACLMessage(ACLMessage.INFORM);
+        text.setContent("STATUS:OK");
+        byte[] data = MessageCodec.createEnvelope(List.of(text, text)).getByteSequenceContent();
+        for (int length = 2; length < data.length; length++) {
+            ACLMessage truncated = new ACLMessage(ACLMessage.INFORM);
+            truncated.setLanguage(MessageCodec.LANGUAGE);
+            truncated.setByteSequenceContent(Arrays.copyOf(data, length));
+            assertNull("envelope truncated to " + length, MessageCodec.openEnvelope(truncated));
+        }
+    }
+
+    @Test
+    public void rejectsEnvelopesWithImpossibleCounts() {
+        ACLMessage envelope = new ACLMessage(ACLMessage.INFORM);
+        envelope.setLanguage(MessageCodec.LANGUAGE);
+        envelope.setByteSequenceContent(new byte[] {1, MessageKind.ENVELOPE.code(),
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07});
+        assertNull(MessageCodec.openEnvelope(envelope));
+    }
+}
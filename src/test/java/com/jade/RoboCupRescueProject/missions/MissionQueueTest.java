@@ -0,0 +1,125 @@
+package com.jade.RoboCupRescueProject.missions;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class MissionQueueTest {
+
+    private final MissionQueue queue = new MissionQueue();
+
+    private static Mission fire(String location, int priority) {
+        return new Mission(Mission.FIRE_FIGHTING, location, priority, "Extinguish fire at " + location);
+    }
+
+    @Test
+    public void ordersByPriorityThenAge() {
+        queue.offer(fire("A", Mission.PRIORITY_MEDIUM));
+        queue.offer(fire("B", Mission.PRIORITY_CRITICAL));
+        queue.offer(fire("C", Mission.PRIORITY_MEDIUM));
+        queue.offer(fire("D", Mission.PRIORITY_LOW));
+        queue.offer(fire("E", Mission.PRIORITY_CRITICAL));
+
+        assertEquals(List.of("B", "E", "A", "C", "D"), locations(queue.toSortedList()));
+        assertEquals("B", queue.peek().location());
+        assertEquals(5, queue.size());
+    }
+
+    @Test
+    public void offerUpdatesTheMissionWithTheSameId() {
+        assertTrue(queue.offer(fire("A", Mission.PRIORITY_MEDIUM)));
+        assertTrue(queue.offer(fire("B", Mission.PRIORITY_MEDIUM)));
+        assertFalse(queue.offer(new Mission(Mission.FIRE_FIGHTING, "A", Mission.PRIORITY_MEDIUM, "updated")));
+
+        assertEquals(2, queue.size());
+        assertEquals("updated", queue.get(Mission.idOf(Mission.FIRE_FIGHTING, "A")).description());
+        // The updated mission keeps its age
+        assertEquals(List.of("A", "B"), locations(queue.toSortedList()));
+    }
+
+    @Test
+    public void reprioritizeMovesTheMission() {
+        queue.offer(fire("A", Mission.PRIORITY_HIGH));
+        queue.offer(fire("B", Mission.PRIORITY_MEDIUM));
+        queue.offer(fire("C", Mission.PRIORITY_LOW));
+
+        assertTrue(queue.reprioritize(Mission.idOf(Mission.FIRE_FIGHTING, "C"), Mission.PRIORITY_CRITICAL));
+        assertEquals("C", queue.peek().location());
+        assertTrue(queue.reprioritize(Mission.idOf(Mission.FIRE_FIGHTING, "C"), Mission.PRIORITY_LOW));
+        assertEquals(List.of("A", "B", "C"), locations(queue.toSortedList()));
+        assertEquals(Mission.PRIORITY_LOW, queue.get(Mission.idOf(Mission.FIRE_FIGHTING, "C")).priority());
+
+        assertFalse(queue.reprioritize(Mission.idOf(Mission.FIRE_FIGHTING, "Z"), Mission.PRIORITY_HIGH));
+    }
+
+    @Test
+    public void removeTakesAnyMissionOut() {
+        for (int i = 0; i < 10; i++) {
+            queue.offer(fire("L" + i, Mission.PRIORITY_CRITICAL + i % 4));
+        }
+        Mission removed = queue.remove(Mission.idOf(Mission.FIRE_FIGHTING, "L4"));
+
+        assertEquals("L4", removed.location());
+        assertNull(queue.remove(Mission.idOf(Mission.FIRE_FIGHTING, "L4")));
+        assertFalse(queue.contains(Mission.idOf(Mission.FIRE_FIGHTING, "L4")));
+        assertEquals(9, queue.size());
+        assertEquals(List.of("L0", "L8", "L1", "L5", "L9", "L2", "L6", "L3", "L7"), locations(drain()));
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+    }
+
+    @Test
+    public void matchesASortedListUnderRandomChanges() {
+        Random random = new Random(3);
+        // Expected missions by ID, in insertion order, so that a stable sort gives the age order
+        Map<String, Mission> expected = new LinkedHashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            String location = "L" + random.nextInt(50);
+            String id = Mission.idOf(Mission.FIRE_FIGHTING, location);
+            int priority = Mission.PRIORITY_CRITICAL + random.nextInt(4);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    Mission mission = fire(location, priority);
+                    assertEquals(!expected.containsKey(id), queue.offer(mission));
+                    expected.merge(id, mission, (old, updated) -> updated);
+                }
+                case 1 -> {
+                    assertEquals(expected.containsKey(id), queue.reprioritize(id, priority));
+                    expected.computeIfPresent(id, (key, old) -> old.withPriority(priority));
+                }
+                default -> assertEquals(expected.remove(id), queue.remove(id));
+            }
+            assertEquals(expected.size(), queue.size());
+            if (step % 500 == 0) {
+                List<Mission> sorted = new ArrayList<>(expected.values());
+                sorted.sort(Comparator.comparingInt(Mission::priority));
+                assertEquals(sorted, queue.toSortedList());
+            }
+        }
+    }
+
+    private List<Mission> drain() {
+        List<Mission> missions = new ArrayList<>();
+        Mission mission;
+        while ((mission = queue.poll()) != null) {
+            missions.add(mission);
+        }
+        return missions;
+    }
+
+    private static List<String> locations(List<Mission> missions) {
+        List<String> locations = new ArrayList<>();
+        for (Mission mission : missions) {
+            locations.add(mission.location());
+        }
+        return locations;
+    }
+}
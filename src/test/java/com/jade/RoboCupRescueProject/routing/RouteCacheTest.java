@@ -0,0 +1,131 @@
+package com.jade.RoboCupRescueProject.routing;
+
+import com.jade.RoboCupRescueProject.behaviours.police.GererCirculationBehaviour;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RouteCacheTest {
+    private static final RouteCache.Key AB = new RouteCache.Key(0, 1, VehicleClass.STANDARD);
+    private static final RouteCache.Key AC = new RouteCache.Key(0, 2, VehicleClass.STANDARD);
+    private static final RouteCache.Key BC = new RouteCache.Key(1, 2, VehicleClass.STANDARD);
+    private static final RouteCache.Key AB_EMERGENCY = new RouteCache.Key(0, 1, VehicleClass.EMERGENCY);
+
+    @Test
+    public void roadChangeEvictsOnlyTheRoutesCrossingIt() {
+        RouteCache cache = new RouteCache(10);
+        cache.put(AB, entry(0));
+        cache.put(AC, entry(0, 1));
+        cache.put(BC, entry(1));
+        cache.put(AB_EMERGENCY, entry(0));
+
+        cache.invalidateRoad(1, VehicleClass.STANDARD);
+        assertNotNull(cache.get(AB));
+        assertNull(cache.get(AC));
+        assertNull(cache.get(BC));
+        assertNotNull(cache.get(AB_EMERGENCY));
+        assertEquals(2, cache.getInvalidations());
+
+        // Road without cached routes
+        cache.invalidateRoad(5, VehicleClass.STANDARD);
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getInvalidations());
+    }
+
+    @Test
+    public void replacedRouteIsIndexedByItsNewRoads() {
+        RouteCache cache = new RouteCache(10);
+        cache.put(AC, entry(0, 1));
+        cache.put(AC, entry(2));
+
+        cache.invalidateRoad(0, VehicleClass.STANDARD);
+        assertNotNull(cache.get(AC));
+        cache.invalidateRoad(2, VehicleClass.STANDARD);
+        assertNull(cache.get(AC));
+    }
+
+    @Test
+    public void leastRecentlyUsedRouteIsEvictedBeyondTheCapacity() {
+        RouteCache cache = new RouteCache(2);
+        cache.put(AB, entry(0));
+        cache.put(AC, entry(1));
+        cache.get(AB);
+        cache.put(BC, entry(2));
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(AC));
+        assertNotNull(cache.get(AB));
+        assertNotNull(cache.get(BC));
+
+        // The evicted route left the reverse index too
+        cache.invalidateRoad(1, VehicleClass.STANDARD);
+        assertEquals(0, cache.getInvalidations());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void zeroCapacityDisablesTheCache() {
+        RouteCache cache = new RouteCache(0);
+        cache.put(AB, entry(0));
+        assertEquals(0, cache.size());
+        assertNull(cache.get(AB));
+    }
+
+    @Test
+    public void plannerKeepsRoutesAcrossUnrelatedRoadChanges() {
+        RoadGraph graph = RoadGraph.builder()
+                .addLocation("A", 0, 0)
+                .addLocation("B", 100, 0)
+                .addLocation("C", 200, 0)
+                .addLocation("D", 1000, 1000)
+                .addLocation("E", 1100, 1000)
+                .addRoad("AB", "A", "B")
+                .addRoad("BC", "B", "C")
+                .addRoad("DE", "D", "E")
+                .build();
+        RoutePlanner planner = new RoutePlanner(graph, RoutePlanner.Algorithm.ASTAR, 16);
+
+        assertEquals(200, planner.route("A", "C", VehicleClass.STANDARD).cost(), 1e-9);
+        assertEquals(1, planner.getCacheMissCount());
+
+        // Worse, then better again, on a road far from the route: still cached
+        assertTrue(planner.setRoadStatus("DE", GererCirculationBehaviour.ROAD_DAMAGED));
+        assertTrue(planner.setRoadStatus("DE", GererCirculationBehaviour.ROAD_OPEN));
+        planner.route("A", "C", VehicleClass.STANDARD);
+        assertEquals(1, planner.getCacheHitCount());
+        assertEquals(0, planner.getCacheInvalidationCount());
+
+        // A road of the route: evicted and computed again
+        assertTrue(planner.setRoadStatus("BC", GererCirculationBehaviour.ROAD_DAMAGED));
+        assertEquals(1, planner.getCacheInvalidationCount());
+        Route route = planner.route("A", "C", VehicleClass.STANDARD);
+        assertEquals(List.of("AB", "BC"), route.roads());
+        assertEquals(400, route.cost(), 1e-9);
+        assertEquals(2, planner.getCacheMissCount());
+    }
+
+    @Test
+    public void plannerEvictsUnreachableRoutesWhenARoadOpens() {
+        RoadGraph graph = RoadGraph.builder()
+                .addLocation("A", 0, 0)
+                .addLocation("B", 100, 0)
+                .addRoad("AB", "A", "B")
+                .build();
+        RoutePlanner planner = new RoutePlanner(graph, RoutePlanner.Algorithm.ASTAR, 16);
+        planner.setRoadStatus("AB", GererCirculationBehaviour.ROAD_CLOSED);
+
+        assertTrue(planner.route("A", "B", VehicleClass.STANDARD).isEmpty());
+        assertTrue(planner.route("A", "B", VehicleClass.STANDARD).isEmpty());
+        assertEquals(1, planner.getCacheHitCount());
+
+        planner.setRoadStatus("AB", GererCirculationBehaviour.ROAD_OPEN);
+        assertEquals(100, planner.route("A", "B", VehicleClass.STANDARD).cost(), 1e-9);
+        assertEquals(2, planner.getCacheMissCount());
+    }
+
+    private static RouteCache.Entry entry(int... roads) {
+        return new RouteCache.Entry(new Route(List.of("from", "to"), List.of(), roads.length), roads);
+    }
+}
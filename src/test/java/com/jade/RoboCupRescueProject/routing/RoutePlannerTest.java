@@ -0,0 +1,232 @@
+package com.jade.RoboCupRescueProject.routing;
+
+import com.jade.RoboCupRescueProject.behaviours.police.GererCirculationBehaviour;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class RoutePlannerTest {
+    private static final double EPSILON = 1e-6;
+    private static final int NODES = 40;
+    private static final int ROADS = 90;
+    private static final String[] STATUSES = {
+            GererCirculationBehaviour.ROAD_OPEN, GererCirculationBehaviour.ROAD_OPEN,
+            GererCirculationBehaviour.ROAD_CLOSED, GererCirculationBehaviour.ROAD_DAMAGED,
+            GererCirculationBehaviour.ROAD_RESTRICTED
+    };
+
+    @Test
+    public void allAlgorithmsFindTheShortestRouteOnRandomGraphs() {
+        Random random = new Random(42);
+        for (int graphNumber = 0; graphNumber < 20; graphNumber++) {
+            RoadGraph graph = randomGraph(random);
+            RoutePlanner planner = new RoutePlanner(graph, RoutePlanner.Algorithm.ASTAR, 0);
+
+            // Two sets of road statuses, so that the hierarchies are rebuilt once
+            for (int phase = 0; phase < 2; phase++) {
+                String[] statuses = new String[graph.roadCount()];
+                for (int r = 0; r < statuses.length; r++) {
+                    statuses[r] = STATUSES[random.nextInt(STATUSES.length)];
+                    planner.setRoadStatus(graph.roadId(r), statuses[r]);
+                }
+
+                for (VehicleClass vehicleClass : VehicleClass.values()) {
+                    double[][] expected = allPairsCosts(graph, statuses, vehicleClass);
+                    for (int source = 0; source < graph.nodeCount(); source++) {
+                        for (int target = 0; target < graph.nodeCount(); target++) {
+                            checkRoute(planner, graph, source, target, vehicleClass, expected[source][target]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void restrictedRoadsAreOnlyOpenToEmergencyVehicles() {
+        RoadGraph graph = RoadGraph.builder()
+                .addLocation("A", 0, 0)
+                .addLocation("B", 100, 0)
+                .addLocation("C", 200, 0)
+                .addRoad("AB", "A", "B")
+                .addRoad("BC", "B", "C")
+                .build();
+        RoutePlanner planner = new RoutePlanner(graph, RoutePlanner.Algorithm.ASTAR, 0);
+        planner.setRoadStatus("BC", GererCirculationBehaviour.ROAD_RESTRICTED);
+
+        for (RoutePlanner.Algorithm algorithm : RoutePlanner.Algorithm.values()) {
+            assertTrue(algorithm.name(), planner.route("A", "C", VehicleClass.STANDARD, algorithm).isEmpty());
+            Route route = planner.route("A", "C", VehicleClass.EMERGENCY, algorithm);
+            assertEquals(algorithm.name(), List.of("A", "B", "C"), route.locations());
+            assertEquals(algorithm.name(), List.of("AB", "BC"), route.roads());
+            assertEquals(algorithm.name(), 200, route.cost(), EPSILON);
+        }
+    }
+
+    @Test
+    public void damagedRoadsAreSlowerButUsable() {
+        RoadGraph graph = RoadGraph.builder()
+                .addLocation("A", 0, 0)
+                .addLocation("B", 100, 0)
+                .addLocation("C", 50, 100)
+                .addRoad("AB", "A", "B")
+                .addRoad("AC", "A", "C", 150, true)
+                .addRoad("CB", "C", "B", 150, true)
+                .build();
+        RoutePlanner planner = new RoutePlanner(graph, RoutePlanner.Algorithm.ASTAR, 0);
+
+        for (RoutePlanner.Algorithm algorithm : RoutePlanner.Algorithm.values()) {
+            planner.setRoadStatus("AB", GererCirculationBehaviour.ROAD_OPEN);
+            assertEquals(algorithm.name(), 100, planner.route("A", "B", VehicleClass.STANDARD, algorithm).cost(), EPSILON);
+
+            // 3 x 100 is more than the 300 m detour: the detour wins
+            planner.setRoadStatus("AB", GererCirculationBehaviour.ROAD_DAMAGED);
+            Route route = planner.route("A", "B", VehicleClass.STANDARD, algorithm);
+            assertEquals(algorithm.name(), 300, route.cost(), EPSILON);
+            planner.setRoadStatus("CB", GererCirculationBehaviour.ROAD_CLOSED);
+            route = planner.route("A", "B", VehicleClass.STANDARD, algorithm);
+            assertEquals(algorithm.name(), List.of("AB"), route.roads());
+            assertEquals(algorithm.name(), 300, route.cost(), EPSILON);
+            planner.setRoadStatus("CB", GererCirculationBehaviour.ROAD_OPEN);
+        }
+    }
+
+    @Test
+    public void unreachableTargetsHaveNoRoute() {
+        RoadGraph graph = RoadGraph.builder()
+                .addLocation("A", 0, 0)
+                .addLocation("B", 100, 0)
+                .addLocation("C", 200, 0)
+                .addLocation("Isolated", 50, 50)
+                .addRoad("AB", "A", "B")
+                .addRoad("BC", "B", "C", -1, false)
+                .build();
+        RoutePlanner planner = new RoutePlanner(graph, RoutePlanner.Algorithm.ASTAR, 0);
+
+        for (RoutePlanner.Algorithm algorithm : RoutePlanner.Algorithm.values()) {
+            assertSame(algorithm.name(), Route.NONE, planner.route("A", "Isolated", VehicleClass.EMERGENCY, algorithm));
+            assertSame(algorithm.name(), Route.NONE, planner.route("Isolated", "A", VehicleClass.EMERGENCY, algorithm));
+            // One-way road
+            assertSame(algorithm.name(), Route.NONE, planner.route("C", "A", VehicleClass.EMERGENCY, algorithm));
+            assertSame(algorithm.name(), Route.NONE, planner.route("A", "Unknown", VehicleClass.EMERGENCY, algorithm));
+            assertEquals(algorithm.name(), 200, planner.route("A", "C", VehicleClass.EMERGENCY, algorithm).cost(), EPSILON);
+        }
+    }
+
+    @Test
+    public void closedZeroLengthEdgesAreUnusable() {
+        // Two locations at the same place, joined by a road of no length
+        RoadGraph graph = RoadGraph.builder()
+                .addLocation("A", 0, 0)
+                .addLocation("B", 0, 0)
+                .addLocation("C", 100, 0)
+                .addRoad("AB", "A", "B")
+                .addRoad("BC", "B", "C")
+                .build();
+        RoutePlanner planner = new RoutePlanner(graph, RoutePlanner.Algorithm.ASTAR, 0);
+
+        for (RoutePlanner.Algorithm algorithm : RoutePlanner.Algorithm.values()) {
+            planner.setRoadStatus("AB", GererCirculationBehaviour.ROAD_OPEN);
+            assertEquals(algorithm.name(), 100, planner.route("A", "C", VehicleClass.STANDARD, algorithm).cost(), EPSILON);
+
+            planner.setRoadStatus("AB", GererCirculationBehaviour.ROAD_CLOSED);
+            assertSame(algorithm.name(), Route.NONE, planner.route("A", "C", VehicleClass.STANDARD, algorithm));
+            planner.setRoadStatus("AB", GererCirculationBehaviour.ROAD_RESTRICTED);
+            assertSame(algorithm.name(), Route.NONE, planner.route("A", "C", VehicleClass.STANDARD, algorithm));
+            assertEquals(algorithm.name(), 100, planner.route("A", "C", VehicleClass.EMERGENCY, algorithm).cost(), EPSILON);
+        }
+    }
+
+    /**
+     * Check that every algorithm finds a route of the expected cost, following the graph edges
+     */
+    private void checkRoute(RoutePlanner planner, RoadGraph graph, int source, int target,
+                            VehicleClass vehicleClass, double expectedCost) {
+        String from = graph.nodeName(source);
+        String to = graph.nodeName(target);
+        for (RoutePlanner.Algorithm algorithm : RoutePlanner.Algorithm.values()) {
+            String message = algorithm + " " + vehicleClass + " " + from + " -> " + to;
+            Route route = planner.route(from, to, vehicleClass, algorithm);
+            assertEquals(message, expectedCost, route.cost(), EPSILON);
+            assertFalse(message, Double.isNaN(route.cost()));
+            if (expectedCost == Double.POSITIVE_INFINITY) {
+                assertTrue(message, route.isEmpty());
+            } else {
+                assertEquals(message, from, route.locations().get(0));
+                assertEquals(message, to, route.locations().get(route.locations().size() - 1));
+            }
+        }
+    }
+
+    /**
+     * Build a random graph with one-way roads, roads longer than the straight line, roads of
+     * no length and an isolated location
+     */
+    private static RoadGraph randomGraph(Random random) {
+        RoadGraph.Builder builder = RoadGraph.builder();
+        for (int v = 0; v < NODES; v++) {
+            builder.addLocation("N" + v, random.nextInt(20) * 50, random.nextInt(20) * 50);
+        }
+        builder.addLocation("Isolated", 500, 500);
+        for (int r = 0; r < ROADS; r++) {
+            String from = "N" + random.nextInt(NODES);
+            String to = "N" + random.nextInt(NODES);
+            double length;
+            switch (random.nextInt(4)) {
+                case 0:
+                    length = 0;
+                    break;
+                case 1:
+                    length = random.nextDouble() * 1000 + 1500;
+                    break;
+                default:
+                    length = -1;
+            }
+            builder.addRoad("R" + r, from, to, length, random.nextInt(3) > 0);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Floyd-Warshall costs on the graph edges, with the factors of the road statuses
+     */
+    private static double[][] allPairsCosts(RoadGraph graph, String[] statuses, VehicleClass vehicleClass) {
+        int n = graph.nodeCount();
+        double[][] costs = new double[n][n];
+        for (double[] row : costs) {
+            Arrays.fill(row, Double.POSITIVE_INFINITY);
+        }
+        for (int v = 0; v < n; v++) {
+            costs[v][v] = 0;
+        }
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            String status = statuses[graph.edgeRoad(e)];
+            double cost;
+            if (status.equals(GererCirculationBehaviour.ROAD_CLOSED)
+                    || (status.equals(GererCirculationBehaviour.ROAD_RESTRICTED) && vehicleClass != VehicleClass.EMERGENCY)) {
+                continue;
+            } else if (status.equals(GererCirculationBehaviour.ROAD_DAMAGED)) {
+                cost = 3 * graph.edgeLength(e);
+            } else {
+                cost = graph.edgeLength(e);
+            }
+            int source = graph.edgeSource(e);
+            int target = graph.edgeTarget(e);
+            costs[source][target] = Math.min(costs[source][target], cost);
+        }
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (costs[i][k] + costs[k][j] < costs[i][j]) {
+                        costs[i][j] = costs[i][k] + costs[k][j];
+                    }
+                }
+            }
+        }
+        return costs;
+    }
+}
@@ -0,0 +1,40 @@
+package com.jade.RoboCupRescueProject.sensing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DutyCycleTest {
+    private static final long BASE_PERIOD = 100;
+    // Period of a quiet scene, MAX_STRETCH times the base period
+    private static final long MAX_PERIOD = 8 * BASE_PERIOD;
+
+    // Without detectors the scene is always quiet
+    private final DutyCycle dutyCycle = new DutyCycle(SensorPipeline.builder(4).build(), BASE_PERIOD, 1000, 0.001);
+
+    @Test
+    public void quietSceneUsesTheMaximumPeriodOnAGoodBattery() {
+        assertEquals(MAX_PERIOD, dutyCycle.update(0, 100.0));
+        assertEquals(MAX_PERIOD, dutyCycle.update(100, 50.0));
+        assertEquals(MAX_PERIOD, dutyCycle.getPeriod());
+    }
+
+    @Test
+    public void lowBatteryStretchesAQuietSceneBeyondTheMaximumPeriod() {
+        assertEquals(2 * MAX_PERIOD, dutyCycle.update(0, 25.0));
+        assertEquals(5 * MAX_PERIOD, dutyCycle.update(100, 10.0));
+        assertEquals(5 * MAX_PERIOD, dutyCycle.getPeriod());
+    }
+
+    @Test
+    public void stretchIsBoundedByTheBatteryFloor() {
+        assertEquals(10 * MAX_PERIOD, dutyCycle.update(0, 5.0));
+        assertEquals(10 * MAX_PERIOD, dutyCycle.update(100, 1.0));
+        assertEquals(10 * MAX_PERIOD, dutyCycle.update(200, 0.0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsANonPositiveBasePeriod() {
+        new DutyCycle(SensorPipeline.builder(4).build(), 0, 1000, 0.001);
+    }
+}
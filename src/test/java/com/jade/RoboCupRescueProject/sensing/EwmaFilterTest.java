@@ -0,0 +1,45 @@
+package com.jade.RoboCupRescueProject.sensing;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EwmaFilterTest {
+    @Test
+    public void firstFrameInitializesTheAverages() {
+        EwmaFilter filter = new EwmaFilter(3, 0.25);
+        double[] frame = {10, -4, 0};
+        filter.apply(frame);
+        assertArrayEquals(new double[]{10, -4, 0}, frame, 0.0);
+    }
+
+    @Test
+    public void stepResponseFollowsTheWeight() {
+        double alpha = 0.25;
+        EwmaFilter filter = new EwmaFilter(2, alpha);
+        filter.apply(new double[]{0, 100});
+
+        // After n frames of a step, the average has covered 1 - (1 - alpha)^n of it
+        for (int n = 1; n <= 20; n++) {
+            double[] frame = {100, 100};
+            filter.apply(frame);
+            assertEquals(100 * (1 - Math.pow(1 - alpha, n)), frame[0], 1e-9);
+            assertEquals(100, frame[1], 1e-9);
+        }
+    }
+
+    @Test
+    public void weightOfOneKeepsTheRawSamples() {
+        EwmaFilter filter = new EwmaFilter(1, 1.0);
+        for (double sample : new double[]{5, -3, 12, 0}) {
+            double[] frame = {sample};
+            filter.apply(frame);
+            assertEquals(sample, frame[0], 0.0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsANullWeight() {
+        new EwmaFilter(1, 0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.jade.RoboCupRescueProject.sensing;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class KalmanFilterTest {
+    @Test
+    public void withoutProcessNoiseTheEstimateIsTheRunningMean() {
+        KalmanFilter filter = new KalmanFilter(1, 0, 4);
+        Random random = new Random(42);
+        double sum = 0;
+        for (int n = 1; n <= 50; n++) {
+            double sample = random.nextDouble() * 100;
+            sum += sample;
+            double[] frame = {sample};
+            filter.apply(frame);
+            assertEquals(sum / n, frame[0], 1e-9);
+        }
+    }
+
+    @Test
+    public void convergesOnAConstantUnderNoisyReadings() {
+        KalmanFilter filter = new KalmanFilter(2, 0.01, 25);
+        Random random = new Random(42);
+        double rawError = 0;
+        double filteredError = 0;
+        for (int n = 0; n < 500; n++) {
+            double[] frame = {40 + random.nextGaussian() * 5, -10 + random.nextGaussian() * 5};
+            double raw = frame[0];
+            filter.apply(frame);
+            if (n >= 100) {
+                rawError += (raw - 40) * (raw - 40);
+                filteredError += (frame[0] - 40) * (frame[0] - 40);
+                assertEquals(-10, frame[1], 2);
+            }
+        }
+        // Each point keeps its own estimate, and the filter removes most of the noise
+        assertTrue(filteredError < rawError / 10);
+    }
+
+    @Test
+    public void followsAStepFasterWithMoreProcessNoise() {
+        KalmanFilter slow = new KalmanFilter(1, 0.01, 25);
+        KalmanFilter fast = new KalmanFilter(1, 10, 25);
+        double[] slowFrame = {0};
+        double[] fastFrame = {0};
+        slow.apply(slowFrame);
+        fast.apply(fastFrame);
+        for (int n = 0; n < 10; n++) {
+            slowFrame[0] = 100;
+            fastFrame[0] = 100;
+            slow.apply(slowFrame);
+            fast.apply(fastFrame);
+            assertTrue(fastFrame[0] > slowFrame[0]);
+            assertTrue(fastFrame[0] < 100);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsANullMeasurementNoise() {
+        new KalmanFilter(1, 0.1, 0);
+    }
+}
@@ -0,0 +1,239 @@
+package com.jade.RoboCupRescueProject.sensing;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SensorPipelineTest {
+    private final SensorPipeline pipeline = SensorPipeline.builder(4)
+            .channel("temperature", null, Filter.NONE)
+            .channel("infrared", null, Filter.NONE)
+            .channel("heartbeat", null, Filter.NONE)
+            .build();
+
+    private final List<String> fires = new ArrayList<>();
+    private final List<String> victims = new ArrayList<>();
+
+    @Test
+    public void fusesTheEvidenceOfTheChannels() {
+        pipeline.addDetector(Detector.named("victim")
+                .evidence("infrared", 0.6, 30, 40)
+                .evidence("heartbeat", 0.4, 40, 200)
+                .minScore(1.0), record(victims));
+
+        // Point 0 matches both, 1 only the infrared, 2 only the heartbeat, 3 both at the range bounds
+        offer(0, new double[]{20, 20, 20, 20}, new double[]{35, 35, 20, 30}, new double[]{80, 0, 80, 200});
+        assertEquals(2, pipeline.process());
+        assertEquals(List.of("0:1.0:new", "3:1.0:new"), victims);
+
+        // With a lower minimum score, one piece of evidence is enough
+        SensorPipeline partial = SensorPipeline.builder(4)
+                .channel("infrared", null, Filter.NONE)
+                .channel("heartbeat", null, Filter.NONE)
+                .build();
+        List<String> partialVictims = new ArrayList<>();
+        partial.addDetector(Detector.named("victim")
+                .evidence("infrared", 0.6, 30, 40)
+                .evidence("heartbeat", 0.4, 40, 200)
+                .minScore(0.4), record(partialVictims));
+        partial.offer("infrared", 0, new double[]{35, 35, 20, 0});
+        partial.offer("heartbeat", 0, new double[]{80, 0, 80, 0});
+        assertEquals(3, partial.process());
+        assertEquals(List.of("0:1.0:new", "1:0.6:new", "2:0.4:new"), partialVictims);
+    }
+
+    @Test
+    public void detectedPointIsEmittedAgainOnlyWhenTheWatchedChannelChanged() {
+        pipeline.addDetector(Detector.named("fire")
+                .evidence("temperature", 1.0, 100, Double.POSITIVE_INFINITY)
+                .reportChange("temperature", 10), record(fires));
+
+        offer(0, new double[]{150, 0, 0, 0}, zeros(), zeros());
+        offer(1, new double[]{155, 0, 0, 0}, zeros(), zeros());
+        offer(2, new double[]{159, 0, 0, 0}, zeros(), zeros());
+        // Measured from the last emitted value, not from the previous frame
+        offer(3, new double[]{161, 0, 0, 0}, zeros(), zeros());
+        assertEquals(2, pipeline.process());
+        assertEquals(List.of("0:1.0:new", "0:1.0:again"), fires);
+        assertEquals(4, pipeline.getFramesProcessed());
+
+        // A forgotten point is new again
+        pipeline.forget("fire", 0);
+        offer(4, new double[]{161, 0, 0, 0}, zeros(), zeros());
+        assertEquals(1, pipeline.process());
+        assertEquals("0:1.0:new", fires.get(2));
+        assertEquals(3, pipeline.getDetections("fire"));
+        assertEquals(3, pipeline.getDetectionsEmitted());
+    }
+
+    @Test
+    public void withoutAWatchedChannelEveryDetectionIsEmitted() {
+        pipeline.addDetector(Detector.named("fire")
+                .evidence("temperature", 1.0, 100, Double.POSITIVE_INFINITY), record(fires));
+
+        offer(0, new double[]{150, 0, 0, 0}, zeros(), zeros());
+        offer(1, new double[]{150, 0, 0, 0}, zeros(), zeros());
+        assertEquals(2, pipeline.process());
+        assertEquals(List.of("0:1.0:new", "0:1.0:again"), fires);
+    }
+
+    @Test
+    public void framesAreFilteredBeforeTheyAreFused() {
+        SensorPipeline smoothed = SensorPipeline.builder(1)
+                .channel("temperature", null, new EwmaFilter(1, 0.5))
+                .build();
+        smoothed.addDetector(Detector.named("fire")
+                .evidence("temperature", 1.0, 100, Double.POSITIVE_INFINITY), record(fires));
+
+        // A single hot reading is smoothed below the threshold (averages 0, 80, 40), a lasting one is not
+        long time = 0;
+        for (double sample : new double[]{0, 160, 0}) {
+            smoothed.offer("temperature", time++, new double[]{sample});
+        }
+        assertEquals(0, smoothed.process());
+        for (double sample : new double[]{160, 160, 160}) {
+            smoothed.offer("temperature", time++, new double[]{sample});
+        }
+        assertEquals(3, smoothed.process());
+        assertEquals(List.of("0:1.0:new", "0:1.0:again", "0:1.0:again"), fires);
+    }
+
+    @Test
+    public void frameIsProcessedOnceEveryActiveChannelHasOne() {
+        pipeline.addDetector(Detector.named("fire")
+                .evidence("temperature", 1.0, 100, Double.POSITIVE_INFINITY), record(fires));
+
+        pipeline.offer("temperature", 0, new double[]{150, 0, 0, 0});
+        pipeline.offer("infrared", 0, zeros());
+        assertEquals(0, pipeline.process());
+        assertEquals(0, pipeline.getFramesProcessed());
+
+        pipeline.offer("heartbeat", 0, zeros());
+        assertEquals(1, pipeline.process());
+        assertEquals(1, pipeline.getFramesProcessed());
+    }
+
+    @Test
+    public void offerBatchQueuesConsecutiveFrames() {
+        SensorPipeline batched = SensorPipeline.builder(2)
+                .channel("temperature", null, Filter.NONE)
+                .build();
+        batched.addDetector(Detector.named("fire")
+                .evidence("temperature", 1.0, 100, Double.POSITIVE_INFINITY), record(fires));
+
+        batched.offerBatch("temperature", new long[]{0, 1, 2}, new double[]{150, 0, 0, 0, 0, 120}, 3);
+        assertEquals(3, batched.getSamplesTaken());
+        assertEquals(2, batched.process());
+        assertEquals(List.of("0:1.0:new", "1:1.0:new"), fires);
+        assertEquals(3, batched.getFramesProcessed());
+    }
+
+    @Test
+    public void pausedDetectorSwitchesOffTheChannelsOnlyItUses() {
+        pipeline.addDetector(Detector.named("fire")
+                .evidence("temperature", 1.0, 100, Double.POSITIVE_INFINITY), record(fires));
+        pipeline.addDetector(Detector.named("victim")
+                .evidence("infrared", 0.6, 30, 40)
+                .evidence("heartbeat", 0.4, 40, 200), record(victims));
+
+        // A frame waiting in a channel switched off is dropped
+        pipeline.offer("infrared", 0, new double[]{35, 0, 0, 0});
+        pipeline.setPaused("victim", true);
+        assertTrue(pipeline.isPaused("victim"));
+
+        // Frames pushed to the switched off channels are ignored, and not waited for
+        pipeline.offer("infrared", 1, new double[]{35, 0, 0, 0});
+        pipeline.offer("heartbeat", 1, new double[]{80, 0, 0, 0});
+        pipeline.offer("temperature", 1, new double[]{150, 0, 0, 0});
+        assertEquals(2, pipeline.getSamplesTaken());
+        assertEquals(1, pipeline.process());
+        assertEquals(List.of("0:1.0:new"), fires);
+        assertEquals(List.of(), victims);
+
+        // Once resumed, the victim detector sees the next frames only
+        pipeline.setPaused("victim", false);
+        assertEquals(0, pipeline.process());
+        offer(2, zeros(), new double[]{35, 0, 0, 0}, new double[]{80, 0, 0, 0});
+        assertEquals(1, pipeline.process());
+        assertEquals(List.of("0:1.0:new"), victims);
+    }
+
+    @Test
+    public void samplersAreReadOnlyForActiveChannels() {
+        int[] reads = new int[2];
+        SensorPipeline sampled = SensorPipeline.builder(1)
+                .channel("temperature", frame -> { reads[0]++; frame[0] = 150; }, Filter.NONE)
+                .channel("heartbeat", frame -> { reads[1]++; frame[0] = 80; }, Filter.NONE)
+                .build();
+        sampled.addDetector(Detector.named("fire")
+                .evidence("temperature", 1.0, 100, Double.POSITIVE_INFINITY), record(fires));
+        sampled.addDetector(Detector.named("victim")
+                .evidence("heartbeat", 1.0, 40, 200), record(victims));
+
+        sampled.setPaused("victim", true);
+        sampled.sample(0);
+        sampled.sample(1);
+        assertArrayEquals(new int[]{2, 0}, reads);
+        assertEquals(2, sampled.process());
+        assertEquals(List.of(), victims);
+    }
+
+    @Test
+    public void fullRingDropsTheOldestFrames() {
+        SensorPipeline small = SensorPipeline.builder(1)
+                .ringCapacity(2)
+                .channel("temperature", null, Filter.NONE)
+                .build();
+        small.addDetector(Detector.named("fire")
+                .evidence("temperature", 1.0, 100, Double.POSITIVE_INFINITY), record(fires));
+
+        small.offer("temperature", 0, new double[]{150});
+        small.offer("temperature", 1, new double[]{0});
+        small.offer("temperature", 2, new double[]{0});
+        assertEquals(1, small.getDroppedFrames());
+        assertEquals(0, small.process());
+        assertEquals(2, small.getFramesProcessed());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsADetectorOnAnUnknownChannel() {
+        pipeline.addDetector(Detector.named("smoke").evidence("smoke", 1.0, 0, 1), record(fires));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAWatchedChannelThatIsNotEvidence() {
+        pipeline.addDetector(Detector.named("fire")
+                .evidence("temperature", 1.0, 100, Double.POSITIVE_INFINITY)
+                .reportChange("infrared", 1), record(fires));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsADuplicateDetector() {
+        pipeline.addDetector(Detector.named("fire").evidence("temperature", 1.0, 100, 200), record(fires));
+        pipeline.addDetector(Detector.named("fire").evidence("infrared", 1.0, 30, 40), record(fires));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsADuplicateChannel() {
+        SensorPipeline.builder(1).channel("temperature", null, Filter.NONE).channel("temperature", null, Filter.NONE);
+    }
+
+    private void offer(long time, double[] temperature, double[] infrared, double[] heartbeat) {
+        pipeline.offer("temperature", time, temperature);
+        pipeline.offer("infrared", time, infrared);
+        pipeline.offer("heartbeat", time, heartbeat);
+    }
+
+    private static double[] zeros() {
+        return new double[4];
+    }
+
+    // Sink recording "point:score:new|again"
+    private static DetectionSink record(List<String> detections) {
+        return (point, score, values, isNew) ->
+                detections.add(point + ":" + Math.round(score * 10) / 10.0 + ":" + (isNew ? "new" : "again"));
+    }
+}
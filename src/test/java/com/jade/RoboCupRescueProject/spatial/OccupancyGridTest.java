@@ -0,0 +1,114 @@
+package com.jade.RoboCupRescueProject.spatial;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class OccupancyGridTest {
+    // 10 x 10 cells of 1 m, from -5 to 5 on both axes
+    private final OccupancyGrid grid = new OccupancyGrid(10, 10, 1);
+
+    @Test
+    public void coverageReachesFullOnceEveryCellIsExplored() {
+        assertEquals(100, grid.cellCount());
+        assertEquals(0.0, grid.coverage(), 1e-12);
+
+        // Sweep the area row by row, scanning each cell once
+        int discovered = 0;
+        for (int cell = 0; cell < grid.cellCount(); cell++) {
+            Point center = grid.centerOf(cell);
+            discovered += grid.explore(center.x(), center.y(), 0, 0.5);
+            assertEquals(cell + 1, grid.exploredCount());
+        }
+        assertEquals(100, discovered);
+        assertEquals(1.0, grid.coverage(), 0.0);
+        assertEquals(100, grid.exploredArea(), 1e-9);
+        assertEquals(0, grid.frontierCount());
+        assertNull(grid.nearestFrontier(0, 0));
+
+        // Exploring again discovers nothing and keeps the coverage at 1
+        assertEquals(0, grid.explore(0, 0, 20, 0.5));
+        assertEquals(1.0, grid.coverage(), 0.0);
+    }
+
+    @Test
+    public void scanCoveringTheAreaExploresEveryCell() {
+        assertEquals(100, grid.explore(0, 0, 8, 0.2));
+        assertEquals(1.0, grid.coverage(), 0.0);
+    }
+
+    @Test
+    public void frontierSurroundsTheExploredArea() {
+        assertEquals(1, grid.explore(0.5, 0.5, 0, 0.3));
+        assertTrue(grid.isExplored(0.5, 0.5));
+        assertEquals(4, grid.frontierCount());
+        assertEquals(new Point(1.5, 0.5), grid.nearestFrontier(4, 0.5));
+        assertEquals(new Point(0.5, -0.5), grid.nearestFrontier(0.5, -4));
+
+        // At a corner of the area only two neighbours exist
+        OccupancyGrid corner = new OccupancyGrid(10, 10, 1);
+        corner.explore(-4.5, -4.5, 0, 0.3);
+        assertEquals(2, corner.frontierCount());
+    }
+
+    @Test
+    public void frontierMatchesTheExploredNeighbours() {
+        Random random = new Random(42);
+        OccupancyGrid large = new OccupancyGrid(40, 30, 2);
+        for (int scan = 0; scan < 30; scan++) {
+            large.explore(random.nextDouble() * 50 - 25, random.nextDouble() * 40 - 20, random.nextDouble() * 6,
+                    random.nextDouble());
+
+            int explored = 0;
+            int frontier = 0;
+            for (int cell = 0; cell < large.cellCount(); cell++) {
+                Point c = large.centerOf(cell);
+                double s = large.cellSize();
+                if (large.isExplored(c.x(), c.y())) {
+                    explored++;
+                } else if (large.isExplored(c.x() - s, c.y()) || large.isExplored(c.x() + s, c.y())
+                        || large.isExplored(c.x(), c.y() - s) || large.isExplored(c.x(), c.y() + s)) {
+                    frontier++;
+                }
+            }
+            assertEquals(explored, large.exploredCount());
+            assertEquals((double) explored / large.cellCount(), large.coverage(), 1e-12);
+            assertEquals(frontier, large.frontierCount());
+        }
+    }
+
+    @Test
+    public void positionsOutsideTheAreaAreIgnored() {
+        assertEquals(-1, grid.cellOf(5, 0));
+        assertFalse(grid.contains(0, -5.01));
+        assertEquals(0, grid.explore(100, 100, 1, 0.5));
+        assertFalse(grid.isExplored(100, 100));
+        assertTrue(Double.isNaN(grid.difficultyAt(100, 100)));
+        assertEquals(0.0, grid.coverage(), 0.0);
+
+        // A scan near the edge only explores the cells inside
+        assertEquals(1, grid.explore(5.5, 0.5, 1, 0.5));
+    }
+
+    @Test
+    public void recordsTheDifficultyAtTheScanCenter() {
+        assertTrue(Double.isNaN(grid.difficultyAt(0.5, 0.5)));
+        grid.explore(0.5, 0.5, 3, 0.25);
+        assertEquals(0.25, grid.difficultyAt(0.5, 0.5), 1e-6);
+        assertTrue(grid.isExplored(2.5, 0.5));
+        assertTrue(Double.isNaN(grid.difficultyAt(2.5, 0.5)));
+    }
+
+    @Test
+    public void partialCellsAreRoundedUp() {
+        OccupancyGrid partial = new OccupancyGrid(10.5, 3, 1);
+        assertEquals(33, partial.cellCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsANonPositiveCellSize() {
+        new OccupancyGrid(10, 10, 0);
+    }
+}
@@ -0,0 +1,139 @@
+package com.jade.RoboCupRescueProject.spatial;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.*;
+
+public class SpatialIndexTest {
+    private static final double MAP_SIZE = 1000;
+    private static final int ITEMS = 300;
+    private static final int OPERATIONS = 5000;
+
+    @Test
+    public void gridMatchesBruteForce() {
+        checkAgainstBruteForce(SpatialIndex.Kind.GRID);
+    }
+
+    @Test
+    public void quadTreeMatchesBruteForce() {
+        checkAgainstBruteForce(SpatialIndex.Kind.QUADTREE);
+    }
+
+    @Test
+    public void rTreeMatchesBruteForce() {
+        checkAgainstBruteForce(SpatialIndex.Kind.RTREE);
+    }
+
+    @Test
+    public void putMovesAnItem() {
+        for (SpatialIndex.Kind kind : SpatialIndex.Kind.values()) {
+            SpatialIndex<String> index = SpatialIndex.create(kind, MAP_SIZE, MAP_SIZE);
+            index.put("A", 10, 10);
+            index.put("A", 900, 900);
+            assertEquals(kind.name(), 1, index.size());
+            assertEquals(kind.name(), new Point(900, 900), index.locationOf("A"));
+            assertEquals(kind.name(), List.of(), index.withinRadius(10, 10, 5));
+            assertTrue(kind.name(), index.remove("A"));
+            assertFalse(kind.name(), index.remove("A"));
+            assertNull(kind.name(), index.locationOf("A"));
+        }
+    }
+
+    /**
+     * Run the same random sequence of updates and queries on an index and on a plain map
+     * @param kind The implementation to check
+     */
+    private void checkAgainstBruteForce(SpatialIndex.Kind kind) {
+        Random random = new Random(42);
+        SpatialIndex<Integer> index = SpatialIndex.create(kind, MAP_SIZE, MAP_SIZE);
+        Map<Integer, Point> expected = new HashMap<>();
+
+        for (int op = 0; op < OPERATIONS; op++) {
+            int item = random.nextInt(ITEMS);
+            int action = random.nextInt(10);
+            if (action < 6) {
+                // New item or move; snapped positions give duplicates and ties
+                Point point = randomPoint(random);
+                index.put(item, point.x(), point.y());
+                expected.put(item, point);
+            } else if (action < 8) {
+                assertEquals(kind + " remove " + item, expected.remove(item) != null, index.remove(item));
+            } else {
+                assertEquals(kind + " location of " + item, expected.get(item), index.locationOf(item));
+            }
+            assertEquals(kind + " size", expected.size(), index.size());
+
+            if (op % 10 == 0) {
+                checkQueries(kind, random, index, expected);
+            }
+        }
+    }
+
+    private void checkQueries(SpatialIndex.Kind kind, Random random, SpatialIndex<Integer> index,
+                              Map<Integer, Point> expected) {
+        Point center = randomPoint(random);
+        double width = random.nextDouble() * MAP_SIZE / 2;
+        double height = random.nextDouble() * MAP_SIZE / 2;
+        double radius = random.nextDouble() * MAP_SIZE / 4;
+
+        List<Integer> inRange = new ArrayList<>();
+        List<Integer> inRadius = new ArrayList<>();
+        for (Map.Entry<Integer, Point> entry : expected.entrySet()) {
+            Point point = entry.getValue();
+            if (point.x() >= center.x() && point.x() <= center.x() + width
+                    && point.y() >= center.y() && point.y() <= center.y() + height) {
+                inRange.add(entry.getKey());
+            }
+            if (point.distanceSq(center) <= radius * radius) {
+                inRadius.add(entry.getKey());
+            }
+        }
+        assertEquals(kind + " range", sorted(inRange),
+                sorted(index.range(center.x(), center.y(), center.x() + width, center.y() + height)));
+        assertEquals(kind + " radius", sorted(inRadius), sorted(index.withinRadius(center.x(), center.y(), radius)));
+
+        // Ties may come in any order: compare the distances, and check the filter and duplicates
+        int k = 1 + random.nextInt(10);
+        int modulo = 1 + random.nextInt(3);
+        Predicate<Integer> filter = item -> item % modulo == 0;
+        List<Double> nearestDistances = new ArrayList<>();
+        for (Map.Entry<Integer, Point> entry : expected.entrySet()) {
+            if (filter.test(entry.getKey())) {
+                nearestDistances.add(entry.getValue().distanceSq(center));
+            }
+        }
+        Collections.sort(nearestDistances);
+        nearestDistances = nearestDistances.subList(0, Math.min(k, nearestDistances.size()));
+
+        List<Integer> found = index.nearest(center.x(), center.y(), k, filter);
+        List<Double> foundDistances = new ArrayList<>();
+        for (Integer item : found) {
+            assertTrue(kind + " filter", filter.test(item));
+            foundDistances.add(expected.get(item).distanceSq(center));
+        }
+        assertEquals(kind + " duplicates", found.size(), new HashSet<>(found).size());
+        assertEquals(kind + " nearest", nearestDistances, foundDistances);
+    }
+
+    private static Point randomPoint(Random random) {
+        if (random.nextBoolean()) {
+            return new Point(random.nextInt(20) * 50, random.nextInt(20) * 50);
+        }
+        return new Point(random.nextDouble() * MAP_SIZE, random.nextDouble() * MAP_SIZE);
+    }
+
+    private static List<Integer> sorted(List<Integer> items) {
+        List<Integer> copy = new ArrayList<>(items);
+        Collections.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,94 @@
+package com.jade.RoboCupRescueProject.utils;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class IntHashSetTest {
+
+    @Test
+    public void addsContainsAndRemoves() {
+        IntHashSet set = new IntHashSet();
+        assertTrue(set.isEmpty());
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.contains(42));
+        assertFalse(set.contains(43));
+        assertEquals(1, set.size());
+
+        assertTrue(set.remove(42));
+        assertFalse(set.remove(42));
+        assertFalse(set.contains(42));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void handlesZeroAndExtremeKeys() {
+        IntHashSet set = new IntHashSet();
+        for (int key : new int[] {0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE}) {
+            assertTrue(set.add(key));
+            assertFalse(set.add(key));
+            assertTrue(set.contains(key));
+        }
+        assertEquals(4, set.size());
+
+        assertTrue(set.remove(0));
+        assertFalse(set.contains(0));
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    public void growsPastItsExpectedSize() {
+        IntHashSet set = new IntHashSet(2);
+        for (int key = 0; key < 10_000; key++) {
+            assertTrue(set.add(key * 31));
+        }
+        assertEquals(10_000, set.size());
+        for (int key = 0; key < 10_000; key++) {
+            assertTrue(set.contains(key * 31));
+            assertFalse(set.contains(key * 31 + 1));
+        }
+    }
+
+    @Test
+    public void removalKeepsCollidingKeysReachable() {
+        // A small table holding many keys has long probe sequences, which removal must shift back
+        IntHashSet set = new IntHashSet(64);
+        Set<Integer> expected = new HashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            int key = random.nextInt(100);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(key), set.add(key));
+            } else {
+                assertEquals(expected.remove(key), set.remove(key));
+            }
+            if (i % 1000 == 0) {
+                for (int k = 0; k < 100; k++) {
+                    assertEquals("key " + k + " at step " + i, expected.contains(k), set.contains(k));
+                }
+            }
+        }
+        assertEquals(expected.size(), set.size());
+    }
+
+    @Test
+    public void clearEmptiesTheSet() {
+        IntHashSet set = new IntHashSet();
+        for (int key = -50; key < 50; key++) {
+            set.add(key);
+        }
+        set.clear();
+
+        assertTrue(set.isEmpty());
+        for (int key = -50; key < 50; key++) {
+            assertFalse(set.contains(key));
+        }
+        assertTrue(set.add(0));
+    }
+}
@@ -0,0 +1,287 @@
+package com.jade.RoboCupRescueProject.utils;
+
+import jade.core.Agent;
+import jade.core.Profile;
+import jade.core.ProfileImpl;
+import jade.core.Runtime;
+import jade.core.behaviours.CyclicBehaviour;
+import jade.wrapper.AgentContainer;
+import jade.wrapper.ControllerException;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class SimulationClockTest {
+    // Wall-clock time allowed for a scenario to complete
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static AgentContainer container;
+    private static int agentCount = 0;
+
+    @BeforeClass
+    public static void startPlatform() {
+        Profile profile = new ProfileImpl();
+        profile.setParameter(Profile.GUI, "false");
+        profile.setParameter(Profile.NO_MTP, "true");
+        container = Runtime.instance().createMainContainer(profile);
+    }
+
+    @AfterClass
+    public static void stopPlatform() {
+        try {
+            container.getPlatformController().kill();
+        } catch (ControllerException e) {
+            // Already stopped
+        }
+    }
+
+    @After
+    public void restoreRealTime() {
+        SimulationClock.install(new SimulationClock.RealTime());
+    }
+
+    @Test
+    public void discreteClockJumpsToEachDeadlineInOrder() throws Exception {
+        SimulationClock.DiscreteEvent clock = new SimulationClock.DiscreteEvent(5);
+        SimulationClock.install(clock);
+
+        long wallStart = System.currentTimeMillis();
+        TickerAgent agent = start(new TickerAgent(1000, 5, 2500));
+
+        // Exact simulated times, five seconds of simulated time in a fraction of it
+        assertEquals(List.of("tick@1000", "tick@2000", "wake@2500", "tick@3000", "tick@4000", "tick@5000"),
+                agent.firings);
+        assertEquals(6, clock.getAdvanceCount());
+        assertTrue(System.currentTimeMillis() - wallStart < 5000);
+    }
+
+    @Test
+    public void scaledClockFiresInOrderAfterEachDeadline() throws Exception {
+        SimulationClock.install(new SimulationClock.Scaled(10));
+
+        TickerAgent agent = start(new TickerAgent(1000, 5, 2500));
+
+        // Wake-ups may be late by the scheduling jitter, never early
+        assertEquals(List.of("tick", "tick", "wake", "tick", "tick", "tick"), agent.names());
+        long previous = 0;
+        for (int i = 0; i < agent.firings.size(); i++) {
+            long time = agent.times().get(i);
+            if (agent.names().get(i).equals("tick")) {
+                assertTrue("tick at " + time, time - previous >= 1000);
+                previous = time;
+            } else {
+                assertTrue("wake at " + time, time >= 2500);
+            }
+        }
+    }
+
+    @Test
+    public void deadlineOnTimeIsDueInDiscreteTime() throws Exception {
+        SimulationClock.install(new SimulationClock.DiscreteEvent(5));
+
+        // Same pattern as the dispatcher: the work runs once per deadline, whatever the wake-ups
+        RoundAgent agent = start(new RoundAgent(5000, 4));
+
+        assertEquals(List.of("round@0", "round@5000", "round@10000", "round@15000"), agent.firings);
+    }
+
+    @Test
+    public void discreteClockWakesSleepingThreadsByDeadline() throws Exception {
+        // Plain threads do not mark themselves busy: the settle period lets each one record first
+        SimulationClock.DiscreteEvent clock = new SimulationClock.DiscreteEvent(100);
+        SimulationClock.install(clock);
+        long start = clock.now();
+
+        List<String> firings = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (long duration : new long[]{300, 100, 200}) {
+            Thread thread = new Thread(() -> {
+                try {
+                    clock.sleep(duration);
+                    firings.add("sleep" + duration + "@" + (clock.now() - start));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join(TIMEOUT_SECONDS * 1000);
+        }
+
+        assertEquals(List.of("sleep100@100", "sleep200@200", "sleep300@300"), firings);
+        assertEquals(3, clock.getAdvanceCount());
+    }
+
+    @Test
+    public void discreteClockWaitsForABusyBehaviourUpToTheLimit() throws Exception {
+        SimulationClock.install(new SimulationClock.DiscreteEvent(5));
+
+        long wallStart = System.currentTimeMillis();
+        BusyAgent agent = start(new BusyAgent(100, 200));
+
+        // The busy behaviour never settles: the clock stalls, then moves on without it
+        assertEquals(List.of("busy@100", "wake@200"), agent.firings);
+        assertTrue(System.currentTimeMillis() - wallStart >= SimulationClock.DiscreteEvent.MAX_BUSY_TIME);
+    }
+
+    /**
+     * Start an agent in the test platform and wait until it reports completion
+     * @param agent The agent to start
+     * @return The agent, once done
+     * @throws Exception If the agent cannot be started or does not complete in time
+     */
+    private static <T extends RecordingAgent> T start(T agent) throws Exception {
+        container.acceptNewAgent("ClockTest" + agentCount++, agent).start();
+        assertTrue("agent did not complete", agent.done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        agent.doDelete();
+        return agent;
+    }
+
+    // Base agent recording its firings with the simulated time elapsed since its setup
+    private abstract static class RecordingAgent extends Agent {
+        final List<String> firings = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(1);
+        long start;
+
+        @Override
+        protected void setup() {
+            start = SimulationClock.get().now();
+            addBehaviours();
+        }
+
+        protected abstract void addBehaviours();
+
+        void record(String name) {
+            firings.add(name + "@" + (SimulationClock.get().now() - start));
+        }
+
+        List<String> names() {
+            List<String> names = new ArrayList<>();
+            for (String firing : firings) {
+                names.add(firing.substring(0, firing.indexOf('@')));
+            }
+            return names;
+        }
+
+        List<Long> times() {
+            List<Long> times = new ArrayList<>();
+            for (String firing : firings) {
+                times.add(Long.parseLong(firing.substring(firing.indexOf('@') + 1)));
+            }
+            return times;
+        }
+    }
+
+    // Agent with a ticker stopping after a number of ticks and a waker
+    private static final class TickerAgent extends RecordingAgent {
+        private final long period;
+        private final int ticks;
+        private final long timeout;
+
+        TickerAgent(long period, int ticks, long timeout) {
+            this.period = period;
+            this.ticks = ticks;
+            this.timeout = timeout;
+        }
+
+        @Override
+        protected void addBehaviours() {
+            addBehaviour(new ClockTickerBehaviour(this, period) {
+                @Override
+                protected void onTick() {
+                    record("tick");
+                    if (getTickCount() == ticks) {
+                        stop();
+                        done.countDown();
+                    }
+                }
+            });
+            addBehaviour(new ClockWakerBehaviour(this, timeout) {
+                @Override
+                protected void onWake() {
+                    record("wake");
+                }
+            });
+        }
+    }
+
+    // Agent running a cyclic behaviour that works once per deadline
+    private static final class RoundAgent extends RecordingAgent {
+        private final long interval;
+        private final int rounds;
+
+        RoundAgent(long interval, int rounds) {
+            this.interval = interval;
+            this.rounds = rounds;
+        }
+
+        @Override
+        protected void addBehaviours() {
+            addBehaviour(new CyclicBehaviour(this) {
+                private final DeadlineScheduler scheduler = DeadlineScheduler.of(myAgent);
+
+                @Override
+                public void action() {
+                    if (firings.size() < rounds && scheduler.isDue(this)) {
+                        long now = scheduler.now();
+                        record("round");
+                        if (firings.size() < rounds) {
+                            scheduler.schedule(this, now + interval);
+                        } else {
+                            done.countDown();
+                        }
+                    }
+                    block();
+                }
+            });
+        }
+    }
+
+    // Agent with a behaviour that never settles once woken, and a later waker
+    private static final class BusyAgent extends RecordingAgent {
+        private final long busyAt;
+        private final long timeout;
+
+        BusyAgent(long busyAt, long timeout) {
+            this.busyAt = busyAt;
+            this.timeout = timeout;
+        }
+
+        @Override
+        protected void addBehaviours() {
+            addBehaviour(new CyclicBehaviour(this) {
+                private final DeadlineScheduler scheduler = DeadlineScheduler.of(myAgent);
+                private boolean scheduled = false;
+
+                @Override
+                public void action() {
+                    if (!scheduled) {
+                        scheduler.schedule(this, scheduler.now() + busyAt);
+                        scheduled = true;
+                    } else if (scheduler.isDue(this) && firings.isEmpty()) {
+                        record("busy");
+                    }
+                    block();
+                }
+            });
+            addBehaviour(new ClockWakerBehaviour(this, timeout) {
+                @Override
+                protected void onWake() {
+                    record("wake");
+                    done.countDown();
+                }
+            });
+        }
+    }
+}
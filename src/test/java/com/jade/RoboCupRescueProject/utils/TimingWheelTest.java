@@ -0,0 +1,135 @@
+package com.jade.RoboCupRescueProject.utils;
+
+import com.jade.RoboCupRescueProject.utils.TimingWheel.Timeout;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TimingWheelTest {
+    private static final long TICK = 100;
+
+    // Wheel of 8 slots of 100 ms starting at 0, so one turn covers 800 ms
+    private final TimingWheel<String> wheel = new TimingWheel<>(8, TICK, 0);
+    private final List<String> expired = new ArrayList<>();
+
+    @Test
+    public void expiresInDeadlineOrder() {
+        wheel.schedule("c", 500);
+        wheel.schedule("a", 150);
+        wheel.schedule("b", 300);
+        wheel.schedule("d", 700);
+
+        assertEquals(4, wheel.advance(700, expired::add));
+        assertEquals(List.of("a", "b", "c", "d"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void neverExpiresBeforeTheDeadline() {
+        wheel.schedule("a", 250);
+
+        assertEquals(0, wheel.advance(249, expired::add));
+        assertEquals(1, wheel.advance(300, expired::add));
+        assertEquals(List.of("a"), expired);
+    }
+
+    @Test
+    public void expiresDeadlinesInThePastOnTheNextTick() {
+        wheel.advance(1000, expired::add);
+        wheel.schedule("late", 10);
+
+        assertEquals(0, wheel.advance(1050, expired::add));
+        assertEquals(1, wheel.advance(1100, expired::add));
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    public void keepsTimeoutsOfLaterTurnsInTheirSlot() {
+        // Same slot as 200, but two turns later
+        wheel.schedule("far", 200 + 2 * 8 * TICK);
+        wheel.schedule("near", 200);
+
+        assertEquals(1, wheel.advance(300, expired::add));
+        assertEquals(List.of("near"), expired);
+        assertEquals(1, wheel.size());
+
+        assertEquals(0, wheel.advance(1700, expired::add));
+        assertEquals(1, wheel.advance(1800, expired::add));
+        assertEquals(List.of("near", "far"), expired);
+    }
+
+    @Test
+    public void wrapsAroundAfterManyTurns() {
+        long now = 0;
+        for (int i = 0; i < 50; i++) {
+            wheel.schedule("t" + i, now + 250);
+            now += 300;
+            assertEquals(1, wheel.advance(now, expired::add));
+        }
+        assertEquals(50, expired.size());
+        assertEquals("t49", expired.get(49));
+    }
+
+    @Test
+    public void expiresEverythingAfterALongJump() {
+        for (int i = 0; i < 20; i++) {
+            wheel.schedule("t" + i, i * 150L);
+        }
+
+        assertEquals(20, wheel.advance(100_000, expired::add));
+        assertEquals(20, expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void cancelledTimeoutsNeverExpire() {
+        Timeout<String> a = wheel.schedule("a", 200);
+        Timeout<String> b = wheel.schedule("b", 200);
+        wheel.schedule("c", 200);
+
+        assertTrue(wheel.cancel(b));
+        assertFalse(wheel.cancel(b));
+        assertFalse(b.isScheduled());
+        assertTrue(wheel.cancel(a));
+        assertEquals(1, wheel.size());
+
+        wheel.advance(1000, expired::add);
+        assertEquals(List.of("c"), expired);
+    }
+
+    @Test
+    public void rescheduleMovesTheDeadline() {
+        Timeout<String> a = wheel.schedule("a", 200);
+        wheel.reschedule(a, 600);
+
+        assertEquals(0, wheel.advance(500, expired::add));
+        assertEquals(1, wheel.advance(600, expired::add));
+        assertFalse(a.isScheduled());
+
+        // An expired timeout can be scheduled again
+        wheel.reschedule(a, 900);
+        assertEquals(1, wheel.advance(900, expired::add));
+        assertEquals(List.of("a", "a"), expired);
+    }
+
+    @Test
+    public void callbacksMayScheduleTimeouts() {
+        wheel.schedule("first", 100);
+        wheel.advance(100, item -> {
+            expired.add(item);
+            wheel.schedule("second", 300);
+        });
+
+        assertEquals(List.of("first"), expired);
+        assertEquals(1, wheel.advance(300, expired::add));
+        assertEquals(List.of("first", "second"), expired);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptyWheels() {
+        new TimingWheel<String>(0, TICK, 0);
+    }
+}